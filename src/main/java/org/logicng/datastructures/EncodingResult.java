@@ -48,7 +48,7 @@ import java.util.List;
  * in the formula factory and therefore polluting the factory and the heap.  This class can be used to connect an
  * encoding directly with a SAT solver and therefore introducing the variables only on the solver - not in the factory.
  * When working with many encodings, this can be a large performance gain.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.1
  */
 public final class EncodingResult {
@@ -125,10 +125,11 @@ public final class EncodingResult {
     }
 
     private void addLiteral(final LNGIntVector clauseVec, final Literal lit) {
-        int index = this.miniSat.underlyingSolver().idxForName(lit.name());
+        final Variable var = lit.variable();
+        int index = this.miniSat.underlyingSolver().idxForVariable(var);
         if (index == -1) {
             index = this.miniSat.underlyingSolver().newVar(!this.miniSat.initialPhase(), true);
-            this.miniSat.underlyingSolver().addName(lit.name(), index);
+            this.miniSat.underlyingSolver().addVariable(var, index);
         }
         final int litNum;
         if (lit instanceof EncodingAuxiliaryVariable) {
@@ -36,7 +36,7 @@ import java.util.Map;
 
 /**
  * A Boolean substitution.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class Substitution {
@@ -50,6 +50,14 @@ public final class Substitution {
         this.subst = new HashMap<>();
     }
 
+    /**
+     * Constructs a new substitution with the mappings of a given substitution.
+     * @param substitution the substitution whose mappings are copied
+     */
+    public Substitution(final Substitution substitution) {
+        this.subst = new HashMap<>(substitution.subst);
+    }
+
     /**
      * Returns the number of mappings in this substitution.
      * @return the number of mappings in this substitution
@@ -0,0 +1,415 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.datastructures;
+
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable set of variable indices.
+ * <p>
+ * Every variable of a {@link FormulaFactory} has a unique {@link Variable#index() index}.  A variable index set is a
+ * compact representation of a set of variables of one factory by their indices.  It is returned by
+ * {@link Formula#variableIndexSet()} and avoids building a sorted set of variable objects on every node of a formula.
+ * <p>
+ * Dense sets are stored as a bitset over the range of words between their smallest and their largest index, s.t.
+ * unions, containment, and disjointness checks of two dense sets are computed word-parallel.  Sparse sets, where the
+ * bitset would need more words than the set has elements, are stored as a sorted array of indices instead.  The
+ * representation only depends on the elements of the set.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class VariableIndexSet {
+
+    private static final VariableIndexSet EMPTY = new VariableIndexSet(null, 0, new int[0], 0);
+
+    private final long[] words;
+    private final int wordOffset;
+    private final int[] indices;
+    private final int size;
+
+    private VariableIndexSet(final long[] words, final int wordOffset, final int[] indices, final int size) {
+        this.words = words;
+        this.wordOffset = wordOffset;
+        this.indices = indices;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty variable index set.
+     * @return the empty variable index set
+     */
+    public static VariableIndexSet empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a variable index set with the given indices.
+     * @param indices the indices
+     * @return the variable index set
+     * @throws IllegalArgumentException if one of the indices is negative
+     */
+    public static VariableIndexSet of(final int... indices) {
+        final int[] sorted = Arrays.copyOf(indices, indices.length);
+        Arrays.sort(sorted);
+        return fromSorted(sorted, sorted.length);
+    }
+
+    /**
+     * Returns a variable index set with the indices of the variables of the given literals.
+     * @param literals the literals
+     * @return the variable index set
+     * @throws IllegalArgumentException if one of the literals has no index
+     */
+    public static VariableIndexSet of(final Collection<? extends Literal> literals) {
+        final int[] indices = new int[literals.size()];
+        int i = 0;
+        for (final Literal lit : literals) {
+            indices[i++] = lit.variable().index();
+        }
+        Arrays.sort(indices);
+        return fromSorted(indices, indices.length);
+    }
+
+    /**
+     * Returns the union of the given variable index sets.
+     * @param sets the variable index sets
+     * @return the union of the sets
+     */
+    public static VariableIndexSet union(final VariableIndexSet... sets) {
+        int nonEmpty = 0;
+        VariableIndexSet last = EMPTY;
+        int totalSize = 0;
+        boolean allDense = true;
+        int minWord = Integer.MAX_VALUE;
+        int maxWord = -1;
+        for (final VariableIndexSet set : sets) {
+            if (!set.isEmpty()) {
+                nonEmpty++;
+                last = set;
+                totalSize += set.size;
+                allDense &= set.words != null;
+                minWord = Math.min(minWord, set.firstWord());
+                maxWord = Math.max(maxWord, set.lastWord());
+            }
+        }
+        if (nonEmpty <= 1) {
+            return last;
+        }
+        if (allDense && maxWord - minWord < totalSize) {
+            final long[] words = new long[maxWord - minWord + 1];
+            for (final VariableIndexSet set : sets) {
+                if (!set.isEmpty()) {
+                    final int shift = set.wordOffset - minWord;
+                    for (int i = 0; i < set.words.length; i++) {
+                        words[shift + i] |= set.words[i];
+                    }
+                }
+            }
+            return fromWords(words, minWord);
+        }
+        final int[] indices = new int[totalSize];
+        int n = 0;
+        for (final VariableIndexSet set : sets) {
+            n = set.copyIndices(indices, n);
+        }
+        Arrays.sort(indices);
+        return fromSorted(indices, n);
+    }
+
+    /**
+     * Returns the union of this set and a given set.
+     * @param other the other set
+     * @return the union of the two sets
+     */
+    public VariableIndexSet union(final VariableIndexSet other) {
+        return union(this, other);
+    }
+
+    /**
+     * Returns the intersection of this set and a given set.
+     * @param other the other set
+     * @return the intersection of the two sets
+     */
+    public VariableIndexSet intersection(final VariableIndexSet other) {
+        if (this.words != null && other.words != null) {
+            final int from = Math.max(this.firstWord(), other.firstWord());
+            final int to = Math.min(this.lastWord(), other.lastWord());
+            if (from > to) {
+                return EMPTY;
+            }
+            final long[] words = new long[to - from + 1];
+            for (int w = from; w <= to; w++) {
+                words[w - from] = this.word(w) & other.word(w);
+            }
+            return fromWords(words, from);
+        }
+        final VariableIndexSet smaller = this.size <= other.size ? this : other;
+        final VariableIndexSet larger = smaller == this ? other : this;
+        final int[] indices = smaller.toArray();
+        int n = 0;
+        for (final int index : indices) {
+            if (larger.contains(index)) {
+                indices[n++] = index;
+            }
+        }
+        return fromSorted(indices, n);
+    }
+
+    /**
+     * Returns {@code true} if this set contains a given index.
+     * @param index the index
+     * @return {@code true} if this set contains the index, {@code false} otherwise
+     */
+    public boolean contains(final int index) {
+        if (index < 0) {
+            return false;
+        }
+        if (this.words != null) {
+            return (this.word(index >>> 6) & (1L << index)) != 0;
+        }
+        return Arrays.binarySearch(this.indices, index) >= 0;
+    }
+
+    /**
+     * Returns {@code true} if this set contains the index of a given variable.
+     * @param variable the variable
+     * @return {@code true} if this set contains the variable, {@code false} otherwise
+     */
+    public boolean contains(final Variable variable) {
+        return this.contains(variable.index());
+    }
+
+    /**
+     * Returns {@code true} if this set contains all indices of a given set.
+     * @param other the other set
+     * @return {@code true} if this set contains all indices of the other set, {@code false} otherwise
+     */
+    public boolean containsAll(final VariableIndexSet other) {
+        if (other.size > this.size) {
+            return false;
+        }
+        if (this.words != null && other.words != null) {
+            for (int i = 0; i < other.words.length; i++) {
+                if ((other.words[i] & ~this.word(other.wordOffset + i)) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (final int index : other.toArray()) {
+            if (!this.contains(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if this set and a given set have at least one common index.
+     * @param other the other set
+     * @return {@code true} if the two sets intersect, {@code false} if they are disjoint
+     */
+    public boolean intersects(final VariableIndexSet other) {
+        if (this.isEmpty() || other.isEmpty()) {
+            return false;
+        }
+        if (this.words != null && other.words != null) {
+            final int to = Math.min(this.lastWord(), other.lastWord());
+            for (int w = Math.max(this.firstWord(), other.firstWord()); w <= to; w++) {
+                if ((this.word(w) & other.word(w)) != 0) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        final VariableIndexSet smaller = this.size <= other.size ? this : other;
+        final VariableIndexSet larger = smaller == this ? other : this;
+        for (final int index : smaller.toArray()) {
+            if (larger.contains(index)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of indices in this set.
+     * @return the number of indices in this set
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns {@code true} if this set is empty.
+     * @return {@code true} if this set is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Returns the indices of this set in ascending order.
+     * @return the indices of this set
+     */
+    public int[] toArray() {
+        if (this.words == null) {
+            return Arrays.copyOf(this.indices, this.size);
+        }
+        final int[] result = new int[this.size];
+        this.copyIndices(result, 0);
+        return result;
+    }
+
+    /**
+     * Returns a stream of the indices of this set in ascending order.
+     * @return a stream of the indices of this set
+     */
+    public IntStream stream() {
+        return Arrays.stream(this.toArray());
+    }
+
+    private int copyIndices(final int[] target, final int start) {
+        int n = start;
+        if (this.words == null) {
+            System.arraycopy(this.indices, 0, target, n, this.size);
+            return n + this.size;
+        }
+        for (int i = 0; i < this.words.length; i++) {
+            long word = this.words[i];
+            while (word != 0) {
+                target[n++] = ((this.wordOffset + i) << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return n;
+    }
+
+    private long word(final int wordIndex) {
+        final int i = wordIndex - this.wordOffset;
+        return i >= 0 && i < this.words.length ? this.words[i] : 0L;
+    }
+
+    private int firstWord() {
+        return this.words != null ? this.wordOffset : this.indices[0] >>> 6;
+    }
+
+    private int lastWord() {
+        return this.words != null ? this.wordOffset + this.words.length - 1 : this.indices[this.size - 1] >>> 6;
+    }
+
+    /**
+     * Creates a set from a sorted array of indices, which may contain duplicates.
+     * @param sorted the sorted indices (will be modified)
+     * @param length the number of indices in the array
+     * @return the set
+     */
+    private static VariableIndexSet fromSorted(final int[] sorted, final int length) {
+        if (length == 0) {
+            return EMPTY;
+        }
+        if (sorted[0] < 0) {
+            throw new IllegalArgumentException("Variable indices must not be negative.");
+        }
+        int n = 1;
+        for (int i = 1; i < length; i++) {
+            if (sorted[i] != sorted[n - 1]) {
+                sorted[n++] = sorted[i];
+            }
+        }
+        final int minWord = sorted[0] >>> 6;
+        final int numWords = (sorted[n - 1] >>> 6) - minWord + 1;
+        if (numWords > n) {
+            return new VariableIndexSet(null, 0, n == sorted.length ? sorted : Arrays.copyOf(sorted, n), n);
+        }
+        final long[] words = new long[numWords];
+        for (int i = 0; i < n; i++) {
+            words[(sorted[i] >>> 6) - minWord] |= 1L << sorted[i];
+        }
+        return new VariableIndexSet(words, minWord, null, n);
+    }
+
+    /**
+     * Creates a set from a bitset with a given word offset.
+     * @param words      the words of the bitset (will be modified)
+     * @param wordOffset the index of the first word
+     * @return the set
+     */
+    private static VariableIndexSet fromWords(final long[] words, final int wordOffset) {
+        int first = 0;
+        while (first < words.length && words[first] == 0) {
+            first++;
+        }
+        if (first == words.length) {
+            return EMPTY;
+        }
+        int last = words.length - 1;
+        while (words[last] == 0) {
+            last--;
+        }
+        int size = 0;
+        for (int i = first; i <= last; i++) {
+            size += Long.bitCount(words[i]);
+        }
+        final int numWords = last - first + 1;
+        final VariableIndexSet set = new VariableIndexSet(first == 0 && last == words.length - 1 ? words : Arrays.copyOfRange(words, first, last + 1),
+                wordOffset + first, null, size);
+        return numWords > size ? new VariableIndexSet(null, 0, set.toArray(), size) : set;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(this.toArray());
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof VariableIndexSet) {
+            final VariableIndexSet o = (VariableIndexSet) other;
+            return this.size == o.size && this.wordOffset == o.wordOffset
+                    && Arrays.equals(this.words, o.words) && Arrays.equals(this.indices, o.indices);
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "VariableIndexSet{indices=" + Arrays.toString(this.toArray()) + "}";
+    }
+}
@@ -0,0 +1,73 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.List;
+import java.util.function.UnaryOperator;
+
+/**
+ * A post-order visitor which rewrites the atomic formulas of a formula with a given function and rebuilds all
+ * operators above them.  This is the common base of restrictions and substitutions.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class AtomRewritingVisitor implements PostOrderVisitor<Formula> {
+
+    private final UnaryOperator<Formula> atomFunction;
+
+    /**
+     * Constructs a new visitor.
+     * @param atomFunction the function which is applied to the atomic formulas
+     */
+    AtomRewritingVisitor(final UnaryOperator<Formula> atomFunction) {
+        this.atomFunction = atomFunction;
+    }
+
+    @Override
+    public Formula cached(final Formula formula) {
+        return formula.isAtomicFormula() ? this.atomFunction.apply(formula) : null;
+    }
+
+    @Override
+    public Formula visit(final Formula formula, final List<Formula> operands) {
+        final FormulaFactory f = formula.factory();
+        switch (formula.type()) {
+            case NOT:
+                return f.not(operands.get(0));
+            case IMPL:
+            case EQUIV:
+                return f.binaryOperator(formula.type(), operands.get(0), operands.get(1));
+            case AND:
+            case OR:
+                return f.naryOperator(formula.type(), operands);
+            default:
+                throw new IllegalArgumentException("Unknown LogicNG formula type: " + formula.type());
+        }
+    }
+}
@@ -0,0 +1,227 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.logicng.formulas.FormulaFactory.CC_PREFIX;
+import static org.logicng.formulas.FormulaFactory.CNF_PREFIX;
+import static org.logicng.formulas.FormulaFactory.PB_PREFIX;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Imports many formulas at once into a formula factory.
+ * <p>
+ * In contrast to the recursive {@link org.logicng.transformations.FormulaFactoryImporter} the DAG of all input
+ * formulas is traversed iteratively and every shared sub-formula is imported exactly once.  In parallel mode, the
+ * input formulas and the operands of their top-level conjunctions and disjunctions are imported as independent tasks
+ * on the common fork-join pool.  Therefore, the target factory must be a {@link ConcurrentFormulaFactory} in this mode.
+ * <p>
+ * In both modes, source formulas are identified by identity, so equal formulas of different source factories are
+ * imported separately.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class BatchFormulaImporter {
+
+    private final FormulaFactory f;
+    private final boolean parallel;
+    private final Map<IdentityKey, Formula> mapping;
+    private final Set<Variable> generatedVariables;
+
+    /**
+     * Constructs a new batch importer.
+     * @param f        the factory into which the formulas are imported
+     * @param parallel whether independent sub-formulas should be imported in parallel
+     * @throws IllegalArgumentException if a parallel import is requested for a factory which is not thread-safe
+     */
+    BatchFormulaImporter(final FormulaFactory f, final boolean parallel) {
+        if (parallel && !(f instanceof ConcurrentFormulaFactory)) {
+            throw new IllegalArgumentException("A parallel import requires a ConcurrentFormulaFactory as target factory");
+        }
+        this.f = f;
+        this.parallel = parallel;
+        this.mapping = parallel ? new ConcurrentHashMap<>() : new HashMap<>();
+        this.generatedVariables = parallel ? ConcurrentHashMap.newKeySet() : new LinkedHashSet<>();
+    }
+
+    /**
+     * Imports the given formulas.
+     * @param formulas the formulas
+     * @return the import result
+     */
+    FormulaImportResult importFormulas(final Collection<? extends Formula> formulas) {
+        if (this.parallel) {
+            final Set<Formula> tasks = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (final Formula formula : formulas) {
+                if (formula.type() == FType.AND || formula.type() == FType.OR) {
+                    for (final Formula op : formula) {
+                        tasks.add(op);
+                    }
+                }
+                tasks.add(formula);
+            }
+            tasks.parallelStream().forEach(this::importFormula);
+        }
+        final List<Formula> result = new ArrayList<>(formulas.size());
+        for (final Formula formula : formulas) {
+            result.add(importFormula(formula));
+        }
+        if (!this.generatedVariables.isEmpty()) {
+            this.f.adjustCounters(this.generatedVariables);
+        }
+        final Map<Formula, Formula> mapping = new IdentityHashMap<>(this.mapping.size());
+        for (final Map.Entry<IdentityKey, Formula> entry : this.mapping.entrySet()) {
+            mapping.put(entry.getKey().formula, entry.getValue());
+        }
+        return new FormulaImportResult(result, mapping);
+    }
+
+    /**
+     * Imports a single formula with an explicit stack.  A node is created on the target factory as soon as all of its
+     * operands are imported.
+     * @param formula the formula
+     * @return the imported formula
+     */
+    private Formula importFormula(final Formula formula) {
+        final Formula known = this.mapped(formula);
+        if (known != null) {
+            return known;
+        }
+        final Deque<Formula> stack = new ArrayDeque<>();
+        stack.push(formula);
+        while (!stack.isEmpty()) {
+            final Formula current = stack.peek();
+            if (this.mapped(current) != null) {
+                stack.pop();
+                continue;
+            }
+            boolean ready = true;
+            if (!this.f.owns(current) && !current.isAtomicFormula()) {
+                for (final Formula op : current) {
+                    if (this.mapped(op) == null) {
+                        stack.push(op);
+                        ready = false;
+                    }
+                }
+            }
+            if (ready) {
+                stack.pop();
+                this.mapping.putIfAbsent(new IdentityKey(current), this.f.owns(current) ? current : create(current));
+            }
+        }
+        return this.mapped(formula);
+    }
+
+    private Formula mapped(final Formula formula) {
+        return this.mapping.get(new IdentityKey(formula));
+    }
+
+    private Formula create(final Formula formula) {
+        switch (formula.type()) {
+            case TRUE:
+                return this.f.verum();
+            case FALSE:
+                return this.f.falsum();
+            case LITERAL:
+                return importLiteral((Literal) formula);
+            case NOT:
+                return this.f.not(this.mapped(((Not) formula).operand()));
+            case IMPL:
+                final Implication implication = (Implication) formula;
+                return this.f.implication(this.mapped(implication.left()), this.mapped(implication.right()));
+            case EQUIV:
+                final Equivalence equivalence = (Equivalence) formula;
+                return this.f.equivalence(this.mapped(equivalence.left()), this.mapped(equivalence.right()));
+            case AND:
+            case OR:
+                final List<Formula> operands = new ArrayList<>(formula.numberOfOperands());
+                for (final Formula op : formula) {
+                    operands.add(this.mapped(op));
+                }
+                return formula.type() == FType.AND ? this.f.and(operands) : this.f.or(operands);
+            case PBC:
+                final PBConstraint pbc = (PBConstraint) formula;
+                final Literal[] literals = new Literal[pbc.operands().length];
+                for (int i = 0; i < literals.length; i++) {
+                    final Literal source = pbc.operands()[i];
+                    Literal literal = (Literal) this.mapped(source);
+                    if (literal == null) {
+                        literal = importLiteral(source);
+                        this.mapping.putIfAbsent(new IdentityKey(source), literal);
+                    }
+                    literals[i] = literal;
+                }
+                return this.f.pbc(pbc.comparator(), pbc.rhs(), literals, pbc.coefficients());
+            default:
+                throw new IllegalArgumentException("Unknown LogicNG formula type: " + formula.type());
+        }
+    }
+
+    private Literal importLiteral(final Literal literal) {
+        final Literal imported = this.f.literal(literal.name(), literal.phase());
+        final String name = literal.name();
+        if (name.startsWith(CC_PREFIX) || name.startsWith(PB_PREFIX) || name.startsWith(CNF_PREFIX)) {
+            this.generatedVariables.add(imported.variable());
+        }
+        return imported;
+    }
+
+    /**
+     * A key which identifies a source formula by identity, so the sequential and the concurrent mapping have the same
+     * key semantics.
+     */
+    private static final class IdentityKey {
+        private final Formula formula;
+
+        private IdentityKey(final Formula formula) {
+            this.formula = formula;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this.formula);
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            return other instanceof IdentityKey && ((IdentityKey) other).formula == this.formula;
+        }
+    }
+}
@@ -29,6 +29,7 @@
 package org.logicng.formulas;
 
 import org.logicng.datastructures.Substitution;
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.util.FormulaHelper;
 
 import java.util.Collections;
@@ -39,7 +40,7 @@ import java.util.stream.Stream;
 
 /**
  * Super class for Boolean binary operators.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class BinaryOperator extends Formula {
@@ -56,12 +57,26 @@ public abstract class BinaryOperator extends Formula {
      * @param f     the factory which created this instance
      */
     BinaryOperator(final FType type, final Formula left, final Formula right, final FormulaFactory f) {
-        super(type, f);
+        super(type, f, structuralHash(type, operandsHash(type, left, right)));
         this.left = left;
         this.right = right;
         this.hashCode = 0;
     }
 
+    /**
+     * Computes the hash of the operands of a binary operator.  The hash of the operands of an equivalence does not
+     * depend on their order.
+     * @param type  the type of the formula
+     * @param left  the left-hand side operand
+     * @param right the right-hand side operand
+     * @return the hash of the operands
+     */
+    private static long operandsHash(final FType type, final Formula left, final Formula right) {
+        return type == FType.EQUIV
+                ? mixHash(left.structuralHash) + mixHash(right.structuralHash)
+                : mixHash(left.structuralHash) * 31 + right.structuralHash;
+    }
+
     /**
      * Returns the left-hand side operator.
      * @return the left-hand side operator
@@ -119,6 +134,14 @@ public abstract class BinaryOperator extends Formula {
         return this.variables;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        if (this.variableIndexSet == null) {
+            this.variableIndexSet = this.left.variableIndexSet().union(this.right.variableIndexSet());
+        }
+        return this.variableIndexSet;
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return Collections.unmodifiableSortedSet(FormulaHelper.literals(this.left, this.right));
@@ -136,7 +159,7 @@ public abstract class BinaryOperator extends Formula {
 
     @Override
     public Formula substitute(final Substitution substitution) {
-        return this.f.binaryOperator(this.type, this.left.substitute(substitution), this.right.substitute(substitution));
+        return FormulaTraversal.postOrder(this, new AtomRewritingVisitor(atom -> atom.substitute(substitution)));
     }
 
     @Override
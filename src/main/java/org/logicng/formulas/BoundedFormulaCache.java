@@ -0,0 +1,185 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.formulas.cache.CacheEntry;
+import org.logicng.formulas.cache.CacheStatistics;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded cache policy for a single cache entry of the formula caches.
+ * <p>
+ * The values of the formula caches are still stored in the formulas themselves.  This class only keeps track of the
+ * formulas holding a value for its cache entry.  If more than {@link #capacity} formulas hold a value, a formula which
+ * was not used recently is returned by {@link #insert(Formula)} and its value has to be removed by the caller.
+ * <p>
+ * The recency of the formulas is approximated by the CLOCK algorithm: every formula occupies a slot with a reference
+ * bit which is set by a cache hit.  An eviction sweeps over the slots, clears the set reference bits, and evicts the
+ * first formula whose bit is not set.  Cache hits only set a bit and increment a counter, so they do not take the lock
+ * of this cache and do not block each other.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class BoundedFormulaCache {
+
+    private final CacheEntry entry;
+    private final int capacity;
+    private final Map<Formula, Integer> slotOfFormula;
+    private final Formula[] formulas;
+    private final AtomicIntegerArray referenced;
+    private final int[] freeSlots;
+    private int numFreeSlots;
+    private int hand;
+    private final LongAdder hits;
+    private final LongAdder misses;
+    private long evictions;
+
+    /**
+     * Constructs a new bounded cache.
+     * @param entry    the cache entry
+     * @param capacity the maximum number of formulas which may hold a value for the cache entry
+     */
+    BoundedFormulaCache(final CacheEntry entry, final int capacity) {
+        this.entry = entry;
+        this.capacity = capacity;
+        this.slotOfFormula = new ConcurrentHashMap<>();
+        this.formulas = new Formula[capacity];
+        this.referenced = new AtomicIntegerArray(capacity);
+        this.freeSlots = new int[capacity];
+        this.hits = new LongAdder();
+        this.misses = new LongAdder();
+        resetSlots();
+    }
+
+    /**
+     * Records a cache lookup on a given formula.
+     * @param formula the formula
+     * @param hit     {@code true} if the formula held a value for the cache entry, {@code false} otherwise
+     */
+    void lookup(final Formula formula, final boolean hit) {
+        if (hit) {
+            this.hits.increment();
+            final Integer slot = this.slotOfFormula.get(formula);
+            if (slot != null) {
+                this.referenced.set(slot, 1);
+            }
+        } else {
+            this.misses.increment();
+        }
+    }
+
+    /**
+     * Records that a given formula now holds a value for the cache entry.
+     * @param formula the formula
+     * @return the formula whose value has to be evicted or {@code null} if the capacity is not exceeded
+     */
+    synchronized Formula insert(final Formula formula) {
+        final Integer slot = this.slotOfFormula.get(formula);
+        if (slot != null) {
+            this.referenced.set(slot, 1);
+            return null;
+        }
+        if (this.capacity == 0) {
+            this.evictions++;
+            return formula;
+        }
+        if (this.numFreeSlots > 0) {
+            occupy(this.freeSlots[--this.numFreeSlots], formula);
+            return null;
+        }
+        while (this.referenced.get(this.hand) != 0) {
+            this.referenced.set(this.hand, 0);
+            this.hand = (this.hand + 1) % this.capacity;
+        }
+        final Formula evicted = this.formulas[this.hand];
+        this.slotOfFormula.remove(evicted);
+        occupy(this.hand, formula);
+        this.hand = (this.hand + 1) % this.capacity;
+        this.evictions++;
+        return evicted;
+    }
+
+    /**
+     * Records that a given formula does not hold a value for the cache entry anymore.
+     * @param formula the formula
+     */
+    synchronized void remove(final Formula formula) {
+        final Integer slot = this.slotOfFormula.remove(formula);
+        if (slot != null) {
+            this.formulas[slot] = null;
+            this.referenced.set(slot, 0);
+            this.freeSlots[this.numFreeSlots++] = slot;
+        }
+    }
+
+    /**
+     * Forgets all formulas, but keeps the counters.
+     */
+    synchronized void clear() {
+        this.slotOfFormula.clear();
+        resetSlots();
+    }
+
+    /**
+     * Returns the statistics of this cache.
+     * @return the statistics of this cache
+     */
+    synchronized CacheStatistics statistics() {
+        return new CacheStatistics(this.entry, this.capacity, this.slotOfFormula.size(), this.hits.sum(),
+                this.misses.sum(), this.evictions);
+    }
+
+    /**
+     * Puts a formula into a given slot.  New formulas start with an unset reference bit.
+     * @param slot    the slot
+     * @param formula the formula
+     */
+    private void occupy(final int slot, final Formula formula) {
+        this.formulas[slot] = formula;
+        this.referenced.set(slot, 0);
+        this.slotOfFormula.put(formula, slot);
+    }
+
+    /**
+     * Empties all slots.
+     */
+    private void resetSlots() {
+        for (int i = 0; i < this.capacity; i++) {
+            this.formulas[i] = null;
+            this.referenced.set(i, 0);
+            this.freeSlots[i] = this.capacity - 1 - i;
+        }
+        this.numFreeSlots = this.capacity;
+        this.hand = 0;
+    }
+}
@@ -0,0 +1,138 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.configurations.Configuration;
+import org.logicng.configurations.ConfigurationType;
+
+import java.util.HashSet;
+
+/**
+ * A lightweight formula factory which is layered on top of a {@link FormulaFactory#freeze() frozen} parent factory.
+ * <p>
+ * A child factory is obtained by {@link FormulaFactory#childFactory()} and belongs to a single thread.  Its unique
+ * tables first look up formulas in the unique tables of the parent factory and only store formulas which do not exist
+ * there.  So the formulas of the parent factory are used as operands without importing them, and a formula which
+ * exists on the parent factory is always returned as the instance of the parent factory.  The constants of a child
+ * factory are the constants of its parent factory.
+ * <p>
+ * The formula ids, variable indices, and counters for auxiliary variables of a child factory continue the ones of its
+ * parent factory, so they do not clash with the formulas of the parent factory.  The
+ * {@link #statistics() statistics} of a child factory include the formulas of its parent factory.  Clearing a child
+ * factory only removes its own formulas.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class ChildFormulaFactory extends FormulaFactory {
+
+    private final FormulaFactory parent;
+
+    /**
+     * Constructs a new child factory for a given frozen parent factory.
+     * @param parent the parent factory
+     */
+    ChildFormulaFactory(final FormulaFactory parent) {
+        super(parent.config());
+        this.parent = parent;
+        this.clear();
+        this.inheritCounters(parent);
+    }
+
+    /**
+     * Returns the parent factory of this child factory.
+     * @return the parent factory
+     */
+    public FormulaFactory parent() {
+        return this.parent;
+    }
+
+    /**
+     * Removes all formulas of this child factory.  The formulas of the parent factory are not affected.
+     */
+    @Override
+    public void clear() {
+        if (this.parent == null) {
+            // called by the constructor of the super class before the parent is set
+            super.clear();
+            return;
+        }
+        this.checkNotFrozen();
+        this.posLiterals = new LayeredMap<>(this.parent.posLiterals);
+        this.negLiterals = new LayeredMap<>(this.parent.negLiterals);
+        this.generatedVariables = new HashSet<>();
+        this.nots = new LayeredMap<>(this.parent.nots);
+        this.implications = new LayeredMap<>(this.parent.implications);
+        this.equivalences = new LayeredMap<>(this.parent.equivalences);
+        this.ands2 = new LayeredMap<>(this.parent.ands2);
+        this.ands3 = new LayeredMap<>(this.parent.ands3);
+        this.ands4 = new LayeredMap<>(this.parent.ands4);
+        this.andsN = new LayeredMap<>(this.parent.andsN);
+        this.ors2 = new LayeredMap<>(this.parent.ors2);
+        this.ors3 = new LayeredMap<>(this.parent.ors3);
+        this.ors4 = new LayeredMap<>(this.parent.ors4);
+        this.orsN = new LayeredMap<>(this.parent.orsN);
+        this.pbConstraints = new LayeredMap<>(this.parent.pbConstraints);
+        this.cardinalityConstraints = new LayeredMap<>(this.parent.cardinalityConstraints);
+        this.ccCounter = this.parent.ccCounter;
+        this.pbCounter = this.parent.pbCounter;
+        this.cnfCounter = this.parent.cnfCounter;
+        this.clearBoundedCaches();
+    }
+
+    @Override
+    boolean owns(final Formula formula) {
+        return formula.factory() == this || this.parent.owns(formula);
+    }
+
+    @Override
+    public CTrue verum() {
+        return this.parent.verum();
+    }
+
+    @Override
+    public CFalse falsum() {
+        return this.parent.falsum();
+    }
+
+    @Override
+    public Constant constant(final boolean value) {
+        return this.parent.constant(value);
+    }
+
+    @Override
+    public Configuration configurationFor(final ConfigurationType cType) {
+        final Configuration configuration = super.configurationFor(cType);
+        return configuration != null ? configuration : this.parent.configurationFor(cType);
+    }
+
+    @Override
+    public boolean isGeneratedVariable(final Variable var) {
+        return super.isGeneratedVariable(var) || this.parent.isGeneratedVariable(var);
+    }
+}
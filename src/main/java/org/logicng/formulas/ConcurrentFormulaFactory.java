@@ -0,0 +1,124 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A thread-safe version of the formula factory.
+ * <p>
+ * New formulas can only be generated by a formula factory.  It is implemented s.t. it is guaranteed that equivalent
+ * formulas (in terms of associativity and commutativity) are hold exactly once in memory.  This guarantee also holds
+ * if formulas are generated concurrently by many threads on a concurrent formula factory.
+ * <p>
+ * The unique tables of this factory are {@link ConcurrentHashMap concurrent hash maps}, which use lock-free reads
+ * and lock striping on their internal bins for writes.  So there is no global lock during the construction of formulas
+ * and the throughput scales with the number of threads.  If two threads construct the same formula at the same time,
+ * only one of the two instances is stored in the factory and returned to both threads.  Only the generation of
+ * auxiliary variables and the adjustment of their counters is synchronized on the factory.
+ * <p>
+ * Note that the thread-safety guarantee only covers the construction of formulas.  Formula transformations, functions
+ * and predicates which store their results in the caches of a formula should not be applied to the same formula
+ * from different threads at the same time with caching enabled.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class ConcurrentFormulaFactory extends FormulaFactory {
+
+    /**
+     * Constructor for a new concurrent formula factory.
+     * @param config the configuration for this formula factory
+     */
+    public ConcurrentFormulaFactory(final FormulaFactoryConfig config) {
+        super(config);
+    }
+
+    /**
+     * Constructor for a new concurrent formula factory with the default configuration.
+     */
+    public ConcurrentFormulaFactory() {
+        super();
+    }
+
+    /**
+     * Removes all formulas from the factory cache.
+     * <p>
+     * This method must not be called while other threads are generating formulas on this factory.
+     */
+    @Override
+    public synchronized void clear() {
+        this.checkNotFrozen();
+        this.posLiterals = new ConcurrentHashMap<>();
+        this.negLiterals = new ConcurrentHashMap<>();
+        this.generatedVariables = ConcurrentHashMap.newKeySet();
+        this.nots = new ConcurrentHashMap<>();
+        this.implications = new ConcurrentHashMap<>();
+        this.equivalences = new ConcurrentHashMap<>();
+        this.ands2 = new ConcurrentHashMap<>();
+        this.ands3 = new ConcurrentHashMap<>();
+        this.ands4 = new ConcurrentHashMap<>();
+        this.andsN = new ConcurrentHashMap<>();
+        this.ors2 = new ConcurrentHashMap<>();
+        this.ors3 = new ConcurrentHashMap<>();
+        this.ors4 = new ConcurrentHashMap<>();
+        this.orsN = new ConcurrentHashMap<>();
+        this.pbConstraints = new ConcurrentHashMap<>();
+        this.cardinalityConstraints = new ConcurrentHashMap<>();
+        this.ccCounter = 0;
+        this.pbCounter = 0;
+        this.cnfCounter = 0;
+        this.clearBoundedCaches();
+    }
+
+    @Override
+    public synchronized Variable newCCVariable() {
+        return super.newCCVariable();
+    }
+
+    @Override
+    public synchronized Variable newPBVariable() {
+        return super.newPBVariable();
+    }
+
+    @Override
+    public synchronized Variable newCNFVariable() {
+        return super.newCNFVariable();
+    }
+
+    @Override
+    synchronized void adjustCounters(final Collection<Variable> variables) {
+        super.adjustCounters(variables);
+    }
+
+    @Override
+    public synchronized FormulaFactoryStatistics statistics() {
+        return super.statistics();
+    }
+}
@@ -30,6 +30,7 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
+import org.logicng.datastructures.VariableIndexSet;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -40,7 +41,7 @@ import java.util.stream.Stream;
 
 /**
  * Super class for Boolean constants.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class Constant extends Formula {
@@ -71,7 +72,7 @@ public abstract class Constant extends Formula {
      * @param factory the factory which created this instance
      */
     Constant(final FType type, final FormulaFactory factory) {
-        super(type, factory);
+        super(type, factory, structuralHash(type, 0));
     }
 
     @Override
@@ -104,6 +105,11 @@ public abstract class Constant extends Formula {
         return EMPTY_VARIABLE_SET;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        return VariableIndexSet.empty();
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return EMPTY_LITERAL_SET;
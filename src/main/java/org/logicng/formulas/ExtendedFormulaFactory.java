@@ -44,7 +44,7 @@ import java.util.Set;
  * <p>
  * A formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to
  * synchronize the formula factory yourself or you use a formula factory for each single thread.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.2
  */
 public class ExtendedFormulaFactory extends FormulaFactory {
@@ -102,6 +102,7 @@ public class ExtendedFormulaFactory extends FormulaFactory {
 
     @Override
     public void clear() {
+        this.checkNotFrozen();
         this.posLiterals = new LinkedHashMap<>();
         this.negLiterals = new LinkedHashMap<>();
         this.generatedVariables = new LinkedHashSet<>();
@@ -121,6 +122,7 @@ public class ExtendedFormulaFactory extends FormulaFactory {
         this.ccCounter = 0;
         this.pbCounter = 0;
         this.cnfCounter = 0;
+        this.clearBoundedCaches();
     }
 
     /**
@@ -157,8 +159,10 @@ public class ExtendedFormulaFactory extends FormulaFactory {
      * Loads a previously saved FormulaFactoryState. All formula factory states saved after the loaded one become invalid.
      * @param state the FormulaFactoryState to be loaded
      * @throws IllegalArgumentException if the FormulaFactoryState to be loaded is invalid
+     * @throws IllegalStateException    if this factory is frozen
      */
     public void load(final FormulaFactoryState state) {
+        this.checkNotFrozen();
         int index = -1;
         for (int i = this.validStates.size() - 1; i >= 0 && index == -1; i--) {
             if (this.validStates.get(i) == state.id()) {
@@ -31,6 +31,7 @@ package org.logicng.formulas;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 import org.logicng.datastructures.Tristate;
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.formulas.cache.CacheEntry;
 import org.logicng.knowledgecompilation.bdds.BDD;
 import org.logicng.knowledgecompilation.bdds.BDDFactory;
@@ -38,39 +39,60 @@ import org.logicng.knowledgecompilation.bdds.jbuddy.BDDKernel;
 import org.logicng.knowledgecompilation.bdds.orderings.VariableOrdering;
 import org.logicng.knowledgecompilation.bdds.orderings.VariableOrderingProvider;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 import java.util.SortedSet;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.stream.Stream;
 
 /**
  * Super class for formulas.
- * @version 1.2
+ * <p>
+ * The transformation, predicate, and function caches of a formula are stored in compact slot arrays of alternating
+ * keys and values.  These arrays are only allocated when the first entry is stored in the respective cache, since most
+ * formulas never use their caches.  On every update a new array is created and published, so concurrent readers never
+ * observe a key with the value of another key.
+ * <p>
+ * If a {@link FormulaFactoryConfig.Builder#cacheCapacity(org.logicng.formulas.cache.TransformationCacheEntry, int)
+ * cache capacity} is configured for a cache entry, the number of formulas holding a value for this entry is bounded
+ * and values are evicted in a CLOCK (second chance) order approximating least recently used.
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class Formula implements Iterable<Formula> {
 
+    private static final long HASH_SEED = 0x9E3779B97F4A7C15L;
+    private static final AtomicReferenceFieldUpdater<Formula, Object[]> TRANSFORMATION_CACHE =
+            AtomicReferenceFieldUpdater.newUpdater(Formula.class, Object[].class, "transformationCache");
+    private static final AtomicReferenceFieldUpdater<Formula, Object[]> PREDICATE_CACHE =
+            AtomicReferenceFieldUpdater.newUpdater(Formula.class, Object[].class, "predicateCache");
+    private static final AtomicReferenceFieldUpdater<Formula, Object[]> FUNCTION_CACHE =
+            AtomicReferenceFieldUpdater.newUpdater(Formula.class, Object[].class, "functionCache");
+
     protected final FType type;
     protected final FormulaFactory f;
-    protected final Map<CacheEntry, Formula> transformationCache;
-    protected final Map<CacheEntry, Tristate> predicateCache;
-    protected final Map<CacheEntry, Object> functionCache;
+    protected final int id;
+    protected final long structuralHash;
+    volatile Object[] transformationCache;
+    volatile Object[] predicateCache;
+    volatile Object[] functionCache;
     protected SortedSet<Variable> variables;
+    protected VariableIndexSet variableIndexSet;
     protected long numberOfAtoms;
     protected long numberOfNodes;
 
     /**
      * Constructs a new formula.
-     * @param type the type of the formula
-     * @param f    the factory which created this formula
+     * @param type           the type of the formula
+     * @param f              the factory which created this formula
+     * @param structuralHash the 64-bit structural hash of the formula
      */
-    protected Formula(final FType type, final FormulaFactory f) {
+    protected Formula(final FType type, final FormulaFactory f, final long structuralHash) {
         this.type = type;
         this.f = f;
-        this.transformationCache = new HashMap<>();
-        this.predicateCache = new HashMap<>();
-        this.functionCache = new HashMap<>();
+        this.id = f != null ? f.nextFormulaId() : -1;
+        this.structuralHash = structuralHash;
         this.variables = null;
+        this.variableIndexSet = null;
         this.numberOfAtoms = -1;
         this.numberOfNodes = -1;
     }
@@ -91,6 +113,62 @@ public abstract class Formula implements Iterable<Formula> {
         return this.f;
     }
 
+    /**
+     * Returns the id of this formula.  The id is unique among all formulas of the factory of this formula and is never
+     * reused, not even after the factory was {@link FormulaFactory#clear() cleared}.  Auxiliary variables of an encoding
+     * which are created without a factory have the id -1.
+     * @return the id of this formula
+     */
+    public int id() {
+        return this.id;
+    }
+
+    /**
+     * Returns the 64-bit structural hash of this formula.  The hash is computed once on construction from the hashes of
+     * the operands, so structurally equal formulas have the same hash, even if they were created by different factories.
+     * As for the operands of a conjunction or disjunction, the hash of an n-ary operator does not depend on the order of
+     * its operands.
+     * @return the structural hash of this formula
+     */
+    public long structuralHash() {
+        return this.structuralHash;
+    }
+
+    /**
+     * Mixes the bits of a given 64-bit value (finalizer of the SplitMix64 generator).
+     * @param value the value
+     * @return the mixed value
+     */
+    static long mixHash(final long value) {
+        long z = value + HASH_SEED;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Computes the order-independent hash of a collection of operands.
+     * @param operands the operands
+     * @return the hash of the operands
+     */
+    static long operandsHash(final Iterable<? extends Formula> operands) {
+        long hash = 0;
+        for (final Formula op : operands) {
+            hash += mixHash(op.structuralHash);
+        }
+        return hash;
+    }
+
+    /**
+     * Computes the structural hash of a formula of a given type with a given payload.
+     * @param type    the type of the formula
+     * @param payload the payload computed from the content of the formula
+     * @return the structural hash
+     */
+    static long structuralHash(final FType type, final long payload) {
+        return mixHash(payload ^ ((type.ordinal() + 1L) * HASH_SEED));
+    }
+
     /**
      * Returns the number of atomic formulas of this formula.  An atomic formula is a predicate (constants and literals)
      * or a pseudo-Boolean constraint.
@@ -137,6 +215,15 @@ public abstract class Formula implements Iterable<Formula> {
      */
     public abstract SortedSet<Variable> variables();
 
+    /**
+     * Returns the {@link Variable#index() indices} of all variables occurring in this formula.  In contrast to
+     * {@link #variables()} the result is a compact immutable set, which is computed from the sets of the operands by
+     * word-parallel unions.  So it is the preferred way to compute the size of a variable set or to check containment
+     * and disjointness of variable sets of many sub-formulas.
+     * @return the indices of all variables occurring in this formula
+     */
+    public abstract VariableIndexSet variableIndexSet();
+
     /**
      * Returns all literals occurring in this formula.  Returns an unmodifiable set, so do not try to change the literal
      * set manually.
@@ -332,7 +419,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @return the cache value or {@code null} if the key is not found
      */
     public Formula transformationCacheEntry(final CacheEntry key) {
-        return this.transformationCache.get(key);
+        return (Formula) lookupCacheEntry(this.transformationCache, key);
     }
 
     /**
@@ -341,7 +428,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @param value the cache value
      */
     public void setTransformationCacheEntry(final CacheEntry key, final Formula value) {
-        this.transformationCache.put(key, value);
+        setCacheEntry(TRANSFORMATION_CACHE, key, value);
     }
 
     /**
@@ -350,7 +437,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @return the cache value (which is {@code UNDEF} if nothing is present)
      */
     public Tristate predicateCacheEntry(final CacheEntry key) {
-        final Tristate tristate = this.predicateCache.get(key);
+        final Tristate tristate = (Tristate) lookupCacheEntry(this.predicateCache, key);
         if (tristate == null) {
             return Tristate.UNDEF;
         }
@@ -363,7 +450,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @param value the cache value
      */
     public void setPredicateCacheEntry(final CacheEntry key, final boolean value) {
-        this.predicateCache.put(key, Tristate.fromBool(value));
+        this.setPredicateCacheEntry(key, Tristate.fromBool(value));
     }
 
     /**
@@ -372,7 +459,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @param value the cache value
      */
     public void setPredicateCacheEntry(final CacheEntry key, final Tristate value) {
-        this.predicateCache.put(key, value);
+        setCacheEntry(PREDICATE_CACHE, key, value);
     }
 
     /**
@@ -381,7 +468,7 @@ public abstract class Formula implements Iterable<Formula> {
      * @return the cache value or {@code null} if the key is not found
      */
     public Object functionCacheEntry(final CacheEntry key) {
-        return this.functionCache.get(key);
+        return lookupCacheEntry(this.functionCache, key);
     }
 
     /**
@@ -390,15 +477,142 @@ public abstract class Formula implements Iterable<Formula> {
      * @param value the cache value
      */
     public void setFunctionCacheEntry(final CacheEntry key, final Object value) {
-        this.functionCache.put(key, value);
+        setCacheEntry(FUNCTION_CACHE, key, value);
+    }
+
+    /**
+     * Looks up a key in a cache of this formula and records the lookup in the bounded cache of the key.
+     * @param slots the slot array of the cache, may be {@code null}
+     * @param key   the cache key
+     * @return the cache value or {@code null} if the key is not found
+     */
+    private Object lookupCacheEntry(final Object[] slots, final CacheEntry key) {
+        final Object value = cacheLookup(slots, key);
+        final BoundedFormulaCache bounded = this.f.boundedCache(key);
+        if (bounded != null) {
+            bounded.lookup(this, value != null);
+        }
+        return value;
+    }
+
+    /**
+     * Sets an entry in a cache of this formula.  If the cache of the key is bounded and this formula exceeds its
+     * capacity, the entry of the evicted formula is removed.
+     * @param cache the cache
+     * @param key   the cache key
+     * @param value the cache value, {@code null} removes the entry
+     */
+    private void setCacheEntry(final AtomicReferenceFieldUpdater<Formula, Object[]> cache, final CacheEntry key, final Object value) {
+        if (this.f.frozen) {
+            return;
+        }
+        updateCache(cache, this, key, value);
+        final BoundedFormulaCache bounded = this.f.boundedCache(key);
+        if (bounded != null) {
+            if (value == null) {
+                bounded.remove(this);
+            } else {
+                final Formula evicted = bounded.insert(this);
+                if (evicted != null) {
+                    updateCache(cache, evicted, key, null);
+                }
+            }
+        }
+    }
+
+    /**
+     * Atomically maps a key to a value in a cache of a given formula.  Since the slot array is replaced by a
+     * compare-and-set, concurrent updates of the same formula, e.g. an eviction by another thread, do not lose entries.
+     * @param cache   the cache
+     * @param formula the formula
+     * @param key     the cache key
+     * @param value   the cache value, {@code null} removes the entry
+     */
+    private static void updateCache(final AtomicReferenceFieldUpdater<Formula, Object[]> cache, final Formula formula,
+                                    final CacheEntry key, final Object value) {
+        Object[] slots;
+        do {
+            slots = cache.get(formula);
+        } while (!cache.compareAndSet(formula, slots, cacheUpdate(slots, key, value)));
     }
 
     /**
      * Clears the transformation and function cache of the formula.
      */
     public void clearCaches() {
-        this.transformationCache.clear();
-        this.functionCache.clear();
+        removeFromBoundedCaches(TRANSFORMATION_CACHE.getAndSet(this, null));
+        removeFromBoundedCaches(FUNCTION_CACHE.getAndSet(this, null));
+    }
+
+    /**
+     * Removes this formula from the bounded caches of all keys in a given cache slot array.
+     * @param slots the slot array of alternating keys and values, may be {@code null}
+     */
+    private void removeFromBoundedCaches(final Object[] slots) {
+        if (slots == null) {
+            return;
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            final BoundedFormulaCache bounded = this.f.boundedCache((CacheEntry) slots[i]);
+            if (bounded != null) {
+                bounded.remove(this);
+            }
+        }
+    }
+
+    /**
+     * Looks up a key in a cache slot array.
+     * @param slots the slot array of alternating keys and values, may be {@code null}
+     * @param key   the cache key
+     * @return the cache value or {@code null} if the key is not found
+     */
+    private static Object cacheLookup(final Object[] slots, final CacheEntry key) {
+        if (slots == null) {
+            return null;
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] == key || slots[i].equals(key)) {
+                return slots[i + 1];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns a new cache slot array with the given key mapped to the given value.  A {@code null} value removes the
+     * key from the cache.  The given slot array is not changed.
+     * @param slots the slot array of alternating keys and values, may be {@code null}
+     * @param key   the cache key
+     * @param value the cache value
+     * @return the new slot array or {@code null} if the cache is empty
+     */
+    private static Object[] cacheUpdate(final Object[] slots, final CacheEntry key, final Object value) {
+        if (slots == null) {
+            return value == null ? null : new Object[]{key, value};
+        }
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] == key || slots[i].equals(key)) {
+                if (value == null) {
+                    if (slots.length == 2) {
+                        return null;
+                    }
+                    final Object[] result = new Object[slots.length - 2];
+                    System.arraycopy(slots, 0, result, 0, i);
+                    System.arraycopy(slots, i + 2, result, i, slots.length - i - 2);
+                    return result;
+                }
+                final Object[] result = slots.clone();
+                result[i + 1] = value;
+                return result;
+            }
+        }
+        if (value == null) {
+            return slots;
+        }
+        final Object[] result = Arrays.copyOf(slots, slots.length + 2);
+        result[slots.length] = key;
+        result[slots.length + 1] = value;
+        return result;
     }
 
     /**
@@ -37,6 +37,8 @@ import static org.logicng.formulas.FType.TRUE;
 
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.cache.CacheEntry;
+import org.logicng.formulas.cache.CacheStatistics;
 import org.logicng.formulas.printer.FormulaStringRepresentation;
 import org.logicng.functions.SubNodeFunction;
 import org.logicng.io.parsers.ParserException;
@@ -57,6 +59,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * The formula factory for LogicNG.
@@ -65,8 +68,12 @@ import java.util.Set;
  * formulas (in terms of associativity and commutativity) are hold exactly once in memory.
  * <p>
  * A formula factory is NOT thread-safe.  If you generate formulas from more than one thread you either need to synchronize the formula factory
- * yourself or you use a formula factory for each single thread.
- * @version 2.0.0
+ * yourself, use a formula factory for each single thread, or use a {@link ConcurrentFormulaFactory}.
+ * <p>
+ * Every formula gets a unique {@link Formula#id() id} and a precomputed {@link Formula#structuralHash() structural hash}
+ * on construction.  The unique tables for equivalences, conjunctions, and disjunctions are keyed by the structural
+ * hashes of the operands, so a lookup neither rehashes the operands nor needs a copy of them.
+ * @version 2.1.0
  * @since 1.0
  */
 public class FormulaFactory {
@@ -77,6 +84,7 @@ public class FormulaFactory {
 
     private final String name;
 
+    private final FormulaFactoryConfig config;
     private final CFalse cFalse;
     private final CTrue cTrue;
     private final FormulaStringRepresentation stringRepresentation;
@@ -90,27 +98,31 @@ public class FormulaFactory {
     private final PBEncoder pbEncoder;
     private final CNFEncoder cnfEncoder;
     private final PseudoBooleanParser parser;
+    private final Map<CacheEntry, BoundedFormulaCache> boundedCaches;
     Map<String, Variable> posLiterals;
     Map<String, Literal> negLiterals;
     Set<Variable> generatedVariables;
     Map<Formula, Not> nots;
     Map<Pair<Formula, Formula>, Implication> implications;
-    Map<LinkedHashSet<? extends Formula>, Equivalence> equivalences;
-    Map<LinkedHashSet<? extends Formula>, And> ands2;
-    Map<LinkedHashSet<? extends Formula>, And> ands3;
-    Map<LinkedHashSet<? extends Formula>, And> ands4;
-    Map<LinkedHashSet<? extends Formula>, And> andsN;
-    Map<LinkedHashSet<? extends Formula>, Or> ors2;
-    Map<LinkedHashSet<? extends Formula>, Or> ors3;
-    Map<LinkedHashSet<? extends Formula>, Or> ors4;
-    Map<LinkedHashSet<? extends Formula>, Or> orsN;
+    Map<NAryOperands, Equivalence> equivalences;
+    Map<NAryOperands, And> ands2;
+    Map<NAryOperands, And> ands3;
+    Map<NAryOperands, And> ands4;
+    Map<NAryOperands, And> andsN;
+    Map<NAryOperands, Or> ors2;
+    Map<NAryOperands, Or> ors3;
+    Map<NAryOperands, Or> ors4;
+    Map<NAryOperands, Or> orsN;
     Map<PBOperands, PBConstraint> pbConstraints;
     Map<CCOperands, CardinalityConstraint> cardinalityConstraints;
     int ccCounter;
     int pbCounter;
     int cnfCounter;
-    private boolean cnfCheck;
+    private final AtomicInteger formulaCounter = new AtomicInteger();
+    private final AtomicInteger variableCounter = new AtomicInteger();
     private FormulaFactoryImporter importer;
+    volatile boolean frozen;
+    private ThreadLocal<ChildFormulaFactory> childFactories;
 
     /**
      * Constructor for a new formula factory.
@@ -118,11 +130,16 @@ public class FormulaFactory {
      */
     public FormulaFactory(final FormulaFactoryConfig config) {
         this.name = config.name;
+        this.config = config;
         this.stringRepresentation = config.stringRepresentation.get();
         this.formulaMergeStrategy = config.formulaMergeStrategy;
         this.simplifyComplementaryOperands = config.simplifyComplementaryOperands;
         this.cFalse = new CFalse(this);
         this.cTrue = new CTrue(this);
+        this.boundedCaches = new HashMap<>();
+        for (final Map.Entry<CacheEntry, Integer> capacity : config.cacheCapacities.entrySet()) {
+            this.boundedCaches.put(capacity.getKey(), new BoundedFormulaCache(capacity.getKey(), capacity.getValue()));
+        }
         this.clear();
         this.configurations = new EnumMap<>(ConfigurationType.class);
         this.cnfEncoder = new CNFEncoder(this);
@@ -163,6 +180,7 @@ public class FormulaFactory {
      * Removes all formulas from the factory cache.
      */
     public void clear() {
+        this.checkNotFrozen();
         this.posLiterals = new HashMap<>();
         this.negLiterals = new HashMap<>();
         this.generatedVariables = new HashSet<>();
@@ -182,6 +200,143 @@ public class FormulaFactory {
         this.ccCounter = 0;
         this.pbCounter = 0;
         this.cnfCounter = 0;
+        this.clearBoundedCaches();
+    }
+
+    /**
+     * Freezes this formula factory.  A frozen factory is immutable: its unique tables are never changed again and the
+     * caches of its formulas are not updated anymore.  Therefore, its formulas can be read by many threads at the same
+     * time, e.g. to evaluate or restrict them, to compute their variables, or to test predicates on them.
+     * <p>
+     * New formulas are never created on a frozen factory.  Instead, every thread has its own lightweight
+     * {@link #childFactory() child factory} layered on top of the frozen factory.  The child factory first looks up
+     * formulas in the unique tables of the frozen factory and only stores formulas which do not exist there.  All
+     * methods of a frozen factory which would create formulas, like {@link #and(Formula...)}, {@link #variable(String)},
+     * or {@link #parse(String)}, are delegated to the child factory of the current thread.  So operations like
+     * {@link Formula#restrict(org.logicng.datastructures.Assignment)} or {@link Formula#cnf()} on formulas of the frozen
+     * factory return formulas of the child factory of the current thread.
+     * <p>
+     * Freezing cannot be undone.  The factory must be frozen before it is shared with other threads, and
+     * {@link #clear()} or {@link #putConfiguration(Configuration)} must not be called on it afterwards.
+     */
+    public synchronized void freeze() {
+        if (!this.frozen) {
+            this.childFactories = ThreadLocal.withInitial(() -> new ChildFormulaFactory(this));
+            this.frozen = true;
+        }
+    }
+
+    /**
+     * Returns whether this formula factory is {@link #freeze() frozen}.
+     * @return {@code true} if this factory is frozen, {@code false} otherwise
+     */
+    public boolean isFrozen() {
+        return this.frozen;
+    }
+
+    /**
+     * Returns the child factory of the current thread for this {@link #freeze() frozen} factory.  The child factory is
+     * created on the first call of a thread and all formulas which are created by this thread on the frozen factory
+     * are stored in it.
+     * @return the child factory of the current thread
+     * @throws IllegalStateException if this factory is not frozen
+     */
+    public ChildFormulaFactory childFactory() {
+        if (!this.frozen) {
+            throw new IllegalStateException("Child factories can only be created for a frozen formula factory.");
+        }
+        return this.childFactories.get();
+    }
+
+    /**
+     * Returns the child factory of the current thread to which all creations of formulas on this frozen factory are
+     * delegated.
+     * @return the child factory of the current thread
+     */
+    private FormulaFactory delegate() {
+        return this.childFactories.get();
+    }
+
+    /**
+     * Releases the child factory of the current thread for this {@link #freeze() frozen} factory.  The next call of
+     * {@link #childFactory()} on this thread creates a new empty child factory.  Threads of a pool which outlive the
+     * work on a frozen factory should release their child factory, since otherwise it cannot be garbage collected.
+     * @throws IllegalStateException if this factory is not frozen
+     */
+    public void releaseChildFactory() {
+        if (!this.frozen) {
+            throw new IllegalStateException("Only a frozen formula factory has child factories.");
+        }
+        this.childFactories.remove();
+    }
+
+    /**
+     * Returns whether a given formula belongs to this factory and can be used as operand of new formulas without
+     * importing it.
+     * @param formula the formula
+     * @return {@code true} if the formula belongs to this factory, {@code false} otherwise
+     */
+    boolean owns(final Formula formula) {
+        return formula.factory() == this;
+    }
+
+    /**
+     * Throws an exception if this factory is frozen.
+     * @throws IllegalStateException if this factory is frozen
+     */
+    void checkNotFrozen() {
+        if (this.frozen) {
+            throw new IllegalStateException("A frozen formula factory cannot be modified.");
+        }
+    }
+
+    /**
+     * Returns the configuration of this factory.
+     * @return the configuration of this factory
+     */
+    FormulaFactoryConfig config() {
+        return this.config;
+    }
+
+    /**
+     * Continues the formula, variable, and auxiliary variable counters of a given parent factory.
+     * @param parent the parent factory
+     */
+    void inheritCounters(final FormulaFactory parent) {
+        this.formulaCounter.set(parent.formulaCounter.get());
+        this.variableCounter.set(parent.variableCounter.get());
+        this.ccCounter = parent.ccCounter;
+        this.pbCounter = parent.pbCounter;
+        this.cnfCounter = parent.cnfCounter;
+    }
+
+    /**
+     * Forgets the formulas tracked by the bounded caches.  Has to be called by every implementation of {@link #clear()}.
+     */
+    void clearBoundedCaches() {
+        for (final BoundedFormulaCache cache : this.boundedCaches.values()) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Returns the bounded cache for a given cache entry or {@code null} if the cache for this entry is unbounded.
+     * @param entry the cache entry
+     * @return the bounded cache or {@code null}
+     */
+    BoundedFormulaCache boundedCache(final CacheEntry entry) {
+        return this.boundedCaches.isEmpty() || this.frozen ? null : this.boundedCaches.get(entry);
+    }
+
+    /**
+     * Returns the statistics of the bounded cache for a given cache entry.  The cache of an entry is bounded if a cache
+     * capacity was configured for this entry in the {@link FormulaFactoryConfig}.
+     * @param entry the cache entry
+     * @return the statistics of the bounded cache or {@code null} if the cache for this entry is unbounded
+     */
+    public CacheStatistics cacheStatistics(final CacheEntry entry) {
+        final BoundedFormulaCache cache = this.boundedCache(entry);
+        return cache == null ? null : cache.statistics();
     }
 
     /**
@@ -214,6 +369,7 @@ public class FormulaFactory {
         if (configuration.type() == ConfigurationType.FORMULA_FACTORY) {
             throw new IllegalArgumentException("Configurations for the formula factory itself can only be passed in the constructor.");
         }
+        this.checkNotFrozen();
         this.configurations.put(configuration.type(), configuration);
     }
 
@@ -222,6 +378,9 @@ public class FormulaFactory {
      * @return a function to compute the sub-formulas
      */
     public SubNodeFunction subformulaFunction() {
+        if (this.frozen) {
+            return this.delegate().subformulaFunction();
+        }
         return this.subformulaFunction;
     }
 
@@ -230,6 +389,9 @@ public class FormulaFactory {
      * @return the default pseudo-Boolean encoder of this formula factory
      */
     public PBEncoder pbEncoder() {
+        if (this.frozen) {
+            return this.delegate().pbEncoder();
+        }
         return this.pbEncoder;
     }
 
@@ -238,6 +400,9 @@ public class FormulaFactory {
      * @return the default CNF encoder of this formula factory
      */
     public CNFEncoder cnfEncoder() {
+        if (this.frozen) {
+            return this.delegate().cnfEncoder();
+        }
         return this.cnfEncoder;
     }
 
@@ -267,6 +432,9 @@ public class FormulaFactory {
      * @return a new implication
      */
     public Formula implication(final Formula leftIn, final Formula rightIn) {
+        if (this.frozen) {
+            return this.delegate().implication(leftIn, rightIn);
+        }
         final Formula left = importOrPanic(leftIn);
         final Formula right = importOrPanic(rightIn);
         if (left.type() == FALSE || right.type() == TRUE) {
@@ -285,7 +453,10 @@ public class FormulaFactory {
         Implication implication = this.implications.get(key);
         if (implication == null) {
             implication = new Implication(left, right, this);
-            this.implications.put(key, implication);
+            final Implication existing = this.implications.putIfAbsent(key, implication);
+            if (existing != null) {
+                return existing;
+            }
         }
         return implication;
     }
@@ -297,6 +468,9 @@ public class FormulaFactory {
      * @return a new equivalence
      */
     public Formula equivalence(final Formula leftIn, final Formula rightIn) {
+        if (this.frozen) {
+            return this.delegate().equivalence(leftIn, rightIn);
+        }
         final Formula left = importOrPanic(leftIn);
         final Formula right = importOrPanic(rightIn);
         if (left.type() == TRUE) {
@@ -317,11 +491,14 @@ public class FormulaFactory {
         if (left.equals(right.negate())) {
             return this.falsum();
         }
-        final LinkedHashSet<Formula> key = new LinkedHashSet<>(Arrays.asList(left, right));
+        final NAryOperands key = new NAryOperands(new Formula[]{left, right});
         Equivalence equivalence = this.equivalences.get(key);
         if (equivalence == null) {
             equivalence = new Equivalence(left, right, this);
-            this.equivalences.put(key, equivalence);
+            final Equivalence existing = this.equivalences.putIfAbsent(key, equivalence);
+            if (existing != null) {
+                return existing;
+            }
         }
         return equivalence;
     }
@@ -343,6 +520,9 @@ public class FormulaFactory {
      * @return the negated formula
      */
     public Formula not(final Formula operandIn) {
+        if (this.frozen) {
+            return this.delegate().not(operandIn);
+        }
         final Formula operand = importOrPanic(operandIn);
         if (operand.type() == LITERAL || operand.type() == FALSE || operand.type() == TRUE || operand.type() == NOT) {
             return operand.negate();
@@ -350,7 +530,10 @@ public class FormulaFactory {
         Not not = this.nots.get(operand);
         if (not == null) {
             not = new Not(operand, this);
-            this.nots.put(operand, not);
+            final Not existing = this.nots.putIfAbsent(operand, not);
+            if (existing != null) {
+                return existing;
+            }
         }
         return not;
     }
@@ -435,7 +618,7 @@ public class FormulaFactory {
      *                                       {@link FormulaFactoryConfig.FormulaMergeStrategy#PANIC}.
      */
     private Formula importOrPanic(final Formula formula) {
-        if (formula.factory() == this) {
+        if (this.owns(formula)) {
             return formula;
         }
         switch (this.formulaMergeStrategy) {
@@ -461,7 +644,7 @@ public class FormulaFactory {
     private LinkedHashSet<? extends Formula> importOrPanic(final LinkedHashSet<? extends Formula> formulas) {
         boolean foundAnotherFormulaFactory = false;
         for (final Formula formula : formulas) {
-            if (formula.factory() != this) {
+            if (!this.owns(formula)) {
                 foundAnotherFormulaFactory = true;
                 break;
             }
@@ -473,7 +656,7 @@ public class FormulaFactory {
             case IMPORT:
                 final LinkedHashSet<Formula> result = new LinkedHashSet<>();
                 for (final Formula formula : formulas) {
-                    result.add(formula.factory() != this ? importFormula(formula) : formula);
+                    result.add(!this.owns(formula) ? importFormula(formula) : formula);
                 }
                 return result;
             case PANIC:
@@ -496,7 +679,7 @@ public class FormulaFactory {
     private Literal[] importOrPanic(final Literal[] literals) {
         boolean foundAnotherFormulaFactory = false;
         for (final Literal lit : literals) {
-            if (lit.factory() != this) {
+            if (!this.owns(lit)) {
                 foundAnotherFormulaFactory = true;
                 break;
             }
@@ -509,7 +692,7 @@ public class FormulaFactory {
                 final Literal[] result = new Literal[literals.length];
                 for (int i = 0; i < literals.length; i++) {
                     final Literal lit = literals[i];
-                    result[i] = lit.factory() != this ? this.literal(lit.name(), lit.phase()) : lit;
+                    result[i] = !this.owns(lit) ? this.literal(lit.name(), lit.phase()) : lit;
                 }
                 return result;
             case PANIC:
@@ -525,9 +708,13 @@ public class FormulaFactory {
      * @return a new conjunction
      */
     private Formula constructAnd(final LinkedHashSet<? extends Formula> operandsIn) {
+        if (this.frozen) {
+            return this.delegate().constructAnd(operandsIn);
+        }
         final LinkedHashSet<? extends Formula> operands = importOrPanic(operandsIn);
         And tempAnd = null;
-        Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
+        Map<NAryOperands, And> opAndMap = this.andsN;
+        NAryOperands key = null;
         if (operands.size() > 1) {
             switch (operands.size()) {
                 case 2:
@@ -542,7 +729,8 @@ public class FormulaFactory {
                 default:
                     break;
             }
-            tempAnd = opAndMap.get(operands);
+            key = new NAryOperands(operands);
+            tempAnd = opAndMap.get(key);
         }
         if (tempAnd != null) {
             return tempAnd;
@@ -560,7 +748,7 @@ public class FormulaFactory {
             return condensedOperands.iterator().next();
         }
         final And and;
-        Map<LinkedHashSet<? extends Formula>, And> condAndMap = this.andsN;
+        Map<NAryOperands, And> condAndMap = this.andsN;
         switch (condensedOperands.size()) {
             case 2:
                 condAndMap = this.ands2;
@@ -574,14 +762,16 @@ public class FormulaFactory {
             default:
                 break;
         }
-        and = condAndMap.get(condensedOperands);
+        final NAryOperands condensedKey = new NAryOperands(condensedOperands);
+        and = condAndMap.get(condensedKey);
         if (and == null) {
-            tempAnd = new And(condensedOperands, this, this.cnfCheck);
-            opAndMap.put(operands, tempAnd);
-            condAndMap.put(condensedOperands, tempAnd);
+            tempAnd = new And(condensedOperands, this, isCNF(condensedOperands));
+            final And existing = condAndMap.putIfAbsent(new NAryOperands(tempAnd.operands, condensedKey.hash), tempAnd);
+            tempAnd = existing != null ? existing : tempAnd;
+            putAlias(opAndMap, key, condensedKey, tempAnd);
             return tempAnd;
         }
-        opAndMap.put(operands, and);
+        putAlias(opAndMap, key, condensedKey, and);
         return and;
     }
 
@@ -620,6 +810,9 @@ public class FormulaFactory {
      * @return a new CNF
      */
     private Formula constructCNF(final LinkedHashSet<? extends Formula> clausesIn) {
+        if (this.frozen) {
+            return this.delegate().constructCNF(clausesIn);
+        }
         final LinkedHashSet<? extends Formula> clauses = importOrPanic(clausesIn);
         if (clauses.isEmpty()) {
             return this.verum();
@@ -627,7 +820,7 @@ public class FormulaFactory {
         if (clauses.size() == 1) {
             return clauses.iterator().next();
         }
-        Map<LinkedHashSet<? extends Formula>, And> opAndMap = this.andsN;
+        Map<NAryOperands, And> opAndMap = this.andsN;
         switch (clauses.size()) {
             case 2:
                 opAndMap = this.ands2;
@@ -641,13 +834,14 @@ public class FormulaFactory {
             default:
                 break;
         }
-        And tempAnd = opAndMap.get(clauses);
+        final NAryOperands key = new NAryOperands(clauses);
+        And tempAnd = opAndMap.get(key);
         if (tempAnd != null) {
             return tempAnd;
         }
         tempAnd = new And(clauses, this, true);
-        opAndMap.put(clauses, tempAnd);
-        return tempAnd;
+        final And existing = opAndMap.putIfAbsent(new NAryOperands(tempAnd.operands, key.hash), tempAnd);
+        return existing != null ? existing : tempAnd;
     }
 
     /**
@@ -679,9 +873,13 @@ public class FormulaFactory {
      * @return a new disjunction
      */
     private Formula constructOr(final LinkedHashSet<? extends Formula> operandsIn) {
+        if (this.frozen) {
+            return this.delegate().constructOr(operandsIn);
+        }
         final LinkedHashSet<? extends Formula> operands = importOrPanic(operandsIn);
         Or tempOr = null;
-        Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
+        Map<NAryOperands, Or> opOrMap = this.orsN;
+        NAryOperands key = null;
         if (operands.size() > 1) {
             switch (operands.size()) {
                 case 2:
@@ -696,7 +894,8 @@ public class FormulaFactory {
                 default:
                     break;
             }
-            tempOr = opOrMap.get(operands);
+            key = new NAryOperands(operands);
+            tempOr = opOrMap.get(key);
         }
         if (tempOr != null) {
             return tempOr;
@@ -714,7 +913,7 @@ public class FormulaFactory {
             return condensedOperands.iterator().next();
         }
         final Or or;
-        Map<LinkedHashSet<? extends Formula>, Or> condOrMap = this.orsN;
+        Map<NAryOperands, Or> condOrMap = this.orsN;
         switch (condensedOperands.size()) {
             case 2:
                 condOrMap = this.ors2;
@@ -728,14 +927,16 @@ public class FormulaFactory {
             default:
                 break;
         }
-        or = condOrMap.get(condensedOperands);
+        final NAryOperands condensedKey = new NAryOperands(condensedOperands);
+        or = condOrMap.get(condensedKey);
         if (or == null) {
-            tempOr = new Or(condensedOperands, this, this.cnfCheck);
-            opOrMap.put(operands, tempOr);
-            condOrMap.put(condensedOperands, tempOr);
+            tempOr = new Or(condensedOperands, this, isClause(condensedOperands));
+            final Or existing = condOrMap.putIfAbsent(new NAryOperands(tempOr.operands, condensedKey.hash), tempOr);
+            tempOr = existing != null ? existing : tempOr;
+            putAlias(opOrMap, key, condensedKey, tempOr);
             return tempOr;
         }
-        opOrMap.put(operands, or);
+        putAlias(opOrMap, key, condensedKey, or);
         return or;
     }
 
@@ -772,6 +973,9 @@ public class FormulaFactory {
      * @return a new clause
      */
     private Formula constructClause(final LinkedHashSet<Literal> literalsIn) {
+        if (this.frozen) {
+            return this.delegate().constructClause(literalsIn);
+        }
         final LinkedHashSet<? extends Formula> literals = importOrPanic(literalsIn);
         if (literals.isEmpty()) {
             return this.falsum();
@@ -779,7 +983,7 @@ public class FormulaFactory {
         if (literals.size() == 1) {
             return literals.iterator().next();
         }
-        Map<LinkedHashSet<? extends Formula>, Or> opOrMap = this.orsN;
+        Map<NAryOperands, Or> opOrMap = this.orsN;
         switch (literals.size()) {
             case 2:
                 opOrMap = this.ors2;
@@ -793,13 +997,14 @@ public class FormulaFactory {
             default:
                 break;
         }
-        Or tempOr = opOrMap.get(literals);
+        final NAryOperands key = new NAryOperands(literals);
+        Or tempOr = opOrMap.get(key);
         if (tempOr != null) {
             return tempOr;
         }
         tempOr = new Or(literals, this, true);
-        opOrMap.put(literals, tempOr);
-        return tempOr;
+        final Or existing = opOrMap.putIfAbsent(new NAryOperands(tempOr.operands, key.hash), tempOr);
+        return existing != null ? existing : tempOr;
     }
 
     /**
@@ -811,13 +1016,19 @@ public class FormulaFactory {
      * @return a new literal with the given name and phase
      */
     public Literal literal(final String name, final boolean phase) {
+        if (this.frozen) {
+            return this.delegate().literal(name, phase);
+        }
         if (phase) {
             return this.variable(name);
         } else {
             Literal lit = this.negLiterals.get(name);
             if (lit == null) {
                 lit = new Literal(name, false, this);
-                this.negLiterals.put(name, lit);
+                final Literal existing = this.negLiterals.putIfAbsent(name, lit);
+                if (existing != null) {
+                    return existing;
+                }
             }
             return lit;
         }
@@ -829,10 +1040,16 @@ public class FormulaFactory {
      * @return a new literal with the given name and positive phase
      */
     public Variable variable(final String name) {
+        if (this.frozen) {
+            return this.delegate().variable(name);
+        }
         Variable var = this.posLiterals.get(name);
         if (var == null) {
             var = new Variable(name, this);
-            this.posLiterals.put(name, var);
+            final Variable existing = this.posLiterals.putIfAbsent(name, var);
+            if (existing != null) {
+                return existing;
+            }
         }
         return var;
     }
@@ -868,6 +1085,9 @@ public class FormulaFactory {
     }
 
     private Formula constructPBC(final CType comparator, final int rhs, final Literal[] literalsIn, final int[] coefficients) {
+        if (this.frozen) {
+            return this.delegate().constructPBC(comparator, rhs, literalsIn, coefficients);
+        }
         final Literal[] literals = importOrPanic(literalsIn);
         if (literals.length == 0) {
             return this.constant(evaluateTrivialPBConstraint(comparator, rhs));
@@ -879,7 +1099,10 @@ public class FormulaFactory {
         PBConstraint constraint = this.pbConstraints.get(operands);
         if (constraint == null) {
             constraint = new PBConstraint(literals, coefficients, comparator, rhs, this);
-            this.pbConstraints.put(operands, constraint);
+            final PBConstraint existing = this.pbConstraints.putIfAbsent(operands, constraint);
+            if (existing != null) {
+                return existing;
+            }
         }
         return constraint;
     }
@@ -976,6 +1199,9 @@ public class FormulaFactory {
     }
 
     private Formula constructCCUnsafe(final CType comparator, final int rhs, final Literal[] literalsIn) {
+        if (this.frozen) {
+            return this.delegate().constructCCUnsafe(comparator, rhs, literalsIn);
+        }
         final Literal[] literals = importOrPanic(literalsIn);
         if (literals.length == 0) {
             return this.constant(evaluateTrivialPBConstraint(comparator, rhs));
@@ -984,7 +1210,10 @@ public class FormulaFactory {
         CardinalityConstraint constraint = this.cardinalityConstraints.get(operands);
         if (constraint == null) {
             constraint = new CardinalityConstraint(importOrPanic(literals), comparator, rhs, this);
-            this.cardinalityConstraints.put(operands, constraint);
+            final CardinalityConstraint existing = this.cardinalityConstraints.putIfAbsent(operands, constraint);
+            if (existing != null) {
+                return existing;
+            }
         }
         return constraint;
     }
@@ -1048,6 +1277,9 @@ public class FormulaFactory {
      * @return the new cardinality constraint auxiliary literal
      */
     public Variable newCCVariable() {
+        if (this.frozen) {
+            return this.delegate().newCCVariable();
+        }
         final Variable var = this.variable(this.ccPrefix + this.ccCounter++);
         this.generatedVariables.add(var);
         return var;
@@ -1060,6 +1292,9 @@ public class FormulaFactory {
      * @return the new pseudo Boolean auxiliary literal
      */
     public Variable newPBVariable() {
+        if (this.frozen) {
+            return this.delegate().newPBVariable();
+        }
         final Variable var = this.variable(this.pbPrefix + this.pbCounter++);
         this.generatedVariables.add(var);
         return var;
@@ -1072,11 +1307,31 @@ public class FormulaFactory {
      * @return the new CNF auxiliary literal
      */
     public Variable newCNFVariable() {
+        if (this.frozen) {
+            return this.delegate().newCNFVariable();
+        }
         final Variable var = this.variable(this.cnfPrefix + this.cnfCounter++);
         this.generatedVariables.add(var);
         return var;
     }
 
+    /**
+     * Stores the operator for its original (not condensed) operands, s.t. the condensation can be skipped if the same
+     * operands are used again.  Nothing is stored if the original and the condensed operands have the same hash, since
+     * they are equal in almost all cases and the operator is then already stored for them.
+     * @param map          the unique table for the original operands
+     * @param key          the original operands
+     * @param condensedKey the condensed operands
+     * @param operator     the operator
+     * @param <T>          the type of the operator
+     */
+    private static <T extends NAryOperator> void putAlias(final Map<NAryOperands, T> map, final NAryOperands key,
+                                                          final NAryOperands condensedKey, final T operator) {
+        if (key.hash != condensedKey.hash) {
+            map.put(key.copy(), operator);
+        }
+    }
+
     /**
      * Returns a condensed array of operands for a given n-ary disjunction.
      * @param operands the formulas
@@ -1084,26 +1339,15 @@ public class FormulaFactory {
      */
     private LinkedHashSet<Formula> condenseOperandsOr(final Collection<? extends Formula> operands) {
         final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-        this.cnfCheck = true;
         for (final Formula form : operands) {
             if (form.type() == OR) {
                 for (final Formula f : ((NAryOperator) form).operands) {
-                    final byte ret = this.addFormulaOr(ops, f);
-                    if (ret == 0x00) {
+                    if (!this.addFormulaOr(ops, f)) {
                         return null;
                     }
-                    if (ret == 0x02) {
-                        this.cnfCheck = false;
-                    }
-                }
-            } else {
-                final byte ret = this.addFormulaOr(ops, form);
-                if (ret == 0x00) {
-                    return null;
-                }
-                if (ret == 0x02) {
-                    this.cnfCheck = false;
                 }
+            } else if (!this.addFormulaOr(ops, form)) {
+                return null;
             }
         }
         return ops;
@@ -1116,31 +1360,51 @@ public class FormulaFactory {
      */
     private LinkedHashSet<Formula> condenseOperandsAnd(final Collection<? extends Formula> operands) {
         final LinkedHashSet<Formula> ops = new LinkedHashSet<>();
-        this.cnfCheck = true;
         for (final Formula form : operands) {
             if (form.type() == AND) {
                 for (final Formula f : ((NAryOperator) form).operands) {
-                    final byte ret = this.addFormulaAnd(ops, f);
-                    if (ret == 0x00) {
+                    if (!this.addFormulaAnd(ops, f)) {
                         return null;
                     }
-                    if (ret == 0x02) {
-                        this.cnfCheck = false;
-                    }
-                }
-            } else {
-                final byte ret = this.addFormulaAnd(ops, form);
-                if (ret == 0x00) {
-                    return null;
-                }
-                if (ret == 0x02) {
-                    this.cnfCheck = false;
                 }
+            } else if (!this.addFormulaAnd(ops, form)) {
+                return null;
             }
         }
         return ops;
     }
 
+    /**
+     * Returns {@code true} if all of the given condensed operands of a disjunction are literals.
+     * <p>
+     * The check is performed locally (and not as a side effect of the condensation) s.t. the construction
+     * of formulas does not rely on any mutable state of the factory.
+     * @param operands the condensed operands
+     * @return {@code true} if the operands form a clause
+     */
+    private static boolean isClause(final Collection<? extends Formula> operands) {
+        for (final Formula op : operands) {
+            if (op.type != LITERAL) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns {@code true} if all of the given condensed operands of a conjunction are literals or clauses.
+     * @param operands the condensed operands
+     * @return {@code true} if the operands form a CNF
+     */
+    private static boolean isCNF(final Collection<? extends Formula> operands) {
+        for (final Formula op : operands) {
+            if (op.type != LITERAL && !(op.type == OR && ((Or) op).isCNFClause())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Returns {@code true} if the given variable was generated, {@code false} otherwise.
      * @param var the variable to check
@@ -1166,44 +1430,47 @@ public class FormulaFactory {
      * @throws ParserException if the parser throws an exception
      */
     public Formula parse(final String string) throws ParserException {
+        if (this.frozen) {
+            return this.delegate().parse(string);
+        }
         return this.parser.parse(string);
     }
 
     /**
      * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
      * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-     * formula is the dual element, 0x00 is returned.  If the added formula was a literal 0x01 is returned,
-     * otherwise 0x02 is returned.
+     * formula is the dual element, {@code false} is returned, otherwise {@code true}.
      * @param ops the list of operands
      * @param f   the formula
+     * @return {@code false} if the disjunction became a tautology, {@code true} otherwise
      */
-    private byte addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
+    private boolean addFormulaOr(final LinkedHashSet<Formula> ops, final Formula f) {
         if (f.type == FALSE) {
-            return 0x01;
+            return true;
         } else if (f.type == TRUE || containsComplement(ops, f)) {
-            return 0x00;
+            return false;
         } else {
             ops.add(f);
-            return (byte) (f.type == LITERAL ? 0x01 : 0x02);
+            return true;
         }
     }
 
     /**
      * Adds a given formula to a list of operands.  If the formula is the neutral element for the respective n-ary
      * operation it will be skipped.  If a complementary formula is already present in the list of operands or the
-     * formula is the dual element, 0x00 is returned.  If the added formula was a clause, 0x01 is returned,
-     * otherwise 0x02 is returned.
+     * formula is the dual element, {@code false} is returned, otherwise {@code true}.
      * @param ops the list of operands
      * @param f   the formula
+     * @return {@code false} if the conjunction became a contradiction, {@code true} otherwise
      */
-    private byte addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
+    private boolean addFormulaAnd(final LinkedHashSet<Formula> ops, final Formula f) {
         if (f.type() == TRUE) {
-            return 0x01;
+            return true;
         } else if (f.type == FALSE || containsComplement(ops, f)) {
-            return 0x00;
+            return false;
         } else {
             ops.add(f);
-            return (byte) (f.type == LITERAL || f.type == OR && ((Or) f).isCNFClause() ? 0x01 : 0x02);
+            return true;
         }
     }
 
@@ -1214,6 +1481,12 @@ public class FormulaFactory {
      * @return the imported formula on this factory
      */
     public Formula importFormula(final Formula formula) {
+        if (this.owns(formula)) {
+            return formula;
+        }
+        if (this.frozen) {
+            return this.delegate().importFormula(formula);
+        }
         if (this.importer == null) {
             this.importer = new FormulaFactoryImporter(this);
         }
@@ -1222,8 +1495,72 @@ public class FormulaFactory {
         return imported;
     }
 
-    private void adjustCounters(final Formula formula) {
-        for (final Variable variable : formula.variables()) {
+    /**
+     * Imports many formulas from other formula factories into this factory.  In contrast to calling
+     * {@link #importFormula(Formula)} for each formula, sub-formulas which are shared between the formulas are imported
+     * only once and the formulas are traversed without recursion.  Formulas which already belong to this factory are not
+     * imported again.
+     * @param formulas the formulas to import
+     * @return the import result with the imported formulas and the mapping of all imported nodes
+     */
+    public FormulaImportResult importFormulas(final Collection<? extends Formula> formulas) {
+        return importFormulas(formulas, false);
+    }
+
+    /**
+     * Imports many formulas from other formula factories into this factory.  In contrast to calling
+     * {@link #importFormula(Formula)} for each formula, sub-formulas which are shared between the formulas are imported
+     * only once and the formulas are traversed without recursion.  Formulas which already belong to this factory are not
+     * imported again.
+     * <p>
+     * If {@code parallel} is {@code true}, the formulas and the operands of their top-level conjunctions and disjunctions
+     * are imported in parallel.  This requires this factory to be a {@link ConcurrentFormulaFactory}.  The source
+     * factories must not be modified concurrently during the import.
+     * @param formulas the formulas to import
+     * @param parallel whether independent sub-formulas should be imported in parallel
+     * @return the import result with the imported formulas and the mapping of all imported nodes
+     * @throws IllegalArgumentException if {@code parallel} is {@code true} and this factory is not a concurrent factory
+     */
+    public FormulaImportResult importFormulas(final Collection<? extends Formula> formulas, final boolean parallel) {
+        if (this.frozen) {
+            return this.delegate().importFormulas(formulas, parallel);
+        }
+        return new BatchFormulaImporter(this, parallel).importFormulas(formulas);
+    }
+
+    /**
+     * Returns the id for a new formula of this factory.  The counter is not reset when the factory is cleared, s.t.
+     * formulas surviving the clearing never share an id with new formulas.  The counter is atomic, since formulas
+     * of a {@link ConcurrentFormulaFactory} are constructed without a global lock.
+     * @return the id for a new formula
+     */
+    int nextFormulaId() {
+        return this.formulaCounter.getAndIncrement();
+    }
+
+    /**
+     * Returns the index for a new variable of this factory.  As for formula ids, the counter is never reset.
+     * @return the index for a new variable
+     */
+    int nextVariableIndex() {
+        return this.variableCounter.getAndIncrement();
+    }
+
+    /**
+     * Adjusts the counters for generated variables s.t. they do not clash with generated variables of an
+     * imported formula.
+     * @param formula the imported formula
+     */
+    void adjustCounters(final Formula formula) {
+        adjustCounters(formula.variables());
+    }
+
+    /**
+     * Adjusts the counters for generated variables s.t. they do not clash with the given imported variables.
+     * @param variables the imported variables
+     */
+    void adjustCounters(final Collection<Variable> variables) {
+        for (final Variable variable : variables) {
             if (variable.name().startsWith(CC_PREFIX)) {
                 final String[] tokens = variable.name().split("_");
                 final int counter = Integer.parseInt(tokens[tokens.length - 1]);
@@ -1303,6 +1640,100 @@ public class FormulaFactory {
         return statistics;
     }
 
+    /**
+     * Helper class for the operands of an equivalence, a conjunction, or a disjunction.  The operands are compared as a
+     * set, i.e. independent of their order.  The hash of the operands is computed from their precomputed structural
+     * hashes and two instances with different hashes are never compared element-wise.
+     * <p>
+     * Keys for lookups wrap the operand set of the caller without copying it.  Keys which are stored in a unique table
+     * hold the operand array of the formula (or a copy of the operands).
+     */
+    static final class NAryOperands {
+        private static final int LINEAR_COMPARISON_LIMIT = 8;
+
+        private final Set<? extends Formula> set;
+        private final Formula[] array;
+        private final long hash;
+
+        /**
+         * Constructs a new lookup key for a set of operands.
+         * @param set the operands
+         */
+        NAryOperands(final Set<? extends Formula> set) {
+            this.set = set;
+            this.array = null;
+            this.hash = Formula.operandsHash(set);
+        }
+
+        /**
+         * Constructs a new key for an array of operands.  The array must be free of duplicates.
+         * @param array the operands
+         */
+        NAryOperands(final Formula[] array) {
+            this(array, Formula.operandsHash(Arrays.asList(array)));
+        }
+
+        /**
+         * Constructs a new key for an array of operands with a known hash.  The array must be free of duplicates.
+         * @param array the operands
+         * @param hash  the hash of the operands
+         */
+        NAryOperands(final Formula[] array, final long hash) {
+            this.set = null;
+            this.array = array;
+            this.hash = hash;
+        }
+
+        /**
+         * Returns a key which does not reference the operand set of the caller.
+         * @return a key which can be stored in a unique table
+         */
+        NAryOperands copy() {
+            return this.array != null ? this : new NAryOperands(this.set.toArray(new Formula[0]), this.hash);
+        }
+
+        private int size() {
+            return this.array != null ? this.array.length : this.set.size();
+        }
+
+        private boolean containsAll(final NAryOperands other) {
+            final Collection<? extends Formula> lookup;
+            if (this.set != null) {
+                lookup = this.set;
+            } else if (this.array.length <= LINEAR_COMPARISON_LIMIT) {
+                lookup = Arrays.asList(this.array);
+            } else {
+                lookup = new HashSet<>(Arrays.asList(this.array));
+            }
+            for (final Formula op : other.set != null ? other.set : Arrays.asList(other.array)) {
+                if (!lookup.contains(op)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (this.hash ^ (this.hash >>> 32));
+        }
+
+        @Override
+        public boolean equals(final Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (other instanceof NAryOperands) {
+                final NAryOperands o = (NAryOperands) other;
+                if (this.hash != o.hash || this.size() != o.size()) {
+                    return false;
+                }
+                return o.set != null ? o.containsAll(this) : this.containsAll(o);
+            }
+            return false;
+        }
+    }
+
     /**
      * Helper class for the operands of a pseudo-Boolean constraint.
      */
@@ -30,14 +30,21 @@ package org.logicng.formulas;
 
 import org.logicng.configurations.Configuration;
 import org.logicng.configurations.ConfigurationType;
+import org.logicng.formulas.cache.CacheEntry;
+import org.logicng.formulas.cache.FunctionCacheEntry;
+import org.logicng.formulas.cache.PredicateCacheEntry;
+import org.logicng.formulas.cache.TransformationCacheEntry;
 import org.logicng.formulas.printer.DefaultStringRepresentation;
 import org.logicng.formulas.printer.FormulaStringRepresentation;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Supplier;
 
 /**
  * The configuration object for a formula factory.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public final class FormulaFactoryConfig extends Configuration {
@@ -61,6 +68,7 @@ public final class FormulaFactoryConfig extends Configuration {
     final FormulaMergeStrategy formulaMergeStrategy;
     final Supplier<FormulaStringRepresentation> stringRepresentation;
     final boolean simplifyComplementaryOperands;
+    final Map<CacheEntry, Integer> cacheCapacities;
 
     private FormulaFactoryConfig(final Builder builder) {
         super(ConfigurationType.FORMULA_FACTORY);
@@ -68,6 +76,7 @@ public final class FormulaFactoryConfig extends Configuration {
         this.formulaMergeStrategy = builder.formulaMergeStrategy;
         this.stringRepresentation = builder.stringRepresentation;
         this.simplifyComplementaryOperands = builder.simplifyComplementaryOperands;
+        this.cacheCapacities = Collections.unmodifiableMap(new LinkedHashMap<>(builder.cacheCapacities));
     }
 
     /**
@@ -80,7 +89,7 @@ public final class FormulaFactoryConfig extends Configuration {
 
     /**
      * The builder for a formula factory configuration.
-     * @version 2.0.0
+     * @version 2.1.0
      * @since 2.0.0
      */
     public static class Builder {
@@ -88,6 +97,7 @@ public final class FormulaFactoryConfig extends Configuration {
         private FormulaMergeStrategy formulaMergeStrategy = FormulaMergeStrategy.PANIC;
         private Supplier<FormulaStringRepresentation> stringRepresentation = DefaultStringRepresentation::new;
         private boolean simplifyComplementaryOperands = true;
+        private final Map<CacheEntry, Integer> cacheCapacities = new LinkedHashMap<>();
 
         /**
          * Sets the name of this formula factory. The default is an empty string.
@@ -139,6 +149,71 @@ public final class FormulaFactoryConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Bounds the number of formulas which cache a transformation result for the given cache entry.  If more
+         * formulas store a result for this entry, a result which was not used recently is evicted.  A capacity of 0
+         * disables the caching for the entry.  By default, the caches are unbounded.
+         * <p>
+         * The entries {@code TSEITIN}, {@code TSEITIN_VARIABLE}, and the {@code PLAISTED_GREENBAUM} entries cannot
+         * be bounded, since the respective CNF transformations rely on their cached sub-results.
+         * @param entry    the cache entry
+         * @param capacity the maximum number of formulas which cache a result for the entry
+         * @return the builder
+         * @throws IllegalArgumentException if the capacity is negative or the entry cannot be bounded
+         */
+        public Builder cacheCapacity(final TransformationCacheEntry entry, final int capacity) {
+            switch (entry) {
+                case TSEITIN:
+                case TSEITIN_VARIABLE:
+                case PLAISTED_GREENBAUM_POS:
+                case PLAISTED_GREENBAUM_NEG:
+                case PLAISTED_GREENBAUM_VARIABLE:
+                    throw new IllegalArgumentException("The cache for " + entry + " cannot be bounded.");
+                default:
+                    return this.putCacheCapacity(entry, capacity);
+            }
+        }
+
+        /**
+         * Bounds the number of formulas which cache a predicate result for the given cache entry.  If more
+         * formulas store a result for this entry, a result which was not used recently is evicted.  A capacity of 0
+         * disables the caching for the entry.  By default, the caches are unbounded.
+         * <p>
+         * The entry {@code IS_CNF} cannot be bounded, since it is computed once during the construction of
+         * conjunctions and disjunctions and never recomputed.
+         * @param entry    the cache entry
+         * @param capacity the maximum number of formulas which cache a result for the entry
+         * @return the builder
+         * @throws IllegalArgumentException if the capacity is negative or the entry cannot be bounded
+         */
+        public Builder cacheCapacity(final PredicateCacheEntry entry, final int capacity) {
+            if (entry == PredicateCacheEntry.IS_CNF) {
+                throw new IllegalArgumentException("The cache for " + entry + " cannot be bounded.");
+            }
+            return this.putCacheCapacity(entry, capacity);
+        }
+
+        /**
+         * Bounds the number of formulas which cache a function result for the given cache entry.  If more
+         * formulas store a result for this entry, a result which was not used recently is evicted.  A capacity of 0
+         * disables the caching for the entry.  By default, the caches are unbounded.
+         * @param entry    the cache entry
+         * @param capacity the maximum number of formulas which cache a result for the entry
+         * @return the builder
+         * @throws IllegalArgumentException if the capacity is negative
+         */
+        public Builder cacheCapacity(final FunctionCacheEntry entry, final int capacity) {
+            return this.putCacheCapacity(entry, capacity);
+        }
+
+        private Builder putCacheCapacity(final CacheEntry entry, final int capacity) {
+            if (capacity < 0) {
+                throw new IllegalArgumentException("The cache capacity must not be negative.");
+            }
+            this.cacheCapacities.put(entry, capacity);
+            return this;
+        }
+
         /**
          * Builds the configuration.
          * @return the configuration.
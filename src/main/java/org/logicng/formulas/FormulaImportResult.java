@@ -0,0 +1,102 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The result of a batch import of formulas into a formula factory via
+ * {@link FormulaFactory#importFormulas(java.util.Collection, boolean)}.
+ * <p>
+ * Besides the imported formulas in the order of the input, the result holds the mapping of every imported node, i.e.
+ * of all sub-formulas and literals of the input formulas, to its counterpart on the target factory.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class FormulaImportResult {
+
+    private final List<Formula> formulas;
+    private final Map<Formula, Formula> mapping;
+
+    /**
+     * Constructs a new import result.
+     * @param formulas the imported formulas in the order of the input
+     * @param mapping  the mapping from source nodes to imported nodes
+     */
+    FormulaImportResult(final List<Formula> formulas, final Map<Formula, Formula> mapping) {
+        this.formulas = Collections.unmodifiableList(formulas);
+        this.mapping = mapping;
+    }
+
+    /**
+     * Returns the imported formulas in the order of the input formulas.
+     * @return the imported formulas
+     */
+    public List<Formula> formulas() {
+        return this.formulas;
+    }
+
+    /**
+     * Returns the imported counterpart of a given formula, which must be one of the input formulas or one of their
+     * sub-formulas or literals.
+     * @param source the formula of the source factory
+     * @return the imported formula on the target factory or {@code null} if the formula was not imported
+     */
+    public Formula get(final Formula source) {
+        return this.mapping.get(source);
+    }
+
+    /**
+     * Returns the number of distinct nodes which were imported.  Since shared sub-formulas are imported only once,
+     * this is the size of the DAG of the input formulas.
+     * @return the number of distinct imported nodes
+     */
+    public int numberOfNodes() {
+        return this.mapping.size();
+    }
+
+    /**
+     * Returns the remapping of formula {@link Formula#id() ids} from the source factory to the target factory.  Since
+     * ids are only unique within one factory, the source formulas should stem from a single factory.  Input formulas
+     * which already belonged to the target factory are not contained in the map.  The map is computed on each call.
+     * @return the mapping from ids of source formulas to ids of imported formulas
+     */
+    public Map<Integer, Integer> idMapping() {
+        final Map<Integer, Integer> idMapping = new HashMap<>(this.mapping.size() * 4 / 3 + 1);
+        for (final Map.Entry<Formula, Formula> entry : this.mapping.entrySet()) {
+            if (entry.getKey() != entry.getValue()) {
+                idMapping.put(entry.getKey().id(), entry.getValue().id());
+            }
+        }
+        return idMapping;
+    }
+}
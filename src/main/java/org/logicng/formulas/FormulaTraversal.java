@@ -0,0 +1,159 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An iterative post-order traversal of formulas.
+ * <p>
+ * The traversal uses an explicit stack instead of recursion, so it can handle formulas of arbitrary depth.  Every
+ * distinct node of the formula DAG is visited exactly once, children are visited from left to right.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class FormulaTraversal {
+
+    private static final Formula[] NO_CHILDREN = new Formula[0];
+
+    /**
+     * Private constructor.
+     */
+    private FormulaTraversal() {
+        // Intentionally left empty.
+    }
+
+    /**
+     * Traverses the given formula in post-order and returns the result of the visitor for the formula.
+     * @param formula the formula
+     * @param visitor the visitor
+     * @param <T>     the result type of the visitor
+     * @return the result for the formula or {@code null} if the visitor aborted the traversal
+     */
+    public static <T> T postOrder(final Formula formula, final PostOrderVisitor<T> visitor) {
+        return postOrder(formula, visitor, new IdentityHashMap<>());
+    }
+
+    /**
+     * Traverses the given formula in post-order with a given map of already known results and returns the result of
+     * the visitor for the formula.  Nodes with a known result are not traversed again and all new results are added
+     * to the map.  So the same map can be used to traverse several formulas sharing sub-formulas.
+     * @param formula the formula
+     * @param visitor the visitor
+     * @param results the known results, usually an identity hash map
+     * @param <T>     the result type of the visitor
+     * @return the result for the formula or {@code null} if the visitor aborted the traversal
+     */
+    public static <T> T postOrder(final Formula formula, final PostOrderVisitor<T> visitor, final Map<Formula, T> results) {
+        Formula[] nodes = new Formula[32];
+        Formula[][] children = new Formula[32][];
+        int top = 0;
+        nodes[top++] = formula;
+        while (top > 0) {
+            final Formula current = nodes[top - 1];
+            final Formula[] currentChildren = children[top - 1];
+            if (currentChildren == null) {
+                if (results.containsKey(current)) {
+                    nodes[--top] = null;
+                    continue;
+                }
+                final T cached = visitor.cached(current);
+                if (cached != null) {
+                    results.put(current, cached);
+                    nodes[--top] = null;
+                    continue;
+                }
+                final Formula[] newChildren = childrenOf(current, visitor);
+                children[top - 1] = newChildren;
+                if (top + newChildren.length > nodes.length) {
+                    final int newLength = Math.max(2 * nodes.length, top + newChildren.length);
+                    nodes = Arrays.copyOf(nodes, newLength);
+                    children = Arrays.copyOf(children, newLength);
+                }
+                for (int i = newChildren.length - 1; i >= 0; i--) {
+                    if (!results.containsKey(newChildren[i])) {
+                        nodes[top++] = newChildren[i];
+                    }
+                }
+                continue;
+            }
+            top--;
+            nodes[top] = null;
+            children[top] = null;
+            final List<T> childResults = new ArrayList<>(currentChildren.length);
+            for (final Formula child : currentChildren) {
+                childResults.add(results.get(child));
+            }
+            final T result = visitor.visit(current, childResults);
+            if (result == null) {
+                return null;
+            }
+            results.put(current, result);
+        }
+        return results.get(formula);
+    }
+
+    /**
+     * Returns all distinct nodes of the given formula in post-order, i.e. a node appears after all of its operands.
+     * @param formula the formula
+     * @return the nodes of the formula in post-order
+     */
+    public static List<Formula> postOrderNodes(final Formula formula) {
+        final List<Formula> nodes = new ArrayList<>();
+        postOrder(formula, (node, operands) -> {
+            nodes.add(node);
+            return Boolean.TRUE;
+        });
+        return nodes;
+    }
+
+    private static <T> Formula[] childrenOf(final Formula formula, final PostOrderVisitor<T> visitor) {
+        final Iterable<Formula> iterable = visitor.children(formula);
+        if (iterable == formula) {
+            if (formula.isAtomicFormula()) {
+                return NO_CHILDREN;
+            }
+            final Formula[] operands = new Formula[formula.numberOfOperands()];
+            int i = 0;
+            for (final Formula op : formula) {
+                operands[i++] = op;
+            }
+            return operands;
+        }
+        final List<Formula> list = new ArrayList<>();
+        for (final Formula child : iterable) {
+            list.add(child);
+        }
+        return list.toArray(NO_CHILDREN);
+    }
+}
@@ -0,0 +1,106 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map which is layered on top of a read-only base map.
+ * <p>
+ * Lookups first consult the base map and then the own entries of this map.  New entries are only stored in this map,
+ * the base map is never changed.  This is the semantics required for the unique tables of a
+ * {@link ChildFormulaFactory}: the base maps are the unique tables of the frozen parent factory.
+ * <p>
+ * The {@link #entrySet() entry set} is a snapshot of the entries of both maps.
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class LayeredMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, V> base;
+    private final Map<K, V> map = new HashMap<>();
+
+    /**
+     * Constructs a new layered map.
+     * @param base the read-only base map
+     */
+    LayeredMap(final Map<K, V> base) {
+        this.base = base;
+    }
+
+    @Override
+    public V get(final Object key) {
+        final V value = this.base.get(key);
+        return value != null ? value : this.map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        return this.map.put(key, value);
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        final V existing = this.base.get(key);
+        return existing != null ? existing : this.map.putIfAbsent(key, value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return this.map.remove(key);
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+    }
+
+    @Override
+    public int size() {
+        return this.base.size() + this.map.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        final Set<Entry<K, V>> entries = new LinkedHashSet<>(this.base.entrySet());
+        entries.addAll(this.map.entrySet());
+        return entries;
+    }
+}
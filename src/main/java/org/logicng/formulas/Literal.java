@@ -30,6 +30,7 @@ package org.logicng.formulas;
 
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
+import org.logicng.datastructures.VariableIndexSet;
 
 import java.util.Collections;
 import java.util.Iterator;
@@ -50,7 +51,7 @@ import java.util.stream.Stream;
  * with {@code f.literal("a", false)} or if preferred with {@code f.not(f.variable("a"))}
  * or {@code f.variable("a").negate()}.
  * <p>
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class Literal extends Formula implements Comparable<Literal> {
@@ -87,7 +88,7 @@ public class Literal extends Formula implements Comparable<Literal> {
      * @param f     the factory which created this literal
      */
     Literal(final String name, final boolean phase, final FormulaFactory f) {
-        super(FType.LITERAL, f);
+        super(FType.LITERAL, f, structuralHash(FType.LITERAL, ((long) name.hashCode() << 1) | (phase ? 1 : 0)));
         this.name = name;
         this.phase = phase;
         this.var = phase ? (Variable) this : (Variable) this.negate();
@@ -130,6 +131,14 @@ public class Literal extends Formula implements Comparable<Literal> {
         return this.variables;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        if (this.variableIndexSet == null) {
+            this.variableIndexSet = VariableIndexSet.of(this.var.index());
+        }
+        return this.variableIndexSet;
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return this.literals;
@@ -166,8 +175,11 @@ public class Literal extends Formula implements Comparable<Literal> {
         if (this.negated != null) {
             return this.negated;
         }
-        this.negated = this.f.literal(this.name, !this.phase);
-        return this.negated;
+        final Literal negated = this.f.literal(this.name, !this.phase);
+        if (!this.f.frozen) {
+            this.negated = negated;
+        }
+        return negated;
     }
 
     @Override
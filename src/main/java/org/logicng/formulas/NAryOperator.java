@@ -28,17 +28,15 @@
 
 package org.logicng.formulas;
 
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
-
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.util.FormulaHelper;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.SortedSet;
@@ -46,7 +44,7 @@ import java.util.stream.Stream;
 
 /**
  * Super class for Boolean n-ary operators.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class NAryOperator extends Formula {
@@ -61,7 +59,7 @@ public abstract class NAryOperator extends Formula {
      * @param f        the factory which created this instance
      */
     NAryOperator(final FType type, final Collection<? extends Formula> operands, final FormulaFactory f) {
-        super(type, f);
+        super(type, f, structuralHash(type, operandsHash(operands)));
         this.operands = operands.toArray(new Formula[0]);
         this.hashCode = 0;
     }
@@ -113,6 +111,18 @@ public abstract class NAryOperator extends Formula {
         return this.variables;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        if (this.variableIndexSet == null) {
+            final VariableIndexSet[] sets = new VariableIndexSet[this.operands.length];
+            for (int i = 0; i < this.operands.length; i++) {
+                sets[i] = this.operands[i].variableIndexSet();
+            }
+            this.variableIndexSet = VariableIndexSet.union(sets);
+        }
+        return this.variableIndexSet;
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return Collections.unmodifiableSortedSet(FormulaHelper.literals(this.operands));
@@ -130,11 +140,7 @@ public abstract class NAryOperator extends Formula {
 
     @Override
     public Formula restrict(final Assignment assignment) {
-        final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-        for (final Formula op : this.operands) {
-            nops.add(op.restrict(assignment));
-        }
-        return this.f.naryOperator(this.type, nops);
+        return FormulaTraversal.postOrder(this, new AtomRewritingVisitor(atom -> atom.restrict(assignment)));
     }
 
     @Override
@@ -165,11 +171,7 @@ public abstract class NAryOperator extends Formula {
 
     @Override
     public Formula substitute(final Substitution substitution) {
-        final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-        for (final Formula op : this.operands) {
-            nops.add(op.substitute(substitution));
-        }
-        return this.f.naryOperator(this.type, nops);
+        return FormulaTraversal.postOrder(this, new AtomRewritingVisitor(atom -> atom.substitute(substitution)));
     }
 
     @Override
@@ -179,16 +181,7 @@ public abstract class NAryOperator extends Formula {
 
     @Override
     public Formula nnf() {
-        Formula nnf = this.transformationCache.get(NNF);
-        if (nnf == null) {
-            final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-            for (final Formula op : this.operands) {
-                nops.add(op.nnf());
-            }
-            nnf = this.f.naryOperator(this.type, nops);
-            this.transformationCache.put(NNF, nnf);
-        }
-        return nnf;
+        return FormulaTraversal.postOrder(this, NNFVisitor.INSTANCE);
     }
 
     /**
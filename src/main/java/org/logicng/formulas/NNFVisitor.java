@@ -0,0 +1,141 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.logicng.formulas.FType.dual;
+import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A post-order visitor which computes the negation normal form of a formula.  The children of a negation are the
+ * negated operands of its operand, so negations are pushed down to the literals without recursion.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class NNFVisitor implements PostOrderVisitor<Formula> {
+
+    static final NNFVisitor INSTANCE = new NNFVisitor();
+
+    /**
+     * Private constructor.  Singleton class.
+     */
+    private NNFVisitor() {
+        // Intentionally left empty
+    }
+
+    @Override
+    public Formula cached(final Formula formula) {
+        if (formula.isAtomicFormula()) {
+            return formula.nnf();
+        }
+        return formula.transformationCacheEntry(NNF);
+    }
+
+    @Override
+    public Iterable<Formula> children(final Formula formula) {
+        final FormulaFactory f = formula.factory();
+        switch (formula.type()) {
+            case AND:
+            case OR:
+                return formula;
+            case IMPL:
+                final BinaryOperator impl = (BinaryOperator) formula;
+                return Arrays.asList(f.not(impl.left), impl.right);
+            case EQUIV:
+                final BinaryOperator equiv = (BinaryOperator) formula;
+                return Arrays.asList(f.not(equiv.left), equiv.right, f.not(equiv.right), equiv.left);
+            case NOT:
+                final Formula operand = ((Not) formula).operand();
+                switch (operand.type) {
+                    case AND:
+                    case OR:
+                        final List<Formula> negatedOps = new ArrayList<>(operand.numberOfOperands());
+                        for (final Formula op : operand) {
+                            negatedOps.add(op.negate());
+                        }
+                        return negatedOps;
+                    case IMPL:
+                        final BinaryOperator negImpl = (BinaryOperator) operand;
+                        return Arrays.asList(negImpl.left, negImpl.right.negate());
+                    case EQUIV:
+                        final BinaryOperator negEquiv = (BinaryOperator) operand;
+                        return Arrays.asList(negEquiv.left.negate(), negEquiv.right.negate(), negEquiv.left, negEquiv.right);
+                    case PBC:
+                        return Arrays.asList(operand.negate());
+                    default:
+                        throw new IllegalStateException("Did not expect formula of type: " + operand.type());
+                }
+            default:
+                throw new IllegalStateException("Did not expect formula of type: " + formula.type());
+        }
+    }
+
+    @Override
+    public Formula visit(final Formula formula, final List<Formula> children) {
+        final FormulaFactory f = formula.factory();
+        final Formula nnf;
+        switch (formula.type()) {
+            case AND:
+            case OR:
+                nnf = f.naryOperator(formula.type(), children);
+                break;
+            case IMPL:
+                nnf = f.or(children.get(0), children.get(1));
+                break;
+            case EQUIV:
+                nnf = f.and(f.or(children.get(0), children.get(1)), f.or(children.get(2), children.get(3)));
+                break;
+            case NOT:
+                final Formula operand = ((Not) formula).operand();
+                switch (operand.type) {
+                    case AND:
+                    case OR:
+                        nnf = f.naryOperator(dual(operand.type), children);
+                        break;
+                    case IMPL:
+                        nnf = f.and(children.get(0), children.get(1));
+                        break;
+                    case EQUIV:
+                        nnf = f.and(f.or(children.get(0), children.get(1)), f.or(children.get(2), children.get(3)));
+                        break;
+                    default:
+                        nnf = children.get(0);
+                        break;
+                }
+                break;
+            default:
+                throw new IllegalStateException("Did not expect formula of type: " + formula.type());
+        }
+        formula.setTransformationCacheEntry(NNF, nnf);
+        return nnf;
+    }
+}
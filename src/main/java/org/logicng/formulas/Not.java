@@ -28,22 +28,19 @@
 
 package org.logicng.formulas;
 
-import static org.logicng.formulas.FType.dual;
-import static org.logicng.formulas.cache.TransformationCacheEntry.NNF;
-
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
+import org.logicng.datastructures.VariableIndexSet;
 
 import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedHashSet;
 import java.util.NoSuchElementException;
 import java.util.SortedSet;
 import java.util.stream.Stream;
 
 /**
  * Boolean negation.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class Not extends Formula {
@@ -57,7 +54,7 @@ public final class Not extends Formula {
      * @param f       the factory which created this instance
      */
     Not(final Formula operand, final FormulaFactory f) {
-        super(FType.NOT, f);
+        super(FType.NOT, f, structuralHash(FType.NOT, operand.structuralHash));
         this.operand = operand;
         this.hashCode = 0;
     }
@@ -111,6 +108,11 @@ public final class Not extends Formula {
         return this.variables;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        return this.operand.variableIndexSet();
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return this.operand.literals();
@@ -128,7 +130,7 @@ public final class Not extends Formula {
 
     @Override
     public Formula restrict(final Assignment assignment) {
-        return this.f.not(this.operand.restrict(assignment));
+        return FormulaTraversal.postOrder(this, new AtomRewritingVisitor(atom -> atom.restrict(assignment)));
     }
 
     @Override
@@ -138,7 +140,7 @@ public final class Not extends Formula {
 
     @Override
     public Formula substitute(final Substitution substitution) {
-        return this.f.not(this.operand.substitute(substitution));
+        return FormulaTraversal.postOrder(this, new AtomRewritingVisitor(atom -> atom.substitute(substitution)));
     }
 
     @Override
@@ -148,34 +150,7 @@ public final class Not extends Formula {
 
     @Override
     public Formula nnf() {
-        Formula nnf = this.transformationCache.get(NNF);
-        if (nnf == null) {
-            switch (this.operand.type) {
-                case AND:
-                case OR:
-                    final LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-                    for (final Formula op : this.operand) {
-                        nops.add(op.negate().nnf());
-                    }
-                    nnf = this.f.naryOperator(dual(this.operand.type), nops);
-                    break;
-                case IMPL:
-                    final BinaryOperator impl = (BinaryOperator) this.operand;
-                    nnf = this.f.and(impl.left.nnf(), impl.right.negate().nnf());
-                    break;
-                case EQUIV:
-                    final BinaryOperator equiv = (BinaryOperator) this.operand;
-                    nnf = this.f.and(this.f.or(equiv.left.negate().nnf(), equiv.right.negate().nnf()), this.f.or(equiv.left.nnf(), equiv.right.nnf()));
-                    break;
-                case PBC:
-                    nnf = this.operand.negate().nnf();
-                    break;
-                default:
-                    throw new IllegalStateException("Did not expect formula of type: " + this.operand.type());
-            }
-            this.transformationCache.put(NNF, nnf);
-        }
-        return nnf;
+        return FormulaTraversal.postOrder(this, NNFVisitor.INSTANCE);
     }
 
     @Override
@@ -35,6 +35,7 @@ import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Assignment;
 import org.logicng.datastructures.Substitution;
 import org.logicng.datastructures.Tristate;
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.util.FormulaHelper;
 import org.logicng.util.Pair;
 
@@ -53,7 +54,7 @@ import java.util.stream.Stream;
 /**
  * A pseudo-Boolean constraint of the form {@code c_1 * l_1 + ... + c_n * l_n R k} where {@code R} is one of
  * {@code =, >, >=, <, <=}.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class PBConstraint extends Formula {
@@ -93,7 +94,7 @@ public class PBConstraint extends Formula {
      * @throws IllegalArgumentException if the number of literals and coefficients do not correspond
      */
     PBConstraint(final Literal[] literals, final int[] coefficients, final CType comparator, final int rhs, final FormulaFactory f) {
-        super(FType.PBC, f);
+        super(FType.PBC, f, structuralHash(FType.PBC, operandsHash(literals, coefficients, comparator, rhs)));
         if (literals.length != coefficients.length) {
             throw new IllegalArgumentException("Cannot generate a pseudo-Boolean constraint with literals.length != coefficients.length");
         }
@@ -111,6 +112,22 @@ public class PBConstraint extends Formula {
         this.hashCode = 0;
     }
 
+    /**
+     * Computes the hash of the operands of a pseudo-Boolean constraint.
+     * @param literals     the literals
+     * @param coefficients the coefficients
+     * @param comparator   the comparator
+     * @param rhs          the right hand side
+     * @return the hash of the operands
+     */
+    private static long operandsHash(final Literal[] literals, final int[] coefficients, final CType comparator, final int rhs) {
+        long hash = comparator.ordinal() * 31L + rhs;
+        for (int i = 0; i < Math.min(literals.length, coefficients.length); i++) {
+            hash = hash * 31 + mixHash(literals[i].structuralHash + coefficients[i]);
+        }
+        return hash;
+    }
+
     /**
      * Returns the GCD of two given values.
      * @param small the smaller value
@@ -402,6 +419,14 @@ public class PBConstraint extends Formula {
         return this.variables;
     }
 
+    @Override
+    public VariableIndexSet variableIndexSet() {
+        if (this.variableIndexSet == null) {
+            this.variableIndexSet = VariableIndexSet.of(Arrays.asList(this.literals));
+        }
+        return this.variableIndexSet;
+    }
+
     @Override
     public SortedSet<Literal> literals() {
         return Collections.unmodifiableSortedSet(FormulaHelper.literals(this.literals));
@@ -534,12 +559,9 @@ public class PBConstraint extends Formula {
 
     @Override
     public Formula nnf() {
-        Formula nnf = this.transformationCache.get(NNF);
+        Formula nnf = this.transformationCacheEntry(NNF);
         if (nnf == null) {
-            if (this.encoding == null) {
-                this.encode();
-            }
-            nnf = this.f.and(this.encoding);
+            nnf = this.f.and(this.encoding != null ? this.encoding : this.encode());
             this.setTransformationCacheEntry(NNF, nnf);
         }
         return nnf;
@@ -583,10 +605,17 @@ public class PBConstraint extends Formula {
     }
 
     /**
-     * Encodes this constraint as CNF and stores the result.
+     * Encodes this constraint as CNF and stores the result.  The result is not stored if the factory of this
+     * constraint is {@link FormulaFactory#freeze() frozen} since the encoding then belongs to a thread-local child
+     * factory.
+     * @return the encoding
      */
-    private void encode() {
-        this.encoding = this.f.pbEncoder().encode(this);
+    private List<Formula> encode() {
+        final List<Formula> encoding = this.f.pbEncoder().encode(this);
+        if (!this.f.frozen) {
+            this.encoding = encoding;
+        }
+        return encoding;
     }
 
     @Override
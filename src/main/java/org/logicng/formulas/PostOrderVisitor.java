@@ -0,0 +1,72 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.List;
+
+/**
+ * A visitor for the iterative post-order traversal of a formula with {@link FormulaTraversal}.
+ * <p>
+ * The result for a node is computed by {@link #visit(Formula, List)} after the results for all of its children are
+ * known.  By default, the children of a node are its operands, but a visitor can provide other children, e.g. the
+ * negated operands of a negation when computing a negation normal form.
+ * @param <T> the result type of the visitor
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public interface PostOrderVisitor<T> {
+
+    /**
+     * Returns an already known result for the given node, e.g. from the cache of the formula.  If a result is
+     * returned, the children of the node are not traversed.
+     * @param formula the node
+     * @return the known result for the node or {@code null} if the node must be visited
+     */
+    default T cached(final Formula formula) {
+        return null;
+    }
+
+    /**
+     * Returns the children of the given node which are traversed before the node itself.
+     * @param formula the node
+     * @return the children of the node
+     */
+    default Iterable<Formula> children(final Formula formula) {
+        return formula;
+    }
+
+    /**
+     * Computes the result for the given node.  If {@code null} is returned, the whole traversal is aborted and
+     * {@link FormulaTraversal#postOrder(Formula, PostOrderVisitor)} returns {@code null}.
+     * @param formula  the node
+     * @param children the results for the children of the node in the order of {@link #children(Formula)}
+     * @return the result for the node or {@code null} if the traversal should be aborted
+     */
+    T visit(final Formula formula, final List<T> children);
+}
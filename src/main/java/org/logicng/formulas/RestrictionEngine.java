@@ -0,0 +1,200 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An engine for the restriction and substitution of whole collections of formulas.
+ * <p>
+ * In contrast to {@link Formula#restrict(Assignment)} and {@link Formula#substitute(Substitution)}, all formulas of a
+ * collection share one memo table, so a sub-formula which is shared between several formulas is restricted or
+ * substituted only once.  Optionally, the engine keeps the memo tables of the most recently used assignments and
+ * substitutions in a bounded cache, so that repeated calls with an equal assignment or substitution reuse all
+ * previously computed results, even for other formulas.  The assignments and substitutions are copied for the cache,
+ * so they can be changed by the caller afterwards.
+ * <p>
+ * An engine is not thread-safe.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class RestrictionEngine {
+
+    private final int cacheCapacity;
+    private final LinkedHashMap<Object, Map<Formula, Formula>> cache;
+    private long hits;
+    private long misses;
+
+    /**
+     * Constructs a new restriction engine without a cache across calls.
+     */
+    public RestrictionEngine() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new restriction engine.
+     * @param cacheCapacity the maximum number of assignments and substitutions whose results are cached across calls,
+     *                      {@code 0} disables the cache
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public RestrictionEngine(final int cacheCapacity) {
+        if (cacheCapacity < 0) {
+            throw new IllegalArgumentException("The cache capacity must not be negative: " + cacheCapacity);
+        }
+        this.cacheCapacity = cacheCapacity;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    /**
+     * Restricts the given formula with the given assignment.
+     * @param formula    the formula
+     * @param assignment the assignment
+     * @return the restricted formula
+     */
+    public Formula restrict(final Formula formula, final Assignment assignment) {
+        return restrict(Collections.singletonList(formula), assignment).get(0);
+    }
+
+    /**
+     * Restricts all given formulas with the given assignment.
+     * @param formulas   the formulas
+     * @param assignment the assignment
+     * @return the restricted formulas in the order of the given formulas
+     */
+    public List<Formula> restrict(final Collection<? extends Formula> formulas, final Assignment assignment) {
+        final Map<Formula, Formula> memo = memo(assignment);
+        return rewrite(formulas, new AtomRewritingVisitor(atom -> atom.restrict(assignment)), memo);
+    }
+
+    /**
+     * Substitutes the given formula with the given substitution.
+     * @param formula      the formula
+     * @param substitution the substitution
+     * @return the substituted formula
+     */
+    public Formula substitute(final Formula formula, final Substitution substitution) {
+        return substitute(Collections.singletonList(formula), substitution).get(0);
+    }
+
+    /**
+     * Substitutes all given formulas with the given substitution.
+     * @param formulas     the formulas
+     * @param substitution the substitution
+     * @return the substituted formulas in the order of the given formulas
+     */
+    public List<Formula> substitute(final Collection<? extends Formula> formulas, final Substitution substitution) {
+        final Map<Formula, Formula> memo = memo(substitution);
+        return rewrite(formulas, new AtomRewritingVisitor(atom -> atom.substitute(substitution)), memo);
+    }
+
+    /**
+     * Returns the number of assignments and substitutions whose results are currently cached.
+     * @return the number of cached assignments and substitutions
+     */
+    public int cacheSize() {
+        return this.cache.size();
+    }
+
+    /**
+     * Returns the number of calls which could reuse the cached results of an equal assignment or substitution.
+     * @return the number of cache hits
+     */
+    public long cacheHits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of calls which could not reuse cached results.  If the cache is disabled, this is the number
+     * of all calls.
+     * @return the number of cache misses
+     */
+    public long cacheMisses() {
+        return this.misses;
+    }
+
+    /**
+     * Clears the cache, but keeps the counters.
+     */
+    public void clearCache() {
+        this.cache.clear();
+    }
+
+    private Map<Formula, Formula> memo(final Object key) {
+        if (this.cacheCapacity == 0) {
+            this.misses++;
+            return new IdentityHashMap<>();
+        }
+        final Map<Formula, Formula> cached = this.cache.get(key);
+        if (cached != null) {
+            this.hits++;
+            return cached;
+        }
+        this.misses++;
+        final Map<Formula, Formula> memo = new IdentityHashMap<>();
+        this.cache.put(copy(key), memo);
+        if (this.cache.size() > this.cacheCapacity) {
+            final Iterator<Object> it = this.cache.keySet().iterator();
+            it.next();
+            it.remove();
+        }
+        return memo;
+    }
+
+    private static Object copy(final Object key) {
+        if (key instanceof Assignment) {
+            final Assignment assignment = (Assignment) key;
+            final Assignment copy = new Assignment(assignment.positiveVariables(), assignment.fastEvaluable());
+            for (final Literal lit : assignment.negativeLiterals()) {
+                copy.addLiteral(lit);
+            }
+            return copy;
+        }
+        return new Substitution((Substitution) key);
+    }
+
+    private static List<Formula> rewrite(final Collection<? extends Formula> formulas, final AtomRewritingVisitor visitor,
+                                         final Map<Formula, Formula> memo) {
+        final List<Formula> result = new ArrayList<>(formulas.size());
+        for (final Formula formula : formulas) {
+            result.add(FormulaTraversal.postOrder(formula, visitor, memo));
+        }
+        return result;
+    }
+}
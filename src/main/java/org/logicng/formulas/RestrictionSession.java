@@ -0,0 +1,284 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An incremental restriction of a collection of formulas.
+ * <p>
+ * Literals are assigned one at a time with {@link #push(Literal)} and unassigned in reverse order with {@link #pop()}.
+ * On construction, the DAG of all formulas is indexed in post-order with parent links.  When a literal is pushed,
+ * only the atomic formulas containing its variable are restricted, and the changes are propagated upwards along the
+ * parent links, so only the ancestors of these atoms are rebuilt.  All changes are recorded on a trail, so a pop
+ * restores the previous formulas without any recomputation.  At each point, the formulas of the session are the same
+ * as the restrictions of the original formulas with the {@link #assignment() current assignment}.
+ * <p>
+ * A session is not thread-safe.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class RestrictionSession {
+
+    private final Formula[] nodes;
+    private final int[][] operands;
+    private final int[][] parents;
+    private final int[] roots;
+    private final Map<Variable, int[]> atoms;
+    private final Formula[] current;
+    private final BitSet queued;
+    private final List<Literal> literals;
+    private final Map<Variable, Literal> assigned;
+    private final LNGIntVector trailNodes;
+    private final List<Formula> trailFormulas;
+    private final LNGIntVector trailLimits;
+
+    /**
+     * Constructs a new restriction session for the given formulas.
+     * @param formulas the formulas
+     */
+    public RestrictionSession(final Collection<? extends Formula> formulas) {
+        final List<Formula> nodeList = new ArrayList<>();
+        final List<int[]> operandList = new ArrayList<>();
+        final Map<Formula, Integer> indices = new IdentityHashMap<>();
+        final PostOrderVisitor<Integer> indexer = (node, children) -> {
+            final int[] ops = new int[children.size()];
+            for (int i = 0; i < ops.length; i++) {
+                ops[i] = children.get(i);
+            }
+            nodeList.add(node);
+            operandList.add(ops);
+            return nodeList.size() - 1;
+        };
+        this.roots = new int[formulas.size()];
+        int r = 0;
+        for (final Formula formula : formulas) {
+            this.roots[r++] = FormulaTraversal.postOrder(formula, indexer, indices);
+        }
+        this.nodes = nodeList.toArray(new Formula[0]);
+        this.operands = operandList.toArray(new int[0][]);
+        this.parents = computeParents(this.operands);
+        this.atoms = computeAtoms(this.nodes);
+        this.current = this.nodes.clone();
+        this.queued = new BitSet(this.nodes.length);
+        this.literals = new ArrayList<>();
+        this.assigned = new HashMap<>();
+        this.trailNodes = new LNGIntVector();
+        this.trailFormulas = new ArrayList<>();
+        this.trailLimits = new LNGIntVector();
+        final Assignment empty = new Assignment();
+        for (int node = 0; node < this.nodes.length; node++) {
+            if (this.nodes[node].type() == FType.PBC) {
+                update(node, this.nodes[node].restrict(empty));
+            }
+        }
+        propagate();
+        this.trailNodes.clear();
+        this.trailFormulas.clear();
+    }
+
+    /**
+     * Assigns the given literal and restricts all formulas accordingly.
+     * @param literal the literal
+     * @throws IllegalArgumentException if the variable of the literal is already assigned
+     */
+    public void push(final Literal literal) {
+        final Variable var = literal.variable();
+        if (this.assigned.containsKey(var)) {
+            throw new IllegalArgumentException("Variable " + var + " is already assigned in this restriction session");
+        }
+        this.assigned.put(var, literal);
+        this.literals.add(literal);
+        this.trailLimits.push(this.trailNodes.size());
+        final int[] atomNodes = this.atoms.get(var);
+        if (atomNodes == null) {
+            return;
+        }
+        final Assignment assignment = new Assignment(literal);
+        for (final int atom : atomNodes) {
+            update(atom, this.current[atom].restrict(assignment));
+        }
+        propagate();
+    }
+
+    /**
+     * Unassigns the most recently pushed literal and restores the formulas before its assignment.
+     * @throws IllegalStateException if no literal is assigned
+     */
+    public void pop() {
+        if (this.literals.isEmpty()) {
+            throw new IllegalStateException("No literal is assigned in this restriction session");
+        }
+        final Literal literal = this.literals.remove(this.literals.size() - 1);
+        this.assigned.remove(literal.variable());
+        final int limit = this.trailLimits.back();
+        this.trailLimits.pop();
+        for (int i = this.trailNodes.size() - 1; i >= limit; i--) {
+            this.current[this.trailNodes.get(i)] = this.trailFormulas.remove(i);
+        }
+        this.trailNodes.shrinkTo(limit);
+    }
+
+    /**
+     * Returns the number of currently assigned literals.
+     * @return the number of currently assigned literals
+     */
+    public int level() {
+        return this.literals.size();
+    }
+
+    /**
+     * Returns the currently assigned literals in the order in which they were pushed.
+     * @return the currently assigned literals
+     */
+    public List<Literal> literals() {
+        return Collections.unmodifiableList(this.literals);
+    }
+
+    /**
+     * Returns the currently assigned literals as an assignment.
+     * @return the current assignment
+     */
+    public Assignment assignment() {
+        return new Assignment(this.literals);
+    }
+
+    /**
+     * Returns the restriction of the formula at the given position of the original collection.
+     * @param index the position of the formula
+     * @return the currently restricted formula
+     */
+    public Formula formula(final int index) {
+        return this.current[this.roots[index]];
+    }
+
+    /**
+     * Returns the restrictions of all formulas in the order of the original collection.
+     * @return the currently restricted formulas
+     */
+    public List<Formula> formulas() {
+        final List<Formula> result = new ArrayList<>(this.roots.length);
+        for (final int root : this.roots) {
+            result.add(this.current[root]);
+        }
+        return result;
+    }
+
+    private void propagate() {
+        for (int node = this.queued.nextSetBit(0); node >= 0; node = this.queued.nextSetBit(node + 1)) {
+            this.queued.clear(node);
+            update(node, rebuild(node));
+        }
+    }
+
+    private void update(final int node, final Formula formula) {
+        if (formula == this.current[node]) {
+            return;
+        }
+        this.trailNodes.push(node);
+        this.trailFormulas.add(this.current[node]);
+        this.current[node] = formula;
+        for (final int parent : this.parents[node]) {
+            this.queued.set(parent);
+        }
+    }
+
+    private Formula rebuild(final int node) {
+        final Formula formula = this.nodes[node];
+        final FormulaFactory f = formula.factory();
+        final int[] ops = this.operands[node];
+        switch (formula.type()) {
+            case NOT:
+                return f.not(this.current[ops[0]]);
+            case IMPL:
+            case EQUIV:
+                return f.binaryOperator(formula.type(), this.current[ops[0]], this.current[ops[1]]);
+            case AND:
+            case OR:
+                final List<Formula> newOps = new ArrayList<>(ops.length);
+                for (final int op : ops) {
+                    newOps.add(this.current[op]);
+                }
+                return f.naryOperator(formula.type(), newOps);
+            default:
+                throw new IllegalArgumentException("Unknown LogicNG formula type: " + formula.type());
+        }
+    }
+
+    private static int[][] computeParents(final int[][] operands) {
+        final int[] counts = new int[operands.length];
+        for (final int[] ops : operands) {
+            for (final int op : ops) {
+                counts[op]++;
+            }
+        }
+        final int[][] parents = new int[operands.length][];
+        for (int i = 0; i < parents.length; i++) {
+            parents[i] = new int[counts[i]];
+            counts[i] = 0;
+        }
+        for (int node = 0; node < operands.length; node++) {
+            for (final int op : operands[node]) {
+                parents[op][counts[op]++] = node;
+            }
+        }
+        return parents;
+    }
+
+    private static Map<Variable, int[]> computeAtoms(final Formula[] nodes) {
+        final Map<Variable, LNGIntVector> atoms = new HashMap<>();
+        for (int node = 0; node < nodes.length; node++) {
+            if (nodes[node].type() == FType.LITERAL) {
+                atoms.computeIfAbsent(((Literal) nodes[node]).variable(), v -> new LNGIntVector()).push(node);
+            } else if (nodes[node].type() == FType.PBC) {
+                for (final Literal lit : ((PBConstraint) nodes[node]).operands()) {
+                    final LNGIntVector vector = atoms.computeIfAbsent(lit.variable(), v -> new LNGIntVector());
+                    if (vector.empty() || vector.back() != node) {
+                        vector.push(node);
+                    }
+                }
+            }
+        }
+        final Map<Variable, int[]> result = new HashMap<>(atoms.size() * 4 / 3 + 1);
+        for (final Map.Entry<Variable, LNGIntVector> entry : atoms.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().toArray());
+        }
+        return result;
+    }
+}
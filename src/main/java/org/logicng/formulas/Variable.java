@@ -32,11 +32,13 @@ package org.logicng.formulas;
  * Boolean variables.
  * <p>
  * A variable is a shortcut for a positive literal.
- * @version 1.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class Variable extends Literal {
 
+    private final int index;
+
     /**
      * Constructor.
      * @param name the literal name
@@ -44,5 +46,18 @@ public class Variable extends Literal {
      */
     protected Variable(final String name, FormulaFactory f) {
         super(name, true, f);
+        this.index = f != null ? f.nextVariableIndex() : -1;
+    }
+
+    /**
+     * Returns the index of this variable.  The index is unique among all variables of the factory of this variable and
+     * is never reused, not even after the factory was {@link FormulaFactory#clear() cleared}.  Variable indices are
+     * assigned in ascending order starting with 0, so they can be used to index dense arrays and bitsets like
+     * {@link org.logicng.datastructures.VariableIndexSet}.  Auxiliary variables of an encoding which are created without
+     * a factory have the index -1.
+     * @return the index of this variable
+     */
+    public int index() {
+        return this.index;
     }
 }
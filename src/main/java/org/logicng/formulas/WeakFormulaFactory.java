@@ -0,0 +1,92 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.util.Collections;
+import java.util.WeakHashMap;
+
+/**
+ * A formula factory whose unique tables only hold weak references to the formulas.
+ * <p>
+ * A regular formula factory holds strong references to every formula ever created, so temporary formulas, e.g. from
+ * CNF conversions or simplifications, stay in memory for the lifetime of the factory (or until {@link #clear()} is
+ * called).  On this factory a formula which is not referenced anymore (by the user, by another formula, or by a
+ * formula cache) is garbage collected and its entry in the unique tables is removed.  So the memory of long-running
+ * applications tracks the working set of formulas instead of their history.
+ * <p>
+ * It is still guaranteed that equivalent formulas (in terms of associativity and commutativity) are hold exactly once
+ * in memory:  a formula is only re-created if its previous instance is unreachable.  The
+ * {@link #statistics() statistics} of this factory only count the formulas which were not garbage collected yet.
+ * <p>
+ * A weak formula factory is NOT thread-safe.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class WeakFormulaFactory extends FormulaFactory {
+
+    /**
+     * Constructor for a new weak formula factory.
+     * @param config the configuration for this formula factory
+     */
+    public WeakFormulaFactory(final FormulaFactoryConfig config) {
+        super(config);
+    }
+
+    /**
+     * Constructor for a new weak formula factory with the default configuration.
+     */
+    public WeakFormulaFactory() {
+        super();
+    }
+
+    @Override
+    public void clear() {
+        this.checkNotFrozen();
+        this.posLiterals = new WeakValueMap<>();
+        this.negLiterals = new WeakValueMap<>();
+        this.generatedVariables = Collections.newSetFromMap(new WeakHashMap<>());
+        this.nots = new WeakValueMap<>();
+        this.implications = new WeakValueMap<>();
+        this.equivalences = new WeakValueMap<>();
+        this.ands2 = new WeakValueMap<>();
+        this.ands3 = new WeakValueMap<>();
+        this.ands4 = new WeakValueMap<>();
+        this.andsN = new WeakValueMap<>();
+        this.ors2 = new WeakValueMap<>();
+        this.ors3 = new WeakValueMap<>();
+        this.ors4 = new WeakValueMap<>();
+        this.orsN = new WeakValueMap<>();
+        this.pbConstraints = new WeakValueMap<>();
+        this.cardinalityConstraints = new WeakValueMap<>();
+        this.ccCounter = 0;
+        this.pbCounter = 0;
+        this.cnfCounter = 0;
+        this.clearBoundedCaches();
+    }
+}
@@ -0,0 +1,136 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A hash map which only holds weak references to its values.
+ * <p>
+ * In contrast to {@link java.util.WeakHashMap}, which holds weak references to its keys, an entry of this map is
+ * removed as soon as its value was garbage collected.  This is the semantics required for the unique tables of a
+ * {@link WeakFormulaFactory}: the keys (operand sets, names) are only referenced by the unique table itself, whereas
+ * the formulas are referenced by the user.
+ * <p>
+ * The {@link #entrySet() entry set} is a snapshot of the currently reachable entries.
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+final class WeakValueMap<K, V> extends AbstractMap<K, V> {
+
+    private final Map<K, ValueReference<K, V>> map = new HashMap<>();
+    private final ReferenceQueue<V> queue = new ReferenceQueue<>();
+
+    @Override
+    public V get(final Object key) {
+        final ValueReference<K, V> ref = this.map.get(key);
+        return ref == null ? null : ref.get();
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.get(key) != null;
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        this.expungeStaleEntries();
+        final ValueReference<K, V> old = this.map.put(key, new ValueReference<>(key, value, this.queue));
+        return old == null ? null : old.get();
+    }
+
+    @Override
+    public V remove(final Object key) {
+        this.expungeStaleEntries();
+        final ValueReference<K, V> old = this.map.remove(key);
+        return old == null ? null : old.get();
+    }
+
+    @Override
+    public void clear() {
+        this.map.clear();
+        while (this.queue.poll() != null) {
+            // drain the queue
+        }
+    }
+
+    @Override
+    public int size() {
+        this.expungeStaleEntries();
+        return this.map.size();
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        this.expungeStaleEntries();
+        final Set<Entry<K, V>> entries = new LinkedHashSet<>();
+        for (final Entry<K, ValueReference<K, V>> entry : this.map.entrySet()) {
+            final V value = entry.getValue().get();
+            if (value != null) {
+                entries.add(new SimpleImmutableEntry<>(entry.getKey(), value));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Removes all entries whose values were garbage collected.
+     */
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        ValueReference<K, V> ref;
+        while ((ref = (ValueReference<K, V>) this.queue.poll()) != null) {
+            if (this.map.get(ref.key) == ref) {
+                this.map.remove(ref.key);
+            }
+        }
+    }
+
+    /**
+     * A weak reference to a value which remembers its key.
+     * @param <K> the type of the key
+     * @param <V> the type of the value
+     */
+    private static final class ValueReference<K, V> extends WeakReference<V> {
+        private final K key;
+
+        private ValueReference(final K key, final V value, final ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,150 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.cache;
+
+import java.util.Objects;
+
+/**
+ * Statistics of a bounded formula cache for a single cache entry.
+ * <p>
+ * The capacity of a cache entry can be configured in the
+ * {@link org.logicng.formulas.FormulaFactoryConfig formula factory configuration}.  The statistics
+ * can be obtained by {@link org.logicng.formulas.FormulaFactory#cacheStatistics(CacheEntry)}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CacheStatistics {
+
+    private final CacheEntry entry;
+    private final int capacity;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    /**
+     * Constructs new cache statistics.
+     * @param entry     the cache entry
+     * @param capacity  the maximum number of formulas which cache a value for the entry
+     * @param size      the current number of formulas which cache a value for the entry
+     * @param hits      the number of cache hits
+     * @param misses    the number of cache misses
+     * @param evictions the number of evicted values
+     */
+    public CacheStatistics(final CacheEntry entry, final int capacity, final int size, final long hits, final long misses, final long evictions) {
+        this.entry = entry;
+        this.capacity = capacity;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns the cache entry.
+     * @return the cache entry
+     */
+    public CacheEntry entry() {
+        return this.entry;
+    }
+
+    /**
+     * Returns the maximum number of formulas which cache a value for the entry.
+     * @return the capacity
+     */
+    public int capacity() {
+        return this.capacity;
+    }
+
+    /**
+     * Returns the current number of formulas which cache a value for the entry.
+     * @return the current size
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of cache hits.
+     * @return the number of cache hits
+     */
+    public long hits() {
+        return this.hits;
+    }
+
+    /**
+     * Returns the number of cache misses.
+     * @return the number of cache misses
+     */
+    public long misses() {
+        return this.misses;
+    }
+
+    /**
+     * Returns the number of values which were evicted from the cache.
+     * @return the number of evictions
+     */
+    public long evictions() {
+        return this.evictions;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        final CacheStatistics that = (CacheStatistics) o;
+        return this.capacity == that.capacity &&
+                this.size == that.size &&
+                this.hits == that.hits &&
+                this.misses == that.misses &&
+                this.evictions == that.evictions &&
+                Objects.equals(this.entry, that.entry);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.entry, this.capacity, this.size, this.hits, this.misses, this.evictions);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{" +
+                "entry=" + this.entry +
+                ", capacity=" + this.capacity +
+                ", size=" + this.size +
+                ", hits=" + this.hits +
+                ", misses=" + this.misses +
+                ", evictions=" + this.evictions +
+                '}';
+    }
+}
@@ -0,0 +1,1236 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.compact;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.PostOrderVisitor;
+import org.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A compact store for formula DAGs.
+ * <p>
+ * In contrast to a {@link FormulaFactory}, which represents every node of a formula as an object with its own caches
+ * and variable sets, this store represents a node only by an integer id.  The types, contents, and operands of all nodes
+ * are held in a few primitive arrays (struct-of-arrays).  A node with {@code k} operands occupies {@code 9 + 4k} bytes
+ * plus its slot in the unique table, so formula DAGs with hundreds of millions of nodes can be held in memory.
+ * <p>
+ * Like a formula factory, the store guarantees that every node is held exactly once:  constructing a node which already
+ * exists returns the id of the existing node.  In contrast to a formula factory, n-ary operators are identified by the
+ * exact sequence of their operands, i.e. {@code a & b} and {@code b & a} are two different nodes.  Operators are
+ * simplified on construction like in a formula factory (neutral and dominating constants, duplicate operands,
+ * complementary operands, nested operators of the same type).
+ * <p>
+ * Operands always have smaller ids than the nodes using them, so the node ids are a topological order of the DAG.  The
+ * operations of the store process the reachable nodes in this order without recursion, so they can handle formulas of
+ * arbitrary depth, and are memoized per call in arrays indexed by the node id.  The store supports the conversion
+ * from and to {@link Formula formulas}, and the computation of the NNF, the (factorized) CNF, restrictions,
+ * evaluations, and variables of a node.  Pseudo-Boolean constraints are treated as atoms by these operations, so they
+ * are kept in the NNF (with their comparator negated if necessary) and cannot be converted to a CNF.
+ * <p>
+ * A compact formula store is not thread-safe.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CompactFormulaStore {
+
+    private static final FType[] TYPES = FType.values();
+    private static final CType[] COMPARATORS = CType.values();
+    private static final int EMPTY = -1;
+    private static final int FALSE = 0;
+    private static final int TRUE = 1;
+    static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private byte[] types;
+    private int[] data;
+    private int[] lengths;
+    private int numberOfNodes;
+    private int[] pool;
+    private int poolSize;
+    private int[] table;
+    private int tableSize;
+    private final List<String> variableNames;
+    private final Map<String, Integer> variableIndices;
+    private final LNGIntVector literalNodes;
+
+    /**
+     * Constructs a new compact formula store.
+     */
+    public CompactFormulaStore() {
+        this(1024);
+    }
+
+    /**
+     * Constructs a new compact formula store with a given initial capacity.
+     * @param initialCapacity the initial number of nodes the store can hold without resizing
+     */
+    public CompactFormulaStore(final int initialCapacity) {
+        final int capacity = Math.max(16, initialCapacity);
+        this.types = new byte[capacity];
+        this.data = new int[capacity];
+        this.lengths = new int[capacity];
+        this.pool = new int[(int) Math.min(MAX_ARRAY_SIZE, 2L * capacity)];
+        this.table = new int[(int) Math.min(MAX_TABLE_SIZE, (long) Integer.highestOneBit(capacity - 1) << 2)];
+        Arrays.fill(this.table, EMPTY);
+        this.variableNames = new ArrayList<>();
+        this.variableIndices = new HashMap<>();
+        this.literalNodes = new LNGIntVector();
+        this.addNode(FType.FALSE, 0, 0);
+        this.addNode(FType.TRUE, 0, 0);
+    }
+
+    /**
+     * Returns the number of nodes in this store.
+     * @return the number of nodes in this store
+     */
+    public int numberOfNodes() {
+        return this.numberOfNodes;
+    }
+
+    /**
+     * Returns the number of variables in this store.
+     * @return the number of variables in this store
+     */
+    public int numberOfVariables() {
+        return this.variableNames.size();
+    }
+
+    /**
+     * Returns the name of the variable with the given index.
+     * @param variableIndex the index of the variable
+     * @return the name of the variable
+     */
+    public String variableName(final int variableIndex) {
+        return this.variableNames.get(variableIndex);
+    }
+
+    /**
+     * Returns the node for the constant "True".
+     * @return the node for the constant "True"
+     */
+    public int verum() {
+        return TRUE;
+    }
+
+    /**
+     * Returns the node for the constant "False".
+     * @return the node for the constant "False"
+     */
+    public int falsum() {
+        return FALSE;
+    }
+
+    /**
+     * Returns the node for a given Boolean constant.
+     * @param value the value of the constant
+     * @return the node for the constant
+     */
+    public int constant(final boolean value) {
+        return value ? TRUE : FALSE;
+    }
+
+    /**
+     * Returns the node for a variable with a given name.
+     * @param name the name of the variable
+     * @return the node for the variable
+     */
+    public int variable(final String name) {
+        return this.literal(name, true);
+    }
+
+    /**
+     * Returns the node for a literal with a given name and phase.
+     * @param name  the name of the literal
+     * @param phase the phase of the literal
+     * @return the node for the literal
+     */
+    public int literal(final String name, final boolean phase) {
+        Integer index = this.variableIndices.get(name);
+        if (index == null) {
+            index = this.variableNames.size();
+            this.variableNames.add(name);
+            this.variableIndices.put(name, index);
+            this.literalNodes.push(EMPTY);
+            this.literalNodes.push(EMPTY);
+        }
+        return this.literalNode(2 * index + (phase ? 0 : 1));
+    }
+
+    /**
+     * Returns the node for the negation of a given node.
+     * @param operand the operand
+     * @return the node for the negation
+     */
+    public int not(final int operand) {
+        this.checkNode(operand);
+        switch (this.type(operand)) {
+            case TRUE:
+                return FALSE;
+            case FALSE:
+                return TRUE;
+            case LITERAL:
+                return this.literalNode(this.data[operand] ^ 1);
+            case NOT:
+                return this.pool[this.data[operand]];
+            default:
+                return this.intern(FType.NOT, new int[]{operand}, 1);
+        }
+    }
+
+    /**
+     * Returns the node for an implication.
+     * @param left  the left-hand side operand
+     * @param right the right-hand side operand
+     * @return the node for the implication
+     */
+    public int implication(final int left, final int right) {
+        this.checkNode(left);
+        this.checkNode(right);
+        if (left == FALSE || right == TRUE || left == right) {
+            return TRUE;
+        }
+        if (left == TRUE) {
+            return right;
+        }
+        if (right == FALSE) {
+            return this.not(left);
+        }
+        return this.intern(FType.IMPL, new int[]{left, right}, 2);
+    }
+
+    /**
+     * Returns the node for an equivalence.
+     * @param left  the left-hand side operand
+     * @param right the right-hand side operand
+     * @return the node for the equivalence
+     */
+    public int equivalence(final int left, final int right) {
+        this.checkNode(left);
+        this.checkNode(right);
+        if (left == TRUE) {
+            return right;
+        }
+        if (right == TRUE) {
+            return left;
+        }
+        if (left == FALSE) {
+            return this.not(right);
+        }
+        if (right == FALSE) {
+            return this.not(left);
+        }
+        if (left == right) {
+            return TRUE;
+        }
+        if (this.complement(left) == right) {
+            return FALSE;
+        }
+        return this.intern(FType.EQUIV, new int[]{left, right}, 2);
+    }
+
+    /**
+     * Returns the node for a conjunction.
+     * @param operands the operands
+     * @return the node for the conjunction
+     */
+    public int and(final int... operands) {
+        return this.naryOperator(FType.AND, operands, operands.length);
+    }
+
+    /**
+     * Returns the node for a disjunction.
+     * @param operands the operands
+     * @return the node for the disjunction
+     */
+    public int or(final int... operands) {
+        return this.naryOperator(FType.OR, operands, operands.length);
+    }
+
+    /**
+     * Returns the node for a pseudo-Boolean constraint.
+     * @param comparator   the comparator of the constraint
+     * @param rhs          the right-hand side of the constraint
+     * @param literals     the literal nodes of the constraint
+     * @param coefficients the coefficients of the constraint
+     * @return the node for the pseudo-Boolean constraint
+     * @throws IllegalArgumentException if the number of literals and coefficients do not correspond or if one of the
+     *                                  literals is not a literal node
+     */
+    public int pbc(final CType comparator, final int rhs, final int[] literals, final int[] coefficients) {
+        if (literals.length != coefficients.length) {
+            throw new IllegalArgumentException("Cannot generate a pseudo-Boolean constraint with literals.length != coefficients.length");
+        }
+        if (literals.length == 0) {
+            return this.constant(evaluateComparator(comparator, 0, rhs));
+        }
+        final int[] content = new int[2 + 2 * literals.length];
+        content[0] = comparator.ordinal();
+        content[1] = rhs;
+        for (int i = 0; i < literals.length; i++) {
+            this.checkNode(literals[i]);
+            if (this.type(literals[i]) != FType.LITERAL) {
+                throw new IllegalArgumentException("Node " + literals[i] + " of a pseudo-Boolean constraint is not a literal.");
+            }
+            content[2 + i] = literals[i];
+            content[2 + literals.length + i] = coefficients[i];
+        }
+        return this.intern(FType.PBC, content, content.length);
+    }
+
+    /**
+     * Returns the type of a given node.
+     * @param node the node
+     * @return the type of the node
+     */
+    public FType type(final int node) {
+        return TYPES[this.types[node]];
+    }
+
+    /**
+     * Returns the number of operands of a given node.  The operands of a pseudo-Boolean constraint are its literals.
+     * @param node the node
+     * @return the number of operands of the node
+     */
+    public int numberOfOperands(final int node) {
+        return this.type(node) == FType.PBC ? (this.lengths[node] - 2) / 2 : this.lengths[node];
+    }
+
+    /**
+     * Returns the operand with the given index of a given node.  The operands of an implication and an equivalence are
+     * its left-hand side (index 0) and its right-hand side (index 1).
+     * @param node  the node
+     * @param index the index of the operand
+     * @return the operand of the node
+     */
+    public int operand(final int node, final int index) {
+        if (index < 0 || index >= this.numberOfOperands(node)) {
+            throw new IndexOutOfBoundsException("Node " + node + " has no operand with index " + index);
+        }
+        return this.pool[this.data[node] + (this.type(node) == FType.PBC ? 2 : 0) + index];
+    }
+
+    /**
+     * Returns the index of the variable of a given literal node.
+     * @param literal the literal node
+     * @return the index of the variable of the literal
+     */
+    public int variableIndex(final int literal) {
+        return this.data[literal] >> 1;
+    }
+
+    /**
+     * Returns the name of a given literal node.
+     * @param literal the literal node
+     * @return the name of the literal
+     */
+    public String name(final int literal) {
+        return this.variableNames.get(this.variableIndex(literal));
+    }
+
+    /**
+     * Returns the phase of a given literal node.
+     * @param literal the literal node
+     * @return the phase of the literal
+     */
+    public boolean phase(final int literal) {
+        return (this.data[literal] & 1) == 0;
+    }
+
+    /**
+     * Returns the comparator of a given pseudo-Boolean constraint node.
+     * @param pbc the pseudo-Boolean constraint node
+     * @return the comparator of the constraint
+     */
+    public CType comparator(final int pbc) {
+        return COMPARATORS[this.pool[this.data[pbc]]];
+    }
+
+    /**
+     * Returns the right-hand side of a given pseudo-Boolean constraint node.
+     * @param pbc the pseudo-Boolean constraint node
+     * @return the right-hand side of the constraint
+     */
+    public int rhs(final int pbc) {
+        return this.pool[this.data[pbc] + 1];
+    }
+
+    /**
+     * Returns the coefficient with the given index of a given pseudo-Boolean constraint node.
+     * @param pbc   the pseudo-Boolean constraint node
+     * @param index the index of the coefficient
+     * @return the coefficient of the constraint
+     */
+    public int coefficient(final int pbc, final int index) {
+        return this.pool[this.data[pbc] + 2 + this.numberOfOperands(pbc) + index];
+    }
+
+    /**
+     * Adds a given formula to this store.
+     * @param formula the formula
+     * @return the node for the formula
+     */
+    public int add(final Formula formula) {
+        return this.add(formula, new IdentityHashMap<>());
+    }
+
+    /**
+     * Adds the given formulas to this store.  Sub-formulas shared by the formulas are converted only once.
+     * @param formulas the formulas
+     * @return the nodes for the formulas in the order of the given collection
+     */
+    public int[] add(final Collection<? extends Formula> formulas) {
+        final Map<Formula, Integer> cache = new IdentityHashMap<>();
+        final int[] nodes = new int[formulas.size()];
+        int i = 0;
+        for (final Formula formula : formulas) {
+            nodes[i++] = this.add(formula, cache);
+        }
+        return nodes;
+    }
+
+    /**
+     * Converts a given node of this store to a formula.
+     * @param node the node
+     * @param f    the formula factory for the generated formula
+     * @return the formula for the node
+     */
+    public Formula toFormula(final int node, final FormulaFactory f) {
+        this.checkNode(node);
+        final Formula[] cache = new Formula[node + 1];
+        final boolean[] reachable = this.reachable(node);
+        for (int current = 0; current <= node; current++) {
+            if (reachable[current]) {
+                cache[current] = this.toFormula(current, f, cache);
+            }
+        }
+        return cache[node];
+    }
+
+    /**
+     * Returns the negation normal form of a given node.
+     * @param node the node
+     * @return the negation normal form of the node
+     */
+    public int nnf(final int node) {
+        this.checkNode(node);
+        final boolean[] reachablePositive = new boolean[node + 1];
+        final boolean[] reachableNegative = new boolean[node + 1];
+        reachablePositive[node] = true;
+        for (int current = node; current >= 0; current--) {
+            if (reachablePositive[current]) {
+                this.markNNFOperands(current, true, reachablePositive, reachableNegative);
+            }
+            if (reachableNegative[current]) {
+                this.markNNFOperands(current, false, reachablePositive, reachableNegative);
+            }
+        }
+        final int[] positive = emptyCache(node);
+        final int[] negative = emptyCache(node);
+        for (int current = 0; current <= node; current++) {
+            if (reachablePositive[current]) {
+                positive[current] = this.nnf(current, true, positive, negative);
+            }
+            if (reachableNegative[current]) {
+                negative[current] = this.nnf(current, false, positive, negative);
+            }
+        }
+        return positive[node];
+    }
+
+    /**
+     * Returns the conjunctive normal form of a given node.  The CNF is computed by distributing disjunctions over
+     * conjunctions, so no auxiliary variables are introduced and the result is equivalent to the node.
+     * @param node the node
+     * @return the conjunctive normal form of the node
+     * @throws UnsupportedOperationException if the node contains a pseudo-Boolean constraint
+     */
+    public int cnf(final int node) {
+        final int nnf = this.nnf(node);
+        final int[] cache = emptyCache(nnf);
+        final boolean[] reachable = this.reachable(nnf);
+        for (int current = 0; current <= nnf; current++) {
+            if (reachable[current]) {
+                cache[current] = this.cnf(current, cache);
+            }
+        }
+        return cache[nnf];
+    }
+
+    /**
+     * Restricts a given node with a given assignment.  Variables of the assignment which do not occur in this store
+     * are ignored.
+     * @param node       the node
+     * @param assignment the assignment
+     * @return the restricted node
+     */
+    public int restrict(final int node, final Assignment assignment) {
+        this.checkNode(node);
+        final byte[] values = new byte[this.numberOfVariables()];
+        for (final Variable var : assignment.positiveVariables()) {
+            final Integer index = this.variableIndices.get(var.name());
+            if (index != null) {
+                values[index] = 1;
+            }
+        }
+        for (final Literal lit : assignment.negativeLiterals()) {
+            final Integer index = this.variableIndices.get(lit.name());
+            if (index != null) {
+                values[index] = 2;
+            }
+        }
+        final int[] cache = emptyCache(node);
+        final boolean[] reachable = this.reachable(node);
+        for (int current = 0; current <= node; current++) {
+            if (reachable[current]) {
+                cache[current] = this.restrict(current, values, cache);
+            }
+        }
+        return cache[node];
+    }
+
+    /**
+     * Evaluates a given node with a given assignment.  A literal not covered by the assignment evaluates to
+     * {@code false} if it is positive, otherwise it evaluates to {@code true}.
+     * @param node       the node
+     * @param assignment the assignment
+     * @return the result of the evaluation
+     */
+    public boolean evaluate(final int node, final Assignment assignment) {
+        this.checkNode(node);
+        final boolean[] values = new boolean[this.numberOfVariables()];
+        for (final Variable var : assignment.positiveVariables()) {
+            final Integer index = this.variableIndices.get(var.name());
+            if (index != null) {
+                values[index] = true;
+            }
+        }
+        final boolean[] cache = new boolean[node + 1];
+        final boolean[] reachable = this.reachable(node);
+        for (int current = 0; current <= node; current++) {
+            if (reachable[current]) {
+                cache[current] = this.evaluate(current, values, cache);
+            }
+        }
+        return cache[node];
+    }
+
+    /**
+     * Returns the indices of the variables occurring in a given node in ascending order.
+     * @param node the node
+     * @return the indices of the variables of the node
+     */
+    public int[] variables(final int node) {
+        this.checkNode(node);
+        final BitSet variables = new BitSet(this.numberOfVariables());
+        final boolean[] visited = new boolean[node + 1];
+        final LNGIntVector stack = new LNGIntVector();
+        stack.push(node);
+        visited[node] = true;
+        while (!stack.empty()) {
+            final int current = stack.back();
+            stack.pop();
+            final FType type = this.type(current);
+            if (type == FType.LITERAL) {
+                variables.set(this.variableIndex(current));
+            } else {
+                for (int i = 0; i < this.numberOfOperands(current); i++) {
+                    final int op = this.operand(current, i);
+                    if (!visited[op]) {
+                        visited[op] = true;
+                        stack.push(op);
+                    }
+                }
+            }
+        }
+        return variables.stream().toArray();
+    }
+
+    private int add(final Formula formula, final Map<Formula, Integer> cache) {
+        return FormulaTraversal.postOrder(formula, new PostOrderVisitor<Integer>() {
+            @Override
+            public Integer cached(final Formula node) {
+                switch (node.type()) {
+                    case TRUE:
+                        return TRUE;
+                    case FALSE:
+                        return FALSE;
+                    case LITERAL:
+                        final Literal lit = (Literal) node;
+                        return CompactFormulaStore.this.literal(lit.name(), lit.phase());
+                    default:
+                        return null;
+                }
+            }
+
+            @Override
+            public Integer visit(final Formula node, final List<Integer> operands) {
+                return CompactFormulaStore.this.importNode(node, operands);
+            }
+        }, cache);
+    }
+
+    private int importNode(final Formula formula, final List<Integer> operands) {
+        switch (formula.type()) {
+            case NOT:
+                return this.not(operands.get(0));
+            case IMPL:
+                return this.implication(operands.get(0), operands.get(1));
+            case EQUIV:
+                return this.equivalence(operands.get(0), operands.get(1));
+            case AND:
+            case OR:
+                final int[] ops = new int[operands.size()];
+                for (int i = 0; i < ops.length; i++) {
+                    ops[i] = operands.get(i);
+                }
+                return this.naryOperator(formula.type(), ops, ops.length);
+            case PBC:
+                final PBConstraint pbc = (PBConstraint) formula;
+                final Literal[] pbLiterals = pbc.operands();
+                final int[] literals = new int[pbLiterals.length];
+                for (int j = 0; j < pbLiterals.length; j++) {
+                    literals[j] = this.literal(pbLiterals[j].name(), pbLiterals[j].phase());
+                }
+                return this.pbc(pbc.comparator(), pbc.rhs(), literals, pbc.coefficients());
+            default:
+                throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+        }
+    }
+
+    /**
+     * Returns which nodes are reachable from a given node.  Since operands always have smaller ids than the nodes
+     * using them, a single sweep in descending order suffices and the nodes can afterwards be processed in ascending
+     * order, i.e. every node after its operands, without recursion.
+     * @param node the node
+     * @return an array indicating for every node up to the given node whether it is reachable
+     */
+    private boolean[] reachable(final int node) {
+        final boolean[] reachable = new boolean[node + 1];
+        reachable[node] = true;
+        for (int current = node; current >= 0; current--) {
+            if (reachable[current]) {
+                for (int i = 0; i < this.numberOfOperands(current); i++) {
+                    reachable[this.operand(current, i)] = true;
+                }
+            }
+        }
+        return reachable;
+    }
+
+    private void markNNFOperands(final int node, final boolean polarity, final boolean[] positive, final boolean[] negative) {
+        switch (this.type(node)) {
+            case NOT:
+                (polarity ? negative : positive)[this.operand(node, 0)] = true;
+                break;
+            case IMPL:
+                (polarity ? negative : positive)[this.operand(node, 0)] = true;
+                (polarity ? positive : negative)[this.operand(node, 1)] = true;
+                break;
+            case EQUIV:
+                for (int i = 0; i < 2; i++) {
+                    positive[this.operand(node, i)] = true;
+                    negative[this.operand(node, i)] = true;
+                }
+                break;
+            case AND:
+            case OR:
+                final boolean[] reachable = polarity ? positive : negative;
+                for (int i = 0; i < this.numberOfOperands(node); i++) {
+                    reachable[this.operand(node, i)] = true;
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private Formula toFormula(final int node, final FormulaFactory f, final Formula[] cache) {
+        final Formula result;
+        switch (this.type(node)) {
+            case TRUE:
+                result = f.verum();
+                break;
+            case FALSE:
+                result = f.falsum();
+                break;
+            case LITERAL:
+                result = f.literal(this.name(node), this.phase(node));
+                break;
+            case NOT:
+                result = f.not(cache[this.operand(node, 0)]);
+                break;
+            case IMPL:
+                result = f.implication(cache[this.operand(node, 0)], cache[this.operand(node, 1)]);
+                break;
+            case EQUIV:
+                result = f.equivalence(cache[this.operand(node, 0)], cache[this.operand(node, 1)]);
+                break;
+            case AND:
+            case OR:
+                final List<Formula> operands = new ArrayList<>(this.numberOfOperands(node));
+                for (int i = 0; i < this.numberOfOperands(node); i++) {
+                    operands.add(cache[this.operand(node, i)]);
+                }
+                result = f.naryOperator(this.type(node), operands);
+                break;
+            case PBC:
+                final int size = this.numberOfOperands(node);
+                final Literal[] literals = new Literal[size];
+                final int[] coefficients = new int[size];
+                for (int i = 0; i < size; i++) {
+                    literals[i] = (Literal) cache[this.operand(node, i)];
+                    coefficients[i] = this.coefficient(node, i);
+                }
+                result = f.pbc(this.comparator(node), this.rhs(node), literals, coefficients);
+                break;
+            default:
+                throw new IllegalStateException("Unknown node type: " + this.type(node));
+        }
+        return result;
+    }
+
+    private int nnf(final int node, final boolean polarity, final int[] positive, final int[] negative) {
+        final int result;
+        final FType type = this.type(node);
+        switch (type) {
+            case TRUE:
+            case FALSE:
+            case LITERAL:
+                result = polarity ? node : this.not(node);
+                break;
+            case NOT:
+                result = (polarity ? negative : positive)[this.operand(node, 0)];
+                break;
+            case IMPL:
+                final int implLeft = this.operand(node, 0);
+                final int implRight = this.operand(node, 1);
+                result = polarity
+                        ? this.or(negative[implLeft], positive[implRight])
+                        : this.and(positive[implLeft], negative[implRight]);
+                break;
+            case EQUIV:
+                final int equivLeft = this.operand(node, 0);
+                final int equivRight = this.operand(node, 1);
+                final int leftPos = positive[equivLeft];
+                final int leftNeg = negative[equivLeft];
+                final int rightPos = positive[equivRight];
+                final int rightNeg = negative[equivRight];
+                result = polarity
+                        ? this.and(this.or(leftNeg, rightPos), this.or(rightNeg, leftPos))
+                        : this.and(this.or(leftNeg, rightNeg), this.or(leftPos, rightPos));
+                break;
+            case AND:
+            case OR:
+                final int[] cache = polarity ? positive : negative;
+                final int[] operands = new int[this.numberOfOperands(node)];
+                for (int i = 0; i < operands.length; i++) {
+                    operands[i] = cache[this.operand(node, i)];
+                }
+                final FType nnfType = polarity ? type : (type == FType.AND ? FType.OR : FType.AND);
+                result = this.naryOperator(nnfType, operands, operands.length);
+                break;
+            case PBC:
+                result = polarity ? node : this.negatePBC(node);
+                break;
+            default:
+                throw new IllegalStateException("Unknown node type: " + type);
+        }
+        return result;
+    }
+
+    private int cnf(final int node, final int[] cache) {
+        final int result;
+        switch (this.type(node)) {
+            case TRUE:
+            case FALSE:
+            case LITERAL:
+                result = node;
+                break;
+            case AND:
+                final int[] operands = new int[this.numberOfOperands(node)];
+                for (int i = 0; i < operands.length; i++) {
+                    operands[i] = cache[this.operand(node, i)];
+                }
+                result = this.and(operands);
+                break;
+            case OR:
+                int distributed = cache[this.operand(node, 0)];
+                for (int i = 1; i < this.numberOfOperands(node); i++) {
+                    distributed = this.distribute(distributed, cache[this.operand(node, i)]);
+                }
+                result = distributed;
+                break;
+            case PBC:
+                throw new UnsupportedOperationException("Cannot compute the CNF of a pseudo-Boolean constraint in a compact formula store.");
+            default:
+                throw new IllegalStateException("Unexpected node type in NNF: " + this.type(node));
+        }
+        return result;
+    }
+
+    /**
+     * Distributes the disjunction of two CNFs over their conjunctions.  Since conjunctions are flattened on
+     * construction, the operands of a conjunction are clauses and every pair of clauses yields one clause.
+     * @param left  the left CNF
+     * @param right the right CNF
+     * @return the CNF of the disjunction
+     */
+    private int distribute(final int left, final int right) {
+        if (this.type(left) != FType.AND && this.type(right) != FType.AND) {
+            return this.or(left, right);
+        }
+        final int[] leftClauses = this.clauses(left);
+        final int[] rightClauses = this.clauses(right);
+        final int[] operands = new int[leftClauses.length * rightClauses.length];
+        int i = 0;
+        for (final int leftClause : leftClauses) {
+            for (final int rightClause : rightClauses) {
+                operands[i++] = this.or(leftClause, rightClause);
+            }
+        }
+        return this.and(operands);
+    }
+
+    private int[] clauses(final int cnf) {
+        if (this.type(cnf) != FType.AND) {
+            return new int[]{cnf};
+        }
+        return Arrays.copyOfRange(this.pool, this.data[cnf], this.data[cnf] + this.lengths[cnf]);
+    }
+
+    private int restrict(final int node, final byte[] values, final int[] cache) {
+        final int result;
+        switch (this.type(node)) {
+            case TRUE:
+            case FALSE:
+                result = node;
+                break;
+            case LITERAL:
+                final byte value = values[this.variableIndex(node)];
+                result = value == 0 ? node : this.constant(value == 1 == this.phase(node));
+                break;
+            case NOT:
+                result = this.not(cache[this.operand(node, 0)]);
+                break;
+            case IMPL:
+                result = this.implication(cache[this.operand(node, 0)], cache[this.operand(node, 1)]);
+                break;
+            case EQUIV:
+                result = this.equivalence(cache[this.operand(node, 0)], cache[this.operand(node, 1)]);
+                break;
+            case AND:
+            case OR:
+                final int[] operands = new int[this.numberOfOperands(node)];
+                for (int i = 0; i < operands.length; i++) {
+                    operands[i] = cache[this.operand(node, i)];
+                }
+                result = this.naryOperator(this.type(node), operands, operands.length);
+                break;
+            case PBC:
+                result = this.restrictPBC(node, values);
+                break;
+            default:
+                throw new IllegalStateException("Unknown node type: " + this.type(node));
+        }
+        return result;
+    }
+
+    private int restrictPBC(final int pbc, final byte[] values) {
+        final int size = this.numberOfOperands(pbc);
+        final LNGIntVector literals = new LNGIntVector(size);
+        final LNGIntVector coefficients = new LNGIntVector(size);
+        int lhsFixed = 0;
+        for (int i = 0; i < size; i++) {
+            final int lit = this.operand(pbc, i);
+            final byte value = values[this.variableIndex(lit)];
+            if (value == 0) {
+                literals.push(lit);
+                coefficients.push(this.coefficient(pbc, i));
+            } else if (value == 1 == this.phase(lit)) {
+                lhsFixed += this.coefficient(pbc, i);
+            }
+        }
+        if (literals.size() == size) {
+            return pbc;
+        }
+        return this.pbc(this.comparator(pbc), this.rhs(pbc) - lhsFixed, literals.toArray(), coefficients.toArray());
+    }
+
+    private boolean evaluate(final int node, final boolean[] values, final boolean[] cache) {
+        final boolean result;
+        switch (this.type(node)) {
+            case TRUE:
+                result = true;
+                break;
+            case FALSE:
+                result = false;
+                break;
+            case LITERAL:
+                result = values[this.variableIndex(node)] == this.phase(node);
+                break;
+            case NOT:
+                result = !cache[this.operand(node, 0)];
+                break;
+            case IMPL:
+                result = !cache[this.operand(node, 0)] || cache[this.operand(node, 1)];
+                break;
+            case EQUIV:
+                result = cache[this.operand(node, 0)] == cache[this.operand(node, 1)];
+                break;
+            case AND:
+            case OR:
+                final boolean and = this.type(node) == FType.AND;
+                boolean value = and;
+                for (int i = 0; i < this.numberOfOperands(node) && value == and; i++) {
+                    value = cache[this.operand(node, i)];
+                }
+                result = value;
+                break;
+            case PBC:
+                int lhs = 0;
+                for (int i = 0; i < this.numberOfOperands(node); i++) {
+                    if (cache[this.operand(node, i)]) {
+                        lhs += this.coefficient(node, i);
+                    }
+                }
+                result = evaluateComparator(this.comparator(node), lhs, this.rhs(node));
+                break;
+            default:
+                throw new IllegalStateException("Unknown node type: " + this.type(node));
+        }
+        return result;
+    }
+
+    private int negatePBC(final int pbc) {
+        final int size = this.numberOfOperands(pbc);
+        final int[] literals = new int[size];
+        final int[] coefficients = new int[size];
+        for (int i = 0; i < size; i++) {
+            literals[i] = this.operand(pbc, i);
+            coefficients[i] = this.coefficient(pbc, i);
+        }
+        final int rhs = this.rhs(pbc);
+        switch (this.comparator(pbc)) {
+            case EQ:
+                return this.or(this.pbc(CType.LT, rhs, literals, coefficients), this.pbc(CType.GT, rhs, literals, coefficients));
+            case LE:
+                return this.pbc(CType.GT, rhs, literals, coefficients);
+            case LT:
+                return this.pbc(CType.GE, rhs, literals, coefficients);
+            case GE:
+                return this.pbc(CType.LT, rhs, literals, coefficients);
+            case GT:
+                return this.pbc(CType.LE, rhs, literals, coefficients);
+            default:
+                throw new IllegalStateException("Unknown pseudo-Boolean comparator: " + this.comparator(pbc));
+        }
+    }
+
+    private static boolean evaluateComparator(final CType comparator, final int lhs, final int rhs) {
+        switch (comparator) {
+            case EQ:
+                return lhs == rhs;
+            case LE:
+                return lhs <= rhs;
+            case LT:
+                return lhs < rhs;
+            case GE:
+                return lhs >= rhs;
+            case GT:
+                return lhs > rhs;
+            default:
+                throw new IllegalStateException("Unknown pseudo-Boolean comparator: " + comparator);
+        }
+    }
+
+    /**
+     * Constructs a conjunction or disjunction from the given operands.  Nested operators of the same type are
+     * flattened, neutral constants and duplicate operands are removed.  If a dominating constant or two complementary
+     * operands are found, the dominating constant is returned.
+     * @param type     the type of the operator
+     * @param operands the operands
+     * @param length   the number of operands
+     * @return the node for the operator
+     */
+    private int naryOperator(final FType type, final int[] operands, final int length) {
+        final int neutral = type == FType.AND ? TRUE : FALSE;
+        final int dominating = type == FType.AND ? FALSE : TRUE;
+        final LNGIntVector ops = new LNGIntVector(length);
+        final NodeSet seen = new NodeSet(length);
+        for (int i = 0; i < length; i++) {
+            final int op = operands[i];
+            this.checkNode(op);
+            if (op == dominating) {
+                return dominating;
+            }
+            if (op == neutral) {
+                continue;
+            }
+            if (this.type(op) == type) {
+                for (int j = 0; j < this.lengths[op]; j++) {
+                    if (!this.addOperand(ops, seen, this.pool[this.data[op] + j])) {
+                        return dominating;
+                    }
+                }
+            } else if (!this.addOperand(ops, seen, op)) {
+                return dominating;
+            }
+        }
+        if (ops.empty()) {
+            return neutral;
+        }
+        if (ops.size() == 1) {
+            return ops.get(0);
+        }
+        return this.intern(type, ops.toArray(), ops.size());
+    }
+
+    private boolean addOperand(final LNGIntVector ops, final NodeSet seen, final int op) {
+        if (!seen.add(op)) {
+            return true;
+        }
+        final int complement = this.complement(op);
+        if (complement != EMPTY && seen.contains(complement)) {
+            return false;
+        }
+        ops.push(op);
+        return true;
+    }
+
+    /**
+     * Returns the complement of a given node if it exists in this store, {@link #EMPTY} otherwise.
+     * @param node the node
+     * @return the complement of the node or {@link #EMPTY}
+     */
+    private int complement(final int node) {
+        switch (this.type(node)) {
+            case TRUE:
+                return FALSE;
+            case FALSE:
+                return TRUE;
+            case LITERAL:
+                return this.literalNodes.get(this.data[node] ^ 1);
+            case NOT:
+                return this.pool[this.data[node]];
+            default:
+                return this.find(FType.NOT, new int[]{node}, 1);
+        }
+    }
+
+    private int literalNode(final int code) {
+        int node = this.literalNodes.get(code);
+        if (node == EMPTY) {
+            node = this.addNode(FType.LITERAL, code, 0);
+            this.literalNodes.set(code, node);
+        }
+        return node;
+    }
+
+    private int find(final FType type, final int[] content, final int length) {
+        final int mask = this.table.length - 1;
+        int slot = hash(type.ordinal(), content, 0, length) & mask;
+        int node;
+        while ((node = this.table[slot]) != EMPTY) {
+            if (this.matches(node, type, content, length)) {
+                return node;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return EMPTY;
+    }
+
+    private int intern(final FType type, final int[] content, final int length) {
+        final int mask = this.table.length - 1;
+        int slot = hash(type.ordinal(), content, 0, length) & mask;
+        int node;
+        while ((node = this.table[slot]) != EMPTY) {
+            if (this.matches(node, type, content, length)) {
+                return node;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (this.tableSize + 1 == this.table.length) {
+            throw new IllegalStateException("The unique table of the compact formula store cannot hold more than " + this.tableSize + " nodes.");
+        }
+        if ((long) this.poolSize + length > this.pool.length) {
+            this.pool = Arrays.copyOf(this.pool, grownLength(this.pool.length, (long) this.poolSize + length, "operands"));
+        }
+        System.arraycopy(content, 0, this.pool, this.poolSize, length);
+        node = this.addNode(type, this.poolSize, length);
+        this.poolSize += length;
+        this.table[slot] = node;
+        if (++this.tableSize > this.table.length / 2 && this.table.length < MAX_TABLE_SIZE) {
+            this.rehash();
+        }
+        return node;
+    }
+
+    private boolean matches(final int node, final FType type, final int[] content, final int length) {
+        if (this.types[node] != type.ordinal() || this.lengths[node] != length) {
+            return false;
+        }
+        final int offset = this.data[node];
+        for (int i = 0; i < length; i++) {
+            if (this.pool[offset + i] != content[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rehash() {
+        final int[] newTable = new int[2 * this.table.length];
+        Arrays.fill(newTable, EMPTY);
+        final int mask = newTable.length - 1;
+        for (final int node : this.table) {
+            if (node != EMPTY) {
+                int slot = hash(this.types[node], this.pool, this.data[node], this.lengths[node]) & mask;
+                while (newTable[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                newTable[slot] = node;
+            }
+        }
+        this.table = newTable;
+    }
+
+    private int addNode(final FType type, final int content, final int length) {
+        if (this.numberOfNodes == this.types.length) {
+            final int capacity = grownLength(this.types.length, this.numberOfNodes + 1L, "nodes");
+            this.types = Arrays.copyOf(this.types, capacity);
+            this.data = Arrays.copyOf(this.data, capacity);
+            this.lengths = Arrays.copyOf(this.lengths, capacity);
+        }
+        this.types[this.numberOfNodes] = (byte) type.ordinal();
+        this.data[this.numberOfNodes] = content;
+        this.lengths[this.numberOfNodes] = length;
+        return this.numberOfNodes++;
+    }
+
+    /**
+     * Returns the new length of an array which has to hold at least a given number of elements.  The length is
+     * doubled, but never exceeds {@link #MAX_ARRAY_SIZE}.
+     * @param length   the current length of the array
+     * @param required the required number of elements
+     * @param elements the description of the elements for the error message
+     * @return the new length of the array
+     * @throws IllegalStateException if the required number of elements exceeds {@link #MAX_ARRAY_SIZE}
+     */
+    static int grownLength(final int length, final long required, final String elements) {
+        if (required > MAX_ARRAY_SIZE) {
+            throw new IllegalStateException(String.format("A compact formula store cannot hold more than %d %s, but %d are required.",
+                    MAX_ARRAY_SIZE, elements, required));
+        }
+        return (int) Math.min(MAX_ARRAY_SIZE, Math.max(required, 2L * length));
+    }
+
+    private void checkNode(final int node) {
+        if (node < 0 || node >= this.numberOfNodes) {
+            throw new IllegalArgumentException("Unknown node: " + node);
+        }
+    }
+
+    private static int[] emptyCache(final int node) {
+        final int[] cache = new int[node + 1];
+        Arrays.fill(cache, EMPTY);
+        return cache;
+    }
+
+    private static int hash(final int type, final int[] content, final int offset, final int length) {
+        long hash = type;
+        for (int i = offset; i < offset + length; i++) {
+            hash = hash * 0x9E3779B97F4A7C15L + content[i];
+        }
+        hash ^= hash >>> 29;
+        hash *= 0xBF58476D1CE4E5B9L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * A small open-addressing hash set of node ids which is used to detect duplicate and complementary operands.
+     */
+    private static final class NodeSet {
+        private int[] slots;
+        private int size;
+
+        private NodeSet(final int expectedSize) {
+            this.slots = new int[Integer.highestOneBit(Math.max(4, expectedSize) - 1) << 2];
+            Arrays.fill(this.slots, EMPTY);
+        }
+
+        private boolean add(final int node) {
+            final int slot = this.slot(node);
+            if (this.slots[slot] == node) {
+                return false;
+            }
+            this.slots[slot] = node;
+            if (++this.size * 2 > this.slots.length) {
+                final int[] oldSlots = this.slots;
+                this.slots = new int[2 * oldSlots.length];
+                Arrays.fill(this.slots, EMPTY);
+                for (final int oldNode : oldSlots) {
+                    if (oldNode != EMPTY) {
+                        this.slots[this.slot(oldNode)] = oldNode;
+                    }
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(final int node) {
+            return this.slots[this.slot(node)] == node;
+        }
+
+        private int slot(final int node) {
+            final int mask = this.slots.length - 1;
+            int slot = (node * 0x9E3779B9) >>> 7 & mask;
+            while (this.slots[slot] != EMPTY && this.slots[slot] != node) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+    }
+}
@@ -0,0 +1,299 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import static org.logicng.formulas.evaluation.CompiledFormula.AND;
+import static org.logicng.formulas.evaluation.CompiledFormula.EQUIV;
+import static org.logicng.formulas.evaluation.CompiledFormula.FALSE_REF;
+import static org.logicng.formulas.evaluation.CompiledFormula.IMPL;
+import static org.logicng.formulas.evaluation.CompiledFormula.NOT;
+import static org.logicng.formulas.evaluation.CompiledFormula.OR;
+import static org.logicng.formulas.evaluation.CompiledFormula.PB_EQ;
+import static org.logicng.formulas.evaluation.CompiledFormula.PB_GE;
+import static org.logicng.formulas.evaluation.CompiledFormula.PB_GT;
+import static org.logicng.formulas.evaluation.CompiledFormula.PB_LT;
+import static org.logicng.formulas.evaluation.CompiledFormula.TRUE_REF;
+
+import org.logicng.formulas.Formula;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * A formula compiled for the bit-parallel evaluation over many dense assignments at once.
+ * <p>
+ * The assignments are given column-wise: for each variable {@link org.logicng.formulas.Variable#index() index} there
+ * is a {@code long} array in which bit {@code j} of word {@code w} holds the value of the variable in the assignment
+ * {@code 64 * w + j}.  A {@code null} column means that the variable is {@code false} in all assignments.  The formula
+ * is then evaluated for 64 assignments at once: conjunctions, disjunctions, negations, implications, and equivalences
+ * become word operations, and pseudo-Boolean and cardinality constraints are evaluated by a bit-sliced column adder
+ * whose sum is compared bit-sliced with the right-hand side.
+ * <p>
+ * The result is a bitset of the satisfying assignments in the same layout, which can be wrapped via
+ * {@link java.util.BitSet#valueOf(long[])}.  Since the intermediate values are stored in internal scratch arrays, an
+ * instance must not be evaluated by multiple threads at once.  Use {@link #copy()} to obtain an independent instance
+ * for another thread.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class BitParallelFormula {
+
+    private final CompiledFormula compiled;
+    private final int[] variables;
+    private final int[] pbLiterals;
+    private final int[] pbCoefficients;
+    private final long[] pbRhs;
+    private final long[] values;
+    private final long[] planes;
+
+    private BitParallelFormula(final CompiledFormula compiled, final int[] variables, final int[] pbLiterals,
+                               final int[] pbCoefficients, final long[] pbRhs) {
+        this.compiled = compiled;
+        this.variables = variables;
+        this.pbLiterals = pbLiterals;
+        this.pbCoefficients = pbCoefficients;
+        this.pbRhs = pbRhs;
+        this.values = new long[compiled.numberOfNodes()];
+        this.planes = new long[Long.SIZE];
+    }
+
+    /**
+     * Compiles the given formula.
+     * @param formula the formula
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula contains a variable without a factory index
+     */
+    public static BitParallelFormula compile(final Formula formula) {
+        final CompiledFormula compiled = CompiledFormula.compile(formula);
+        final int[] pbLiterals = compiled.operands.clone();
+        final int[] pbCoefficients = compiled.coefficients.clone();
+        final long[] pbRhs = new long[compiled.numberOfNodes()];
+        for (int node = 0; node < compiled.numberOfNodes(); node++) {
+            if (compiled.types[node] < PB_EQ) {
+                continue;
+            }
+            long rhs = compiled.rhs[node];
+            for (int i = compiled.starts[node]; i < compiled.starts[node + 1]; i++) {
+                if (pbCoefficients[i] < 0) {
+                    rhs -= pbCoefficients[i];
+                    pbCoefficients[i] = -pbCoefficients[i];
+                    pbLiterals[i] = ~(~pbLiterals[i] ^ 1);
+                }
+            }
+            pbRhs[node] = rhs;
+        }
+        final int[] variables = IntStream.concat(Arrays.stream(compiled.operands), IntStream.of(compiled.root))
+                .filter(ref -> ref < 0).map(ref -> ~ref >>> 1).distinct().toArray();
+        return new BitParallelFormula(compiled, variables, pbLiterals, pbCoefficients, pbRhs);
+    }
+
+    /**
+     * Transposes the given dense assignments to columns for the bit-parallel evaluation.
+     * @param assignments the dense assignments, indexed by variable indices
+     * @param length      the number of columns, usually the {@link #requiredLength() required length} of a compiled
+     *                    formula; longer dense assignments are truncated
+     * @return the columns of the assignments
+     */
+    public static long[][] columns(final List<boolean[]> assignments, final int length) {
+        final int numWords = (assignments.size() + 63) >>> 6;
+        final long[][] columns = new long[length][numWords];
+        for (int a = 0; a < assignments.size(); a++) {
+            final boolean[] assignment = assignments.get(a);
+            final long bit = 1L << a;
+            for (int var = 0; var < Math.min(length, assignment.length); var++) {
+                if (assignment[var]) {
+                    columns[var][a >>> 6] |= bit;
+                }
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the original formula.
+     * @return the original formula
+     */
+    public Formula formula() {
+        return this.compiled.formula();
+    }
+
+    /**
+     * Returns the minimal number of columns for this formula, i.e. the maximal index of a variable of the formula plus
+     * one.
+     * @return the minimal number of columns
+     */
+    public int requiredLength() {
+        return this.compiled.requiredLength();
+    }
+
+    /**
+     * Returns a new instance of this compiled formula which shares the compiled nodes, but has its own scratch space.
+     * @return a copy of this compiled formula
+     */
+    public BitParallelFormula copy() {
+        return new BitParallelFormula(this.compiled, this.variables, this.pbLiterals, this.pbCoefficients, this.pbRhs);
+    }
+
+    /**
+     * Evaluates the formula over the given assignments.
+     * @param columns        the columns of the assignments, indexed by variable indices
+     * @param numAssignments the number of assignments
+     * @return the bitset of the assignments which satisfy the formula
+     * @throws IllegalArgumentException if there are fewer columns than the {@link #requiredLength() required length}
+     *                                  or a column of a variable of the formula is too short
+     */
+    public long[] evaluate(final long[][] columns, final int numAssignments) {
+        final int numWords = (numAssignments + 63) >>> 6;
+        if (columns.length < this.compiled.requiredLength()) {
+            throw new IllegalArgumentException("There must be at least " + this.compiled.requiredLength() + " columns");
+        }
+        for (final int var : this.variables) {
+            if (columns[var] != null && columns[var].length < numWords) {
+                throw new IllegalArgumentException("The column of variable index " + var + " is too short");
+            }
+        }
+        final long[] result = new long[numWords];
+        for (int w = 0; w < numWords; w++) {
+            result[w] = evaluateWord(columns, w);
+        }
+        if ((numAssignments & 63) != 0) {
+            result[numWords - 1] &= (1L << numAssignments) - 1;
+        }
+        return result;
+    }
+
+    private long evaluateWord(final long[][] columns, final int w) {
+        final CompiledFormula c = this.compiled;
+        final int[] ops = c.operands;
+        for (int node = 0; node < c.types.length; node++) {
+            final int start = c.starts[node];
+            final int end = c.starts[node + 1];
+            final long value;
+            switch (c.types[node]) {
+                case NOT:
+                    value = ~word(ops[start], columns, w);
+                    break;
+                case IMPL:
+                    value = ~word(ops[start], columns, w) | word(ops[start + 1], columns, w);
+                    break;
+                case EQUIV:
+                    value = ~(word(ops[start], columns, w) ^ word(ops[start + 1], columns, w));
+                    break;
+                case AND:
+                    long and = -1L;
+                    for (int i = start; and != 0 && i < end; i++) {
+                        and &= word(ops[i], columns, w);
+                    }
+                    value = and;
+                    break;
+                case OR:
+                    long or = 0L;
+                    for (int i = start; or != -1L && i < end; i++) {
+                        or |= word(ops[i], columns, w);
+                    }
+                    value = or;
+                    break;
+                default:
+                    value = pbc(node, start, end, columns, w);
+                    break;
+            }
+            this.values[node] = value;
+        }
+        return word(c.root, columns, w);
+    }
+
+    /**
+     * Evaluates a pseudo-Boolean constraint with non-negative coefficients by adding the coefficients of the satisfied
+     * literals to a bit-sliced sum, i.e. {@code planes[p]} holds bit {@code p} of the sum for each of the 64
+     * assignments, and comparing the sum bit-sliced with the right-hand side from the most significant bit downwards.
+     */
+    private long pbc(final int node, final int start, final int end, final long[][] columns, final int w) {
+        final long rhs = this.pbRhs[node];
+        final byte type = this.compiled.types[node];
+        if (rhs < 0) {
+            return type == PB_GT || type == PB_GE ? -1L : 0L;
+        }
+        long maxSum = 0;
+        for (int i = start; i < end; i++) {
+            maxSum += this.pbCoefficients[i];
+        }
+        final int numPlanes = Long.SIZE - Long.numberOfLeadingZeros(Math.max(maxSum, rhs));
+        Arrays.fill(this.planes, 0, numPlanes + 1, 0L);
+        for (int i = start; i < end; i++) {
+            final long literal = word(this.pbLiterals[i], columns, w);
+            int coefficient = this.pbCoefficients[i];
+            for (int bit = 0; coefficient != 0 && literal != 0; bit++, coefficient >>>= 1) {
+                if ((coefficient & 1) != 0) {
+                    long carry = literal;
+                    for (int p = bit; carry != 0 && p <= numPlanes; p++) {
+                        final long overflow = this.planes[p] & carry;
+                        this.planes[p] ^= carry;
+                        carry = overflow;
+                    }
+                }
+            }
+        }
+        long equal = ~this.planes[numPlanes];
+        long less = 0L;
+        long greater = this.planes[numPlanes];
+        for (int p = numPlanes - 1; p >= 0; p--) {
+            final long plane = this.planes[p];
+            if (((rhs >>> p) & 1L) != 0) {
+                less |= equal & ~plane;
+                equal &= plane;
+            } else {
+                greater |= equal & plane;
+                equal &= ~plane;
+            }
+        }
+        switch (type) {
+            case PB_EQ:
+                return equal;
+            case PB_GT:
+                return greater;
+            case PB_GE:
+                return greater | equal;
+            case PB_LT:
+                return less;
+            default:
+                return less | equal;
+        }
+    }
+
+    private long word(final int ref, final long[][] columns, final int w) {
+        if (ref >= 0) {
+            return ref < FALSE_REF ? this.values[ref] : ref == TRUE_REF ? -1L : 0L;
+        }
+        final int code = ~ref;
+        final long[] column = columns[code >>> 1];
+        final long word = column == null ? 0L : column[w];
+        return (code & 1) == 1 ? word : ~word;
+    }
+}
@@ -0,0 +1,417 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.PBConstraint;
+import org.logicng.formulas.PostOrderVisitor;
+import org.logicng.formulas.Variable;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A formula compiled for the repeated evaluation over dense assignments.
+ * <p>
+ * A dense assignment is a {@code boolean} array which holds the value of each variable at the position of its
+ * {@link Variable#index() index}.  In contrast to an {@link Assignment}, a dense assignment is always total, i.e. a
+ * variable which is not explicitly set to {@code true} is {@code false}.
+ * <p>
+ * On compilation, the DAG of the formula is flattened in post-order to primitive arrays.  The evaluation uses an
+ * explicit stack, short-circuits conjunctions, disjunctions and implications, evaluates each distinct inner node at
+ * most once per call, and reads literals directly from the dense assignment.  So it performs no allocations and no
+ * hash lookups.  Since the stack and the values of the inner nodes are stored in internal scratch arrays, a compiled
+ * formula must not be evaluated by multiple threads at once.  Use {@link #copy()} to obtain an
+ * independent instance for another thread.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CompiledFormula {
+
+    static final byte NOT = 0;
+    static final byte IMPL = 1;
+    static final byte EQUIV = 2;
+    static final byte AND = 3;
+    static final byte OR = 4;
+    static final byte PB_EQ = 5;
+    static final byte PB_GT = 6;
+    static final byte PB_GE = 7;
+    static final byte PB_LT = 8;
+    static final byte PB_LE = 9;
+
+    static final int TRUE_REF = Integer.MAX_VALUE;
+    static final int FALSE_REF = Integer.MAX_VALUE - 1;
+
+    private static final int UNKNOWN = -1;
+
+    final Formula formula;
+    final byte[] types;
+    final int[] starts;
+    final int[] operands;
+    final int[] coefficients;
+    final int[] rhs;
+    final int root;
+    final int requiredLength;
+    private final boolean[] values;
+    private final int[] stamps;
+    private final int[] stack;
+    private final int[] positions;
+    private int generation;
+
+    private CompiledFormula(final Formula formula, final byte[] types, final int[] starts, final int[] operands,
+                            final int[] coefficients, final int[] rhs, final int root, final int requiredLength) {
+        this.formula = formula;
+        this.types = types;
+        this.starts = starts;
+        this.operands = operands;
+        this.coefficients = coefficients;
+        this.rhs = rhs;
+        this.root = root;
+        this.requiredLength = requiredLength;
+        this.values = new boolean[types.length];
+        this.stamps = new int[types.length];
+        this.stack = new int[types.length];
+        this.positions = new int[types.length];
+    }
+
+    /**
+     * Compiles the given formula.
+     * @param formula the formula
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula contains a variable without a factory index
+     */
+    public static CompiledFormula compile(final Formula formula) {
+        final Compiler compiler = new Compiler();
+        final int root = FormulaTraversal.postOrder(formula, compiler);
+        return new CompiledFormula(formula, Arrays.copyOf(compiler.types, compiler.numNodes),
+                Arrays.copyOf(compiler.starts, compiler.numNodes + 1), Arrays.copyOf(compiler.operands, compiler.numOperands),
+                Arrays.copyOf(compiler.coefficients, compiler.numOperands), Arrays.copyOf(compiler.rhs, compiler.numNodes),
+                root, compiler.maxIndex + 1);
+    }
+
+    /**
+     * Returns a dense assignment for the given assignment, i.e. a {@code boolean} array of the given length which is
+     * {@code true} exactly at the indices of the positive variables of the assignment.
+     * @param assignment the assignment
+     * @param length     the length of the dense assignment, usually the {@link #requiredLength() required length} of a
+     *                   compiled formula
+     * @return the dense assignment
+     * @throws IllegalArgumentException if a positive variable has no factory index or an index exceeding the length
+     */
+    public static boolean[] denseAssignment(final Assignment assignment, final int length) {
+        final boolean[] dense = new boolean[length];
+        for (final Variable var : assignment.positiveVariables()) {
+            if (var.index() < 0 || var.index() >= length) {
+                throw new IllegalArgumentException("Variable " + var + " cannot be stored in a dense assignment of length " + length);
+            }
+            dense[var.index()] = true;
+        }
+        return dense;
+    }
+
+    /**
+     * Returns the original formula.
+     * @return the original formula
+     */
+    public Formula formula() {
+        return this.formula;
+    }
+
+    /**
+     * Returns the number of inner nodes, i.e. of the nodes which are neither literals nor constants.
+     * @return the number of inner nodes
+     */
+    public int numberOfNodes() {
+        return this.types.length;
+    }
+
+    /**
+     * Returns the minimal length of a dense assignment for this formula, i.e. the maximal index of a variable of the
+     * formula plus one.
+     * @return the minimal length of a dense assignment
+     */
+    public int requiredLength() {
+        return this.requiredLength;
+    }
+
+    /**
+     * Returns a new instance of this compiled formula which shares the compiled nodes, but has its own scratch space.
+     * @return a copy of this compiled formula
+     */
+    public CompiledFormula copy() {
+        return new CompiledFormula(this.formula, this.types, this.starts, this.operands, this.coefficients, this.rhs,
+                this.root, this.requiredLength);
+    }
+
+    /**
+     * Evaluates the formula over the given dense assignment.
+     * @param assignment the dense assignment, indexed by variable indices
+     * @return the result of the evaluation
+     * @throws IllegalArgumentException if the dense assignment is shorter than the {@link #requiredLength() required length}
+     */
+    public boolean evaluate(final boolean[] assignment) {
+        if (assignment.length < this.requiredLength) {
+            throw new IllegalArgumentException("The dense assignment must have at least length " + this.requiredLength);
+        }
+        if (this.root < 0 || this.root >= FALSE_REF) {
+            return value(this.root, assignment);
+        }
+        if (++this.generation == 0) {
+            Arrays.fill(this.stamps, 0);
+            this.generation = 1;
+        }
+        final int[] ops = this.operands;
+        int top = 0;
+        this.stack[0] = this.root;
+        this.positions[0] = this.starts[this.root];
+        while (top >= 0) {
+            final int node = this.stack[top];
+            final byte type = this.types[node];
+            final int start = this.starts[node];
+            final int end = this.starts[node + 1];
+            int pos = this.positions[top];
+            int result = type >= PB_EQ ? evaluatePBC(node, assignment) : UNKNOWN;
+            while (result == UNKNOWN && pos < end) {
+                final int ref = ops[pos];
+                if (ref >= 0 && ref < FALSE_REF && this.stamps[ref] != this.generation) {
+                    break;
+                }
+                final boolean value = value(ref, assignment);
+                switch (type) {
+                    case NOT:
+                        result = value ? 0 : 1;
+                        break;
+                    case IMPL:
+                        if (pos != start) {
+                            result = value ? 1 : 0;
+                        } else if (!value) {
+                            result = 1;
+                        }
+                        break;
+                    case EQUIV:
+                        if (pos != start) {
+                            result = value == this.values[node] ? 1 : 0;
+                        } else {
+                            this.values[node] = value;
+                        }
+                        break;
+                    case AND:
+                        if (!value) {
+                            result = 0;
+                        }
+                        break;
+                    default:
+                        if (value) {
+                            result = 1;
+                        }
+                        break;
+                }
+                pos++;
+            }
+            if (result == UNKNOWN && pos == end) {
+                result = type == AND ? 1 : 0;
+            }
+            if (result != UNKNOWN) {
+                this.values[node] = result == 1;
+                this.stamps[node] = this.generation;
+                top--;
+            } else {
+                this.positions[top++] = pos;
+                this.stack[top] = ops[pos];
+                this.positions[top] = this.starts[ops[pos]];
+            }
+        }
+        return this.values[this.root];
+    }
+
+    private int evaluatePBC(final int node, final boolean[] assignment) {
+        int lhs = 0;
+        for (int i = this.starts[node]; i < this.starts[node + 1]; i++) {
+            if (value(this.operands[i], assignment)) {
+                lhs += this.coefficients[i];
+            }
+        }
+        return evaluateComparator(this.types[node], lhs, this.rhs[node]) ? 1 : 0;
+    }
+
+    private boolean value(final int ref, final boolean[] assignment) {
+        if (ref >= 0) {
+            return ref < FALSE_REF ? this.values[ref] : ref == TRUE_REF;
+        }
+        final int code = ~ref;
+        return assignment[code >>> 1] == ((code & 1) == 1);
+    }
+
+    /**
+     * Evaluates the comparator of a pseudo-Boolean constraint.
+     * @param type the node type of the constraint
+     * @param lhs  the value of the left-hand side
+     * @param rhs  the right-hand side
+     * @return the result of the comparison
+     */
+    static boolean evaluateComparator(final byte type, final int lhs, final int rhs) {
+        switch (type) {
+            case PB_EQ:
+                return lhs == rhs;
+            case PB_GT:
+                return lhs > rhs;
+            case PB_GE:
+                return lhs >= rhs;
+            case PB_LT:
+                return lhs < rhs;
+            default:
+                return lhs <= rhs;
+        }
+    }
+
+    /**
+     * Returns the reference of a literal with the given variable index and phase.  Literal references are negative,
+     * references of inner nodes are their non-negative position and constants have the references {@link #TRUE_REF}
+     * and {@link #FALSE_REF}.
+     * @param index the variable index
+     * @param phase the phase
+     * @return the reference of the literal
+     */
+    static int literalRef(final int index, final boolean phase) {
+        return ~((index << 1) | (phase ? 1 : 0));
+    }
+
+    /**
+     * The compiler which flattens a formula in post-order.
+     */
+    private static final class Compiler implements PostOrderVisitor<Integer> {
+        private byte[] types = new byte[16];
+        private int[] starts = new int[17];
+        private int[] rhs = new int[16];
+        private int[] operands = new int[32];
+        private int[] coefficients = new int[32];
+        private int numNodes;
+        private int numOperands;
+        private int maxIndex = -1;
+
+        @Override
+        public Integer cached(final Formula formula) {
+            switch (formula.type()) {
+                case TRUE:
+                    return TRUE_REF;
+                case FALSE:
+                    return FALSE_REF;
+                case LITERAL:
+                    return literal((Literal) formula);
+                default:
+                    return null;
+            }
+        }
+
+        @Override
+        public Integer visit(final Formula formula, final List<Integer> children) {
+            final byte type;
+            switch (formula.type()) {
+                case NOT:
+                    type = NOT;
+                    break;
+                case IMPL:
+                    type = IMPL;
+                    break;
+                case EQUIV:
+                    type = EQUIV;
+                    break;
+                case AND:
+                    type = AND;
+                    break;
+                case OR:
+                    type = OR;
+                    break;
+                case PBC:
+                    return pbc((PBConstraint) formula);
+                default:
+                    throw new IllegalArgumentException("Unknown formula type: " + formula.type());
+            }
+            for (final int child : children) {
+                addOperand(child, 0);
+            }
+            return addNode(type, 0);
+        }
+
+        private int pbc(final PBConstraint pbc) {
+            final Literal[] literals = pbc.operands();
+            for (int i = 0; i < literals.length; i++) {
+                addOperand(literal(literals[i]), pbc.coefficients()[i]);
+            }
+            switch (pbc.comparator()) {
+                case EQ:
+                    return addNode(PB_EQ, pbc.rhs());
+                case GT:
+                    return addNode(PB_GT, pbc.rhs());
+                case GE:
+                    return addNode(PB_GE, pbc.rhs());
+                case LT:
+                    return addNode(PB_LT, pbc.rhs());
+                case LE:
+                    return addNode(PB_LE, pbc.rhs());
+                default:
+                    throw new IllegalArgumentException("Unknown pseudo-Boolean comparator: " + pbc.comparator());
+            }
+        }
+
+        private int literal(final Literal literal) {
+            final int index = literal.variable().index();
+            if (index < 0) {
+                throw new IllegalArgumentException("Variable " + literal.variable() + " has no factory index");
+            }
+            this.maxIndex = Math.max(this.maxIndex, index);
+            return literalRef(index, literal.phase());
+        }
+
+        private void addOperand(final int ref, final int coefficient) {
+            if (this.numOperands == this.operands.length) {
+                this.operands = Arrays.copyOf(this.operands, 2 * this.operands.length);
+                this.coefficients = Arrays.copyOf(this.coefficients, 2 * this.coefficients.length);
+            }
+            this.operands[this.numOperands] = ref;
+            this.coefficients[this.numOperands++] = coefficient;
+        }
+
+        private int addNode(final byte type, final int rhs) {
+            if (this.numNodes == this.types.length) {
+                final int newLength = 2 * this.types.length;
+                this.types = Arrays.copyOf(this.types, newLength);
+                this.rhs = Arrays.copyOf(this.rhs, newLength);
+                this.starts = Arrays.copyOf(this.starts, newLength + 1);
+            }
+            this.types[this.numNodes] = type;
+            this.rhs[this.numNodes] = rhs;
+            this.starts[++this.numNodes] = this.numOperands;
+            return this.numNodes - 1;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import static org.logicng.formulas.evaluation.CompiledFormula.AND;
+import static org.logicng.formulas.evaluation.CompiledFormula.EQUIV;
+import static org.logicng.formulas.evaluation.CompiledFormula.FALSE_REF;
+import static org.logicng.formulas.evaluation.CompiledFormula.IMPL;
+import static org.logicng.formulas.evaluation.CompiledFormula.NOT;
+import static org.logicng.formulas.evaluation.CompiledFormula.OR;
+import static org.logicng.formulas.evaluation.CompiledFormula.PB_EQ;
+import static org.logicng.formulas.evaluation.CompiledFormula.TRUE_REF;
+
+import org.logicng.formulas.Formula;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Arrays;
+
+/**
+ * A formula compiled to a tree of method handles for the repeated evaluation over dense assignments.
+ * <p>
+ * The formula is first flattened to a {@link CompiledFormula} and each node is then translated to a method handle
+ * combinator: conjunctions, disjunctions, implications, and equivalences become (balanced) trees of
+ * {@link MethodHandles#guardWithTest guards}, negations become return value filters, literals read the dense
+ * assignment directly, and pseudo-Boolean and cardinality constraints call a specialized summation over their
+ * literals.  In contrast to the interpreted {@link CompiledFormula}, the JIT compiler can specialize the resulting
+ * handle tree for the formula.  This pays off for single formulas which are evaluated very often.  If many different
+ * formulas are evaluated alternately, the interpreted {@link CompiledFormula} is usually faster.
+ * <p>
+ * Sub-formulas which occur more than once in the formula are memoized per call, so they are computed at most once.
+ * Since the memoized values are stored in an internal scratch space, an instance must not be evaluated by multiple
+ * threads at once.  Use {@link #copy()} to obtain an independent instance for another thread.  Since the evaluation of
+ * the handle tree is recursive, this class is intended for formulas of moderate depth.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class MethodHandleFormula {
+
+    private static final MethodHandle NEGATION;
+    private static final MethodHandle READ_LITERAL;
+    private static final MethodHandle CARDINALITY;
+    private static final MethodHandle PSEUDO_BOOLEAN;
+    private static final MethodHandle IS_MEMOIZED;
+    private static final MethodHandle MEMOIZED;
+    private static final MethodHandle MEMOIZE;
+
+    static {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        try {
+            NEGATION = lookup.findStatic(MethodHandleFormula.class, "negation", MethodType.methodType(boolean.class, boolean.class));
+            READ_LITERAL = lookup.findStatic(MethodHandleFormula.class, "readLiteral",
+                    MethodType.methodType(boolean.class, int.class, boolean[].class));
+            CARDINALITY = lookup.findStatic(MethodHandleFormula.class, "cardinality",
+                    MethodType.methodType(boolean.class, int[].class, byte.class, int.class, boolean[].class));
+            PSEUDO_BOOLEAN = lookup.findStatic(MethodHandleFormula.class, "pseudoBoolean",
+                    MethodType.methodType(boolean.class, int[].class, int[].class, byte.class, int.class, boolean[].class));
+            IS_MEMOIZED = lookup.findStatic(MethodHandleFormula.class, "isMemoized",
+                    MethodType.methodType(boolean.class, int.class, boolean[].class, Scratch.class));
+            MEMOIZED = lookup.findStatic(MethodHandleFormula.class, "memoized",
+                    MethodType.methodType(boolean.class, int.class, boolean[].class, Scratch.class));
+            MEMOIZE = lookup.findStatic(MethodHandleFormula.class, "memoize",
+                    MethodType.methodType(boolean.class, int.class, boolean.class, boolean[].class, Scratch.class));
+        } catch (final NoSuchMethodException | IllegalAccessException e) {
+            throw new IllegalStateException("Could not create the method handles for the formula compilation", e);
+        }
+    }
+
+    private final CompiledFormula compiled;
+    private final MethodHandle handle;
+    private final Scratch scratch;
+
+    private MethodHandleFormula(final CompiledFormula compiled, final MethodHandle handle) {
+        this.compiled = compiled;
+        this.handle = handle;
+        this.scratch = new Scratch(compiled.numberOfNodes());
+    }
+
+    /**
+     * Compiles the given formula.
+     * @param formula the formula
+     * @return the compiled formula
+     * @throws IllegalArgumentException if the formula contains a variable without a factory index
+     */
+    public static MethodHandleFormula compile(final Formula formula) {
+        final CompiledFormula compiled = CompiledFormula.compile(formula);
+        final int[] references = new int[compiled.numberOfNodes()];
+        for (final int ref : compiled.operands) {
+            if (isNode(ref)) {
+                references[ref]++;
+            }
+        }
+        final MethodHandle[] handles = new MethodHandle[compiled.numberOfNodes()];
+        for (int node = 0; node < handles.length; node++) {
+            final MethodHandle nodeHandle = nodeHandle(compiled, node, handles);
+            handles[node] = references[node] > 1 ? memoize(node, nodeHandle) : nodeHandle;
+        }
+        return new MethodHandleFormula(compiled, refHandle(compiled.root, handles));
+    }
+
+    /**
+     * Returns the original formula.
+     * @return the original formula
+     */
+    public Formula formula() {
+        return this.compiled.formula();
+    }
+
+    /**
+     * Returns the minimal length of a dense assignment for this formula, i.e. the maximal index of a variable of the
+     * formula plus one.
+     * @return the minimal length of a dense assignment
+     */
+    public int requiredLength() {
+        return this.compiled.requiredLength();
+    }
+
+    /**
+     * Returns a new instance of this compiled formula which shares the method handles, but has its own scratch space.
+     * @return a copy of this compiled formula
+     */
+    public MethodHandleFormula copy() {
+        return new MethodHandleFormula(this.compiled, this.handle);
+    }
+
+    /**
+     * Evaluates the formula over the given dense assignment.
+     * @param assignment the dense assignment, indexed by variable indices
+     * @return the result of the evaluation
+     * @throws IllegalArgumentException if the dense assignment is shorter than the {@link #requiredLength() required length}
+     */
+    public boolean evaluate(final boolean[] assignment) {
+        if (assignment.length < this.compiled.requiredLength()) {
+            throw new IllegalArgumentException("The dense assignment must have at least length " + this.compiled.requiredLength());
+        }
+        this.scratch.nextGeneration();
+        try {
+            return (boolean) this.handle.invokeExact(assignment, this.scratch);
+        } catch (final RuntimeException | Error e) {
+            throw e;
+        } catch (final Throwable e) {
+            throw new IllegalStateException("Unexpected exception during the evaluation of a compiled formula", e);
+        }
+    }
+
+    private static MethodHandle nodeHandle(final CompiledFormula compiled, final int node, final MethodHandle[] handles) {
+        final int start = compiled.starts[node];
+        final int end = compiled.starts[node + 1];
+        final byte type = compiled.types[node];
+        if (type >= PB_EQ) {
+            final int[] literals = Arrays.copyOfRange(compiled.operands, start, end);
+            final int[] coefficients = Arrays.copyOfRange(compiled.coefficients, start, end);
+            final MethodHandle pbc = Arrays.stream(coefficients).allMatch(c -> c == 1)
+                    ? MethodHandles.insertArguments(CARDINALITY, 0, literals, type, compiled.rhs[node])
+                    : MethodHandles.insertArguments(PSEUDO_BOOLEAN, 0, literals, coefficients, type, compiled.rhs[node]);
+            return MethodHandles.dropArguments(pbc, 1, Scratch.class);
+        }
+        final MethodHandle[] operands = new MethodHandle[end - start];
+        for (int i = start; i < end; i++) {
+            operands[i - start] = refHandle(compiled.operands[i], handles);
+        }
+        switch (type) {
+            case NOT:
+                return MethodHandles.filterReturnValue(operands[0], NEGATION);
+            case IMPL:
+                return MethodHandles.guardWithTest(operands[0], operands[1], constant(true));
+            case EQUIV:
+                return MethodHandles.guardWithTest(operands[0], operands[1], MethodHandles.filterReturnValue(operands[1], NEGATION));
+            case AND:
+            case OR:
+                return junction(type, operands, 0, operands.length);
+            default:
+                throw new IllegalArgumentException("Unknown node type: " + type);
+        }
+    }
+
+    private static MethodHandle junction(final byte type, final MethodHandle[] operands, final int from, final int to) {
+        if (to - from == 1) {
+            return operands[from];
+        }
+        final int middle = (from + to) >>> 1;
+        final MethodHandle first = junction(type, operands, from, middle);
+        final MethodHandle second = junction(type, operands, middle, to);
+        return type == AND
+                ? MethodHandles.guardWithTest(first, second, constant(false))
+                : MethodHandles.guardWithTest(first, constant(true), second);
+    }
+
+    private static MethodHandle refHandle(final int ref, final MethodHandle[] handles) {
+        if (isNode(ref)) {
+            return handles[ref];
+        }
+        if (ref >= 0) {
+            return constant(ref == TRUE_REF);
+        }
+        final int code = ~ref;
+        final MethodHandle read = MethodHandles.insertArguments(READ_LITERAL, 0, code >>> 1);
+        final MethodHandle literal = (code & 1) == 1 ? read : MethodHandles.filterReturnValue(read, NEGATION);
+        return MethodHandles.dropArguments(literal, 1, Scratch.class);
+    }
+
+    private static MethodHandle memoize(final int node, final MethodHandle nodeHandle) {
+        final MethodHandle compute = MethodHandles.foldArguments(MethodHandles.insertArguments(MEMOIZE, 0, node), nodeHandle);
+        return MethodHandles.guardWithTest(MethodHandles.insertArguments(IS_MEMOIZED, 0, node),
+                MethodHandles.insertArguments(MEMOIZED, 0, node), compute);
+    }
+
+    private static MethodHandle constant(final boolean value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(boolean.class, value), 0, boolean[].class, Scratch.class);
+    }
+
+    private static boolean isNode(final int ref) {
+        return ref >= 0 && ref < FALSE_REF;
+    }
+
+    private static boolean negation(final boolean value) {
+        return !value;
+    }
+
+    private static boolean readLiteral(final int index, final boolean[] assignment) {
+        return assignment[index];
+    }
+
+    private static boolean cardinality(final int[] literals, final byte type, final int rhs, final boolean[] assignment) {
+        int lhs = 0;
+        for (final int literal : literals) {
+            final int code = ~literal;
+            if (assignment[code >>> 1] == ((code & 1) == 1)) {
+                lhs++;
+            }
+        }
+        return CompiledFormula.evaluateComparator(type, lhs, rhs);
+    }
+
+    private static boolean pseudoBoolean(final int[] literals, final int[] coefficients, final byte type, final int rhs,
+                                         final boolean[] assignment) {
+        int lhs = 0;
+        for (int i = 0; i < literals.length; i++) {
+            final int code = ~literals[i];
+            if (assignment[code >>> 1] == ((code & 1) == 1)) {
+                lhs += coefficients[i];
+            }
+        }
+        return CompiledFormula.evaluateComparator(type, lhs, rhs);
+    }
+
+    private static boolean isMemoized(final int node, final boolean[] assignment, final Scratch scratch) {
+        return scratch.stamps[node] == scratch.generation;
+    }
+
+    private static boolean memoized(final int node, final boolean[] assignment, final Scratch scratch) {
+        return scratch.values[node];
+    }
+
+    private static boolean memoize(final int node, final boolean value, final boolean[] assignment, final Scratch scratch) {
+        scratch.values[node] = value;
+        scratch.stamps[node] = scratch.generation;
+        return value;
+    }
+
+    /**
+     * The scratch space for the memoized values of shared sub-formulas.
+     */
+    private static final class Scratch {
+        private final boolean[] values;
+        private final int[] stamps;
+        private int generation;
+
+        private Scratch(final int numNodes) {
+            this.values = new boolean[numNodes];
+            this.stamps = new int[numNodes];
+        }
+
+        private void nextGeneration() {
+            if (++this.generation == 0) {
+                Arrays.fill(this.stamps, 0);
+                this.generation = 1;
+            }
+        }
+    }
+}
@@ -30,16 +30,19 @@ package org.logicng.formulas.printer;
 
 import org.logicng.formulas.BinaryOperator;
 import org.logicng.formulas.CType;
-import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.NAryOperator;
-import org.logicng.formulas.Not;
 import org.logicng.formulas.PBConstraint;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
 /**
  * Super class for a formula string representation.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class FormulaStringRepresentation {
@@ -59,7 +62,9 @@ public abstract class FormulaStringRepresentation {
     /**
      * Returns the string representation of the given formula.
      * <p>
-     * This method is used for recursive calls in order to format the sub-formulas.
+     * Atomic formulas are formatted directly.  Operators are formatted iteratively with an explicit stack of pending
+     * tokens, so formulas of arbitrary depth can be printed.  Sub-classes can change the representation of atomic
+     * formulas by overriding this method and the order of operands by overriding {@link #orderedOperands(Formula)}.
      * @param formula the formula
      * @return the string representation of the formula
      */
@@ -72,27 +77,95 @@ public abstract class FormulaStringRepresentation {
             case LITERAL:
                 final Literal lit = (Literal) formula;
                 return lit.phase() ? lit.name() : this.negation() + lit.name();
+            case PBC:
+                final PBConstraint pbc = (PBConstraint) formula;
+                return String.format("%s%s%d", this.pbLhs(pbc.operands(), pbc.coefficients()), this.pbComparator(pbc.comparator()), pbc.rhs());
             case NOT:
-                final Not not = (Not) formula;
-                return this.negation() + this.bracket(not.operand());
             case IMPL:
             case EQUIV:
-                final BinaryOperator binary = (BinaryOperator) formula;
-                String op = formula.type() == FType.IMPL ? this.implication() : this.equivalence();
-                return this.binaryOperator(binary, op);
             case AND:
             case OR:
-                final NAryOperator nary = (NAryOperator) formula;
-                op = formula.type() == FType.AND ? this.and() : this.or();
-                return this.naryOperator(nary, String.format("%s", op));
-            case PBC:
-                final PBConstraint pbc = (PBConstraint) formula;
-                return String.format("%s%s%d", this.pbLhs(pbc.operands(), pbc.coefficients()), this.pbComparator(pbc.comparator()), pbc.rhs());
+                return this.operatorString(formula);
             default:
                 throw new IllegalArgumentException("Cannot print the unknown formula type " + formula.type());
         }
     }
 
+    /**
+     * Returns the string representation of an operator.  The explicit stack holds either strings which are appended
+     * directly or formulas which are expanded into their tokens when they are popped.
+     * @param operator the operator
+     * @return the string representation
+     */
+    private String operatorString(final Formula operator) {
+        final StringBuilder sb = new StringBuilder();
+        final Deque<Object> stack = new ArrayDeque<>();
+        stack.push(operator);
+        while (!stack.isEmpty()) {
+            final Object top = stack.pop();
+            if (top instanceof String) {
+                sb.append((String) top);
+                continue;
+            }
+            final Formula formula = (Formula) top;
+            if (formula.isAtomicFormula()) {
+                sb.append(this.toInnerString(formula));
+                continue;
+            }
+            final List<Formula> operands = this.orderedOperands(formula);
+            final String opString;
+            switch (formula.type()) {
+                case NOT:
+                    opString = null;
+                    break;
+                case IMPL:
+                    opString = this.implication();
+                    break;
+                case EQUIV:
+                    opString = this.equivalence();
+                    break;
+                case AND:
+                    opString = this.and();
+                    break;
+                case OR:
+                    opString = this.or();
+                    break;
+                default:
+                    throw new IllegalArgumentException("Cannot print the unknown formula type " + formula.type());
+            }
+            for (int i = operands.size() - 1; i >= 0; i--) {
+                final Formula op = operands.get(i);
+                if (opString == null || formula.type().precedence() >= op.type().precedence()) {
+                    stack.push(this.rbr());
+                    stack.push(op);
+                    stack.push(this.lbr());
+                } else {
+                    stack.push(op);
+                }
+                if (i > 0) {
+                    stack.push(opString);
+                }
+            }
+            if (opString == null) {
+                stack.push(this.negation());
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the operands of an operator in the order in which they should be printed.
+     * @param operator the operator
+     * @return the operands in printing order
+     */
+    protected List<Formula> orderedOperands(final Formula operator) {
+        final List<Formula> operands = new ArrayList<>(operator.numberOfOperands());
+        for (final Formula op : operator) {
+            operands.add(op);
+        }
+        return operands;
+    }
+
     /**
      * Returns a bracketed string version of a given formula.
      * @param formula the formula
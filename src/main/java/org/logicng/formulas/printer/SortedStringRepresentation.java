@@ -28,18 +28,14 @@
 
 package org.logicng.formulas.printer;
 
-import org.logicng.formulas.BinaryOperator;
-import org.logicng.formulas.Equivalence;
 import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Literal;
-import org.logicng.formulas.NAryOperator;
-import org.logicng.formulas.Not;
-import org.logicng.formulas.PBConstraint;
 import org.logicng.formulas.Variable;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.SortedSet;
@@ -83,7 +79,7 @@ import java.util.TreeSet;
  * Example 4:
  * Given the variable ordering [b, c, d], the sorted string representation for the formula a &amp; (c | (d =&gt; b)) would be
  * ((d =&gt; b) | c) &amp; a.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.5.0
  */
 public final class SortedStringRepresentation extends DefaultStringRepresentation {
@@ -104,69 +100,20 @@ public final class SortedStringRepresentation extends DefaultStringRepresentatio
     }
 
     /**
-     * Returns the sorted string representation of the given formula.
-     * @param formula the formula
-     * @return the sorted string representation of the formula with regard to the variable ordering
+     * Returns the operands of an operator sorted with regard to the variable ordering.  The operands of an
+     * implication are not sorted.
+     * @param operator the operator
+     * @return the sorted operands
      */
     @Override
-    public String toInnerString(final Formula formula) {
-        switch (formula.type()) {
-            case FALSE:
-                return falsum();
-            case TRUE:
-                return verum();
-            case LITERAL:
-                final Literal lit = (Literal) formula;
-                return lit.phase() ? lit.name() : negation() + lit.name();
-            case NOT:
-                final Not not = (Not) formula;
-                return negation() + bracket(not.operand());
-            case IMPL:
-                return binaryOperator((BinaryOperator) formula, implication());
-            case EQUIV:
-                return sortedEquivalence((Equivalence) formula);
-            case AND:
-            case OR:
-                final NAryOperator nary = (NAryOperator) formula;
-                final String op = formula.type() == FType.AND ? and() : or();
-                return naryOperator(nary, String.format("%s", op));
-            case PBC:
-                final PBConstraint pbc = (PBConstraint) formula;
-                return String.format("%s%s%d", pbLhs(pbc.operands(), pbc.coefficients()), pbComparator(pbc.comparator()), pbc.rhs());
-            default:
-                throw new IllegalArgumentException("Cannot print the unknown formula type " + formula.type());
+    protected List<Formula> orderedOperands(final Formula operator) {
+        final List<Formula> operands = super.orderedOperands(operator);
+        if (operator.type() == FType.AND || operator.type() == FType.OR) {
+            operands.sort(this.comparator);
+        } else if (operator.type() == FType.EQUIV && this.comparator.compare(operands.get(0), operands.get(1)) > 0) {
+            Collections.swap(operands, 0, 1);
         }
-    }
-
-    /**
-     * Returns the sorted string representation of an n-ary operator.
-     * @param operator the n-ary operator
-     * @param opString the operator string
-     * @return the string representation
-     */
-    @Override
-    protected String naryOperator(final NAryOperator operator, final String opString) {
-        final List<Formula> operands = new ArrayList<>();
-        for (final Formula op : operator) {
-            operands.add(op);
-        }
-        final int size = operator.numberOfOperands();
-        operands.sort(this.comparator);
-        final StringBuilder sb = new StringBuilder();
-        int count = 0;
-        Formula last = null;
-        for (final Formula op : operands) {
-            if (++count == size) {
-                last = op;
-            } else {
-                sb.append(operator.type().precedence() < op.type().precedence() ? toInnerString(op) : bracket(op));
-                sb.append(opString);
-            }
-        }
-        if (last != null) {
-            sb.append(operator.type().precedence() < last.type().precedence() ? toInnerString(last) : bracket(last));
-        }
-        return sb.toString();
+        return operands;
     }
 
     /**
@@ -214,26 +161,6 @@ public final class SortedStringRepresentation extends DefaultStringRepresentatio
         return sb.toString();
     }
 
-    /**
-     * Returns the string representation of an equivalence.
-     * @param equivalence the equivalence
-     * @return the string representation
-     */
-    private String sortedEquivalence(final Equivalence equivalence) {
-        final Formula right;
-        final Formula left;
-        if (this.comparator.compare(equivalence.left(), equivalence.right()) <= 0) {
-            right = equivalence.right();
-            left = equivalence.left();
-        } else {
-            right = equivalence.left();
-            left = equivalence.right();
-        }
-        final String leftString = FType.EQUIV.precedence() < left.type().precedence() ? toInnerString(left) : bracket(left);
-        final String rightString = FType.EQUIV.precedence() < right.type().precedence() ? toInnerString(right) : bracket(right);
-        return String.format("%s%s%s", leftString, equivalence(), rightString);
-    }
-
     static class FormulaComparator implements Comparator<Formula> {
 
         final List<Variable> varOrder;
@@ -32,34 +32,42 @@ import static org.logicng.formulas.cache.FunctionCacheEntry.DEPTH;
 
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFunction;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.PostOrderVisitor;
+
+import java.util.List;
 
 /**
  * A function that computes the depth of a formula. The depth of an atomic formula
  * is defined as 0, all other operators increase the depth by 1.
- * @version 2.0
+ * <p>
+ * The depth is computed by an iterative {@link FormulaTraversal post-order traversal}, so formulas of arbitrary depth
+ * are supported.
+ * @version 2.1.0
  * @since 2.0
  */
 public final class FormulaDepthFunction implements FormulaFunction<Integer> {
 
     @Override
     public Integer apply(final Formula formula, final boolean cache) {
-        final Object cached = formula.functionCacheEntry(DEPTH);
-        if (cached != null) {
-            return (Integer) cached;
-        }
-        final int result;
-        if (formula.isAtomicFormula()) {
-            result = 0;
-        } else {
-            int maxDepth = 0;
-            for (final Formula op : formula) {
-                maxDepth = Math.max(maxDepth, apply(op, cache));
+        return FormulaTraversal.postOrder(formula, new PostOrderVisitor<Integer>() {
+            @Override
+            public Integer cached(final Formula node) {
+                return (Integer) node.functionCacheEntry(DEPTH);
+            }
+
+            @Override
+            public Integer visit(final Formula node, final List<Integer> operands) {
+                int maxDepth = -1;
+                for (final int depth : operands) {
+                    maxDepth = Math.max(maxDepth, depth);
+                }
+                final int result = node.isAtomicFormula() ? 0 : maxDepth + 1;
+                if (cache) {
+                    node.setFunctionCacheEntry(DEPTH, result);
+                }
+                return result;
             }
-            result = maxDepth + 1;
-        }
-        if (cache) {
-            formula.setFunctionCacheEntry(DEPTH, result);
-        }
-        return result;
+        });
     }
 }
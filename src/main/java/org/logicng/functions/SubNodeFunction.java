@@ -32,31 +32,48 @@ import static org.logicng.formulas.cache.FunctionCacheEntry.SUBFORMULAS;
 
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFunction;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.PostOrderVisitor;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 
 /**
  * A function that computes the all sub-nodes of a given formula.  The order of the sub-nodes is bottom-up, i.e. a
  * sub-node only appears in the result when all of its sub-nodes are already listed.
- * @version 1.0
+ * <p>
+ * The sub-nodes are computed by an iterative {@link FormulaTraversal post-order traversal}, so formulas of arbitrary
+ * depth are supported.  Only the result for the given formula is cached.
+ * @version 2.1.0
  * @since 1.0
  */
 public final class SubNodeFunction implements FormulaFunction<LinkedHashSet<Formula>> {
 
     @Override
     @SuppressWarnings("unchecked")
-    public LinkedHashSet<Formula> apply(final Formula formula, boolean cache) {
+    public LinkedHashSet<Formula> apply(final Formula formula, final boolean cache) {
         final Object cached = formula.functionCacheEntry(SUBFORMULAS);
         if (cached != null) {
             return (LinkedHashSet<Formula>) cached;
         }
-        LinkedHashSet<Formula> result = new LinkedHashSet<>();
-        for (final Formula op : formula) {
-            if (!result.contains(op)) {
-                result.addAll(apply(op, cache));
+        final LinkedHashSet<Formula> result = new LinkedHashSet<>();
+        FormulaTraversal.postOrder(formula, new PostOrderVisitor<Boolean>() {
+            @Override
+            public Boolean cached(final Formula node) {
+                final Object cachedSubNodes = node == formula ? null : node.functionCacheEntry(SUBFORMULAS);
+                if (cachedSubNodes == null) {
+                    return null;
+                }
+                result.addAll((LinkedHashSet<Formula>) cachedSubNodes);
+                return Boolean.TRUE;
             }
-        }
-        result.add(formula);
+
+            @Override
+            public Boolean visit(final Formula node, final List<Boolean> operands) {
+                result.add(node);
+                return Boolean.TRUE;
+            }
+        });
         if (cache) {
             formula.setFunctionCacheEntry(SUBFORMULAS, result);
         }
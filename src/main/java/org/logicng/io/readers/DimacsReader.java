@@ -31,6 +31,7 @@ package org.logicng.io.readers;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
+import org.logicng.solvers.SATSolver;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -46,7 +47,7 @@ import java.util.List;
  * This reader reads all the clauses and variables - independent of the numbers given in the prefix. Also it assumes
  * that every clause is in its own line and ends with '0'.  Comments are only allowed if the lines start with 'c'.  No
  * C style comments are supported (yes, we have actually seen these in DIMACS files).
- * @version 1.3
+ * @version 2.1.0
  * @since 1.2
  */
 public final class DimacsReader {
@@ -105,6 +106,37 @@ public final class DimacsReader {
         return result;
     }
 
+    /**
+     * Reads a given DIMACS CNF file and adds the contained clauses directly to the given solver via
+     * {@link SATSolver#addClause(int...)}, i.e. the clauses are not created as formulas.  The variables of the clauses
+     * are named with the default prefix {@link SATSolver#DIMACS_PREFIX v}.
+     * @param file   the file
+     * @param solver the solver
+     * @return the number of clauses added to the solver
+     * @throws IOException if there was a problem reading the file
+     */
+    public static int readCNF(final File file, final SATSolver solver) throws IOException {
+        int numClauses = 0;
+        try (final BufferedReader br = new BufferedReader(new FileReader(file))) {
+            while (br.ready()) {
+                final String line = br.readLine();
+                if (!line.startsWith("c") && !line.startsWith("p") && !line.trim().isEmpty()) {
+                    final String[] split = line.trim().split("\\s+");
+                    if (!"0".equals(split[split.length - 1])) {
+                        throw new IllegalArgumentException("Line '" + line + "' did not end with 0.");
+                    }
+                    final int[] clause = new int[split.length - 1];
+                    for (int i = 0; i < clause.length; i++) {
+                        clause[i] = Integer.parseInt(split[i]);
+                    }
+                    solver.addClause(clause);
+                    numClauses++;
+                }
+            }
+        }
+        return numClauses;
+    }
+
     /**
      * Reads a given DIMACS CNF file and returns the contained clauses as a list of formulas.
      * @param fileName the file name
@@ -52,7 +52,7 @@ import java.util.concurrent.TimeoutException;
 /**
  * Implementation of a DNNF compiler based on ideas by Adnan Darwiche in
  * "New advances in compiling CNF to decomposable negation normal form."
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public class DnnfCompiler {
@@ -84,9 +84,9 @@ public class DnnfCompiler {
         final Pair<Formula, Formula> pair = initializeClauses();
         this.unitClauses = this.f.and(pair.first());
         this.nonUnitClauses = this.f.and(pair.second());
-        this.solver = new DnnfMiniSatStyleSolver(this.f, this.cnf.variables().size());
+        this.solver = new DnnfMiniSatStyleSolver(this.f, this.cnf.variableIndexSet().size());
         this.solver.add(this.cnf);
-        this.numberOfVariables = this.cnf.variables().size();
+        this.numberOfVariables = this.cnf.variableIndexSet().size();
         this.cache = new HashMap<>();
         final int maxClauseSize = computeMaxClauseSize(this.cnf);
         this.leafResultOperands = new ArrayList<>(maxClauseSize);
@@ -190,7 +190,7 @@ public class DnnfCompiler {
     protected void initializeCaches(final DTree dTree) {
         final int depth = dTree.depth() + 1;
         final int sep = dTree.widestSeparator() + 1;
-        final int variables = this.cnf.variables().size();
+        final int variables = this.cnf.variableIndexSet().size();
 
         this.localCacheKeys = new BitSet[depth][sep];
         this.localOccurrences = new int[depth][sep][variables];
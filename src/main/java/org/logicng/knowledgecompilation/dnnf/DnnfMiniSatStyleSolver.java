@@ -46,7 +46,7 @@ import java.util.List;
 
 /**
  * A variation of the MiniSat solver used during the DNNF compilation process.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public class DnnfMiniSatStyleSolver extends MiniSat2Solver implements DnnfSatSolver {
@@ -176,7 +176,7 @@ public class DnnfMiniSatStyleSolver extends MiniSat2Solver implements DnnfSatSol
             uncheckedEnqueue(this.lastLearnt.get(0), null);
             this.unitClauses.push(this.lastLearnt.get(0));
         } else {
-            final MSClause cr = new MSClause(this.lastLearnt, true);
+            final MSClause cr = new MSClause(this.lastLearnt, true, false, this.clauseArena);
             this.learnts.push(cr);
             attachClause(cr);
             if (!this.incremental) {
@@ -218,6 +218,28 @@ public class DnnfMiniSatStyleSolver extends MiniSat2Solver implements DnnfSatSol
         return true;
     }
 
+    /**
+     * Returns a copy of this solver including the assignment on decision level 0.  The copy can only be made while no
+     * decision is pending, i.e. before the DNNF compilation or after all decisions were undone.
+     * @return the copy of this solver
+     * @throws IllegalStateException if a decision is pending
+     */
+    @Override
+    public DnnfMiniSatStyleSolver copy() {
+        if (decisionLevel() > 0) {
+            throw new IllegalStateException("Cannot copy a DNNF solver with pending decisions");
+        }
+        final DnnfMiniSatStyleSolver copy = new DnnfMiniSatStyleSolver(this.f, this.assignment.length / 2);
+        copy.copyState(this);
+        copy.unitClauses = new LNGIntVector(this.unitClauses);
+        System.arraycopy(this.assignment, 0, copy.assignment, 0, this.assignment.length);
+        copy.impliedOperands.addAll(this.impliedOperands);
+        copy.newlyImpliedDirty = this.newlyImpliedDirty;
+        copy.assertionLevel = this.assertionLevel;
+        copy.lastLearnt = this.lastLearnt == null ? null : new LNGIntVector(this.lastLearnt);
+        return copy;
+    }
+
     @Override
     protected void uncheckedEnqueue(final int lit, final MSClause reason) {
         this.assignment[lit] = Tristate.TRUE;
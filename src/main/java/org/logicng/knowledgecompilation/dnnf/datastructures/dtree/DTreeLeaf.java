@@ -42,7 +42,7 @@ import java.util.SortedSet;
 
 /**
  * A leaf in a DTree.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public class DTreeLeaf extends DTree {
@@ -68,7 +68,7 @@ public class DTreeLeaf extends DTree {
         this.id = id;
         this.clause = clause;
         this.staticClauseIds = new int[]{id};
-        this.clauseSize = clause.variables().size();
+        this.clauseSize = clause.variableIndexSet().size();
         this.staticSeparator = new int[0];
         assert this.clauseSize >= 2;
     }
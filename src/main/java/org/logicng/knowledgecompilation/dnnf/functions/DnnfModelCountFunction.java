@@ -28,6 +28,7 @@
 
 package org.logicng.knowledgecompilation.dnnf.functions;
 
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.Variable;
 import org.logicng.formulas.cache.FunctionCacheEntry;
@@ -36,11 +37,10 @@ import java.math.BigInteger;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.SortedSet;
-import java.util.TreeSet;
 
 /**
  * A DNNF function which counts models.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public final class DnnfModelCountFunction implements DnnfFunction<BigInteger> {
@@ -69,14 +69,14 @@ public final class DnnfModelCountFunction implements DnnfFunction<BigInteger> {
             result = count(formula, new HashMap<>());
         }
         formula.setFunctionCacheEntry(FunctionCacheEntry.DNNF_MODELCOUNT, result);
-        final SortedSet<Variable> dontCareVariables = new TreeSet<>();
-        final SortedSet<Variable> dnnfVariables = formula.variables();
+        int dontCareVariables = 0;
+        final VariableIndexSet dnnfVariables = formula.variableIndexSet();
         for (final Variable originalVariable : originalVariables) {
             if (!dnnfVariables.contains(originalVariable)) {
-                dontCareVariables.add(originalVariable);
+                dontCareVariables++;
             }
         }
-        final BigInteger factor = BigInteger.valueOf(2).pow(dontCareVariables.size());
+        final BigInteger factor = BigInteger.valueOf(2).pow(dontCareVariables);
         return result.multiply(factor);
     }
 
@@ -95,11 +95,11 @@ public final class DnnfModelCountFunction implements DnnfFunction<BigInteger> {
                     }
                     break;
                 case OR:
-                    final int allVariables = dnnf.variables().size();
+                    final int allVariables = dnnf.variableIndexSet().size();
                     c = BigInteger.ZERO;
                     for (final Formula op : dnnf) {
                         final BigInteger opCount = count(op, internalCache);
-                        final BigInteger factor = BigInteger.valueOf(2L).pow(allVariables - op.variables().size());
+                        final BigInteger factor = BigInteger.valueOf(2L).pow(allVariables - op.variableIndexSet().size());
                         c = c.add(opCount.multiply(factor));
                     }
                     break;
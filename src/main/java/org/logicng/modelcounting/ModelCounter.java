@@ -29,6 +29,7 @@
 package org.logicng.modelcounting;
 
 import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.VariableIndexSet;
 import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
@@ -57,7 +58,7 @@ import java.util.stream.Collectors;
 
 /**
  * A model counter for large formulas.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public final class ModelCounter {
@@ -78,7 +79,7 @@ public final class ModelCounter {
      * @return the model count of the formulas for the variables
      */
     public static BigInteger count(final Collection<Formula> formulas, final SortedSet<Variable> variables) {
-        if (!variables.containsAll(FormulaHelper.variables(formulas))) {
+        if (!containsAllVariables(variables, formulas)) {
             throw new IllegalArgumentException("Expected variables to contain all of the formulas' variables.");
         }
         if (variables.isEmpty()) {
@@ -89,8 +90,17 @@ public final class ModelCounter {
         final List<Formula> cnfs = encodeAsCnf(formulas, f);
         final SimplificationResult simplification = simplify(cnfs);
         final BigInteger count = count(simplification.simplifiedFormulas, f);
-        final SortedSet<Variable> dontCareVariables = simplification.getDontCareVariables(variables);
-        return count.multiply(BigInteger.valueOf(2).pow(dontCareVariables.size()));
+        final int dontCareVariables = simplification.getNumberOfDontCareVariables(variables);
+        return count.multiply(BigInteger.valueOf(2).pow(dontCareVariables));
+    }
+
+    private static boolean containsAllVariables(final SortedSet<Variable> variables, final Collection<Formula> formulas) {
+        final FormulaFactory f = variables.isEmpty() ? null : variables.first().factory();
+        if (formulas.stream().anyMatch(formula -> formula.factory() != f)) {
+            return variables.containsAll(FormulaHelper.variables(formulas));
+        }
+        final VariableIndexSet formulaVariables = VariableIndexSet.union(formulas.stream().map(Formula::variableIndexSet).toArray(VariableIndexSet[]::new));
+        return VariableIndexSet.of(variables).containsAll(formulaVariables);
     }
 
     private static List<Formula> encodeAsCnf(final Collection<Formula> formulas, final FormulaFactory f) {
@@ -144,10 +154,15 @@ public final class ModelCounter {
             this.backboneVariables = backboneVariables;
         }
 
-        public SortedSet<Variable> getDontCareVariables(final SortedSet<Variable> variables) {
-            final SortedSet<Variable> dontCareVariables = new TreeSet<>(variables);
-            dontCareVariables.removeAll(FormulaHelper.variables(this.simplifiedFormulas));
-            dontCareVariables.removeAll(this.backboneVariables);
+        public int getNumberOfDontCareVariables(final SortedSet<Variable> variables) {
+            final VariableIndexSet careVariables = VariableIndexSet.union(VariableIndexSet.of(this.backboneVariables),
+                    VariableIndexSet.union(this.simplifiedFormulas.stream().map(Formula::variableIndexSet).toArray(VariableIndexSet[]::new)));
+            int dontCareVariables = 0;
+            for (final Variable variable : variables) {
+                if (!careVariables.contains(variable)) {
+                    dontCareVariables++;
+                }
+            }
             return dontCareVariables;
         }
     }
@@ -52,6 +52,7 @@ import org.logicng.solvers.functions.SolverFunction;
 import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.GlucoseSyrup;
 import org.logicng.solvers.sat.MiniCard;
+import org.logicng.solvers.sat.MiniSat2SimpSolver;
 import org.logicng.solvers.sat.MiniSat2Solver;
 import org.logicng.solvers.sat.MiniSatConfig;
 import org.logicng.solvers.sat.MiniSatStyleSolver;
@@ -60,13 +61,12 @@ import org.logicng.transformations.cnf.PlaistedGreenbaumTransformationSolver;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Map;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
 /**
  * Wrapper for the MiniSAT-style SAT solvers.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class MiniSat extends SATSolver {
@@ -78,6 +78,7 @@ public final class MiniSat extends SATSolver {
     protected final CCEncoder ccEncoder;
     protected final SolverStyle style;
     protected final LNGIntVector validStates;
+    protected final LNGIntVector dimacsIndices;
     protected final boolean initialPhase;
     protected final boolean incremental;
     protected int nextStateId;
@@ -101,7 +102,7 @@ public final class MiniSat extends SATSolver {
         this.initialPhase = miniSatConfig.initialPhase();
         switch (solverStyle) {
             case MINISAT:
-                this.solver = new MiniSat2Solver(miniSatConfig);
+                this.solver = miniSatConfig.simplification() ? new MiniSat2SimpSolver(miniSatConfig) : new MiniSat2Solver(miniSatConfig);
                 break;
             case GLUCOSE:
                 this.solver = new GlucoseSyrup(miniSatConfig, glucoseConfig);
@@ -115,12 +116,34 @@ public final class MiniSat extends SATSolver {
         this.result = UNDEF;
         this.incremental = miniSatConfig.incremental();
         this.validStates = new LNGIntVector();
+        this.dimacsIndices = new LNGIntVector();
         this.nextStateId = 0;
         this.ccEncoder = new CCEncoder(f);
         this.pgTransformation = new PlaistedGreenbaumTransformationSolver(true, this.underlyingSolver(), this.initialPhase);
         this.fullPgTransformation = new PlaistedGreenbaumTransformationSolver(false, this.underlyingSolver(), this.initialPhase);
     }
 
+    /**
+     * Constructs a copy of the given solver.
+     * @param other the solver to copy
+     */
+    private MiniSat(final MiniSat other) {
+        super(other.f);
+        this.config = other.config;
+        this.style = other.style;
+        this.initialPhase = other.initialPhase;
+        this.solver = other.solver.copy();
+        this.result = other.result;
+        this.incremental = other.incremental;
+        this.validStates = new LNGIntVector(other.validStates);
+        this.dimacsIndices = new LNGIntVector(other.dimacsIndices);
+        this.nextStateId = other.nextStateId;
+        this.ccEncoder = new CCEncoder(other.f);
+        this.pgTransformation = other.pgTransformation.copy(this.solver);
+        this.fullPgTransformation = other.fullPgTransformation.copy(this.solver);
+        this.lastComputationWithAssumptions = other.lastComputationWithAssumptions;
+    }
+
     /**
      * Returns a new MiniSat solver.
      * @param f the formula factory
@@ -225,10 +248,9 @@ public final class MiniSat extends SATSolver {
     public void addWithoutUnknown(final Formula formula) {
         final int nVars = this.solver.nVars();
         final Assignment restriction = new Assignment(true);
-        final Map<String, Integer> map = this.solver.name2idx();
         for (final Variable var : formula.variables()) {
-            final Integer index = map.get(var.name());
-            if (index == null || index >= nVars) {
+            final int index = this.solver.idxForVariable(var);
+            if (index == -1 || index >= nVars) {
                 restriction.addLiteral(var.negate());
             }
         }
@@ -241,6 +263,24 @@ public final class MiniSat extends SATSolver {
         return this.ccEncoder.encodeIncremental(cc, result);
     }
 
+    /**
+     * Adds a clause given as DIMACS literals directly to the underlying solver, i.e. without creating any formulas or
+     * literals on the formula factory.  The solver indices of the DIMACS variables are kept in an array, so the names
+     * of the variables are only looked up or registered when a DIMACS variable is used for the first time.
+     * @param literals the DIMACS literals of the clause, no literals represent the empty clause
+     * @throws IllegalArgumentException if a literal is {@code 0}
+     */
+    @Override
+    public void addClause(final int... literals) {
+        this.result = UNDEF;
+        final LNGIntVector ps = new LNGIntVector(literals.length);
+        for (final int lit : literals) {
+            final int index = getOrAddDimacsIndex(dimacsVariable(lit));
+            ps.push(lit > 0 ? index * 2 : (index * 2) ^ 1);
+        }
+        this.solver.addClause(ps, null);
+    }
+
     @Override
     protected void addClause(final Formula formula, final Proposition proposition) {
         this.result = UNDEF;
@@ -288,6 +328,7 @@ public final class MiniSat extends SATSolver {
     @Override
     public void reset() {
         this.solver.reset();
+        this.dimacsIndices.clear();
         this.lastComputationWithAssumptions = false;
         this.pgTransformation.clearCache();
         this.fullPgTransformation.clearCache();
@@ -302,7 +343,7 @@ public final class MiniSat extends SATSolver {
         final LNGIntVector relevantIndices = variables == null ? null : new LNGIntVector(variables.size());
         if (relevantIndices != null) {
             for (final Variable var : variables) {
-                relevantIndices.push(this.solver.idxForName(var.name()));
+                relevantIndices.push(this.solver.idxForVariable(var));
             }
         }
         return this.result == TRUE ? this.createAssignment(this.solver.model(), relevantIndices) : null;
@@ -333,18 +374,37 @@ public final class MiniSat extends SATSolver {
         }
         this.validStates.shrinkTo(index + 1);
         this.solver.loadState(state.state());
+        for (int i = 0; i < this.dimacsIndices.size(); i++) {
+            if (this.dimacsIndices.get(i) >= this.solver.nVars()) {
+                this.dimacsIndices.set(i, -1);
+            }
+        }
         this.result = UNDEF;
         this.pgTransformation.clearCache();
         this.fullPgTransformation.clearCache();
     }
 
+    /**
+     * Returns a copy of this solver.  The copy contains the same formulas, learnt clauses, and variable activities as
+     * this solver, so it starts warmed-up.  The clauses of both solvers share their literals until one of the solvers
+     * changes a clause.  Afterwards, both solvers are independent, e.g. formulas added to one of them are not added
+     * to the other, and can be used by different threads as long as the formula factory is only used by one thread at
+     * a time.  Solver states saved on this solver before the copy can be loaded on both solvers.
+     * <p>
+     * Copying is supported by all solver styles and configurations.
+     * @return the copy of this solver
+     */
+    public MiniSat copy() {
+        return new MiniSat(this);
+    }
+
     @Override
     public SortedSet<Variable> knownVariables() {
         final SortedSet<Variable> result = new TreeSet<>();
         final int nVars = this.solver.nVars();
-        for (final Map.Entry<String, Integer> entry : this.solver.name2idx().entrySet()) {
-            if (entry.getValue() < nVars) {
-                result.add(this.f.variable(entry.getKey()));
+        for (int i = 0; i < nVars; i++) {
+            if (this.solver.nameForIdx(i) != null) {
+                result.add(variableForIdx(i));
             }
         }
         return result;
@@ -366,10 +426,48 @@ public final class MiniSat extends SATSolver {
     }
 
     protected int getOrAddIndex(final Literal lit) {
-        int index = this.solver.idxForName(lit.name());
+        final Variable var = lit.variable();
+        int index = this.solver.idxForVariable(var);
         if (index == -1) {
             index = this.solver.newVar(!this.initialPhase, true);
-            this.solver.addName(lit.name(), index);
+            this.solver.addVariable(var, index);
+        }
+        return index;
+    }
+
+    /**
+     * Returns the variable for a given solver index.  If the variable was only added to the solver by its name, it is
+     * created on the formula factory once and then cached on the solver.
+     * @param index the solver index of a known variable
+     * @return the variable
+     */
+    protected Variable variableForIdx(final int index) {
+        Variable var = this.solver.variableForIdx(index);
+        if (var == null) {
+            var = this.f.variable(this.solver.nameForIdx(index));
+            this.solver.addVariable(var, index);
+        }
+        return var;
+    }
+
+    /**
+     * Returns the solver index of the given DIMACS variable and adds the variable to the solver if it is not yet known.
+     * @param var the DIMACS variable
+     * @return the solver index of the variable
+     */
+    protected int getOrAddDimacsIndex(final int var) {
+        if (var >= this.dimacsIndices.size()) {
+            this.dimacsIndices.growTo(var + 1, -1);
+        }
+        int index = this.dimacsIndices.get(var);
+        if (index == -1) {
+            final String name = DIMACS_PREFIX + var;
+            index = this.solver.idxForName(name);
+            if (index == -1) {
+                index = this.solver.newVar(!this.initialPhase, true);
+                this.solver.addName(name, index);
+            }
+            this.dimacsIndices.set(var, index);
         }
         return index;
     }
@@ -385,18 +483,18 @@ public final class MiniSat extends SATSolver {
         final Assignment model = new Assignment();
         if (relevantIndices == null) {
             for (int i = 0; i < vec.size(); i++) {
-                final String name = this.solver.nameForIdx(i);
-                if (isRelevantVariable(name)) {
-                    model.addLiteral(this.f.literal(name, vec.get(i)));
+                final Variable var = variableForIdx(i);
+                if (isRelevantVariable(var.name())) {
+                    model.addLiteral(vec.get(i) ? var : var.negate());
                 }
             }
         } else {
             for (int i = 0; i < relevantIndices.size(); i++) {
                 final int index = relevantIndices.get(i);
                 if (index != -1) {
-                    final String name = this.solver.nameForIdx(index);
-                    if (isRelevantVariable(name)) {
-                        model.addLiteral(this.f.literal(name, vec.get(index)));
+                    final Variable var = variableForIdx(index);
+                    if (isRelevantVariable(var.name())) {
+                        model.addLiteral(vec.get(index) ? var : var.negate());
                     }
                 }
             }
@@ -0,0 +1,602 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers;
+
+import static org.logicng.datastructures.Tristate.UNDEF;
+
+import org.logicng.cardinalityconstraints.CCIncrementalData;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.CardinalityConstraint;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.functions.SolverFunction;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.LearntClauseExchange;
+import org.logicng.solvers.sat.MiniSatConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A portfolio SAT solver which runs several differently configured MiniSat-style solvers in parallel.
+ * <p>
+ * All formulas are added to every solver of the portfolio.  A call to {@code sat} starts all solvers on a thread pool,
+ * the first solver with an answer wins, and all other solvers are cancelled via their {@link SATHandler}.  Models are
+ * taken from the winning solver.  Optionally, unit clauses, binary clauses, and learnt clauses with a small LBD are
+ * exchanged between the solvers while they are running.
+ * <p>
+ * Formulas are only added and models are only extracted on the calling thread, so the formula factory does not have to
+ * be thread-safe.  Solver functions like model enumeration or backbone computation are executed sequentially on the
+ * solver which won the last call to {@code sat} or on the first solver of the portfolio if there was no such call.
+ * Incremental cardinality constraints are not supported.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class PortfolioSATSolver extends SATSolver {
+
+    private final List<MiniSat> solvers;
+    private final int[] exchangedVariables;
+    private final ExecutorService executor;
+    private final boolean ownExecutor;
+    private final boolean shareLearnts;
+    private final int maxSharedLBD;
+    private final LNGIntVector validStates;
+    private final List<SolverState[]> states;
+    private int nextStateId;
+    private MiniSat winner;
+    private int numSharedClauses;
+
+    private PortfolioSATSolver(final Builder builder) {
+        super(builder.f);
+        if (builder.solvers.isEmpty()) {
+            throw new IllegalArgumentException("A portfolio solver requires at least one solver");
+        }
+        this.solvers = new ArrayList<>(builder.solvers);
+        this.exchangedVariables = new int[this.solvers.size()];
+        this.ownExecutor = builder.executor == null;
+        this.executor = this.ownExecutor ? createExecutor(builder.threads > 0 ? builder.threads : this.solvers.size()) : builder.executor;
+        this.shareLearnts = builder.shareLearnts;
+        this.maxSharedLBD = builder.maxSharedLBD;
+        this.validStates = new LNGIntVector();
+        this.states = new ArrayList<>();
+        this.nextStateId = 0;
+        this.result = UNDEF;
+    }
+
+    /**
+     * Returns a new builder for a portfolio solver.
+     * @param f the formula factory
+     * @return the builder
+     */
+    public static Builder builder(final FormulaFactory f) {
+        return new Builder(f);
+    }
+
+    /**
+     * Returns a new portfolio solver with the given number of solvers from {@link Builder#defaultSolvers(int)} and
+     * learnt clause sharing.
+     * @param f          the formula factory
+     * @param numSolvers the number of solvers
+     * @return the portfolio solver
+     */
+    public static PortfolioSATSolver portfolio(final FormulaFactory f, final int numSolvers) {
+        return builder(f).defaultSolvers(numSolvers).build();
+    }
+
+    private static ExecutorService createExecutor(final int threads) {
+        final AtomicInteger count = new AtomicInteger();
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            final Thread thread = new Thread(runnable, "logicng-portfolio-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void add(final Formula formula, final Proposition proposition) {
+        this.result = UNDEF;
+        for (final MiniSat solver : this.solvers) {
+            solver.add(formula, proposition);
+        }
+    }
+
+    @Override
+    public void addWithoutUnknown(final Formula formula) {
+        this.result = UNDEF;
+        for (final MiniSat solver : this.solvers) {
+            solver.addWithoutUnknown(formula);
+        }
+    }
+
+    /**
+     * Incremental cardinality constraints are not supported by the portfolio solver.
+     * @param cc the cardinality constraint
+     * @return never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public CCIncrementalData addIncrementalCC(final CardinalityConstraint cc) {
+        throw new UnsupportedOperationException("The portfolio solver does not support incremental cardinality constraints");
+    }
+
+    @Override
+    public void addClause(final int... literals) {
+        this.result = UNDEF;
+        for (final MiniSat solver : this.solvers) {
+            solver.addClause(literals);
+        }
+    }
+
+    @Override
+    protected void addClause(final Formula formula, final Proposition proposition) {
+        this.result = UNDEF;
+        for (final MiniSat solver : this.solvers) {
+            solver.addClause(formula, proposition);
+        }
+    }
+
+    @Override
+    protected void addClauseWithRelaxation(final Variable relaxationVar, final Formula formula) {
+        this.result = UNDEF;
+        for (final MiniSat solver : this.solvers) {
+            solver.addClauseWithRelaxation(relaxationVar, formula);
+        }
+    }
+
+    @Override
+    public Tristate sat(final SATHandler handler) {
+        return solve(handler, null);
+    }
+
+    @Override
+    public Tristate sat(final SATHandler handler, final Literal literal) {
+        return solve(handler, Collections.singletonList(literal));
+    }
+
+    @Override
+    public Tristate sat(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+        return solve(handler, assumptions);
+    }
+
+    /**
+     * Runs all solvers of the portfolio in parallel until the first one finds an answer.
+     * @param handler     the SAT handler or {@code null}
+     * @param assumptions the assumptions or {@code null} if there are no assumptions
+     * @return the result of the first solver which found an answer or {@code UNDEF} if the computation was aborted by
+     * the handler
+     * @throws IllegalStateException if a solver failed
+     */
+    private Tristate solve(final SATHandler handler, final Collection<? extends Literal> assumptions) {
+        if (handler != null) {
+            handler.started();
+        }
+        final AtomicBoolean stop = new AtomicBoolean(false);
+        final LearntClauseExchange exchange = this.shareLearnts && this.solvers.size() > 1 ? new LearntClauseExchange(this.maxSharedLBD) : null;
+        if (exchange != null) {
+            for (int i = 0; i < this.solvers.size(); i++) {
+                prepareExchange(i);
+                this.solvers.get(i).underlyingSolver().setClauseExchange(exchange, i);
+            }
+        }
+        final ExecutorCompletionService<MiniSat> completionService = new ExecutorCompletionService<>(this.executor);
+        final List<Future<MiniSat>> futures = new ArrayList<>(this.solvers.size());
+        for (final MiniSat solver : this.solvers) {
+            final SATHandler workerHandler = new PortfolioHandler(stop, handler);
+            futures.add(completionService.submit(() -> {
+                if (assumptions == null) {
+                    solver.sat(workerHandler);
+                } else {
+                    solver.sat(workerHandler, assumptions);
+                }
+                return solver;
+            }));
+        }
+        this.winner = null;
+        Throwable failure = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                final MiniSat solver = completionService.take().get();
+                if (this.winner == null && solver.getResult() != UNDEF) {
+                    this.winner = solver;
+                    stop.set(true);
+                }
+            } catch (final ExecutionException e) {
+                failure = failure == null ? e.getCause() : failure;
+                stop.set(true);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failure = failure == null ? e : failure;
+                stop.set(true);
+            }
+        }
+        if (exchange != null) {
+            this.numSharedClauses += exchange.size();
+            for (final MiniSat solver : this.solvers) {
+                solver.underlyingSolver().setClauseExchange(null, 0);
+            }
+        }
+        if (handler != null) {
+            handler.finishedSolving();
+        }
+        if (failure != null) {
+            throw new IllegalStateException("A solver of the portfolio failed", failure);
+        }
+        this.result = this.winner == null ? UNDEF : this.winner.getResult();
+        return this.result;
+    }
+
+    /**
+     * Makes sure that all variables of a solver which were added by their name are also added as variables of the
+     * formula factory, so that learnt clauses over these variables can be exchanged.  The variables are created on
+     * the calling thread before the solvers are started.
+     * @param i the index of the solver in the portfolio
+     */
+    private void prepareExchange(final int i) {
+        final MiniSat solver = this.solvers.get(i);
+        final int nVars = solver.underlyingSolver().nVars();
+        for (int index = Math.min(this.exchangedVariables[i], nVars); index < nVars; index++) {
+            if (solver.underlyingSolver().nameForIdx(index) != null) {
+                solver.variableForIdx(index);
+            }
+        }
+        this.exchangedVariables[i] = nVars;
+    }
+
+    @Override
+    public void reset() {
+        for (final MiniSat solver : this.solvers) {
+            solver.reset();
+        }
+        Arrays.fill(this.exchangedVariables, 0);
+        this.validStates.clear();
+        this.states.clear();
+        this.winner = null;
+        this.result = UNDEF;
+    }
+
+    @Override
+    public Assignment model(final Collection<Variable> variables) {
+        if (this.result == UNDEF) {
+            throw new IllegalStateException("Cannot get a model as long as the formula is not solved.  Call 'sat' first.");
+        }
+        return this.winner.model(variables);
+    }
+
+    @Override
+    public <RESULT> RESULT execute(final SolverFunction<RESULT> function) {
+        final MiniSat solver = this.winner != null ? this.winner : this.solvers.get(0);
+        final RESULT functionResult = solver.execute(function);
+        this.winner = solver;
+        this.result = solver.getResult();
+        return functionResult;
+    }
+
+    /**
+     * Saves the state of all solvers of the portfolio.
+     * @return the state of the portfolio
+     * @throws UnsupportedOperationException if a solver of the portfolio does not support saving its state
+     * @throws IllegalStateException         if a solver of the portfolio is not in incremental mode
+     */
+    @Override
+    public SolverState saveState() {
+        for (final MiniSat solver : this.solvers) {
+            if (solver.getStyle() == MiniSat.SolverStyle.GLUCOSE) {
+                throw new UnsupportedOperationException("Cannot save the state of a portfolio containing a Glucose solver");
+            }
+            if (!solver.isIncremental()) {
+                throw new IllegalStateException("Cannot save the state of a portfolio containing a non-incremental solver");
+            }
+        }
+        final SolverState[] solverStates = new SolverState[this.solvers.size()];
+        for (int i = 0; i < this.solvers.size(); i++) {
+            solverStates[i] = this.solvers.get(i).saveState();
+        }
+        final int id = this.nextStateId++;
+        this.validStates.push(id);
+        this.states.add(solverStates);
+        return new SolverState(id, new int[0]);
+    }
+
+    @Override
+    public void loadState(final SolverState state) {
+        int index = -1;
+        for (int i = this.validStates.size() - 1; i >= 0 && index == -1; i--) {
+            if (this.validStates.get(i) == state.id()) {
+                index = i;
+            }
+        }
+        if (index == -1) {
+            throw new IllegalArgumentException("The given solver state is not valid anymore.");
+        }
+        final SolverState[] solverStates = this.states.get(index);
+        for (int i = 0; i < this.solvers.size(); i++) {
+            this.solvers.get(i).loadState(solverStates[i]);
+        }
+        this.validStates.shrinkTo(index + 1);
+        this.states.subList(index + 1, this.states.size()).clear();
+        this.winner = null;
+        this.result = UNDEF;
+    }
+
+    @Override
+    public SortedSet<Variable> knownVariables() {
+        return this.solvers.get(0).knownVariables();
+    }
+
+    @Override
+    protected void setSelectionOrder(final List<? extends Literal> selectionOrder) {
+        for (final MiniSat solver : this.solvers) {
+            solver.setSelectionOrder(selectionOrder);
+        }
+    }
+
+    @Override
+    protected void resetSelectionOrder() {
+        for (final MiniSat solver : this.solvers) {
+            solver.resetSelectionOrder();
+        }
+    }
+
+    /**
+     * Returns the solvers of this portfolio.
+     * <p>
+     * ATTENTION: by influencing the solvers directly, you can mess things up completely!  All solvers must always
+     * contain the same formulas.
+     * @return the solvers of this portfolio
+     */
+    public List<MiniSat> solvers() {
+        return Collections.unmodifiableList(this.solvers);
+    }
+
+    /**
+     * Returns the solver which found the answer of the last call to {@code sat}.
+     * @return the winning solver or {@code null} if there was no answer
+     */
+    public MiniSat winner() {
+        return this.winner;
+    }
+
+    /**
+     * Returns the number of learnt clauses which were exported by the solvers of this portfolio to the other solvers.
+     * @return the number of shared learnt clauses
+     */
+    public int numSharedClauses() {
+        return this.numSharedClauses;
+    }
+
+    /**
+     * Shuts down the thread pool of this solver if it was created by the solver.  An executor which was passed to the
+     * builder is not shut down.  The solver must not be used afterwards.
+     */
+    public void shutdown() {
+        if (this.ownExecutor) {
+            this.executor.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PortfolioSATSolver{result=%s, solvers=%d, shareLearnts=%s}", this.result, this.solvers.size(), this.shareLearnts);
+    }
+
+    /**
+     * The handler for a single solver of the portfolio.  A solver is cancelled as soon as another solver found an
+     * answer or the handler of the portfolio cancels the computation.  Since the solvers run in parallel, the handler
+     * of the portfolio is only called while holding its lock.
+     */
+    private static final class PortfolioHandler implements SATHandler {
+        private final AtomicBoolean stop;
+        private final SATHandler handler;
+
+        private PortfolioHandler(final AtomicBoolean stop, final SATHandler handler) {
+            this.stop = stop;
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean aborted() {
+            return this.stop.get();
+        }
+
+        @Override
+        public void started() {
+            // nothing to do here
+        }
+
+        @Override
+        public boolean detectedConflict() {
+            if (this.stop.get()) {
+                return false;
+            }
+            if (this.handler != null) {
+                synchronized (this.handler) {
+                    if (!this.handler.detectedConflict()) {
+                        this.stop.set(true);
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public void finishedSolving() {
+            // nothing to do here
+        }
+    }
+
+    /**
+     * The builder for a portfolio solver.
+     */
+    public static class Builder {
+        private final FormulaFactory f;
+        private final List<MiniSat> solvers = new ArrayList<>();
+        private int threads = 0;
+        private ExecutorService executor = null;
+        private boolean shareLearnts = true;
+        private int maxSharedLBD = 2;
+
+        private Builder(final FormulaFactory f) {
+            this.f = f;
+        }
+
+        /**
+         * Adds a MiniSat solver with the given configuration to the portfolio.
+         * @param config the MiniSat configuration
+         * @return the builder
+         */
+        public Builder miniSat(final MiniSatConfig config) {
+            this.solvers.add(MiniSat.miniSat(this.f, config));
+            return this;
+        }
+
+        /**
+         * Adds a Glucose solver with the given configurations to the portfolio.
+         * @param miniSatConfig the MiniSat configuration
+         * @param glucoseConfig the Glucose configuration
+         * @return the builder
+         */
+        public Builder glucose(final MiniSatConfig miniSatConfig, final GlucoseConfig glucoseConfig) {
+            this.solvers.add(MiniSat.glucose(this.f, miniSatConfig, glucoseConfig));
+            return this;
+        }
+
+        /**
+         * Adds a MiniCard solver with the given configuration to the portfolio.
+         * @param config the MiniSat configuration
+         * @return the builder
+         */
+        public Builder miniCard(final MiniSatConfig config) {
+            this.solvers.add(MiniSat.miniCard(this.f, config));
+            return this;
+        }
+
+        /**
+         * Adds the given number of solvers with different default configurations to the portfolio.  The configurations
+         * alternate between the MiniSat, Glucose, and MiniCard solvers with different initial phases, restart
+         * strategies, variable activity decays, and preprocessing or inprocessing settings.  All solvers are
+         * incremental and use the default CNF method.  Since the second of every three solvers is a Glucose solver, which
+         * does not support saving and loading states, a portfolio with more than one default solver does not support
+         * {@link PortfolioSATSolver#saveState()}.
+         * @param numSolvers the number of solvers
+         * @return the builder
+         */
+        public Builder defaultSolvers(final int numSolvers) {
+            for (int i = 0; i < numSolvers; i++) {
+                final boolean initialPhase = (i / 3) % 2 == 1;
+                final int variant = i / 6;
+                switch (i % 3) {
+                    case 0:
+                        miniSat(MiniSatConfig.builder().initialPhase(initialPhase)
+                                .restartFirst(100 + 50 * variant).varDecay(Math.max(0.8, 0.95 - 0.05 * variant))
+                                .build());
+                        break;
+                    case 1:
+                        glucose(MiniSatConfig.builder().initialPhase(initialPhase).build(),
+                                GlucoseConfig.builder().factorK(Math.max(0.5, 0.8 - 0.1 * variant)).inprocessing(variant % 2 == 1).build());
+                        break;
+                    default:
+                        miniCard(MiniSatConfig.builder().initialPhase(initialPhase).restartInc(2 + 0.5 * variant).build());
+                        break;
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Sets the number of threads of the thread pool created by the solver.  The default is the number of solvers
+         * in the portfolio.  This value is ignored if an executor is given.
+         * @param threads the number of threads
+         * @return the builder
+         */
+        public Builder threads(final int threads) {
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which the solvers are run.  By default, the solver creates its own thread pool with
+         * daemon threads.  The executor should be able to run all solvers of the portfolio in parallel, since solvers
+         * which are queued behind others only start after those finished.
+         * @param executor the executor
+         * @return the builder
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Sets whether unit clauses, binary clauses, and learnt clauses with a small LBD are exchanged between the
+         * solvers.  Solvers with proof generation export their learnt clauses, but do not import clauses of other
+         * solvers, so their unsat cores remain valid.  The default value is {@code true}.
+         * @param shareLearnts {@code true} if learnt clauses are exchanged, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder shareLearnts(final boolean shareLearnts) {
+            this.shareLearnts = shareLearnts;
+            return this;
+        }
+
+        /**
+         * Sets the maximal LBD of exchanged learnt clauses with more than two literals.  The default value is 2.
+         * @param maxSharedLBD the maximal LBD
+         * @return the builder
+         */
+        public Builder maxSharedLBD(final int maxSharedLBD) {
+            this.maxSharedLBD = maxSharedLBD;
+            return this;
+        }
+
+        /**
+         * Builds the portfolio solver.
+         * @return the portfolio solver
+         * @throws IllegalArgumentException if no solver was added to the portfolio
+         */
+        public PortfolioSATSolver build() {
+            return new PortfolioSATSolver(this);
+        }
+    }
+}
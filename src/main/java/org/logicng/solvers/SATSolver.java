@@ -46,6 +46,7 @@ import org.logicng.solvers.functions.ModelEnumerationFunction;
 import org.logicng.solvers.functions.SolverFunction;
 import org.logicng.solvers.functions.UnsatCoreFunction;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
@@ -53,11 +54,16 @@ import java.util.SortedSet;
 
 /**
  * A generic interface for LogicNG's SAT solvers.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class SATSolver {
 
+    /**
+     * The prefix of the variables of clauses which are added as DIMACS literals.
+     */
+    public static final String DIMACS_PREFIX = "v";
+
     protected final FormulaFactory f;
     protected Tristate result;
 
@@ -170,6 +176,37 @@ public abstract class SATSolver {
      */
     public abstract CCIncrementalData addIncrementalCC(final CardinalityConstraint cc);
 
+    /**
+     * Adds a clause given as DIMACS literals to the solver.
+     * <p>
+     * A positive number {@code n} stands for the variable {@link #DIMACS_PREFIX v}{@code n} and a negative number
+     * {@code -n} for its negation.  So the variables are shared with formulas over these variables, e.g. with the
+     * formulas of the {@link org.logicng.io.readers.DimacsReader DimacsReader}, and the models contain these variables.
+     * In contrast to adding the clause as a formula, solvers may add the clause without creating any formulas.
+     * @param literals the DIMACS literals of the clause, no literals represent the empty clause
+     * @throws IllegalArgumentException if a literal is {@code 0}
+     */
+    public void addClause(final int... literals) {
+        final List<Literal> lits = new ArrayList<>(literals.length);
+        for (final int lit : literals) {
+            lits.add(this.f.literal(DIMACS_PREFIX + dimacsVariable(lit), lit > 0));
+        }
+        add(this.f.clause(lits));
+    }
+
+    /**
+     * Returns the variable of the given DIMACS literal.
+     * @param literal the DIMACS literal
+     * @return the variable of the literal
+     * @throws IllegalArgumentException if the literal is {@code 0}
+     */
+    protected static int dimacsVariable(final int literal) {
+        if (literal == 0 || literal == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException("Not a valid DIMACS literal: " + literal);
+        }
+        return Math.abs(literal);
+    }
+
     /**
      * Adds a formula which is already in CNF to the solver.
      * @param proposition a proposition (if required for proof tracing)
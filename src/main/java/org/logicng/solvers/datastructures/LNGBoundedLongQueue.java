@@ -81,7 +81,7 @@ import org.logicng.collections.LNGLongVector;
 
 /**
  * A bounded long queue (for Glucose)
- * @version 1.3
+ * @version 2.1.0
  * @since 1.0
  */
 public final class LNGBoundedLongQueue {
@@ -104,6 +104,19 @@ public final class LNGBoundedLongQueue {
         this.queueSize = 0;
     }
 
+    /**
+     * Constructs a copy of the given bounded long queue.
+     * @param other the queue to copy
+     */
+    public LNGBoundedLongQueue(final LNGBoundedLongQueue other) {
+        this.elems = new LNGLongVector(other.elems);
+        this.first = other.first;
+        this.last = other.last;
+        this.sumOfQueue = other.sumOfQueue;
+        this.maxSize = other.maxSize;
+        this.queueSize = other.queueSize;
+    }
+
     /**
      * Initializes the size of this queue.
      * @param size the size
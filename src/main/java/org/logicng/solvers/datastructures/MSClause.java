@@ -50,7 +50,11 @@ import java.util.Comparator;
 
 /**
  * A clause of the SAT solver for MiniSAT-style solvers.
- * @version 2.0.0
+ * <p>
+ * The literals of a clause are stored in a range of an {@code int} array.  This array is either owned by the clause or
+ * a block of a {@link MSClauseArena} which is shared with other clauses.  A {@link #copy() copy} of a clause for a
+ * copied solver shares the literals with the original clause until one of them changes its literals.
+ * @version 2.1.0
  * @since 1.0
  */
 public final class MSClause {
@@ -82,7 +86,9 @@ public final class MSClause {
      */
     public static final Comparator<MSClause> minisatComparator = (x, y) -> x.size() > 2 && (y.size() == 2 || x.activity() < y.activity()) ? -1 : 1;
 
-    private final LNGIntVector data;
+    private int[] literals;
+    private int offset;
+    private int size;
     private final boolean learnt;
     private final boolean isAtMost;
     private double activity;
@@ -91,7 +97,9 @@ public final class MSClause {
     private long lbd;
     private boolean canBeDel;
     private boolean oneWatched;
+    private boolean vivified;
     private int atMostWatchers;
+    private boolean shared;
 
     /**
      * Constructs a new clause
@@ -109,9 +117,22 @@ public final class MSClause {
      * @param isAtMost {@code true} if it is an at-most clause, {@code false} otherwise
      */
     public MSClause(final LNGIntVector ps, final boolean learnt, final boolean isAtMost) {
-        this.data = new LNGIntVector(ps.size());
-        for (int i = 0; i < ps.size(); i++) {
-            this.data.unsafePush(ps.get(i));
+        this(ps, learnt, isAtMost, null);
+    }
+
+    /**
+     * Constructs a new clause whose literals are stored in the given arena.
+     * @param ps       the vector of literals
+     * @param learnt   {@code true} if it is a learnt clause, {@code false} otherwise
+     * @param isAtMost {@code true} if it is an at-most clause, {@code false} otherwise
+     * @param arena    the arena for the literals or {@code null} if the clause should own its literals
+     */
+    public MSClause(final LNGIntVector ps, final boolean learnt, final boolean isAtMost, final MSClauseArena arena) {
+        this.size = ps.size();
+        if (arena != null) {
+            arena.allocate(this, ps);
+        } else {
+            this.literals = ps.toArray();
         }
         this.learnt = learnt;
         this.szWithoutSelectors = 0;
@@ -119,8 +140,42 @@ public final class MSClause {
         this.lbd = 0;
         this.canBeDel = true;
         this.oneWatched = false;
+        this.vivified = false;
         this.isAtMost = isAtMost;
         this.atMostWatchers = -1;
+        this.shared = false;
+    }
+
+    /**
+     * Constructs a copy of the given clause which shares its literals.
+     * @param other the clause
+     */
+    private MSClause(final MSClause other) {
+        this.literals = other.literals;
+        this.offset = other.offset;
+        this.size = other.size;
+        this.learnt = other.learnt;
+        this.isAtMost = other.isAtMost;
+        this.activity = other.activity;
+        this.szWithoutSelectors = other.szWithoutSelectors;
+        this.seen = other.seen;
+        this.lbd = other.lbd;
+        this.canBeDel = other.canBeDel;
+        this.oneWatched = other.oneWatched;
+        this.vivified = other.vivified;
+        this.atMostWatchers = other.atMostWatchers;
+        this.shared = true;
+    }
+
+    /**
+     * Returns a copy of this clause for a copy of its solver.  The copy and this clause share their literals until one
+     * of them changes a literal, then this clause moves its literals to an array of its own (copy-on-write).  Since
+     * the shared literals are never changed, the copy and this clause can be used by different threads.
+     * @return the copy of this clause
+     */
+    public MSClause copy() {
+        this.shared = true;
+        return new MSClause(this);
     }
 
     /**
@@ -128,7 +183,7 @@ public final class MSClause {
      * @return the size
      */
     public int size() {
-        return this.data.size();
+        return this.size;
     }
 
     /**
@@ -137,7 +192,7 @@ public final class MSClause {
      * @return the literal at index {@code i}
      */
     public int get(final int i) {
-        return this.data.get(i);
+        return this.literals[this.offset + i];
     }
 
     /**
@@ -146,7 +201,41 @@ public final class MSClause {
      * @param lit the literal
      */
     public void set(final int i, final int lit) {
-        this.data.set(i, lit);
+        if (this.shared) {
+            unshare();
+        }
+        this.literals[this.offset + i] = lit;
+    }
+
+    /**
+     * Moves the literals of this clause to an array of its own if they are shared with a copy of this clause.
+     */
+    private void unshare() {
+        final int[] own = new int[this.size];
+        System.arraycopy(this.literals, this.offset, own, 0, this.size);
+        this.literals = own;
+        this.offset = 0;
+        this.shared = false;
+    }
+
+    /**
+     * Sets the array and the offset of the literals of this clause.
+     * @param literals the array
+     * @param offset   the offset of the first literal
+     */
+    void place(final int[] literals, final int offset) {
+        this.literals = literals;
+        this.offset = offset;
+        this.shared = false;
+    }
+
+    /**
+     * Copies the literals of this clause to the given array.
+     * @param target the target array
+     * @param start  the position of the first literal in the target array
+     */
+    void copyTo(final int[] target, final int start) {
+        System.arraycopy(this.literals, this.offset, target, start, this.size);
     }
 
     /**
@@ -260,6 +349,22 @@ public final class MSClause {
         this.oneWatched = oneWatched;
     }
 
+    /**
+     * Returns {@code true} if this clause was already vivified, {@code false} otherwise.
+     * @return {@code true} if this clause was already vivified
+     */
+    public boolean vivified() {
+        return this.vivified;
+    }
+
+    /**
+     * Sets whether this clause was already vivified or not.
+     * @param vivified {@code true} if it was vivified, {@code false} otherwise
+     */
+    public void setVivified(final boolean vivified) {
+        this.vivified = vivified;
+    }
+
     /**
      * Returns {@code true} if this is an at-most clause, {@code false} otherwise.
      * @return {@code true} if this is an at-most clause
@@ -290,12 +395,12 @@ public final class MSClause {
      * Pops (removes) the last literal of this clause.
      */
     public void pop() {
-        this.data.pop();
+        this.size--;
     }
 
     @Override
     public int hashCode() {
-        return this.data.hashCode();
+        return System.identityHashCode(this);
     }
 
     @Override
@@ -316,10 +421,10 @@ public final class MSClause {
         sb.append("isAtMost=").append(this.isAtMost).append(", ");
         sb.append("atMostWatchers=").append(this.atMostWatchers).append(", ");
         sb.append("lits=[");
-        for (int i = 0; i < this.data.size(); i++) {
-            final int lit = this.data.get(i);
+        for (int i = 0; i < this.size; i++) {
+            final int lit = get(i);
             sb.append((lit & 1) == 1 ? "-" : "").append(lit >> 1);
-            if (i != this.data.size() - 1) {
+            if (i != this.size - 1) {
                 sb.append(", ");
             }
         }
@@ -0,0 +1,141 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.datastructures;
+
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+
+/**
+ * An arena for the literals of the clauses of a MiniSAT-style solver.
+ * <p>
+ * The literals of all clauses are stored one after another in large {@code int} blocks instead of a separate vector
+ * per clause, so clauses which are created one after another lie next to each other in memory and a clause needs no
+ * extra objects for its literals.  If a block is full, a new block is started and the clauses of the old block keep
+ * referring to it, so clauses never have to be updated when the arena grows.  Removed clauses leave gaps in the
+ * blocks.  These gaps are closed by {@link #compact(LNGVector, LNGVector) compacting} the arena, which copies the
+ * literals of all live clauses into one new contiguous block, problem clauses first.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class MSClauseArena {
+
+    private static final int MIN_BLOCK_SIZE = 1 << 12;
+    private static final int MAX_BLOCK_SIZE = 1 << 22;
+
+    private int[] block;
+    private int used;
+    private long size;
+    private long wasted;
+
+    /**
+     * Constructs a new empty arena.
+     */
+    public MSClauseArena() {
+        this.block = new int[MIN_BLOCK_SIZE];
+    }
+
+    /**
+     * Stores the given literals in the arena as the literals of the given clause.
+     * @param c  the clause
+     * @param ps the literals
+     */
+    void allocate(final MSClause c, final LNGIntVector ps) {
+        final int n = ps.size();
+        if (this.used + n > this.block.length) {
+            this.block = new int[Math.max(n, Math.min(MAX_BLOCK_SIZE, this.block.length * 2))];
+            this.used = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            this.block[this.used + i] = ps.get(i);
+        }
+        c.place(this.block, this.used);
+        this.used += n;
+        this.size += n;
+    }
+
+    /**
+     * Marks the literals of the given clause as wasted.  The literals stay valid until the arena is compacted.
+     * @param c the removed clause
+     */
+    public void free(final MSClause c) {
+        this.wasted += c.size();
+    }
+
+    /**
+     * Returns the number of literals in the arena, including the wasted ones.
+     * @return the number of literals in the arena
+     */
+    public long size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of literals of removed clauses which are not yet reclaimed.
+     * @return the number of wasted literals
+     */
+    public long wasted() {
+        return this.wasted;
+    }
+
+    /**
+     * Moves the literals of the given live clauses into one new contiguous block and drops all wasted literals.
+     * Clauses which are not in the given vectors keep their current literals.
+     * @param clauses the problem clauses
+     * @param learnts the learnt clauses
+     */
+    public void compact(final LNGVector<MSClause> clauses, final LNGVector<MSClause> learnts) {
+        long total = 0;
+        for (int i = 0; i < clauses.size(); i++) {
+            total += clauses.get(i).size();
+        }
+        for (int i = 0; i < learnts.size(); i++) {
+            total += learnts.get(i).size();
+        }
+        final int[] newBlock = new int[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(MIN_BLOCK_SIZE, total + total / 4))];
+        if (newBlock.length < total) {
+            return;
+        }
+        final int offset = move(learnts, newBlock, move(clauses, newBlock, 0));
+        this.block = newBlock;
+        this.used = offset;
+        this.size = offset;
+        this.wasted = 0;
+    }
+
+    private static int move(final LNGVector<MSClause> cs, final int[] newBlock, final int start) {
+        int offset = start;
+        for (int i = 0; i < cs.size(); i++) {
+            final MSClause c = cs.get(i);
+            c.copyTo(newBlock, offset);
+            c.place(newBlock, offset);
+            offset += c.size();
+        }
+        return offset;
+    }
+}
@@ -0,0 +1,444 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.functions;
+
+import static org.logicng.solvers.sat.MiniSatStyleSolver.not;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.sign;
+import static org.logicng.solvers.sat.MiniSatStyleSolver.var;
+
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.handlers.SATHandler;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.sat.MiniSatStyleSolver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A solver function which decides the satisfiability of the formula on the solver by cube-and-conquer.
+ * <p>
+ * In the first phase, a lookahead on the solver splits the formula into cubes, i.e. sets of assumptions (see
+ * {@link MiniSatStyleSolver#generateCubes(int, int)}).  In the second phase, the cubes are solved in parallel by copies
+ * of the underlying solver (see {@link MiniSatStyleSolver#copy()}), one copy per thread.  The copies start with the
+ * learnt clauses and variable activities of the solver.  Each attempt to solve a cube is limited by a conflict budget, cubes
+ * which exceed their budget are retried later with a doubled budget.  If a cube is satisfiable, all other copies are
+ * stopped and the solver itself is solved under this cube with the model of the copy as selection order, such that its
+ * model can be used as usual.  If a cube is unsatisfiable, the assumptions of the cube responsible for the conflict are
+ * recorded and all remaining cubes containing these assumptions are skipped.  If no assumption was responsible for the
+ * conflict, the formula itself is unsatisfiable.
+ * <p>
+ * The function is intended for single hard instances.  Since the copies of the solver cannot contribute to an unsat
+ * core or a proof of the solver, a solver with proof generation is solved sequentially by a usual SAT call instead.
+ * <p>
+ * Cube-and-conquer functions are instantiated via their builder {@link #builder()}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class CubeAndConquerFunction implements SolverFunction<Tristate> {
+
+    private final SATHandler handler;
+    private final int threads;
+    private final int depth;
+    private final int numCandidates;
+    private final int conflictBudget;
+    private final ExecutorService executor;
+
+    private CubeAndConquerFunction(final Builder builder) {
+        this.handler = builder.handler;
+        this.threads = builder.threads;
+        this.depth = builder.depth >= 0 ? builder.depth : 32 - Integer.numberOfLeadingZeros(builder.threads) + 3;
+        this.numCandidates = builder.numCandidates;
+        this.conflictBudget = builder.conflictBudget;
+        this.executor = builder.executor;
+    }
+
+    /**
+     * Returns the builder for this function.
+     * @return the builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public Tristate apply(final MiniSat solver, final Consumer<Tristate> resultSetter) {
+        if (solver.getConfig().proofGeneration()) {
+            return solver.sat(this.handler);
+        }
+        if (this.handler != null) {
+            this.handler.started();
+        }
+        final MiniSatStyleSolver underlying = solver.underlyingSolver();
+        final List<LNGIntVector> cubes = underlying.generateCubes(this.depth, this.numCandidates);
+        final Conquer conquer = new Conquer(cubes, this.handler, this.conflictBudget);
+        if (!cubes.isEmpty()) {
+            final int numWorkers = Math.min(this.threads, cubes.size());
+            final List<MiniSatStyleSolver> copies = new ArrayList<>(numWorkers);
+            for (int i = 0; i < numWorkers; i++) {
+                copies.add(underlying.copy());
+            }
+            final ExecutorService executorService = this.executor != null ? this.executor : Executors.newFixedThreadPool(numWorkers);
+            try {
+                final List<Future<?>> futures = new ArrayList<>(numWorkers);
+                for (final MiniSatStyleSolver copy : copies) {
+                    futures.add(executorService.submit(() -> conquer.run(copy)));
+                }
+                for (final Future<?> future : futures) {
+                    future.get();
+                }
+            } catch (final ExecutionException e) {
+                throw new IllegalStateException("A cube could not be solved", e.getCause());
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("The computation was interrupted", e);
+            } finally {
+                if (this.executor == null) {
+                    executorService.shutdown();
+                }
+            }
+        }
+        if (this.handler != null) {
+            this.handler.finishedSolving();
+        }
+        if (conquer.satisfiableCube != null) {
+            return solveSatisfiableCube(solver, conquer.satisfiableCube, conquer.model);
+        }
+        final Tristate result = conquer.aborted ? Tristate.UNDEF : Tristate.FALSE;
+        resultSetter.accept(result);
+        return result;
+    }
+
+    /**
+     * Solves the solver under a satisfiable cube and guides it to the model found by a copy of the solver.
+     * @param solver the solver
+     * @param cube   the satisfiable cube
+     * @param model  the model of the copy
+     * @return the result of the solver
+     */
+    private static Tristate solveSatisfiableCube(final MiniSat solver, final LNGIntVector cube, final LNGBooleanVector model) {
+        final FormulaFactory f = solver.factory();
+        final MiniSatStyleSolver underlying = solver.underlyingSolver();
+        final List<Literal> assumptions = new ArrayList<>(cube.size());
+        for (int i = 0; i < cube.size(); i++) {
+            assumptions.add(f.literal(underlying.nameForIdx(var(cube.get(i))), !sign(cube.get(i))));
+        }
+        final List<Literal> selectionOrder = new ArrayList<>();
+        for (int i = 0; i < model.size(); i++) {
+            final String name = underlying.nameForIdx(i);
+            if (name != null && underlying.variables().get(i).decision()) {
+                selectionOrder.add(f.literal(name, model.get(i)));
+            }
+        }
+        return solver.satWithSelectionOrder(selectionOrder, null, assumptions);
+    }
+
+    /**
+     * The conquer phase which is shared by all threads.
+     */
+    private static final class Conquer {
+        private final Queue<CubeTask> tasks;
+        private final SATHandler handler;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private final List<LNGIntVector> refutedCores = new ArrayList<>();
+        private LNGIntVector satisfiableCube;
+        private LNGBooleanVector model;
+        private boolean aborted;
+
+        private Conquer(final List<LNGIntVector> cubes, final SATHandler handler, final int conflictBudget) {
+            this.tasks = new ConcurrentLinkedQueue<>();
+            for (final LNGIntVector cube : cubes) {
+                this.tasks.add(new CubeTask(cube, conflictBudget));
+            }
+            this.handler = handler;
+        }
+
+        /**
+         * Solves cubes on the given copy of the solver until no cube is left or the computation is stopped.  A cube
+         * which could not be solved within its conflict budget is put back at the end of the queue with a doubled
+         * budget, so that a single hard cube does not block the easy ones.  Since a thread only stops if the queue is
+         * empty, such a cube is always picked up again, at the latest by the thread which put it back.
+         * @param solver the copy of the solver
+         */
+        private void run(final MiniSatStyleSolver solver) {
+            final CubeHandler cubeHandler = new CubeHandler(this.stop, this.handler);
+            CubeTask task;
+            while (!this.stop.get() && (task = this.tasks.poll()) != null) {
+                if (isPruned(task.cube)) {
+                    continue;
+                }
+                cubeHandler.conflictBudget = task.conflictBudget;
+                final Tristate result = solver.solve(cubeHandler, task.cube);
+                if (result == Tristate.TRUE) {
+                    finish(task.cube, new LNGBooleanVector(solver.model()), false);
+                } else if (result == Tristate.FALSE) {
+                    final LNGIntVector core = new LNGIntVector(solver.conflict().size());
+                    for (int i = 0; i < solver.conflict().size(); i++) {
+                        core.push(not(solver.conflict().get(i)));
+                    }
+                    if (core.empty()) {
+                        finish(null, null, false);
+                    } else {
+                        synchronized (this) {
+                            this.refutedCores.add(core);
+                        }
+                    }
+                } else if (cubeHandler.budgetExceeded) {
+                    this.tasks.add(new CubeTask(task.cube, 2L * task.conflictBudget));
+                } else if (!this.stop.get()) {
+                    finish(null, null, true);
+                }
+            }
+        }
+
+        /**
+         * Returns whether a cube contains all assumptions of a refuted core.
+         * @param cube the cube
+         * @return {@code true} if the cube is unsatisfiable due to a refuted core, {@code false} otherwise
+         */
+        private synchronized boolean isPruned(final LNGIntVector cube) {
+            for (final LNGIntVector core : this.refutedCores) {
+                if (containsAll(cube, core)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns whether a cube contains all literals of a core.
+         * @param cube the cube
+         * @param core the core
+         * @return {@code true} if the cube contains the core, {@code false} otherwise
+         */
+        private static boolean containsAll(final LNGIntVector cube, final LNGIntVector core) {
+            for (int i = 0; i < core.size(); i++) {
+                boolean found = false;
+                for (int j = 0; j < cube.size() && !found; j++) {
+                    found = cube.get(j) == core.get(i);
+                }
+                if (!found) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Stops the computation with the given result unless it was already stopped.
+         * @param cube    the satisfiable cube or {@code null}
+         * @param model   the model for the satisfiable cube or {@code null}
+         * @param aborted {@code true} if the computation was aborted by the handler
+         */
+        private synchronized void finish(final LNGIntVector cube, final LNGBooleanVector model, final boolean aborted) {
+            if (!this.stop.get()) {
+                this.satisfiableCube = cube;
+                this.model = model;
+                this.aborted = aborted;
+                this.stop.set(true);
+            }
+        }
+    }
+
+    /**
+     * A cube together with the number of conflicts the next attempt to solve it may take.
+     */
+    private static final class CubeTask {
+        private final LNGIntVector cube;
+        private final long conflictBudget;
+
+        private CubeTask(final LNGIntVector cube, final long conflictBudget) {
+            this.cube = cube;
+            this.conflictBudget = conflictBudget;
+        }
+    }
+
+    /**
+     * The handler for a copy of the solver.  A copy is stopped as soon as the result is known, the handler of the
+     * function cancels the computation, or the conflict budget of the current cube is exceeded.  Since the copies run
+     * in parallel, the handler of the function is only called while holding its lock.
+     */
+    private static final class CubeHandler implements SATHandler {
+        private final AtomicBoolean stop;
+        private final SATHandler handler;
+        private long conflictBudget;
+        private long conflicts;
+        private boolean budgetExceeded;
+
+        private CubeHandler(final AtomicBoolean stop, final SATHandler handler) {
+            this.stop = stop;
+            this.handler = handler;
+        }
+
+        @Override
+        public boolean aborted() {
+            return this.stop.get() || this.budgetExceeded;
+        }
+
+        @Override
+        public void started() {
+            this.conflicts = 0;
+            this.budgetExceeded = false;
+        }
+
+        @Override
+        public boolean detectedConflict() {
+            if (this.stop.get()) {
+                return false;
+            }
+            if (this.handler != null) {
+                synchronized (this.handler) {
+                    if (!this.handler.detectedConflict()) {
+                        return false;
+                    }
+                }
+            }
+            if (++this.conflicts > this.conflictBudget) {
+                this.budgetExceeded = true;
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void finishedSolving() {
+            // nothing to do here
+        }
+    }
+
+    /**
+     * The builder for a cube-and-conquer function.
+     */
+    public static class Builder {
+
+        private SATHandler handler;
+        private int threads = Runtime.getRuntime().availableProcessors();
+        private int depth = -1;
+        private int numCandidates = 32;
+        private int conflictBudget = 1000;
+        private ExecutorService executor;
+
+        private Builder() {
+            // Initialize only via factory
+        }
+
+        /**
+         * Sets the SAT handler which is called on every conflict of every thread (default: no handler).
+         * @param handler the SAT handler
+         * @return the current builder
+         */
+        public Builder handler(final SATHandler handler) {
+            this.handler = handler;
+            return this;
+        }
+
+        /**
+         * Sets the number of threads solving the cubes (default: the number of available processors).
+         * @param threads the number of threads
+         * @return the current builder
+         */
+        public Builder threads(final int threads) {
+            if (threads < 1) {
+                throw new IllegalArgumentException("The number of threads must be positive");
+            }
+            this.threads = threads;
+            return this;
+        }
+
+        /**
+         * Sets the number of splitting variables per cube, i.e. there are at most {@code 2^depth} cubes (default: three
+         * more than the binary logarithm of the number of threads).
+         * @param depth the splitting depth
+         * @return the current builder
+         */
+        public Builder depth(final int depth) {
+            if (depth < 0) {
+                throw new IllegalArgumentException("The splitting depth must not be negative");
+            }
+            this.depth = depth;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of candidate variables which are considered in each lookahead (default: 32).
+         * @param numCandidates the maximal number of candidate variables
+         * @return the current builder
+         */
+        public Builder numCandidates(final int numCandidates) {
+            if (numCandidates < 1) {
+                throw new IllegalArgumentException("The number of candidate variables must be positive");
+            }
+            this.numCandidates = numCandidates;
+            return this;
+        }
+
+        /**
+         * Sets the number of conflicts of the first attempt to solve a cube (default: 1000).  If a cube is not solved
+         * within its budget, it is put back into the queue of cubes and its budget is doubled for the next attempt.
+         * @param conflictBudget the initial conflict budget per cube
+         * @return the current builder
+         */
+        public Builder conflictBudget(final int conflictBudget) {
+            if (conflictBudget < 1) {
+                throw new IllegalArgumentException("The conflict budget must be positive");
+            }
+            this.conflictBudget = conflictBudget;
+            return this;
+        }
+
+        /**
+         * Sets the executor on which the cubes are solved (default: a new thread pool for each call).  The executor is
+         * not shut down by the function.
+         * @param executor the executor
+         * @return the current builder
+         */
+        public Builder executor(final ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Builds the cube-and-conquer function with the current builder's configuration.
+         * @return the cube-and-conquer function
+         */
+        public CubeAndConquerFunction build() {
+            return new CubeAndConquerFunction(this);
+        }
+    }
+}
@@ -55,7 +55,7 @@ import java.util.function.Consumer;
  * A solver function for enumerating models on the solver.
  * <p>
  * Model enumeration functions are instantiated via their builder {@link #builder()}.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public final class ModelEnumerationFunction implements SolverFunction<List<Assignment>> {
@@ -105,7 +105,7 @@ public final class ModelEnumerationFunction implements SolverFunction<List<Assig
         } else {
             relevantIndices = new LNGIntVector(this.variables.size());
             for (final Variable var : this.variables) {
-                relevantIndices.push(solver.underlyingSolver().idxForName(var.name()));
+                relevantIndices.push(solver.underlyingSolver().idxForVariable(var));
             }
         }
         LNGIntVector relevantAllIndices = null;
@@ -122,7 +122,7 @@ public final class ModelEnumerationFunction implements SolverFunction<List<Assig
                     relevantAllIndices.push(relevantIndices.get(i));
                 }
                 for (final Variable var : uniqueAdditionalVariables) {
-                    relevantAllIndices.push(solver.underlyingSolver().idxForName(var.name()));
+                    relevantAllIndices.push(solver.underlyingSolver().idxForVariable(var));
                 }
             }
         }
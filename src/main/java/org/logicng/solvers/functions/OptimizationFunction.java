@@ -57,7 +57,7 @@ import java.util.function.Consumer;
  * is UNSAT, {@code null} will be returned.
  * <p>
  * Optimization functions are instantiated via their builder {@link #builder()}.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 2.0.0
  */
 public final class OptimizationFunction implements SolverFunction<Assignment> {
@@ -168,7 +168,7 @@ public final class OptimizationFunction implements SolverFunction<Assignment> {
     private Assignment mkResultModel(final MiniSat solver, final LNGBooleanVector internalModel) {
         final LNGIntVector relevantIndices = new LNGIntVector(this.resultModelVariables.size());
         for (final Variable var : this.resultModelVariables) {
-            relevantIndices.push(solver.underlyingSolver().idxForName(var.name()));
+            relevantIndices.push(solver.underlyingSolver().idxForVariable(var));
         }
         return solver.createAssignment(internalModel, relevantIndices);
     }
@@ -33,7 +33,7 @@ import org.logicng.configurations.ConfigurationType;
 
 /**
  * The configuration object for the Glucose SAT solver.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class GlucoseConfig extends Configuration {
@@ -51,6 +51,11 @@ public final class GlucoseConfig extends Configuration {
     final boolean reduceOnSize;
     final int reduceOnSizeSize;
     final double maxVarDecay;
+    final boolean inprocessing;
+    final int inprocessingInterval;
+    final int vivificationLimit;
+    final int subsumptionLimit;
+    final int probingLimit;
 
     /**
      * Constructs a new Glucose configuration from a given builder.
@@ -71,6 +76,11 @@ public final class GlucoseConfig extends Configuration {
         this.reduceOnSize = builder.reduceOnSize;
         this.reduceOnSizeSize = builder.reduceOnSizeSize;
         this.maxVarDecay = builder.maxVarDecay;
+        this.inprocessing = builder.inprocessing;
+        this.inprocessingInterval = builder.inprocessingInterval;
+        this.vivificationLimit = builder.vivificationLimit;
+        this.subsumptionLimit = builder.subsumptionLimit;
+        this.probingLimit = builder.probingLimit;
     }
 
     /**
@@ -97,6 +107,11 @@ public final class GlucoseConfig extends Configuration {
         sb.append("reduceOnSize=").append(this.reduceOnSize).append(System.lineSeparator());
         sb.append("reduceOnSizeSize=").append(this.reduceOnSizeSize).append(System.lineSeparator());
         sb.append("maxVarDecay=").append(this.maxVarDecay).append(System.lineSeparator());
+        sb.append("inprocessing=").append(this.inprocessing).append(System.lineSeparator());
+        sb.append("inprocessingInterval=").append(this.inprocessingInterval).append(System.lineSeparator());
+        sb.append("vivificationLimit=").append(this.vivificationLimit).append(System.lineSeparator());
+        sb.append("subsumptionLimit=").append(this.subsumptionLimit).append(System.lineSeparator());
+        sb.append("probingLimit=").append(this.probingLimit).append(System.lineSeparator());
         sb.append("}");
         return sb.toString();
     }
@@ -118,6 +133,11 @@ public final class GlucoseConfig extends Configuration {
         private boolean reduceOnSize = false;
         private int reduceOnSizeSize = 12;
         private double maxVarDecay = 0.95;
+        private boolean inprocessing = false;
+        private int inprocessingInterval = 5000;
+        private int vivificationLimit = 1000;
+        private int subsumptionLimit = 100000;
+        private int probingLimit = 100;
 
         private Builder() {
             // Initialize only via factory
@@ -256,6 +276,63 @@ public final class GlucoseConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Turns on the periodic inprocessing of the clause database: failed literal probing, subsumption and
+         * strengthening of learnt clauses, and vivification of learnt and original clauses.  The inprocessing is
+         * performed on decision level 0 every {@link #inprocessingInterval(int) inprocessingInterval} conflicts.  The
+         * default value is {@code false}.
+         * @param inprocessing {@code true} if the inprocessing is turned on, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder inprocessing(final boolean inprocessing) {
+            this.inprocessing = inprocessing;
+            return this;
+        }
+
+        /**
+         * Sets the number of conflicts between two inprocessing rounds to a given value.  The default value is 5000.
+         * @param inprocessingInterval the value (should be at least 1)
+         * @return the builder
+         */
+        public Builder inprocessingInterval(final int inprocessingInterval) {
+            this.inprocessingInterval = inprocessingInterval;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of clauses which are vivified in one inprocessing round to a given value.  Learnt
+         * clauses with a low LBD are vivified first, the remaining budget is used for the original clauses.  The
+         * default value is 1000.
+         * @param vivificationLimit the value
+         * @return the builder
+         */
+        public Builder vivificationLimit(final int vivificationLimit) {
+            this.vivificationLimit = vivificationLimit;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of clause comparisons for the subsumption and strengthening of learnt clauses in one
+         * inprocessing round to a given value.  The default value is 100000.
+         * @param subsumptionLimit the value
+         * @return the builder
+         */
+        public Builder subsumptionLimit(final int subsumptionLimit) {
+            this.subsumptionLimit = subsumptionLimit;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of variables which are probed for failed literals in one inprocessing round to a
+         * given value.  The variables with the highest activity are probed.  The default value is 100.
+         * @param probingLimit the value
+         * @return the builder
+         */
+        public Builder probingLimit(final int probingLimit) {
+            this.probingLimit = probingLimit;
+            return this;
+        }
+
         /**
          * Builds the Glucose configuration.
          * @return the configuration
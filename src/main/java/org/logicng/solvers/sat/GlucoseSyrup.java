@@ -89,9 +89,11 @@ import org.logicng.solvers.datastructures.MSClause;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
+import java.util.Arrays;
+
 /**
  * Glucose 4.0 solver.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class GlucoseSyrup extends MiniSatStyleSolver {
@@ -110,7 +112,6 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
     protected final GlucoseConfig glucoseConfig;
 
     // internal solver state
-    protected LNGVector<LNGVector<MSWatcher>> watchesBin;
     protected LNGIntVector permDiff;
     protected LNGIntVector lastDecisionLevel;
     protected LNGBoundedLongQueue lbdQueue;
@@ -125,6 +126,13 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
     protected double sumLBD;
     protected int curRestart;
 
+    // inprocessing state
+    protected int nextInprocessing;
+    protected int numFailedLiterals;
+    protected int numSubsumedLearnts;
+    protected int numStrengthenedClauses;
+    protected int numVivifiedClauses;
+
     // solver configuration
     protected int lbLBDMinimizingClause;
     protected int lbLBDFrozenClause;
@@ -139,6 +147,11 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
     protected boolean reduceOnSize;
     protected int reduceOnSizeSize;
     protected double maxVarDecay;
+    protected boolean inprocessing;
+    protected int inprocessingInterval;
+    protected int vivificationLimit;
+    protected int subsumptionLimit;
+    protected int probingLimit;
 
     /**
      * Constructs a new Glucose 2 solver with the default values for solver configuration.  By default, incremental mode
@@ -164,7 +177,6 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
      */
     protected void initializeGlucose() {
         this.initializeGlucoseConfig();
-        this.watchesBin = new LNGVector<>();
         this.permDiff = new LNGIntVector();
         this.lastDecisionLevel = new LNGIntVector();
         this.lbdQueue = new LNGBoundedLongQueue();
@@ -181,6 +193,11 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         this.conflictsRestarts = 0;
         this.sumLBD = 0;
         this.curRestart = 1;
+        this.nextInprocessing = this.inprocessingInterval;
+        this.numFailedLiterals = 0;
+        this.numSubsumedLearnts = 0;
+        this.numStrengthenedClauses = 0;
+        this.numVivifiedClauses = 0;
     }
 
     /**
@@ -200,6 +217,11 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         this.reduceOnSize = this.glucoseConfig.reduceOnSize;
         this.reduceOnSizeSize = this.glucoseConfig.reduceOnSizeSize;
         this.maxVarDecay = this.glucoseConfig.maxVarDecay;
+        this.inprocessing = this.glucoseConfig.inprocessing;
+        this.inprocessingInterval = this.glucoseConfig.inprocessingInterval;
+        this.vivificationLimit = this.glucoseConfig.vivificationLimit;
+        this.subsumptionLimit = this.glucoseConfig.subsumptionLimit;
+        this.probingLimit = this.glucoseConfig.probingLimit;
     }
 
     @Override
@@ -289,7 +311,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
             }
             return this.ok;
         } else {
-            final MSClause c = new MSClause(ps, false);
+            final MSClause c = new MSClause(ps, false, false, this.clauseArena);
             this.clauses.push(c);
             attachClause(c);
         }
@@ -310,6 +332,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         if (!this.ok) {
             return Tristate.FALSE;
         }
+        final long startTime = System.nanoTime();
         for (int i = 0; i < this.assumptions.size(); i++) {
             this.assump.set(var(this.assumptions.get(i)), !sign(this.assumptions.get(i)));
         }
@@ -342,6 +365,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         for (int i = 0; i < this.assumptions.size(); i++) {
             this.assump.set(var(this.assumptions.get(i)), false);
         }
+        this.solvingTime += System.nanoTime() - startTime;
         return status;
     }
 
@@ -361,6 +385,29 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         throw new UnsupportedOperationException("The Glucose solver does not support state loading/saving");
     }
 
+    @Override
+    public GlucoseSyrup copy() {
+        final GlucoseSyrup copy = new GlucoseSyrup(this.config, this.glucoseConfig);
+        copy.copyState(this);
+        copy.permDiff = new LNGIntVector(this.permDiff);
+        copy.lastDecisionLevel = new LNGIntVector(this.lastDecisionLevel);
+        copy.lbdQueue = new LNGBoundedLongQueue(this.lbdQueue);
+        copy.trailQueue = new LNGBoundedIntQueue(this.trailQueue);
+        copy.assump = new LNGBooleanVector(this.assump);
+        copy.myflag = this.myflag;
+        copy.nbclausesbeforereduce = this.nbclausesbeforereduce;
+        copy.conflicts = this.conflicts;
+        copy.conflictsRestarts = this.conflictsRestarts;
+        copy.sumLBD = this.sumLBD;
+        copy.curRestart = this.curRestart;
+        copy.nextInprocessing = this.nextInprocessing;
+        copy.numFailedLiterals = this.numFailedLiterals;
+        copy.numSubsumedLearnts = this.numSubsumedLearnts;
+        copy.numStrengthenedClauses = this.numStrengthenedClauses;
+        copy.numVivifiedClauses = this.numVivifiedClauses;
+        return copy;
+    }
+
     @Override
     protected void uncheckedEnqueue(final int lit, final MSClause reason) {
         assert value(lit) == Tristate.UNDEF;
@@ -417,6 +464,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         }
 
         detachClause(c);
+        this.clauseArena.free(c);
         if (locked(c)) {
             v(c.get(0)).setReason(null);
         }
@@ -436,6 +484,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
             for (int k = 0; k < wbin.size(); k++) {
                 final int imp = wbin.get(k).blocker();
                 if (value(imp) == Tristate.FALSE) {
+                    this.numPropagations += numProps;
                     return wbin.get(k).clause();
                 }
                 if (value(imp) == Tristate.UNDEF) {
@@ -513,6 +562,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
             ws.removeElements(iInd - jInd);
         }
         this.simpDBProps -= numProps;
+        this.numPropagations += numProps;
         return confl;
     }
 
@@ -607,6 +657,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
             }
         }
         this.learnts.removeElements(i - j);
+        checkGarbage();
     }
 
     @Override
@@ -655,12 +706,361 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         if (this.shouldRemoveSatsisfied) {
             removeSatisfied(this.clauses);
         }
+        checkGarbage();
         rebuildOrderHeap();
         this.simpDBAssigns = nAssigns();
         this.simpDBProps = this.clausesLiterals + this.learntsLiterals;
         return true;
     }
 
+    /**
+     * Returns the number of failed literals found by the inprocessing.
+     * @return the number of failed literals
+     */
+    public int numFailedLiterals() {
+        return this.numFailedLiterals;
+    }
+
+    /**
+     * Returns the number of learnt clauses removed by the inprocessing because they were subsumed.
+     * @return the number of subsumed learnt clauses
+     */
+    public int numSubsumedLearnts() {
+        return this.numSubsumedLearnts;
+    }
+
+    /**
+     * Returns the number of learnt clauses strengthened by self-subsuming resolution during the inprocessing.
+     * @return the number of strengthened learnt clauses
+     */
+    public int numStrengthenedClauses() {
+        return this.numStrengthenedClauses;
+    }
+
+    /**
+     * Returns the number of clauses which were shortened by the vivification of the inprocessing.
+     * @return the number of vivified clauses
+     */
+    public int numVivifiedClauses() {
+        return this.numVivifiedClauses;
+    }
+
+    /**
+     * Performs one round of inprocessing on decision level 0: failed literal probing, subsumption and strengthening of
+     * learnt clauses, and vivification of learnt and original clauses.  All clauses derived by the inprocessing are
+     * RUP clauses and are recorded in the proof if proof generation is turned on.
+     * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+     */
+    protected boolean inprocess() {
+        assert decisionLevel() == 0;
+        if (!this.ok || propagate() != null) {
+            return this.ok = false;
+        }
+        if (probeFailedLiterals()) {
+            subsumeLearnts();
+        }
+        if (this.ok) {
+            vivifyClauses();
+        }
+        checkGarbage();
+        return this.ok;
+    }
+
+    /**
+     * Probes both literals of the most active variables.  If the propagation of a literal leads to a conflict, its
+     * negation is added as a unit clause.
+     * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+     */
+    protected boolean probeFailedLiterals() {
+        final LNGIntVector candidates = new LNGIntVector();
+        for (int v = 0; v < nVars(); v++) {
+            if (this.vars.get(v).decision() && this.vars.get(v).assignment() == Tristate.UNDEF) {
+                candidates.push(v);
+            }
+        }
+        final Integer[] sorted = new Integer[candidates.size()];
+        for (int i = 0; i < sorted.length; i++) {
+            sorted[i] = candidates.get(i);
+        }
+        Arrays.sort(sorted, (x, y) -> Double.compare(this.vars.get(y).activity(), this.vars.get(x).activity()));
+        for (int i = 0; i < sorted.length && i < this.probingLimit; i++) {
+            for (final int lit : new int[]{mkLit(sorted[i], false), mkLit(sorted[i], true)}) {
+                if (value(lit) != Tristate.UNDEF) {
+                    continue;
+                }
+                this.trailLim.push(this.trail.size());
+                uncheckedEnqueue(lit, null);
+                final boolean failed = propagate() != null;
+                cancelInprocessing();
+                if (failed) {
+                    this.numFailedLiterals++;
+                    final LNGIntVector unit = new LNGIntVector(1);
+                    unit.push(not(lit));
+                    logProofClause(1, unit);
+                    uncheckedEnqueue(not(lit), null);
+                    if (propagate() != null) {
+                        return this.ok = false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes learnt clauses which are subsumed by another clause and strengthens learnt clauses by self-subsuming
+     * resolution.  Removed learnt clauses are marked as 'seen' and are deleted from the learnt clauses afterwards.
+     */
+    protected void subsumeLearnts() {
+        final LNGVector<LNGVector<MSClause>> occurs = new LNGVector<>(nVars());
+        for (int v = 0; v < nVars(); v++) {
+            occurs.push(new LNGVector<>());
+        }
+        for (final MSClause c : this.learnts) {
+            for (int i = 0; i < c.size(); i++) {
+                occurs.get(var(c.get(i))).push(c);
+            }
+        }
+        final int[] marks = new int[2 * nVars()];
+        int stamp = 0;
+        long budget = this.subsumptionLimit;
+        final int numClauses = this.clauses.size() + this.learnts.size();
+        for (int k = 0; k < numClauses && budget > 0 && this.ok; k++) {
+            final MSClause d = k < this.clauses.size() ? this.clauses.get(k) : this.learnts.get(k - this.clauses.size());
+            if (d.learnt() && d.seen() || satisfiedOnLevel0(d)) {
+                continue;
+            }
+            int best = var(d.get(0));
+            for (int i = 1; i < d.size(); i++) {
+                if (occurs.get(var(d.get(i))).size() < occurs.get(best).size()) {
+                    best = var(d.get(i));
+                }
+            }
+            stamp++;
+            for (int i = 0; i < d.size(); i++) {
+                marks[d.get(i)] = stamp;
+            }
+            final LNGVector<MSClause> cs = occurs.get(best);
+            for (int i = 0; i < cs.size() && budget > 0 && this.ok; i++) {
+                final MSClause c = cs.get(i);
+                if (c == d || c.seen() || c.size() < d.size() || satisfiedOnLevel0(c)) {
+                    continue;
+                }
+                budget -= c.size();
+                int matches = 0;
+                int flips = 0;
+                int flipped = LIT_UNDEF;
+                for (int j = 0; j < c.size() && flips < 2; j++) {
+                    final int lit = c.get(j);
+                    if (marks[lit] == stamp) {
+                        matches++;
+                    } else if (marks[not(lit)] == stamp) {
+                        flips++;
+                        flipped = lit;
+                    }
+                }
+                if (matches == d.size()) {
+                    this.numSubsumedLearnts++;
+                    if (d.learnt() && c.lbd() < d.lbd()) {
+                        d.setLBD(c.lbd());
+                    }
+                    removeClause(c);
+                    c.setSeen(true);
+                } else if (flips == 1 && matches == d.size() - 1) {
+                    this.numStrengthenedClauses++;
+                    final LNGIntVector lits = new LNGIntVector(c.size() - 1);
+                    for (int j = 0; j < c.size(); j++) {
+                        if (c.get(j) != flipped && value(c.get(j)) != Tristate.FALSE) {
+                            lits.push(c.get(j));
+                        }
+                    }
+                    detachClause(c);
+                    if (!replaceClause(c, lits)) {
+                        c.setSeen(true);
+                    }
+                }
+            }
+        }
+        removeMarkedLearnts();
+    }
+
+    /**
+     * Vivifies the learnt clauses with the lowest LBD and, with the remaining budget, the original clauses which were
+     * not vivified yet.
+     */
+    protected void vivifyClauses() {
+        int budget = this.vivificationLimit;
+        this.learnts.manualSort(MSClause.glucoseComparator);
+        for (int i = this.learnts.size() - 1; i >= 0 && budget > 0 && this.ok; i--) {
+            final MSClause c = this.learnts.get(i);
+            if (!c.vivified() && c.size() > 2) {
+                budget--;
+                if (!vivify(c)) {
+                    c.setSeen(true);
+                }
+            }
+        }
+        removeMarkedLearnts();
+        int i;
+        int j;
+        for (i = j = 0; i < this.clauses.size(); i++) {
+            final MSClause c = this.clauses.get(i);
+            if (this.ok && budget > 0 && !c.vivified() && c.size() > 2) {
+                budget--;
+                if (!vivify(c)) {
+                    continue;
+                }
+            }
+            this.clauses.set(j++, c);
+        }
+        this.clauses.removeElements(i - j);
+    }
+
+    /**
+     * Vivifies a given clause: the negations of its literals are propagated one after another.  If this leads to a
+     * conflict, the remaining literals can be removed; if a literal of the clause is implied, the remaining literals can
+     * be removed, too; and literals whose negations are implied can be removed as well.
+     * @param c the clause
+     * @return {@code true} if the clause is still in the clause database, {@code false} if it was removed
+     */
+    protected boolean vivify(final MSClause c) {
+        c.setVivified(true);
+        if (satisfiedOnLevel0(c)) {
+            return true;
+        }
+        detachClause(c);
+        final LNGIntVector lits = new LNGIntVector(c.size());
+        this.trailLim.push(this.trail.size());
+        for (int i = 0; i < c.size(); i++) {
+            final int lit = c.get(i);
+            final Tristate value = value(lit);
+            if (value == Tristate.TRUE) {
+                lits.push(lit);
+                break;
+            } else if (value == Tristate.UNDEF) {
+                lits.push(lit);
+                uncheckedEnqueue(not(lit), null);
+                if (propagate() != null) {
+                    break;
+                }
+            }
+        }
+        cancelInprocessing();
+        if (lits.size() == c.size()) {
+            attachClause(c);
+            return true;
+        }
+        this.numVivifiedClauses++;
+        return replaceClause(c, lits);
+    }
+
+    /**
+     * Replaces the literals of a detached clause by a subset of its literals which is implied by the clause database.
+     * If only one literal remains, the clause is removed and the literal is propagated on decision level 0.
+     * @param c    the detached clause
+     * @param lits the new literals of the clause, none of them assigned on decision level 0
+     * @return {@code true} if the clause is still in the clause database, {@code false} if it was removed
+     */
+    protected boolean replaceClause(final MSClause c, final LNGIntVector lits) {
+        assert decisionLevel() == 0 && lits.size() > 0 && lits.size() < c.size();
+        logProofClause(1, lits);
+        if (this.config.proofGeneration) {
+            final LNGIntVector old = new LNGIntVector(c.size());
+            for (int i = 0; i < c.size(); i++) {
+                old.push(c.get(i));
+            }
+            logProofClause(-1, old);
+        }
+        if (lits.size() == 1) {
+            this.clauseArena.free(c);
+            uncheckedEnqueue(lits.get(0), null);
+            if (propagate() != null) {
+                this.ok = false;
+            }
+            return false;
+        }
+        for (int i = 0; i < lits.size(); i++) {
+            c.set(i, lits.get(i));
+        }
+        while (c.size() > lits.size()) {
+            c.pop();
+        }
+        if (c.learnt()) {
+            c.setLBD(Math.min(c.lbd(), c.size()));
+            int sizeWithoutSelectors = 0;
+            for (int i = 0; i < c.size(); i++) {
+                if (!isSelector(var(c.get(i)))) {
+                    sizeWithoutSelectors++;
+                }
+            }
+            c.setSizeWithoutSelectors(sizeWithoutSelectors);
+        }
+        attachClause(c);
+        return true;
+    }
+
+    /**
+     * Deletes all learnt clauses which are marked as 'seen' from the learnt clauses.
+     */
+    protected void removeMarkedLearnts() {
+        int i;
+        int j;
+        for (i = j = 0; i < this.learnts.size(); i++) {
+            if (!this.learnts.get(i).seen()) {
+                this.learnts.set(j++, this.learnts.get(i));
+            }
+        }
+        this.learnts.removeElements(i - j);
+    }
+
+    /**
+     * Returns {@code true} if a given clause is satisfied on decision level 0, {@code false} otherwise.
+     * @param c the clause
+     * @return {@code true} if the clause is satisfied on decision level 0
+     */
+    protected boolean satisfiedOnLevel0(final MSClause c) {
+        for (int i = 0; i < c.size(); i++) {
+            if (value(c.get(i)) == Tristate.TRUE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Backtracks from a probing assignment to decision level 0.  In contrast to {@link #cancelUntil(int)}, the saved
+     * phases of the variables are not changed.
+     */
+    protected void cancelInprocessing() {
+        if (decisionLevel() > 0) {
+            final int start = this.trailLim.get(0);
+            for (int c = this.trail.size() - 1; c >= start; c--) {
+                final int x = var(this.trail.get(c));
+                this.vars.get(x).assign(Tristate.UNDEF);
+                insertVarOrder(x);
+            }
+            this.qhead = start;
+            this.trail.removeElements(this.trail.size() - start);
+            this.trailLim.clear();
+        }
+    }
+
+    /**
+     * Records a clause in the proof if proof generation is turned on.
+     * @param prefix {@code 1} for an added clause, {@code -1} for a deleted clause
+     * @param lits   the literals of the clause
+     */
+    protected void logProofClause(final int prefix, final LNGIntVector lits) {
+        if (this.config.proofGeneration) {
+            final LNGIntVector vec = new LNGIntVector(lits.size() + 1);
+            vec.push(prefix);
+            for (int i = 0; i < lits.size(); i++) {
+                vec.push((var(lits.get(i)) + 1) * (-2 * (sign(lits.get(i)) ? 1 : 0) + 1));
+            }
+            this.pgProof.push(vec);
+        }
+    }
+
     /**
      * Computes the LBD for a given vector of literals.
      * @param lits the vector of literals
@@ -809,6 +1209,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         while (true) {
             final MSClause confl = propagate();
             if (confl != null) {
+                this.numConflicts++;
                 if (this.handler != null && !this.handler.detectedConflict()) {
                     this.canceledByHandler = true;
                     return Tristate.UNDEF;
@@ -850,7 +1251,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
                 if (learntClause.size() == 1) {
                     uncheckedEnqueue(learntClause.get(0), null);
                 } else {
-                    final MSClause cr = new MSClause(learntClause, true);
+                    final MSClause cr = new MSClause(learntClause, true, false, this.clauseArena);
                     cr.setLBD(this.analyzeLBD);
                     cr.setOneWatched(false);
                     cr.setSizeWithoutSelectors(this.analyzeSzWithoutSelectors);
@@ -859,6 +1260,7 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
                     claBumpActivity(cr);
                     uncheckedEnqueue(learntClause.get(0), cr);
                 }
+                exportLearntClause(learntClause);
                 varDecayActivity();
                 claDecayActivity();
             } else {
@@ -871,9 +1273,15 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
                     cancelUntil(bt);
                     return Tristate.UNDEF;
                 }
-                if (decisionLevel() == 0 && !simplify()) {
+                if (decisionLevel() == 0 && (!importLearntClauses() || !simplify())) {
                     return Tristate.FALSE;
                 }
+                if (this.inprocessing && decisionLevel() == 0 && this.conflicts >= this.nextInprocessing) {
+                    this.nextInprocessing = this.conflicts + this.inprocessingInterval;
+                    if (!inprocess()) {
+                        return Tristate.FALSE;
+                    }
+                }
                 if (this.conflicts >= (this.curRestart * this.nbclausesbeforereduce) && this.learnts.size() > 0) {
                     this.curRestart = (this.conflicts / this.nbclausesbeforereduce) + 1;
                     reduceDB();
@@ -1061,17 +1469,5 @@ public class GlucoseSyrup extends MiniSatStyleSolver {
         }
     }
 
-    @Override
-    protected boolean isRotatable(final int lit) {
-        if (!super.isRotatable(lit)) {
-            return false;
-        }
-        for (final MSWatcher watcher : this.watchesBin.get(not(lit))) {
-            if (isUnit(lit, watcher.clause())) {
-                return false;
-            }
-        }
-        return true;
-    }
 }
 
@@ -0,0 +1,118 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import org.logicng.formulas.Variable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An exchange for short learnt clauses between MiniSat-style solvers which solve the same formula in parallel.
+ * <p>
+ * Since the solvers may use different solver indices for the same variable, the clauses are exchanged over the
+ * variables of the formula factory.  A solver exports unit clauses, binary clauses, and learnt clauses whose LBD is at
+ * most {@link #maxLBD()} and imports the clauses of all other solvers when it is on decision level 0.  All methods of
+ * the exchange are thread-safe.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public final class LearntClauseExchange {
+
+    private final int maxLBD;
+    private final List<SharedClause> clauses;
+
+    /**
+     * Constructs a new clause exchange.
+     * @param maxLBD the maximal LBD of exported clauses with more than two literals
+     */
+    public LearntClauseExchange(final int maxLBD) {
+        this.maxLBD = maxLBD;
+        this.clauses = new ArrayList<>();
+    }
+
+    /**
+     * Returns the maximal LBD of exported clauses with more than two literals.
+     * @return the maximal LBD of exported clauses
+     */
+    public int maxLBD() {
+        return this.maxLBD;
+    }
+
+    /**
+     * Returns the number of clauses which were exported to this exchange.
+     * @return the number of exported clauses
+     */
+    public synchronized int size() {
+        return this.clauses.size();
+    }
+
+    /**
+     * Exports a learnt clause.
+     * @param source    the id of the exporting solver
+     * @param variables the variables of the clause
+     * @param phases    the phases of the literals of the clause
+     * @param lbd       the LBD of the clause
+     */
+    synchronized void export(final int source, final Variable[] variables, final boolean[] phases, final long lbd) {
+        this.clauses.add(new SharedClause(source, variables, phases, lbd));
+    }
+
+    /**
+     * Collects all clauses which were exported by other solvers since a given position.
+     * @param source   the id of the importing solver
+     * @param position the position of the first clause which was not collected yet
+     * @param result   the list to store the collected clauses
+     * @return the new position
+     */
+    synchronized int collect(final int source, final int position, final List<SharedClause> result) {
+        for (int i = position; i < this.clauses.size(); i++) {
+            if (this.clauses.get(i).source != source) {
+                result.add(this.clauses.get(i));
+            }
+        }
+        return this.clauses.size();
+    }
+
+    /**
+     * A clause in the exchange.
+     */
+    static final class SharedClause {
+        final int source;
+        final Variable[] variables;
+        final boolean[] phases;
+        final long lbd;
+
+        private SharedClause(final int source, final Variable[] variables, final boolean[] phases, final long lbd) {
+            this.source = source;
+            this.variables = variables;
+            this.phases = phases;
+            this.lbd = lbd;
+        }
+    }
+}
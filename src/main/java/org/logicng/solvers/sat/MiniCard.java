@@ -62,7 +62,7 @@ import org.logicng.solvers.datastructures.MSWatcher;
 
 /**
  * A cardinality solver based on MiniCard.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class MiniCard extends MiniSatStyleSolver {
@@ -106,6 +106,8 @@ public class MiniCard extends MiniSatStyleSolver {
         this.vars.push(newVar);
         this.watches.push(new LNGVector<>());
         this.watches.push(new LNGVector<>());
+        this.watchesBin.push(new LNGVector<>());
+        this.watchesBin.push(new LNGVector<>());
         this.seen.push(false);
         newVar.setDecision(dvar);
         insertVarOrder(v);
@@ -114,7 +116,7 @@ public class MiniCard extends MiniSatStyleSolver {
 
     @Override
     public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
-        assert decisionLevel() == 0;
+        cancelAssumptionLevels();
         if (!this.ok) {
             return false;
         }
@@ -142,7 +144,7 @@ public class MiniCard extends MiniSatStyleSolver {
             }
             return this.ok;
         } else {
-            final MSClause c = new MSClause(ps, false);
+            final MSClause c = new MSClause(ps, false, false, this.clauseArena);
             this.clauses.push(c);
             attachClause(c);
         }
@@ -157,9 +159,11 @@ public class MiniCard extends MiniSatStyleSolver {
         }
         this.model.clear();
         this.conflict.clear();
+        reuseAssumptionLevels();
         if (!this.ok) {
             return Tristate.FALSE;
         }
+        final long startTime = System.nanoTime();
         this.learntsizeAdjustConfl = this.learntsizeAdjustStartConfl;
         this.learntsizeAdjustCnt = (int) this.learntsizeAdjustConfl;
         this.maxLearnts = this.clauses.size() * this.learntsizeFactor;
@@ -181,9 +185,10 @@ public class MiniCard extends MiniSatStyleSolver {
         if (this.handler != null) {
             this.handler.finishedSolving();
         }
-        cancelUntil(0);
+        keepAssumptionLevels(status);
         this.handler = null;
         this.canceledByHandler = false;
+        this.solvingTime += System.nanoTime() - startTime;
         return status;
     }
 
@@ -225,7 +230,8 @@ public class MiniCard extends MiniSatStyleSolver {
         this.ok = state[0] == 1;
         final int newVarsSize = Math.min(state[1], this.vars.size());
         for (i = this.vars.size() - 1; i >= newVarsSize; i--) {
-            this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+            removeName(i);
+            this.orderHeap.remove(i);
         }
         this.vars.shrinkTo(newVarsSize);
         final int newClausesSize = Math.min(state[2], this.clauses.size());
@@ -239,6 +245,7 @@ public class MiniCard extends MiniSatStyleSolver {
         }
         this.learnts.shrinkTo(newLearntsSize);
         this.watches.shrinkTo(newVarsSize * 2);
+        this.watchesBin.shrinkTo(newVarsSize * 2);
         this.unitClauses.shrinkTo(state[4]);
         for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
             uncheckedEnqueue(this.unitClauses.get(i), null);
@@ -246,6 +253,15 @@ public class MiniCard extends MiniSatStyleSolver {
         }
     }
 
+    @Override
+    public MiniCard copy() {
+        cancelAssumptionLevels();
+        final MiniCard copy = new MiniCard(this.config);
+        copy.copyState(this);
+        copy.unitClauses = new LNGIntVector(this.unitClauses);
+        return copy;
+    }
+
     @Override
     protected void uncheckedEnqueue(final int lit, final MSClause reason) {
         assert value(lit) == Tristate.UNDEF;
@@ -266,8 +282,7 @@ public class MiniCard extends MiniSatStyleSolver {
             this.clausesLiterals += c.size();
         } else {
             assert c.size() > 1;
-            this.watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-            this.watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+            attachWatchers(c);
             if (c.learnt()) {
                 this.learntsLiterals += c.size();
             } else {
@@ -280,8 +295,7 @@ public class MiniCard extends MiniSatStyleSolver {
     protected void detachClause(final MSClause c) {
         assert !c.isAtMost();
         assert c.size() > 1;
-        this.watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-        this.watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+        detachWatchers(c);
         if (c.learnt()) {
             this.learntsLiterals -= c.size();
         } else {
@@ -304,6 +318,7 @@ public class MiniCard extends MiniSatStyleSolver {
                 v(c.get(0)).setReason(null);
             }
         }
+        this.clauseArena.free(c);
     }
 
     @Override
@@ -312,10 +327,15 @@ public class MiniCard extends MiniSatStyleSolver {
         int numProps = 0;
         while (this.qhead < this.trail.size()) {
             final int p = this.trail.get(this.qhead++);
+            numProps++;
+            confl = propagateBinaries(p);
+            if (confl != null) {
+                this.qhead = this.trail.size();
+                break;
+            }
             final LNGVector<MSWatcher> ws = this.watches.get(p);
             int iInd = 0;
             int jInd = 0;
-            numProps++;
             while (iInd < ws.size()) {
                 final MSWatcher i = ws.get(iInd);
                 final int blocker = i.blocker();
@@ -389,6 +409,7 @@ public class MiniCard extends MiniSatStyleSolver {
             ws.removeElements(iInd - jInd);
         }
         this.simpDBProps -= numProps;
+        this.numPropagations += numProps;
         return confl;
     }
 
@@ -498,6 +519,7 @@ public class MiniCard extends MiniSatStyleSolver {
             }
         }
         this.learnts.removeElements(i - j);
+        checkGarbage();
     }
 
     @Override
@@ -551,6 +573,7 @@ public class MiniCard extends MiniSatStyleSolver {
         if (this.shouldRemoveSatsisfied) {
             removeSatisfied(this.clauses);
         }
+        checkGarbage();
         rebuildOrderHeap();
         this.simpDBAssigns = nAssigns();
         this.simpDBProps = this.clausesLiterals + this.learntsLiterals;
@@ -565,7 +588,7 @@ public class MiniCard extends MiniSatStyleSolver {
      */
     public boolean addAtMost(final LNGIntVector ps, final int rhs) {
         int k = rhs;
-        assert decisionLevel() == 0;
+        cancelAssumptionLevels();
         if (!this.ok) {
             return false;
         }
@@ -603,7 +626,7 @@ public class MiniCard extends MiniSatStyleSolver {
             this.ok = propagate() == null;
             return this.ok;
         }
-        final MSClause cr = new MSClause(ps, false, true);
+        final MSClause cr = new MSClause(ps, false, true, this.clauseArena);
         cr.setAtMostWatchers(ps.size() - k + 1);
         this.clauses.push(cr);
         attachClause(cr);
@@ -636,6 +659,7 @@ public class MiniCard extends MiniSatStyleSolver {
         while (true) {
             final MSClause confl = propagate();
             if (confl != null) {
+                this.numConflicts++;
                 if (this.handler != null && !this.handler.detectedConflict()) {
                     this.canceledByHandler = true;
                     return Tristate.UNDEF;
@@ -654,7 +678,7 @@ public class MiniCard extends MiniSatStyleSolver {
                     uncheckedEnqueue(learntClause.get(0), null);
                     this.unitClauses.push(learntClause.get(0));
                 } else {
-                    final MSClause cr = new MSClause(learntClause, true);
+                    final MSClause cr = new MSClause(learntClause, true, false, this.clauseArena);
                     this.learnts.push(cr);
                     attachClause(cr);
                     if (!this.incremental) {
@@ -662,12 +686,16 @@ public class MiniCard extends MiniSatStyleSolver {
                     }
                     uncheckedEnqueue(learntClause.get(0), cr);
                 }
+                exportLearntClause(learntClause);
                 decayActivities();
             } else {
                 if (nofConflicts >= 0 && conflictC >= nofConflicts) {
                     cancelUntil(0);
                     return Tristate.UNDEF;
                 }
+                if (decisionLevel() == 0 && !importLearntClauses()) {
+                    return Tristate.FALSE;
+                }
                 if (!this.incremental) {
                     if (decisionLevel() == 0 && !simplify()) {
                         return Tristate.FALSE;
@@ -871,6 +899,7 @@ public class MiniCard extends MiniSatStyleSolver {
         }
         this.trail.clear();
         this.trailLim.clear();
+        this.keptAssumptions.clear();
         this.qhead = 0;
     }
 
@@ -884,8 +913,8 @@ public class MiniCard extends MiniSatStyleSolver {
                 this.watches.get(c.get(i)).remove(new MSWatcher(c, c.get(i)));
             }
         } else {
-            this.watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-            this.watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+            detachWatchers(c);
         }
+        this.clauseArena.free(c);
     }
 }
@@ -0,0 +1,844 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+/*
+ * MiniSat -- Copyright (c) 2003-2006, Niklas Een, Niklas Sorensson
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM, OUT
+ * OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ */
+
+package org.logicng.solvers.sat;
+
+import org.logicng.backbones.Backbone;
+import org.logicng.backbones.BackboneType;
+import org.logicng.collections.LNGBooleanVector;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.SATHandler;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A MiniSAT 2 solver with a SatELite-style simplification of the original clauses as in the SimpSolver of MiniSAT
+ * 2.2.0.
+ * <p>
+ * Before each call of {@link #solve(SATHandler)} all variables which occur in clauses added since the last
+ * simplification are candidates for a bounded variable elimination: a variable is eliminated if all clauses containing
+ * it can be replaced by their resolvents without increasing the number of clauses by more than the configured growth.
+ * Furthermore, clauses are removed if they are subsumed by another clause and strengthened by self-subsuming resolution.
+ * The clauses of eliminated variables are stored and used to extend the models of the solver to the eliminated
+ * variables.
+ * <p>
+ * Frozen variables are never eliminated.  The variables of assumptions and selection orders, the variables of a
+ * backbone computation, and eliminated variables which occur in a clause added later are frozen automatically and
+ * eliminated variables are restored together with their clauses.  Saving a state restores all eliminated variables and
+ * turns off the simplification for this solver, since loading a state relies on the order of the clauses.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class MiniSat2SimpSolver extends MiniSat2Solver {
+
+    protected static final int LIT_ERROR = -2;
+
+    protected boolean useElimination;
+    protected boolean simplified;
+    protected LNGBooleanVector frozen;
+    protected LNGBooleanVector eliminated;
+    protected LNGBooleanVector touched;
+    protected LNGIntVector touchedVars;
+    protected LNGIntVector elimOrder;
+    protected LNGVector<LNGVector<LNGIntVector>> elimClauses;
+    protected LNGVector<LNGVector<MSClause>> occurs;
+    protected LNGVector<MSClause> subsumptionQueue;
+    protected LNGIntVector litMarks;
+    protected int litMarkStamp;
+    protected int numSubsumedClauses;
+    protected int numStrengthenedClauses;
+
+    /**
+     * Constructs a new simplifying MiniSAT 2 solver with the default values for solver configuration.
+     */
+    public MiniSat2SimpSolver() {
+        this(MiniSatConfig.builder().simplification(true).build());
+    }
+
+    /**
+     * Constructs a new simplifying MiniSAT 2 solver with a given solver configuration.  If the configuration activates
+     * the proof generation, no clauses are simplified.
+     * @param config the solver configuration
+     */
+    public MiniSat2SimpSolver(final MiniSatConfig config) {
+        super(config);
+        this.initializeSimp();
+    }
+
+    /**
+     * Initializes the data structures of the simplification.
+     */
+    protected void initializeSimp() {
+        this.useElimination = !this.config.proofGeneration;
+        this.simplified = false;
+        this.frozen = new LNGBooleanVector();
+        this.eliminated = new LNGBooleanVector();
+        this.touched = new LNGBooleanVector();
+        this.touchedVars = new LNGIntVector();
+        this.elimOrder = new LNGIntVector();
+        this.elimClauses = new LNGVector<>();
+        this.occurs = null;
+        this.subsumptionQueue = null;
+        this.litMarks = new LNGIntVector();
+        this.litMarkStamp = 0;
+        this.numSubsumedClauses = 0;
+        this.numStrengthenedClauses = 0;
+    }
+
+    @Override
+    public int newVar(final boolean sign, final boolean dvar) {
+        final int v = super.newVar(sign, dvar);
+        this.frozen.push(false);
+        this.eliminated.push(false);
+        this.touched.push(false);
+        this.elimClauses.push(null);
+        return v;
+    }
+
+    /**
+     * Adds a clause to the solver.  Eliminated variables of the clause are restored and frozen before.
+     * @param ps          the literals of the clause
+     * @param proposition a proposition (if required for proof tracing)
+     * @return {@code true} if the clause was added successfully
+     */
+    @Override
+    public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
+        for (int i = 0; i < ps.size(); i++) {
+            final int v = var(ps.get(i));
+            restoreVar(v);
+            if (!this.touched.get(v)) {
+                this.touched.set(v, true);
+                this.touchedVars.push(v);
+            }
+        }
+        return super.addClause(ps, proposition);
+    }
+
+    @Override
+    public Tristate solve(final SATHandler handler) {
+        if (this.useElimination) {
+            cancelAssumptionLevels();
+            for (int i = 0; i < this.assumptions.size(); i++) {
+                setFrozen(var(this.assumptions.get(i)), true);
+            }
+            eliminate();
+        }
+        final Tristate result = super.solve(handler);
+        if (result == Tristate.TRUE) {
+            extendModel();
+        }
+        return result;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.initializeSimp();
+    }
+
+    /**
+     * Saves the solver state.  All eliminated variables are restored and the simplification is turned off for this
+     * solver.  Since the simplification removed clauses which are satisfied by literals propagated on level 0, all these
+     * literals are stored as unit clauses of the state.
+     * @return the current solver state
+     */
+    @Override
+    public int[] saveState() {
+        if (!this.incremental) {
+            throw new IllegalStateException("Cannot save a state when the incremental mode is deactivated");
+        }
+        cancelAssumptionLevels();
+        for (int i = this.elimOrder.size() - 1; this.ok && i >= 0; i--) {
+            restoreVar(this.elimOrder.get(i));
+        }
+        this.useElimination = false;
+        if (this.simplified) {
+            this.unitClauses.clear();
+            for (int i = 0; i < this.trail.size(); i++) {
+                this.unitClauses.push(this.trail.get(i));
+            }
+        }
+        return super.saveState();
+    }
+
+    @Override
+    public void loadState(final int[] state) {
+        super.loadState(state);
+        final int nVars = this.vars.size();
+        this.frozen.shrinkTo(nVars);
+        this.eliminated.shrinkTo(nVars);
+        this.touched.shrinkTo(nVars);
+        this.elimClauses.shrinkTo(nVars);
+        this.touchedVars.clear();
+    }
+
+    /**
+     * Returns a copy of this solver.  The copy also contains the frozen and eliminated variables and the stored clauses
+     * of the eliminated variables, so it restores eliminated variables and extends its models like this solver.  The
+     * stored clauses are never changed and are therefore shared between this solver and the copy.
+     * @return the copy of this solver
+     */
+    @Override
+    public MiniSat2SimpSolver copy() {
+        cancelAssumptionLevels();
+        final MiniSat2SimpSolver copy = new MiniSat2SimpSolver(this.config);
+        copy.copyState(this);
+        copy.unitClauses = new LNGIntVector(this.unitClauses);
+        copy.useElimination = this.useElimination;
+        copy.simplified = this.simplified;
+        copy.frozen = new LNGBooleanVector(this.frozen);
+        copy.eliminated = new LNGBooleanVector(this.eliminated);
+        copy.touched = new LNGBooleanVector(this.touched);
+        copy.touchedVars = new LNGIntVector(this.touchedVars);
+        copy.elimOrder = new LNGIntVector(this.elimOrder);
+        copy.elimClauses = new LNGVector<>(this.elimClauses.size());
+        for (int i = 0; i < this.elimClauses.size(); i++) {
+            copy.elimClauses.push(this.elimClauses.get(i));
+        }
+        copy.litMarks = new LNGIntVector(this.litMarks);
+        copy.litMarkStamp = this.litMarkStamp;
+        copy.numSubsumedClauses = this.numSubsumedClauses;
+        copy.numStrengthenedClauses = this.numStrengthenedClauses;
+        return copy;
+    }
+
+    @Override
+    public Backbone computeBackbone(final Collection<Variable> variables, final BackboneType type) {
+        for (final Variable var : variables) {
+            final int idx = idxForVariable(var);
+            if (idx != -1) {
+                setFrozen(idx, true);
+            }
+        }
+        return super.computeBackbone(variables, type);
+    }
+
+    @Override
+    public void setSelectionOrder(final List<? extends Literal> selectionOrder) {
+        super.setSelectionOrder(selectionOrder);
+        for (int i = 0; i < this.selectionOrder.size(); i++) {
+            setFrozen(var(this.selectionOrder.get(i)), true);
+        }
+    }
+
+    /**
+     * Returns the clauses loaded on the solver including the stored clauses of the eliminated variables.
+     * @return the clauses loaded on the solver
+     */
+    @Override
+    public LNGVector<MSClause> clauses() {
+        if (this.elimOrder.empty()) {
+            return this.clauses;
+        }
+        final LNGVector<MSClause> result = new LNGVector<>(this.clauses.size());
+        for (final MSClause c : this.clauses) {
+            result.push(c);
+        }
+        for (int i = 0; i < this.elimOrder.size(); i++) {
+            for (final LNGIntVector c : this.elimClauses.get(this.elimOrder.get(i))) {
+                result.push(new MSClause(c, false));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Freezes or unfreezes a given variable.  A frozen variable is never eliminated.  If the variable is already
+     * eliminated when it is frozen, it is restored together with its clauses.
+     * @param var    the variable index
+     * @param freeze {@code true} if the variable should be frozen, {@code false} otherwise
+     */
+    public void setFrozen(final int var, final boolean freeze) {
+        this.frozen.set(var, freeze);
+        if (freeze) {
+            restoreVar(var);
+        }
+    }
+
+    /**
+     * Returns whether a given variable is frozen.
+     * @param var the variable index
+     * @return {@code true} if the variable is frozen, {@code false} otherwise
+     */
+    public boolean isFrozen(final int var) {
+        return this.frozen.get(var);
+    }
+
+    /**
+     * Returns whether a given variable is currently eliminated.
+     * @param var the variable index
+     * @return {@code true} if the variable is eliminated, {@code false} otherwise
+     */
+    public boolean isEliminated(final int var) {
+        return this.eliminated.get(var);
+    }
+
+    /**
+     * Returns the number of currently eliminated variables.
+     * @return the number of currently eliminated variables
+     */
+    public int numEliminatedVars() {
+        return this.elimOrder.size();
+    }
+
+    /**
+     * Returns the number of clauses which were removed because they were subsumed by another clause.
+     * @return the number of subsumed clauses
+     */
+    public int numSubsumedClauses() {
+        return this.numSubsumedClauses;
+    }
+
+    /**
+     * Returns the number of clauses which were strengthened by self-subsuming resolution.
+     * @return the number of strengthened clauses
+     */
+    public int numStrengthenedClauses() {
+        return this.numStrengthenedClauses;
+    }
+
+    /**
+     * Simplifies the clauses of the solver by subsumption, self-subsuming resolution, and bounded variable elimination.
+     * Only clauses with variables which occur in clauses added since the last simplification are simplified and only
+     * these variables are candidates for the elimination.
+     * This method is only executed on level 0.
+     * @return {@code false} if the simplification detected that the formula is unsatisfiable, {@code true} otherwise
+     */
+    protected boolean eliminate() {
+        assert decisionLevel() == 0;
+        if (!this.ok || !this.useElimination) {
+            return this.ok;
+        }
+        final boolean[] relevant = new boolean[this.vars.size()];
+        final List<Integer> candidates = new ArrayList<>();
+        for (int i = 0; i < this.touchedVars.size(); i++) {
+            final int v = this.touchedVars.get(i);
+            this.touched.set(v, false);
+            relevant[v] = true;
+            if (!this.frozen.get(v) && !this.eliminated.get(v) && this.vars.get(v).decision()) {
+                candidates.add(v);
+            }
+        }
+        if (this.touchedVars.empty()) {
+            return true;
+        }
+        this.touchedVars.clear();
+        if (propagate() != null) {
+            this.ok = false;
+            return false;
+        }
+        this.simplified = true;
+        buildOccurrences(relevant);
+        if (backwardSubsumption()) {
+            final long[] costs = new long[this.vars.size()];
+            for (final int v : candidates) {
+                costs[v] = elimCost(v);
+            }
+            candidates.sort(Comparator.comparingLong(v -> costs[v]));
+            for (int i = 0; this.ok && i < candidates.size(); i++) {
+                final int v = candidates.get(i);
+                if (!this.eliminated.get(v) && this.vars.get(v).assignment() == Tristate.UNDEF) {
+                    eliminateVar(v);
+                }
+            }
+        }
+        cleanUpClauses();
+        this.occurs = null;
+        this.subsumptionQueue = null;
+        checkGarbage();
+        return this.ok;
+    }
+
+    /**
+     * Builds the occurrence lists of all clauses which contain at least one relevant variable.  Clauses which are
+     * satisfied on level 0 are removed.
+     * @param relevant the flags of the relevant variables
+     */
+    protected void buildOccurrences(final boolean[] relevant) {
+        this.occurs = new LNGVector<>(this.vars.size());
+        for (int i = 0; i < this.vars.size(); i++) {
+            this.occurs.push(null);
+        }
+        this.subsumptionQueue = new LNGVector<>();
+        this.litMarks.growTo(2 * this.vars.size(), 0);
+        for (int i = 0; i < this.clauses.size(); i++) {
+            final MSClause c = this.clauses.get(i);
+            boolean touchedClause = false;
+            for (int j = 0; j < c.size() && !touchedClause; j++) {
+                touchedClause = relevant[var(c.get(j))];
+            }
+            if (!touchedClause) {
+                continue;
+            }
+            if (satisfied(c)) {
+                removeSimpClause(c);
+            } else {
+                addOccurrences(c);
+                this.subsumptionQueue.push(c);
+            }
+        }
+    }
+
+    /**
+     * Adds a clause to the occurrence lists of its variables.
+     * @param c the clause
+     */
+    protected void addOccurrences(final MSClause c) {
+        for (int j = 0; j < c.size(); j++) {
+            final int v = var(c.get(j));
+            LNGVector<MSClause> occs = this.occurs.get(v);
+            if (occs == null) {
+                occs = new LNGVector<>();
+                this.occurs.set(v, occs);
+            }
+            occs.push(c);
+        }
+    }
+
+    /**
+     * Removes all clauses which are subsumed by a clause of the subsumption queue and strengthens all clauses which can
+     * be strengthened by self-subsuming resolution with a clause of the subsumption queue.
+     * @return {@code false} if a conflict was detected, {@code true} otherwise
+     */
+    protected boolean backwardSubsumption() {
+        for (int qi = 0; this.ok && qi < this.subsumptionQueue.size(); qi++) {
+            final MSClause c = this.subsumptionQueue.get(qi);
+            if (c.seen()) {
+                continue;
+            }
+            int best = var(c.get(0));
+            for (int i = 1; i < c.size(); i++) {
+                final int v = var(c.get(i));
+                if (this.occurs.get(v).size() < this.occurs.get(best).size()) {
+                    best = v;
+                }
+            }
+            final LNGVector<MSClause> occs = this.occurs.get(best);
+            if (occs.size() > this.config.simpSubsumptionLimit) {
+                continue;
+            }
+            final LNGVector<MSClause> others = new LNGVector<>(occs.size());
+            for (final MSClause d : occs) {
+                others.push(d);
+            }
+            for (int j = 0; this.ok && !c.seen() && j < others.size(); j++) {
+                final MSClause d = others.get(j);
+                if (d == c || d.seen() || d.size() < c.size()) {
+                    continue;
+                }
+                final int l = subsumes(c, d);
+                if (l == LIT_UNDEF) {
+                    removeSimpClause(d);
+                    this.numSubsumedClauses++;
+                } else if (l != LIT_ERROR) {
+                    strengthen(d, not(l));
+                }
+            }
+        }
+        return this.ok;
+    }
+
+    /**
+     * Checks whether a clause {@code c} subsumes a clause {@code d} or whether {@code d} can be strengthened by
+     * self-subsuming resolution with {@code c}.
+     * @param c the first clause
+     * @param d the second clause
+     * @return {@link #LIT_UNDEF} if {@code c} subsumes {@code d}, a literal {@code l} of {@code c} if {@code d} can be
+     * strengthened by removing the negation of {@code l}, and {@link #LIT_ERROR} otherwise
+     */
+    protected int subsumes(final MSClause c, final MSClause d) {
+        final int stamp = ++this.litMarkStamp;
+        for (int i = 0; i < d.size(); i++) {
+            this.litMarks.set(d.get(i), stamp);
+        }
+        int ret = LIT_UNDEF;
+        for (int i = 0; i < c.size(); i++) {
+            final int lit = c.get(i);
+            if (this.litMarks.get(lit) == stamp) {
+                continue;
+            }
+            if (ret == LIT_UNDEF && this.litMarks.get(not(lit)) == stamp) {
+                ret = lit;
+            } else {
+                return LIT_ERROR;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * Removes a literal from a clause.  Literals which are false on level 0 are removed too and if the clause becomes
+     * unit, its literal is propagated.
+     * @param c   the clause
+     * @param lit the literal to remove
+     */
+    protected void strengthen(final MSClause c, final int lit) {
+        if (satisfied(c)) {
+            removeSimpClause(c);
+            return;
+        }
+        this.numStrengthenedClauses++;
+        detachClause(c);
+        for (int i = 0; i < c.size(); i++) {
+            final int l = c.get(i);
+            if (l == lit || value(l) == Tristate.FALSE) {
+                this.occurs.get(var(l)).remove(c);
+                c.set(i--, c.get(c.size() - 1));
+                c.pop();
+            }
+        }
+        if (c.size() < 2) {
+            c.setSeen(true);
+            this.clauseArena.free(c);
+            final LNGIntVector unit = new LNGIntVector(1);
+            if (c.size() == 1) {
+                unit.push(c.get(0));
+            }
+            super.addClause(unit, null);
+        } else {
+            attachClause(c);
+            this.subsumptionQueue.push(c);
+        }
+    }
+
+    /**
+     * Removes a clause during the simplification.  The clause is removed lazily from the occurrence lists and from the
+     * clauses of the solver.
+     * @param c the clause
+     */
+    protected void removeSimpClause(final MSClause c) {
+        removeClause(c);
+        c.setSeen(true);
+    }
+
+    /**
+     * Returns the cost of the elimination of a given variable, i.e. the product of the numbers of its positive and
+     * negative occurrences.
+     * @param v the variable
+     * @return the cost of the elimination
+     */
+    protected long elimCost(final int v) {
+        final LNGVector<MSClause> occs = this.occurs.get(v);
+        if (occs == null) {
+            return 0;
+        }
+        long pos = 0;
+        long neg = 0;
+        for (final MSClause c : occs) {
+            if (!c.seen()) {
+                if (sign(literalOf(c, v))) {
+                    neg++;
+                } else {
+                    pos++;
+                }
+            }
+        }
+        return pos * neg;
+    }
+
+    /**
+     * Tries to eliminate a given variable by clause distribution.  The variable is only eliminated if the number of
+     * non-tautological resolvents does not exceed the number of clauses containing the variable by more than the
+     * configured growth and no resolvent exceeds the configured clause limit.
+     * @param v the variable
+     * @return {@code true} if the variable was eliminated, {@code false} otherwise
+     */
+    protected boolean eliminateVar(final int v) {
+        final LNGVector<MSClause> pos = new LNGVector<>();
+        final LNGVector<MSClause> neg = new LNGVector<>();
+        final LNGVector<MSClause> occs = this.occurs.get(v);
+        if (occs != null) {
+            for (final MSClause c : occs) {
+                if (c.seen()) {
+                    continue;
+                }
+                if (satisfied(c)) {
+                    removeSimpClause(c);
+                } else if (sign(literalOf(c, v))) {
+                    neg.push(c);
+                } else {
+                    pos.push(c);
+                }
+            }
+        }
+        int count = 0;
+        for (final MSClause p : pos) {
+            for (final MSClause n : neg) {
+                final int size = resolventSize(p, n, v);
+                if (size >= 0) {
+                    count++;
+                    if (count > pos.size() + neg.size() + this.config.simpGrow
+                            || this.config.simpClauseLimit != -1 && size > this.config.simpClauseLimit) {
+                        return false;
+                    }
+                }
+            }
+        }
+        final LNGVector<LNGIntVector> resolvents = new LNGVector<>(count);
+        for (final MSClause p : pos) {
+            for (final MSClause n : neg) {
+                final LNGIntVector resolvent = resolve(p, n, v);
+                if (resolvent != null) {
+                    resolvents.push(resolvent);
+                }
+            }
+        }
+        final LNGVector<LNGIntVector> stored = new LNGVector<>(pos.size() + neg.size());
+        for (final MSClause c : pos) {
+            stored.push(literals(c));
+            removeSimpClause(c);
+        }
+        for (final MSClause c : neg) {
+            stored.push(literals(c));
+            removeSimpClause(c);
+        }
+        this.elimClauses.set(v, stored);
+        this.eliminated.set(v, true);
+        this.vars.get(v).setDecision(false);
+        this.elimOrder.push(v);
+        this.occurs.set(v, null);
+        for (int i = 0; this.ok && i < resolvents.size(); i++) {
+            final int oldSize = this.clauses.size();
+            super.addClause(resolvents.get(i), null);
+            if (this.clauses.size() > oldSize) {
+                addOccurrences(this.clauses.back());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the size of the resolvent of two clauses on a given variable.
+     * @param p the clause with the positive literal of the variable
+     * @param n the clause with the negative literal of the variable
+     * @param v the variable
+     * @return the size of the resolvent or -1 if the resolvent is a tautology
+     */
+    protected int resolventSize(final MSClause p, final MSClause n, final int v) {
+        final int stamp = ++this.litMarkStamp;
+        for (int i = 0; i < p.size(); i++) {
+            this.litMarks.set(p.get(i), stamp);
+        }
+        int size = p.size() - 1;
+        for (int i = 0; i < n.size(); i++) {
+            final int lit = n.get(i);
+            if (var(lit) == v) {
+                continue;
+            }
+            if (this.litMarks.get(not(lit)) == stamp) {
+                return -1;
+            }
+            if (this.litMarks.get(lit) != stamp) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the resolvent of two clauses on a given variable.
+     * @param p the clause with the positive literal of the variable
+     * @param n the clause with the negative literal of the variable
+     * @param v the variable
+     * @return the literals of the resolvent or {@code null} if the resolvent is a tautology
+     */
+    protected LNGIntVector resolve(final MSClause p, final MSClause n, final int v) {
+        final int stamp = ++this.litMarkStamp;
+        final LNGIntVector resolvent = new LNGIntVector(p.size() + n.size() - 2);
+        for (int i = 0; i < p.size(); i++) {
+            final int lit = p.get(i);
+            this.litMarks.set(lit, stamp);
+            if (var(lit) != v) {
+                resolvent.push(lit);
+            }
+        }
+        for (int i = 0; i < n.size(); i++) {
+            final int lit = n.get(i);
+            if (var(lit) == v) {
+                continue;
+            }
+            if (this.litMarks.get(not(lit)) == stamp) {
+                return null;
+            }
+            if (this.litMarks.get(lit) != stamp) {
+                resolvent.push(lit);
+            }
+        }
+        return resolvent;
+    }
+
+    /**
+     * Restores an eliminated variable: the variable is frozen and its stored clauses are added again.
+     * @param v the variable
+     */
+    protected void restoreVar(final int v) {
+        if (!this.eliminated.get(v)) {
+            return;
+        }
+        this.eliminated.set(v, false);
+        this.frozen.set(v, true);
+        this.vars.get(v).setDecision(true);
+        insertVarOrder(v);
+        int i = this.elimOrder.size() - 1;
+        while (this.elimOrder.get(i) != v) {
+            i--;
+        }
+        for (; i < this.elimOrder.size() - 1; i++) {
+            this.elimOrder.set(i, this.elimOrder.get(i + 1));
+        }
+        this.elimOrder.pop();
+        final LNGVector<LNGIntVector> stored = this.elimClauses.get(v);
+        this.elimClauses.set(v, null);
+        for (final LNGIntVector c : stored) {
+            addClause(new LNGIntVector(c), null);
+        }
+    }
+
+    /**
+     * Extends the current model to the eliminated variables.  The variables are processed in reverse order of their
+     * elimination and an eliminated variable is only set to {@code true} if one of its stored clauses would be falsified
+     * otherwise.
+     */
+    protected void extendModel() {
+        for (int i = this.elimOrder.size() - 1; i >= 0; i--) {
+            final int v = this.elimOrder.get(i);
+            boolean value = false;
+            for (final LNGIntVector c : this.elimClauses.get(v)) {
+                if (!satisfiedByModel(c, v)) {
+                    value = true;
+                    break;
+                }
+            }
+            this.model.set(v, value);
+        }
+    }
+
+    /**
+     * Returns whether a stored clause which contains the positive literal of a given variable is satisfied by the
+     * current model without this literal.  Stored clauses which contain the negative literal of the variable are always
+     * reported as satisfied.
+     * @param c the literals of the clause
+     * @param v the variable
+     * @return {@code true} if the clause does not need the positive literal of the variable
+     */
+    protected boolean satisfiedByModel(final LNGIntVector c, final int v) {
+        boolean satisfied = false;
+        for (int i = 0; i < c.size(); i++) {
+            final int lit = c.get(i);
+            if (var(lit) == v) {
+                if (sign(lit)) {
+                    return true;
+                }
+            } else if (this.model.get(var(lit)) != sign(lit)) {
+                satisfied = true;
+            }
+        }
+        return satisfied;
+    }
+
+    /**
+     * Removes all removed original clauses from the clauses of the solver and all learnt clauses which contain an
+     * eliminated variable.
+     */
+    protected void cleanUpClauses() {
+        int i;
+        int j;
+        for (i = j = 0; i < this.clauses.size(); i++) {
+            if (!this.clauses.get(i).seen()) {
+                this.clauses.set(j++, this.clauses.get(i));
+            }
+        }
+        this.clauses.removeElements(i - j);
+        for (i = j = 0; i < this.learnts.size(); i++) {
+            final MSClause c = this.learnts.get(i);
+            boolean containsEliminated = false;
+            for (int k = 0; k < c.size() && !containsEliminated; k++) {
+                containsEliminated = this.eliminated.get(var(c.get(k)));
+            }
+            if (containsEliminated) {
+                removeClause(c);
+            } else {
+                this.learnts.set(j++, c);
+            }
+        }
+        this.learnts.removeElements(i - j);
+    }
+
+    /**
+     * Returns the literal of a given variable in a clause.
+     * @param c the clause
+     * @param v the variable
+     * @return the literal of the variable
+     */
+    protected static int literalOf(final MSClause c, final int v) {
+        for (int i = 0; i < c.size(); i++) {
+            if (var(c.get(i)) == v) {
+                return c.get(i);
+            }
+        }
+        throw new IllegalStateException("Variable " + v + " does not occur in the clause " + c);
+    }
+
+    /**
+     * Returns a copy of the literals of a given clause.
+     * @param c the clause
+     * @return the literals of the clause
+     */
+    protected static LNGIntVector literals(final MSClause c) {
+        final LNGIntVector lits = new LNGIntVector(c.size());
+        for (int i = 0; i < c.size(); i++) {
+            lits.push(c.get(i));
+        }
+        return lits;
+    }
+}
@@ -62,7 +62,7 @@ import org.logicng.solvers.datastructures.MSWatcher;
  * Therefore clause deletion and simplifications are deactivated in this mode.  This mode is most efficient on small
  * to mid-size industrial formulas (up to 50,000 variables, 100,000 clauses).  Whenever you have lots of small formulas
  * to solve or need the ability to add and delete formulas from the solver, we recommend to consider this mode.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class MiniSat2Solver extends MiniSatStyleSolver {
@@ -105,6 +105,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         this.vars.push(newVar);
         this.watches.push(new LNGVector<>());
         this.watches.push(new LNGVector<>());
+        this.watchesBin.push(new LNGVector<>());
+        this.watchesBin.push(new LNGVector<>());
         this.seen.push(false);
         newVar.setDecision(dvar);
         insertVarOrder(v);
@@ -113,7 +115,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
 
     @Override
     public boolean addClause(final LNGIntVector ps, final Proposition proposition) {
-        assert decisionLevel() == 0;
+        cancelAssumptionLevels();
         int p;
         int i;
         int j;
@@ -184,7 +186,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
             }
             return this.ok;
         } else {
-            final MSClause c = new MSClause(ps, false);
+            final MSClause c = new MSClause(ps, false, false, this.clauseArena);
             this.clauses.push(c);
             attachClause(c);
         }
@@ -199,9 +201,11 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         }
         this.model.clear();
         this.conflict.clear();
+        reuseAssumptionLevels();
         if (!this.ok) {
             return Tristate.FALSE;
         }
+        final long startTime = System.nanoTime();
         this.learntsizeAdjustConfl = this.learntsizeAdjustStartConfl;
         this.learntsizeAdjustCnt = (int) this.learntsizeAdjustConfl;
         this.maxLearnts = this.clauses.size() * this.learntsizeFactor;
@@ -230,9 +234,10 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         if (this.handler != null) {
             this.handler.finishedSolving();
         }
-        cancelUntil(0);
+        keepAssumptionLevels(status);
         this.handler = null;
         this.canceledByHandler = false;
+        this.solvingTime += System.nanoTime() - startTime;
         return status;
     }
 
@@ -278,7 +283,8 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         this.ok = state[0] == 1;
         final int newVarsSize = Math.min(state[1], this.vars.size());
         for (i = this.vars.size() - 1; i >= newVarsSize; i--) {
-            this.orderHeap.remove(this.name2idx.remove(this.idx2name.remove(i)));
+            removeName(i);
+            this.orderHeap.remove(i);
         }
         this.vars.shrinkTo(newVarsSize);
         final int newClausesSize = Math.min(state[2], this.clauses.size());
@@ -292,10 +298,16 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         }
         this.learnts.shrinkTo(newLearntsSize);
         this.watches.shrinkTo(newVarsSize * 2);
+        this.watchesBin.shrinkTo(newVarsSize * 2);
         this.unitClauses.shrinkTo(state[4]);
         for (i = 0; this.ok && i < this.unitClauses.size(); i++) {
-            uncheckedEnqueue(this.unitClauses.get(i), null);
-            this.ok = propagate() == null;
+            final Tristate value = value(this.unitClauses.get(i));
+            if (value == Tristate.UNDEF) {
+                uncheckedEnqueue(this.unitClauses.get(i), null);
+                this.ok = propagate() == null;
+            } else if (value == Tristate.FALSE) {
+                this.ok = false;
+            }
         }
         if (this.config.proofGeneration) {
             final int newPgOriginalSize = Math.min(state[5], this.pgOriginalClauses.size());
@@ -305,6 +317,15 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         }
     }
 
+    @Override
+    public MiniSat2Solver copy() {
+        cancelAssumptionLevels();
+        final MiniSat2Solver copy = new MiniSat2Solver(this.config);
+        copy.copyState(this);
+        copy.unitClauses = new LNGIntVector(this.unitClauses);
+        return copy;
+    }
+
     @Override
     protected void uncheckedEnqueue(final int lit, final MSClause reason) {
         assert value(lit) == Tristate.UNDEF;
@@ -318,8 +339,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     @Override
     protected void attachClause(final MSClause c) {
         assert c.size() > 1;
-        this.watches.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
-        this.watches.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+        attachWatchers(c);
         if (c.learnt()) {
             this.learntsLiterals += c.size();
         } else {
@@ -330,8 +350,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
     @Override
     protected void detachClause(final MSClause c) {
         assert c.size() > 1;
-        this.watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-        this.watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+        detachWatchers(c);
         if (c.learnt()) {
             this.learntsLiterals -= c.size();
         } else {
@@ -351,6 +370,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         }
 
         detachClause(c);
+        this.clauseArena.free(c);
         if (locked(c)) {
             v(c.get(0)).setReason(null);
         }
@@ -362,10 +382,15 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         int numProps = 0;
         while (this.qhead < this.trail.size()) {
             final int p = this.trail.get(this.qhead++);
+            numProps++;
+            confl = propagateBinaries(p);
+            if (confl != null) {
+                this.qhead = this.trail.size();
+                break;
+            }
             final LNGVector<MSWatcher> ws = this.watches.get(p);
             int iInd = 0;
             int jInd = 0;
-            numProps++;
             while (iInd < ws.size()) {
                 final MSWatcher i = ws.get(iInd);
                 final int blocker = i.blocker();
@@ -413,6 +438,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
             ws.removeElements(iInd - jInd);
         }
         this.simpDBProps -= numProps;
+        this.numPropagations += numProps;
         return confl;
     }
 
@@ -491,6 +517,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
             }
         }
         this.learnts.removeElements(i - j);
+        checkGarbage();
     }
 
     @Override
@@ -542,6 +569,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         if (this.shouldRemoveSatsisfied) {
             removeSatisfied(this.clauses);
         }
+        checkGarbage();
         rebuildOrderHeap();
         this.simpDBAssigns = nAssigns();
         this.simpDBProps = this.clausesLiterals + this.learntsLiterals;
@@ -563,6 +591,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         while (true) {
             final MSClause confl = propagate();
             if (confl != null) {
+                this.numConflicts++;
                 if (this.handler != null && !this.handler.detectedConflict()) {
                     this.canceledByHandler = true;
                     return Tristate.UNDEF;
@@ -591,7 +620,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
                     uncheckedEnqueue(learntClause.get(0), null);
                     this.unitClauses.push(learntClause.get(0));
                 } else {
-                    final MSClause cr = new MSClause(learntClause, true);
+                    final MSClause cr = new MSClause(learntClause, true, false, this.clauseArena);
                     this.learnts.push(cr);
                     attachClause(cr);
                     if (!this.incremental) {
@@ -599,12 +628,16 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
                     }
                     uncheckedEnqueue(learntClause.get(0), cr);
                 }
+                exportLearntClause(learntClause);
                 decayActivities();
             } else {
                 if (nofConflicts >= 0 && conflictC >= nofConflicts) {
                     cancelUntil(0);
                     return Tristate.UNDEF;
                 }
+                if (decisionLevel() == 0 && !importLearntClauses()) {
+                    return Tristate.FALSE;
+                }
                 if (!this.incremental) {
                     if (decisionLevel() == 0 && !simplify()) {
                         return Tristate.FALSE;
@@ -746,6 +779,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
         }
         this.trail.clear();
         this.trailLim.clear();
+        this.keptAssumptions.clear();
         this.qhead = 0;
     }
 
@@ -754,7 +788,7 @@ public class MiniSat2Solver extends MiniSatStyleSolver {
      * @param c the clause to remove
      */
     protected void simpleRemoveClause(final MSClause c) {
-        this.watches.get(not(c.get(0))).remove(new MSWatcher(c, c.get(1)));
-        this.watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+        detachWatchers(c);
+        this.clauseArena.free(c);
     }
 }
@@ -35,7 +35,7 @@ import org.logicng.solvers.SATSolver;
 
 /**
  * The configuration object for a MiniSAT-style SAT solver.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class MiniSatConfig extends Configuration {
@@ -93,6 +93,10 @@ public final class MiniSatConfig extends Configuration {
     final boolean bbInitialUBCheckForRotatableLiterals;
     final boolean bbCheckForComplementModelLiterals;
     final boolean bbCheckForRotatableLiterals;
+    final boolean simplification;
+    final int simpGrow;
+    final int simpClauseLimit;
+    final int simpSubsumptionLimit;
 
     /**
      * Constructs a new MiniSAT configuration from a given builder.
@@ -117,6 +121,10 @@ public final class MiniSatConfig extends Configuration {
         this.bbInitialUBCheckForRotatableLiterals = builder.bbInitialUBCheckForRotatableLiterals;
         this.bbCheckForComplementModelLiterals = builder.bbCheckForComplementModelLiterals;
         this.bbCheckForRotatableLiterals = builder.bbCheckForRotatableLiterals;
+        this.simplification = builder.simplification;
+        this.simpGrow = builder.simpGrow;
+        this.simpClauseLimit = builder.simpClauseLimit;
+        this.simpSubsumptionLimit = builder.simpSubsumptionLimit;
     }
 
     /**
@@ -167,6 +175,15 @@ public final class MiniSatConfig extends Configuration {
         return this.auxiliaryVariablesInModels;
     }
 
+    /**
+     * Returns whether the MiniSat solver should simplify the clauses by variable elimination and subsumption before
+     * solving.
+     * @return whether the clauses should be simplified before solving
+     */
+    public boolean simplification() {
+        return this.simplification;
+    }
+
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("MiniSatConfig{").append(System.lineSeparator());
@@ -187,13 +204,17 @@ public final class MiniSatConfig extends Configuration {
         sb.append("bbInitialUBCheckForRotatableLiterals=").append(this.bbInitialUBCheckForRotatableLiterals).append(System.lineSeparator());
         sb.append("bbCheckForComplementModelLiterals=").append(this.bbCheckForComplementModelLiterals).append(System.lineSeparator());
         sb.append("bbCheckForRotatableLiterals=").append(this.bbCheckForRotatableLiterals).append(System.lineSeparator());
+        sb.append("simplification=").append(this.simplification).append(System.lineSeparator());
+        sb.append("simpGrow=").append(this.simpGrow).append(System.lineSeparator());
+        sb.append("simpClauseLimit=").append(this.simpClauseLimit).append(System.lineSeparator());
+        sb.append("simpSubsumptionLimit=").append(this.simpSubsumptionLimit).append(System.lineSeparator());
         sb.append("}");
         return sb.toString();
     }
 
     /**
      * The builder for a MiniSAT configuration.
-     * @version 2.0.0
+     * @version 2.1.0
      * @since 1.0
      */
     public static class Builder {
@@ -214,6 +235,10 @@ public final class MiniSatConfig extends Configuration {
         private boolean bbInitialUBCheckForRotatableLiterals = true;
         private boolean bbCheckForComplementModelLiterals = true;
         private boolean bbCheckForRotatableLiterals = true;
+        private boolean simplification = false;
+        private int simpGrow = 0;
+        private int simpClauseLimit = 20;
+        private int simpSubsumptionLimit = 1000;
 
         private Builder() {
             // Initialize only via factory
@@ -406,6 +431,53 @@ public final class MiniSatConfig extends Configuration {
             return this;
         }
 
+        /**
+         * Sets whether the clauses should be simplified in a SatELite-style preprocessing before solving.  The
+         * simplification eliminates variables by clause distribution, removes subsumed clauses, and strengthens clauses
+         * by self-subsuming resolution.  Variables of assumptions and variables which are added again after their
+         * elimination are frozen and never eliminated (again).  The simplification is only performed by the MiniSat
+         * solver style and it is not performed if proof generation is activated.  The default value is {@code false}.
+         * @param simplification {@code true} if the clauses should be simplified, {@code false} otherwise
+         * @return the builder
+         */
+        public Builder simplification(final boolean simplification) {
+            this.simplification = simplification;
+            return this;
+        }
+
+        /**
+         * Sets the number of clauses by which the elimination of a variable may increase the number of clauses.  The
+         * default value is 0.
+         * @param simpGrow the allowed growth of the number of clauses per eliminated variable
+         * @return the builder
+         */
+        public Builder simpGrow(final int simpGrow) {
+            this.simpGrow = simpGrow;
+            return this;
+        }
+
+        /**
+         * Sets the maximal size of a resolvent which may be produced by a variable elimination.  A value of -1 means
+         * that there is no limit.  The default value is 20.
+         * @param simpClauseLimit the maximal size of a resolvent
+         * @return the builder
+         */
+        public Builder simpClauseLimit(final int simpClauseLimit) {
+            this.simpClauseLimit = simpClauseLimit;
+            return this;
+        }
+
+        /**
+         * Sets the maximal number of occurrences of a variable for which the clauses containing it are checked for
+         * subsumption.  The default value is 1000.
+         * @param simpSubsumptionLimit the maximal number of occurrences for subsumption checks
+         * @return the builder
+         */
+        public Builder simpSubsumptionLimit(final int simpSubsumptionLimit) {
+            this.simpSubsumptionLimit = simpSubsumptionLimit;
+            return this;
+        }
+
         /**
          * Builds the MiniSAT configuration.
          * @return the configuration
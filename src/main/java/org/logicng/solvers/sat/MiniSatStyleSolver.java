@@ -52,18 +52,21 @@ import org.logicng.collections.LNGBooleanVector;
 import org.logicng.collections.LNGIntVector;
 import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Variable;
 import org.logicng.handlers.SATHandler;
 import org.logicng.propositions.Proposition;
 import org.logicng.solvers.datastructures.LNGHeap;
 import org.logicng.solvers.datastructures.MSClause;
+import org.logicng.solvers.datastructures.MSClauseArena;
 import org.logicng.solvers.datastructures.MSVariable;
 import org.logicng.solvers.datastructures.MSWatcher;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedSet;
@@ -73,7 +76,7 @@ import java.util.TreeSet;
 
 /**
  * The super class for all MiniSAT-style solvers.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public abstract class MiniSatStyleSolver {
@@ -91,7 +94,9 @@ public abstract class MiniSatStyleSolver {
     protected int qhead;
     protected LNGVector<MSClause> clauses;
     protected LNGVector<MSClause> learnts;
+    protected MSClauseArena clauseArena;
     protected LNGVector<LNGVector<MSWatcher>> watches;
+    protected LNGVector<LNGVector<MSWatcher>> watchesBin;
     protected LNGVector<MSVariable> vars;
     protected LNGHeap orderHeap;
     protected LNGIntVector trail;
@@ -99,6 +104,7 @@ public abstract class MiniSatStyleSolver {
     protected LNGBooleanVector model;
     protected LNGIntVector conflict;
     protected LNGIntVector assumptions;
+    protected LNGIntVector keptAssumptions;
     protected LNGBooleanVector seen;
     protected LNGIntVector analyzeStack;
     protected LNGIntVector analyzeToClear;
@@ -125,6 +131,16 @@ public abstract class MiniSatStyleSolver {
     protected Map<String, Integer> name2idx;
     protected Map<Integer, String> idx2name;
 
+    // mapping of factory variable indices to variable indices and back, only for variables of varFactory
+    protected LNGIntVector var2idx;
+    protected LNGVector<Variable> idx2var;
+    protected FormulaFactory varFactory;
+
+    // statistics
+    protected long numPropagations;
+    protected long numConflicts;
+    protected long solvingTime;
+
     // SAT handler
     protected SATHandler handler;
     protected boolean canceledByHandler;
@@ -143,6 +159,11 @@ public abstract class MiniSatStyleSolver {
     protected LNGIntVector selectionOrder;
     protected int selectionOrderIdx;
 
+    // Exchange of learnt clauses with other solvers
+    protected LearntClauseExchange clauseExchange;
+    protected int clauseExchangeId;
+    protected int clauseExchangePosition;
+
     protected double learntsizeAdjustConfl;
     protected int learntsizeAdjustCnt;
     protected int learntsizeAdjustStartConfl;
@@ -234,6 +255,8 @@ public abstract class MiniSatStyleSolver {
         this.qhead = 0;
         this.clauses = new LNGVector<>();
         this.learnts = new LNGVector<>();
+        this.clauseArena = new MSClauseArena();
+        this.watchesBin = new LNGVector<>();
         this.watches = new LNGVector<>();
         this.vars = new LNGVector<>();
         this.orderHeap = new LNGHeap(this);
@@ -242,6 +265,7 @@ public abstract class MiniSatStyleSolver {
         this.model = new LNGBooleanVector();
         this.conflict = new LNGIntVector();
         this.assumptions = new LNGIntVector();
+        this.keptAssumptions = new LNGIntVector();
         this.seen = new LNGBooleanVector();
         this.analyzeStack = new LNGIntVector();
         this.analyzeToClear = new LNGIntVector();
@@ -253,7 +277,13 @@ public abstract class MiniSatStyleSolver {
         this.learntsLiterals = 0;
         this.name2idx = new TreeMap<>();
         this.idx2name = new TreeMap<>();
+        this.var2idx = new LNGIntVector();
+        this.idx2var = new LNGVector<>();
+        this.varFactory = null;
         this.canceledByHandler = false;
+        this.numPropagations = 0;
+        this.numConflicts = 0;
+        this.solvingTime = 0;
         if (this.config.proofGeneration) {
             this.pgOriginalClauses = new LNGVector<>();
             this.pgProof = new LNGVector<>();
@@ -261,6 +291,9 @@ public abstract class MiniSatStyleSolver {
         this.computingBackbone = false;
         this.selectionOrder = new LNGIntVector();
         this.selectionOrderIdx = 0;
+        this.clauseExchange = null;
+        this.clauseExchangeId = 0;
+        this.clauseExchangePosition = 0;
     }
 
     /**
@@ -336,6 +369,84 @@ public abstract class MiniSatStyleSolver {
         this.idx2name.put(id, name);
     }
 
+    /**
+     * Returns the variable index for a given variable.
+     * <p>
+     * In contrast to {@link #idxForName(String)}, the variable index is looked up in an array indexed by the
+     * {@link Variable#index() factory index} of the variable.  Only if the variable was not yet looked up or was only
+     * added by its name, the index is looked up by its name once.  Variables of another formula factory than the
+     * variables added by {@link #addVariable(Variable, int)} are always looked up by their name.
+     * @param var the variable
+     * @return the variable index for the variable or -1 if the variable is unknown
+     */
+    public int idxForVariable(final Variable var) {
+        final int index = var.index();
+        if (index >= 0 && index < this.var2idx.size()) {
+            final int id = this.var2idx.get(index);
+            if (id >= 0 && id < this.idx2var.size() && this.idx2var.get(id) == var) {
+                return id;
+            }
+        }
+        final int id = idxForName(var.name());
+        if (id != -1 && var.factory() == this.varFactory) {
+            cacheVariable(var, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the variable for a given variable index if the variable was added by {@link #addVariable(Variable, int)}
+     * or already looked up by {@link #idxForVariable(Variable)}.  Variables without a formula factory are never
+     * returned.
+     * @param var the variable index
+     * @return the variable for the index or {@code null} if there is no such variable
+     */
+    public Variable variableForIdx(final int var) {
+        return var < this.idx2var.size() ? this.idx2var.get(var) : null;
+    }
+
+    /**
+     * Adds a new variable with a given variable index to this solver.  The variable is also added by its name.
+     * @param var the variable
+     * @param id  the variable index
+     */
+    public void addVariable(final Variable var, final int id) {
+        addName(var.name(), id);
+        if (this.varFactory == null) {
+            this.varFactory = var.factory();
+        }
+        if (var.factory() == this.varFactory) {
+            cacheVariable(var, id);
+        }
+    }
+
+    private void cacheVariable(final Variable var, final int id) {
+        final int index = var.index();
+        if (index < 0) {
+            return;
+        }
+        if (id >= this.idx2var.size()) {
+            this.idx2var.growTo(id + 1, null);
+        }
+        this.idx2var.set(id, var);
+        if (index >= this.var2idx.size()) {
+            this.var2idx.growTo(index + 1, -1);
+        }
+        this.var2idx.set(index, id);
+    }
+
+    /**
+     * Removes the variable with the given index from the mappings of names and variables.  Only the most recently added
+     * variable can be removed.
+     * @param var the variable index
+     */
+    protected void removeName(final int var) {
+        this.name2idx.remove(this.idx2name.remove(var));
+        if (var < this.idx2var.size()) {
+            this.idx2var.shrinkTo(var);
+        }
+    }
+
     /**
      * Adds a new variable to the solver.
      * @param sign the initial polarity of the new variable, {@code true} if negative, {@code false} if positive
@@ -443,6 +554,116 @@ public abstract class MiniSatStyleSolver {
      */
     public abstract void loadState(int[] state);
 
+    /**
+     * Returns a copy of this solver with the same clauses, learnt clauses, variable activities and phases, and
+     * variable mapping.  The literals of the clauses are shared between this solver and the copy until one of them
+     * changes a clause (copy-on-write), so copying a warmed-up solver is much cheaper than rebuilding it.  Afterwards,
+     * this solver and the copy are independent and can be used by different threads.  This method must only be called
+     * between two solver calls.
+     * @return the copy of this solver
+     * @throws UnsupportedOperationException if the solver does not support copying
+     */
+    public MiniSatStyleSolver copy() {
+        throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support copying");
+    }
+
+    /**
+     * Copies the state of the given solver to this newly constructed solver.  Clauses are copied with
+     * {@link MSClause#copy()}, the watch lists and the reasons of the variables are mapped to the copied clauses.
+     * @param other the solver to copy
+     */
+    protected void copyState(final MiniSatStyleSolver other) {
+        assert other.decisionLevel() == 0;
+        final Map<MSClause, MSClause> copies = new IdentityHashMap<>();
+        this.ok = other.ok;
+        this.qhead = other.qhead;
+        this.clauses = copyClauses(other.clauses, copies);
+        this.learnts = copyClauses(other.learnts, copies);
+        this.watches = copyWatches(other.watches, copies);
+        this.watchesBin = copyWatches(other.watchesBin, copies);
+        this.vars = new LNGVector<>(other.vars.size());
+        for (int i = 0; i < other.vars.size(); i++) {
+            final MSVariable var = other.vars.get(i);
+            final MSVariable copy = new MSVariable(var.polarity());
+            copy.setLevel(var.level());
+            copy.setReason(var.reason() == null ? null : copies.get(var.reason()));
+            copy.assign(var.assignment());
+            copy.incrementActivity(var.activity());
+            copy.setDecision(var.decision());
+            this.vars.push(copy);
+        }
+        for (int i = 0; i < other.orderHeap.size(); i++) {
+            this.orderHeap.insert(other.orderHeap.get(i));
+        }
+        this.trail = new LNGIntVector(other.trail);
+        this.trailLim = new LNGIntVector(other.trailLim);
+        this.model = new LNGBooleanVector(other.model);
+        this.conflict = new LNGIntVector(other.conflict);
+        this.seen = new LNGBooleanVector(other.seen);
+        this.claInc = other.claInc;
+        this.simpDBAssigns = other.simpDBAssigns;
+        this.simpDBProps = other.simpDBProps;
+        this.clausesLiterals = other.clausesLiterals;
+        this.learntsLiterals = other.learntsLiterals;
+        this.varDecay = other.varDecay;
+        this.varInc = other.varInc;
+        this.name2idx = new TreeMap<>(other.name2idx);
+        this.idx2name = new TreeMap<>(other.idx2name);
+        this.var2idx = new LNGIntVector(other.var2idx);
+        this.idx2var = new LNGVector<>(other.idx2var.size());
+        for (int i = 0; i < other.idx2var.size(); i++) {
+            this.idx2var.push(other.idx2var.get(i));
+        }
+        this.varFactory = other.varFactory;
+        this.numPropagations = other.numPropagations;
+        this.numConflicts = other.numConflicts;
+        this.solvingTime = other.solvingTime;
+        if (this.config.proofGeneration) {
+            this.pgOriginalClauses = new LNGVector<>(other.pgOriginalClauses.size());
+            for (int i = 0; i < other.pgOriginalClauses.size(); i++) {
+                this.pgOriginalClauses.push(other.pgOriginalClauses.get(i));
+            }
+            this.pgProof = new LNGVector<>(other.pgProof.size());
+            for (int i = 0; i < other.pgProof.size(); i++) {
+                this.pgProof.push(other.pgProof.get(i));
+            }
+        }
+        this.selectionOrder = new LNGIntVector(other.selectionOrder);
+        this.selectionOrderIdx = other.selectionOrderIdx;
+        this.learntsizeAdjustConfl = other.learntsizeAdjustConfl;
+        this.learntsizeAdjustCnt = other.learntsizeAdjustCnt;
+        this.learntsizeAdjustStartConfl = other.learntsizeAdjustStartConfl;
+        this.learntsizeAdjustInc = other.learntsizeAdjustInc;
+        this.maxLearnts = other.maxLearnts;
+    }
+
+    private static LNGVector<MSClause> copyClauses(final LNGVector<MSClause> cs, final Map<MSClause, MSClause> copies) {
+        final LNGVector<MSClause> result = new LNGVector<>(cs.size());
+        for (int i = 0; i < cs.size(); i++) {
+            final MSClause copy = cs.get(i).copy();
+            copies.put(cs.get(i), copy);
+            result.push(copy);
+        }
+        return result;
+    }
+
+    private static LNGVector<LNGVector<MSWatcher>> copyWatches(final LNGVector<LNGVector<MSWatcher>> watches,
+                                                                final Map<MSClause, MSClause> copies) {
+        final LNGVector<LNGVector<MSWatcher>> result = new LNGVector<>(watches.size());
+        for (int i = 0; i < watches.size(); i++) {
+            final LNGVector<MSWatcher> ws = watches.get(i);
+            final LNGVector<MSWatcher> copy = new LNGVector<>(ws.size());
+            for (int j = 0; j < ws.size(); j++) {
+                final MSClause clause = copies.get(ws.get(j).clause());
+                if (clause != null) {
+                    copy.push(new MSWatcher(clause, ws.get(j).blocker()));
+                }
+            }
+            result.push(copy);
+        }
+        return result;
+    }
+
     /**
      * Returns the number of variables of the solver.
      * @return the number of variables of the solver
@@ -616,6 +837,59 @@ public abstract class MiniSatStyleSolver {
      */
     protected abstract void detachClause(final MSClause c);
 
+    /**
+     * Initializes the two watchers of a given clause.  Binary clauses are watched in the specialized binary watch lists,
+     * all other clauses in the regular watch lists.
+     * @param c the clause
+     */
+    protected void attachWatchers(final MSClause c) {
+        final LNGVector<LNGVector<MSWatcher>> ws = c.size() == 2 ? this.watchesBin : this.watches;
+        ws.get(not(c.get(0))).push(new MSWatcher(c, c.get(1)));
+        ws.get(not(c.get(1))).push(new MSWatcher(c, c.get(0)));
+    }
+
+    /**
+     * Removes the two watchers of a given clause.  A clause which was shrunk to two literals after it was attached is
+     * still found in the regular watch lists.
+     * @param c the clause
+     */
+    protected void detachWatchers(final MSClause c) {
+        final MSWatcher w1 = new MSWatcher(c, c.get(1));
+        if (c.size() != 2 || !this.watchesBin.get(not(c.get(0))).remove(w1)) {
+            this.watches.get(not(c.get(0))).remove(w1);
+            this.watches.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+        } else {
+            this.watchesBin.get(not(c.get(1))).remove(new MSWatcher(c, c.get(0)));
+        }
+    }
+
+    /**
+     * Propagates a given literal over the binary clauses.  The implied literal of a binary clause is moved to the first
+     * position of the clause before it is enqueued, such that the clause can be used as a reason like any other clause.
+     * @param p the literal
+     * @return the conflicting binary clause or {@code null} if there was none
+     */
+    protected MSClause propagateBinaries(final int p) {
+        final LNGVector<MSWatcher> wbin = this.watchesBin.get(p);
+        for (int k = 0; k < wbin.size(); k++) {
+            final MSWatcher w = wbin.get(k);
+            final int imp = w.blocker();
+            final Tristate impValue = value(imp);
+            if (impValue == Tristate.FALSE) {
+                return w.clause();
+            }
+            if (impValue == Tristate.UNDEF) {
+                final MSClause c = w.clause();
+                if (c.get(0) != imp) {
+                    c.set(1, c.get(0));
+                    c.set(0, imp);
+                }
+                uncheckedEnqueue(imp, c);
+            }
+        }
+        return null;
+    }
+
     /**
      * Removes a given clause.
      * @param c the clause to remove
@@ -668,6 +942,45 @@ public abstract class MiniSatStyleSolver {
         }
     }
 
+    /**
+     * Backtracks after a solver call.  If the call was decided and the formula is not unsatisfiable, the decision
+     * levels of the assumptions are kept on the trail, so that a following solver call with the same leading
+     * assumptions does not have to propagate them again.  Otherwise, the solver backtracks to level 0.
+     * @param status the result of the solver call
+     */
+    protected void keepAssumptionLevels(final Tristate status) {
+        final int keep = status == Tristate.UNDEF || !this.ok ? 0 : Math.min(decisionLevel(), this.assumptions.size());
+        cancelUntil(keep);
+        this.keptAssumptions.clear();
+        for (int i = 0; i < keep; i++) {
+            this.keptAssumptions.push(this.assumptions.get(i));
+        }
+    }
+
+    /**
+     * Backtracks to the decision levels of the longest common prefix of the current assumptions and the assumptions
+     * kept from the last solver call.  The assignments on these levels are reused by the current solver call.
+     */
+    protected void reuseAssumptionLevels() {
+        assert decisionLevel() == this.keptAssumptions.size();
+        int common = 0;
+        while (common < this.keptAssumptions.size() && common < this.assumptions.size() &&
+                this.keptAssumptions.get(common) == this.assumptions.get(common)) {
+            common++;
+        }
+        cancelUntil(common);
+        this.keptAssumptions.shrinkTo(common);
+    }
+
+    /**
+     * Backtracks to level 0 if there are decision levels kept from the last solver call.  This method has to be called
+     * before the clauses or the assignments on level 0 are changed between two solver calls.
+     */
+    protected void cancelAssumptionLevels() {
+        cancelUntil(0);
+        this.keptAssumptions.clear();
+    }
+
     /**
      * Reduces the database of learnt clauses.  Only clauses of the first half of the clauses with the most activity
      * are possibly removed.  A clause is only removed if it is not locked, i.e. is the reason of an assignment for a
@@ -675,6 +988,126 @@ public abstract class MiniSatStyleSolver {
      */
     protected abstract void reduceDB();
 
+    /**
+     * Sets the exchange for learnt clauses with other solvers which solve the same formula in parallel.  The exchange is
+     * only used for the clauses learnt and imported during the following solver calls and should be removed with
+     * {@code setClauseExchange(null, 0)} afterwards.
+     * <p>
+     * Only variables which were added to the solver with {@link #addVariable(Variable, int)} are exchanged, i.e.
+     * learnt clauses containing variables which were only added by their name are not exported.  A solver with proof
+     * generation only exports its learnt clauses, but does not import the clauses of other solvers.
+     * @param exchange the exchange or {@code null} if no clauses should be exchanged
+     * @param id       the id of this solver in the exchange
+     */
+    public void setClauseExchange(final LearntClauseExchange exchange, final int id) {
+        this.clauseExchange = exchange;
+        this.clauseExchangeId = id;
+        this.clauseExchangePosition = 0;
+    }
+
+    /**
+     * Exports a learnt clause to the clause exchange if it is a unit or binary clause or its LBD is small enough.  The
+     * decision levels of the literals of the clause must still be the levels of the conflict.
+     * @param lits the literals of the learnt clause
+     */
+    protected void exportLearntClause(final LNGIntVector lits) {
+        if (this.clauseExchange == null) {
+            return;
+        }
+        final int maxLBD = this.clauseExchange.maxLBD();
+        int lbd = lits.size();
+        if (lits.size() > 2) {
+            final int[] levels = new int[maxLBD];
+            lbd = 0;
+            for (int i = 0; i < lits.size(); i++) {
+                final int level = v(lits.get(i)).level();
+                int j = 0;
+                while (j < lbd && levels[j] != level) {
+                    j++;
+                }
+                if (j == lbd) {
+                    if (lbd == maxLBD) {
+                        return;
+                    }
+                    levels[lbd++] = level;
+                }
+            }
+        }
+        final Variable[] variables = new Variable[lits.size()];
+        final boolean[] phases = new boolean[lits.size()];
+        for (int i = 0; i < lits.size(); i++) {
+            variables[i] = variableForIdx(var(lits.get(i)));
+            if (variables[i] == null) {
+                return;
+            }
+            phases[i] = !sign(lits.get(i));
+        }
+        this.clauseExchange.export(this.clauseExchangeId, variables, phases, lbd);
+    }
+
+    /**
+     * Imports the learnt clauses which were exported by other solvers since the last import.  Clauses with variables
+     * unknown to this solver are skipped, unit clauses are propagated, and all other clauses are added as learnt
+     * clauses.  This method must only be called on decision level 0.
+     * <p>
+     * A solver with proof generation does not import any clauses, since the imported clauses cannot be derived from
+     * its own clauses and would therefore break its proofs.
+     * @return {@code false} if the formula was found to be unsatisfiable, {@code true} otherwise
+     */
+    protected boolean importLearntClauses() {
+        assert decisionLevel() == 0;
+        if (this.clauseExchange == null || this.config.proofGeneration) {
+            return true;
+        }
+        final List<LearntClauseExchange.SharedClause> shared = new ArrayList<>();
+        this.clauseExchangePosition = this.clauseExchange.collect(this.clauseExchangeId, this.clauseExchangePosition, shared);
+        for (final LearntClauseExchange.SharedClause clause : shared) {
+            final LNGIntVector lits = new LNGIntVector(clause.variables.length);
+            boolean skip = false;
+            for (int i = 0; i < clause.variables.length && !skip; i++) {
+                final int index = idxForVariable(clause.variables[i]);
+                if (index == -1) {
+                    skip = true;
+                } else {
+                    final int lit = mkLit(index, !clause.phases[i]);
+                    final Tristate value = value(lit);
+                    if (value == Tristate.TRUE) {
+                        skip = true;
+                    } else if (value == Tristate.UNDEF) {
+                        lits.push(lit);
+                    }
+                }
+            }
+            if (skip) {
+                continue;
+            }
+            if (lits.size() == 0) {
+                return this.ok = false;
+            } else if (lits.size() == 1) {
+                uncheckedEnqueue(lits.get(0), null);
+                if (propagate() != null) {
+                    return this.ok = false;
+                }
+            } else {
+                final MSClause c = new MSClause(lits, true, false, this.clauseArena);
+                c.setLBD(clause.lbd);
+                c.setSizeWithoutSelectors(lits.size());
+                this.learnts.push(c);
+                attachClause(c);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Compacts the clause arena if more than a fifth of its literals belong to removed clauses.
+     */
+    protected void checkGarbage() {
+        if (this.clauseArena.wasted() > this.clauseArena.size() / 5) {
+            this.clauseArena.compact(this.clauses, this.learnts);
+        }
+    }
+
     /**
      * Removes all clauses which are satisfied under the current assignment of a set of clauses.
      * @param cs the set of clauses
@@ -717,6 +1150,39 @@ public abstract class MiniSatStyleSolver {
         return this.pgOriginalClauses;
     }
 
+    /**
+     * Returns the number of propagated literals since the construction or the last reset of this solver.
+     * @return the number of propagated literals
+     */
+    public long propagations() {
+        return this.numPropagations;
+    }
+
+    /**
+     * Returns the number of conflicts since the construction or the last reset of this solver.
+     * @return the number of conflicts
+     */
+    public long conflicts() {
+        return this.numConflicts;
+    }
+
+    /**
+     * Returns the time spent in the search of all calls of {@link #solve(SATHandler)} since the construction or the
+     * last reset of this solver in nanoseconds.
+     * @return the solving time in nanoseconds
+     */
+    public long solvingTime() {
+        return this.solvingTime;
+    }
+
+    /**
+     * Returns the number of propagated literals per second of {@link #solvingTime() solving time}.
+     * @return the number of propagated literals per second or 0 if the solver did not search yet
+     */
+    public double propagationsPerSecond() {
+        return this.solvingTime == 0 ? 0 : this.numPropagations * 1e9 / this.solvingTime;
+    }
+
     /**
      * Returns the proof clauses for proof generation.
      * @return the proof clauses for proof generation
@@ -812,6 +1278,138 @@ public abstract class MiniSatStyleSolver {
         return upZeroLiterals;
     }
 
+    ///// Cube Stuff /////
+
+    /**
+     * Splits the formula on the solver into cubes by a lookahead on the most frequent variables.  A cube is a set of
+     * literals which can be used as assumptions, the formula is satisfiable if and only if the formula is satisfiable
+     * under one of the cubes.
+     * <p>
+     * In each node of the splitting tree, all unassigned candidate variables are propagated in both phases and the
+     * variable with the largest product of propagated literals is chosen for splitting.  Phases which lead to a conflict
+     * are not split but added to the cube as implied literals, branches in which both phases of a variable lead to a
+     * conflict are refuted and yield no cube.  This method must only be called on decision level 0 and leaves the
+     * solver on decision level 0.
+     * @param depth         the number of splitting variables per cube
+     * @param numCandidates the maximal number of candidate variables for the lookahead
+     * @return the cubes or an empty list if the formula is unsatisfiable
+     */
+    public List<LNGIntVector> generateCubes(final int depth, final int numCandidates) {
+        cancelAssumptionLevels();
+        final List<LNGIntVector> cubes = new ArrayList<>();
+        if (!this.ok || propagate() != null) {
+            return cubes;
+        }
+        generateCubes(new LNGIntVector(), depth, lookaheadCandidates(numCandidates), cubes);
+        cancelUntil(0);
+        return cubes;
+    }
+
+    /**
+     * Returns the unassigned decision variables which occur most often in the original clauses.
+     * @param numCandidates the maximal number of candidates
+     * @return the candidate variables
+     */
+    protected LNGIntVector lookaheadCandidates(final int numCandidates) {
+        final int[] occurrences = new int[this.vars.size()];
+        for (int i = 0; i < this.clauses.size(); i++) {
+            final MSClause c = this.clauses.get(i);
+            for (int j = 0; j < c.size(); j++) {
+                occurrences[var(c.get(j))]++;
+            }
+        }
+        final List<Integer> candidates = new ArrayList<>();
+        for (int v = 0; v < this.vars.size(); v++) {
+            if (this.vars.get(v).decision() && this.vars.get(v).assignment() == UNDEF && occurrences[v] > 0) {
+                candidates.add(v);
+            }
+        }
+        candidates.sort((x, y) -> Integer.compare(occurrences[y], occurrences[x]));
+        final LNGIntVector result = new LNGIntVector(Math.min(numCandidates, candidates.size()));
+        for (int i = 0; i < numCandidates && i < candidates.size(); i++) {
+            result.push(candidates.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Recursively splits the current node of the splitting tree.
+     * @param cube       the literals of the current node, each assigned on its own decision level
+     * @param depth      the remaining number of splitting variables
+     * @param candidates the candidate variables
+     * @param cubes      the resulting cubes
+     */
+    protected void generateCubes(final LNGIntVector cube, final int depth, final LNGIntVector candidates, final List<LNGIntVector> cubes) {
+        if (depth == 0) {
+            cubes.add(new LNGIntVector(cube));
+            return;
+        }
+        int best = -1;
+        double bestScore = -1;
+        for (int i = 0; i < candidates.size(); i++) {
+            final int v = candidates.get(i);
+            if (this.vars.get(v).assignment() != UNDEF) {
+                continue;
+            }
+            final int pos = lookahead(mkLit(v, false));
+            final int neg = lookahead(mkLit(v, true));
+            if (pos < 0 && neg < 0) {
+                return;
+            }
+            if (pos < 0 || neg < 0) {
+                assumeCubeLiteral(cube, pos < 0 ? mkLit(v, true) : mkLit(v, false), depth, candidates, cubes);
+                return;
+            }
+            final double score = (pos + 1.0) * (neg + 1.0);
+            if (score > bestScore) {
+                best = v;
+                bestScore = score;
+            }
+        }
+        if (best == -1) {
+            cubes.add(new LNGIntVector(cube));
+            return;
+        }
+        assumeCubeLiteral(cube, mkLit(best, false), depth - 1, candidates, cubes);
+        assumeCubeLiteral(cube, mkLit(best, true), depth - 1, candidates, cubes);
+    }
+
+    /**
+     * Assigns a literal on a new decision level, splits the resulting node if there is no conflict, and removes the
+     * literal again.
+     * @param cube       the literals of the current node
+     * @param lit        the literal
+     * @param depth      the remaining number of splitting variables
+     * @param candidates the candidate variables
+     * @param cubes      the resulting cubes
+     */
+    protected void assumeCubeLiteral(final LNGIntVector cube, final int lit, final int depth, final LNGIntVector candidates,
+                                     final List<LNGIntVector> cubes) {
+        cube.push(lit);
+        this.trailLim.push(this.trail.size());
+        uncheckedEnqueue(lit, null);
+        if (propagate() == null) {
+            generateCubes(cube, depth, candidates, cubes);
+        }
+        cancelUntil(decisionLevel() - 1);
+        cube.pop();
+    }
+
+    /**
+     * Propagates a literal on a new decision level and removes the assignments afterwards.
+     * @param lit the literal
+     * @return the number of assigned literals or -1 if the propagation led to a conflict
+     */
+    protected int lookahead(final int lit) {
+        final int trailSize = this.trail.size();
+        this.trailLim.push(trailSize);
+        uncheckedEnqueue(lit, null);
+        final boolean conflict = propagate() != null;
+        final int assigned = this.trail.size() - trailSize;
+        cancelUntil(decisionLevel() - 1);
+        return conflict ? -1 : assigned;
+    }
+
     ///// Backbone Stuff /////
 
     /**
@@ -843,10 +1441,10 @@ public abstract class MiniSatStyleSolver {
     protected List<Integer> getRelevantVarIndices(final Collection<Variable> variables) {
         final List<Integer> relevantVarIndices = new ArrayList<>(variables.size());
         for (final Variable var : variables) {
-            final Integer idx = this.name2idx.get(var.name());
+            final int idx = idxForVariable(var);
             // Note: Unknown variables are variables added to the solver yet. Thus, these are optional variables and can
             // be left out for the backbone computation.
-            if (idx != null) {
+            if (idx != -1) {
                 relevantVarIndices.add(idx);
             }
         }
@@ -947,8 +1545,8 @@ public abstract class MiniSatStyleSolver {
         final SortedSet<Variable> negBackboneVars = isBothOrNegativeType(type) ? new TreeSet<>() : null;
         final SortedSet<Variable> optionalVars = isBothType(type) ? new TreeSet<>() : null;
         for (final Variable var : variables) {
-            final Integer idx = this.name2idx.get(var.name());
-            if (idx == null) {
+            final int idx = idxForVariable(var);
+            if (idx == -1) {
                 if (isBothType(type)) {
                     optionalVars.add(var);
                 }
@@ -1020,6 +1618,11 @@ public abstract class MiniSatStyleSolver {
                 return false;
             }
         }
+        for (final MSWatcher watcher : this.watchesBin.get(not(lit))) {
+            if (isUnit(lit, watcher.clause())) {
+                return false;
+            }
+        }
         return true;
     }
 
@@ -1071,8 +1674,8 @@ public abstract class MiniSatStyleSolver {
     public void setSelectionOrder(final List<? extends Literal> selectionOrder) {
         this.selectionOrder.clear();
         for (final Literal literal : selectionOrder) {
-            final Integer var = this.name2idx.get(literal.name());
-            if (var != null) {
+            final int var = idxForVariable(literal.variable());
+            if (var != -1) {
                 this.selectionOrder.push(mkLit(var, !literal.phase()));
             }
         }
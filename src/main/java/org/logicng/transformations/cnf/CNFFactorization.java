@@ -35,14 +35,21 @@ import static org.logicng.formulas.cache.TransformationCacheEntry.FACTORIZED_CNF
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.FormulaTransformation;
+import org.logicng.formulas.FormulaTraversal;
+import org.logicng.formulas.PostOrderVisitor;
 import org.logicng.handlers.FactorizationHandler;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.List;
 
 /**
  * Transformation of a formula in CNF by factorization.
- * @version 1.1
+ * <p>
+ * The formula is traversed iteratively in {@link FormulaTraversal post-order}, so formulas of arbitrary depth are
+ * supported.
+ * @version 2.1.0
  * @since 1.0
  */
 public final class CNFFactorization implements FormulaTransformation {
@@ -73,67 +80,70 @@ public final class CNFFactorization implements FormulaTransformation {
             this.handler.started();
         }
         this.proceed = true;
-        return applyRec(formula, cache);
+        return FormulaTraversal.postOrder(formula, new PostOrderVisitor<Formula>() {
+            @Override
+            public Formula cached(final Formula node) {
+                if (node.type().precedence() >= LITERAL.precedence()) {
+                    return node;
+                }
+                return node.transformationCacheEntry(FACTORIZED_CNF);
+            }
+
+            @Override
+            public Iterable<Formula> children(final Formula node) {
+                switch (node.type()) {
+                    case NOT:
+                    case IMPL:
+                    case EQUIV:
+                        return Collections.singletonList(node.nnf());
+                    default:
+                        return node;
+                }
+            }
+
+            @Override
+            public Formula visit(final Formula node, final List<Formula> operands) {
+                final Formula result = CNFFactorization.this.factorize(node, operands);
+                if (result != null && cache) {
+                    node.setTransformationCacheEntry(FACTORIZED_CNF, result);
+                }
+                return result;
+            }
+        });
     }
 
-    private Formula applyRec(final Formula formula, final boolean cache) {
+    /**
+     * Computes the factorized CNF of a node from the factorized CNFs of its children.
+     * @param formula  the node
+     * @param operands the factorized CNFs of the children
+     * @return the factorized CNF of the node or {@code null} if the computation was aborted by the handler
+     */
+    private Formula factorize(final Formula formula, final List<Formula> operands) {
         if (!this.proceed) {
             return null;
         }
-        if (formula.type().precedence() >= LITERAL.precedence()) {
-            return formula;
-        }
-        Formula cached = formula.transformationCacheEntry(FACTORIZED_CNF);
-        if (cached != null) {
-            return cached;
-        }
         switch (formula.type()) {
             case NOT:
             case IMPL:
             case EQUIV:
-                cached = this.applyRec(formula.nnf(), cache);
-                break;
+                return operands.get(0);
             case OR:
-                LinkedHashSet<Formula> nops = new LinkedHashSet<>();
-                for (final Formula op : formula) {
-                    if (!this.proceed) {
-                        return null;
-                    }
-                    nops.add(this.applyRec(op, cache));
-                }
-                final Iterator<Formula> it = nops.iterator();
-                cached = it.next();
+                final Iterator<Formula> it = new LinkedHashSet<>(operands).iterator();
+                Formula result = it.next();
                 while (it.hasNext()) {
                     if (!this.proceed) {
                         return null;
                     }
-                    cached = this.distribute(cached, it.next());
+                    result = this.distribute(result, it.next());
                 }
-                break;
+                return this.proceed ? result : null;
             case AND:
-                nops = new LinkedHashSet<>();
-                for (final Formula op : formula) {
-                    final Formula apply = this.applyRec(op, cache);
-                    if (!this.proceed) {
-                        return null;
-                    }
-                    nops.add(apply);
-                }
-                cached = formula.factory().and(nops);
-                break;
+                return formula.factory().and(operands);
             case PBC:
-                cached = formula.nnf();
-                break;
+                return formula.nnf();
             default:
                 throw new IllegalArgumentException("Could not process the formula type " + formula.type());
         }
-        if (this.proceed) {
-            if (cache) {
-                formula.setTransformationCacheEntry(FACTORIZED_CNF, cached);
-            }
-            return cached;
-        }
-        return null;
     }
 
     /**
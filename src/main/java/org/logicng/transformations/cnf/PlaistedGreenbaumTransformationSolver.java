@@ -36,6 +36,7 @@ import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Implication;
 import org.logicng.formulas.Literal;
 import org.logicng.formulas.Not;
+import org.logicng.formulas.Variable;
 import org.logicng.predicates.CNFPredicate;
 import org.logicng.predicates.ContainsPBCPredicate;
 import org.logicng.propositions.Proposition;
@@ -49,7 +50,7 @@ import java.util.Map;
 /**
  * A Plaisted-Greenbaum CNF conversion which is performed directly on the internal SAT solver,
  * not on a formula factory.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.6.0
  */
 public final class PlaistedGreenbaumTransformationSolver {
@@ -90,6 +91,23 @@ public final class PlaistedGreenbaumTransformationSolver {
         }
     }
 
+    /**
+     * Returns a copy of this transformation for a copy of its solver.  The copy starts with the same cache of
+     * auxiliary variables, so formulas which are added to both solvers lead to the same clauses.
+     * @param solver the copy of the solver
+     * @return the copy of this transformation
+     */
+    public PlaistedGreenbaumTransformationSolver copy(final MiniSatStyleSolver solver) {
+        final PlaistedGreenbaumTransformationSolver copy = new PlaistedGreenbaumTransformationSolver(this.performNNF, solver, this.initialPhase);
+        for (final Map.Entry<Formula, VarCacheEntry> entry : this.variableCache.entrySet()) {
+            final VarCacheEntry cacheEntry = new VarCacheEntry(entry.getValue().pgVar);
+            cacheEntry.posPolarityCached = entry.getValue().posPolarityCached;
+            cacheEntry.negPolarityCached = entry.getValue().negPolarityCached;
+            copy.variableCache.put(entry.getKey(), cacheEntry);
+        }
+        return copy;
+    }
+
     /**
      * Clears the cache.
      */
@@ -120,7 +138,7 @@ public final class PlaistedGreenbaumTransformationSolver {
         switch (formula.type()) {
             case LITERAL:
                 final Literal lit = (Literal) formula;
-                return polarity ? vector(solverLiteral(lit.name(), lit.phase())) : vector(solverLiteral(lit.name(), lit.phase()) ^ 1);
+                return polarity ? vector(solverLiteral(lit)) : vector(solverLiteral(lit) ^ 1);
             case NOT:
                 return computeTransformation(((Not) formula).operand(), !polarity, proposition, topLevel);
             case OR:
@@ -292,18 +310,19 @@ public final class PlaistedGreenbaumTransformationSolver {
     private LNGIntVector generateClauseVector(final Collection<Literal> literals) {
         final LNGIntVector clauseVec = new LNGIntVector(literals.size());
         for (final Literal lit : literals) {
-            clauseVec.unsafePush(solverLiteral(lit.name(), lit.phase()));
+            clauseVec.unsafePush(solverLiteral(lit));
         }
         return clauseVec;
     }
 
-    private int solverLiteral(final String name, final boolean phase) {
-        int index = this.solver.idxForName(name);
+    private int solverLiteral(final Literal lit) {
+        final Variable var = lit.variable();
+        int index = this.solver.idxForVariable(var);
         if (index == -1) {
             index = this.solver.newVar(!this.initialPhase, true);
-            this.solver.addName(name, index);
+            this.solver.addVariable(var, index);
         }
-        return phase ? index * 2 : (index * 2) ^ 1;
+        return lit.phase() ? index * 2 : (index * 2) ^ 1;
     }
 
     private int newSolverVariable() {
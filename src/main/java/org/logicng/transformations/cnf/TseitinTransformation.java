@@ -37,10 +37,16 @@ import org.logicng.formulas.FType;
 import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.FormulaTransformation;
+import org.logicng.formulas.FormulaTraversal;
 import org.logicng.formulas.Literal;
+import org.logicng.formulas.PostOrderVisitor;
 import org.logicng.predicates.CNFPredicate;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashSet;
 import java.util.List;
 
 /**
@@ -48,7 +54,7 @@ import java.util.List;
  * <p>
  * ATTENTION: if you mix formulas from different formula factories this can lead to clashes in the naming of newly
  * introduced variables.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public final class TseitinTransformation implements FormulaTransformation {
@@ -82,12 +88,12 @@ public final class TseitinTransformation implements FormulaTransformation {
             final Assignment topLevel = new Assignment((Literal) f.transformationCacheEntry(TSEITIN_VARIABLE));
             return f.transformationCacheEntry(TSEITIN).restrict(topLevel);
         }
-        if (f.numberOfAtoms() < this.boundaryForFactorization) {
+        if (hasFewerAtomsThan(f, this.boundaryForFactorization)) {
             tseitin = f.transform(this.factorization);
         } else {
-            for (final Formula formula1 : f.apply(f.factory().subformulaFunction())) {
-                computeTseitin(formula1);
-            }
+            final LinkedHashSet<Formula> clauses = new LinkedHashSet<>();
+            FormulaTraversal.postOrder(f, new TseitinVisitor(clauses));
+            f.setTransformationCacheEntry(TSEITIN, f.factory().and(clauses));
             final Assignment topLevel = new Assignment((Literal) f.transformationCacheEntry(TSEITIN_VARIABLE));
             tseitin = f.transformationCacheEntry(TSEITIN).restrict(topLevel);
         }
@@ -98,57 +104,91 @@ public final class TseitinTransformation implements FormulaTransformation {
     }
 
     /**
-     * Computes the Tseitin transformation for a given formula and stores it in the formula cache.
-     * @param formula the formula
+     * Returns whether the given formula has fewer atoms than the given boundary.  In contrast to
+     * {@link Formula#numberOfAtoms()} the atoms are counted iteratively and only up to the boundary.
+     * @param formula  the formula
+     * @param boundary the boundary
+     * @return {@code true} if the formula has fewer atoms than the boundary, otherwise {@code false}
      */
-    private void computeTseitin(final Formula formula) {
-        if (formula.transformationCacheEntry(TSEITIN) != null) {
-            return;
-        }
-        final FormulaFactory f = formula.factory();
-        switch (formula.type()) {
-            case LITERAL:
-                formula.setTransformationCacheEntry(TSEITIN, formula);
-                formula.setTransformationCacheEntry(TSEITIN_VARIABLE, formula);
-                break;
-            case AND:
-            case OR:
-                final boolean isConjunction = formula instanceof And;
-                final Literal tsLiteral = f.newCNFVariable();
-                final List<Formula> nops = new ArrayList<>();
-                final List<Formula> operands = new ArrayList<>(formula.numberOfOperands());
-                final List<Formula> negOperands = new ArrayList<>(formula.numberOfOperands());
-                if (isConjunction) {
-                    negOperands.add(tsLiteral);
-                    handleNary(formula, nops, operands, negOperands);
-                    for (final Formula operand : operands) {
-                        nops.add(f.or(tsLiteral.negate(), operand));
-                    }
-                    nops.add(f.or(negOperands));
-                } else {
-                    operands.add(tsLiteral.negate());
-                    handleNary(formula, nops, operands, negOperands);
-                    for (final Formula operand : negOperands) {
-                        nops.add(f.or(tsLiteral, operand));
-                    }
-                    nops.add(f.or(operands));
+    private static boolean hasFewerAtomsThan(final Formula formula, final int boundary) {
+        final Deque<Formula> stack = new ArrayDeque<>();
+        stack.push(formula);
+        int atoms = 0;
+        while (!stack.isEmpty() && atoms < boundary) {
+            final Formula current = stack.pop();
+            if (current.isAtomicFormula()) {
+                atoms++;
+            } else {
+                for (final Formula op : current) {
+                    stack.push(op);
                 }
-                formula.setTransformationCacheEntry(TSEITIN_VARIABLE, tsLiteral);
-                formula.setTransformationCacheEntry(TSEITIN, f.and(nops));
-                break;
-            default:
-                throw new IllegalArgumentException("Could not process the formula type " + formula.type());
+            }
         }
+        return atoms < boundary;
     }
 
-    private void handleNary(final Formula formula, final List<Formula> nops, final List<Formula> operands, final List<Formula> negOperands) {
-        for (final Formula op : formula) {
-            if (op.type() != FType.LITERAL) {
-                computeTseitin(op);
-                nops.add(op.transformationCacheEntry(TSEITIN));
+    /**
+     * A post-order visitor which introduces the Tseitin variables and collects the defining clauses of all nodes of a
+     * formula in NNF.
+     * <p>
+     * Only the Tseitin variable is stored in the cache of inner nodes, the clauses are only stored for the whole
+     * formula.  Storing the complete Tseitin CNF for every inner node would result in a quadratic effort on deep
+     * formulas.  Nodes with a cached Tseitin CNF (the formulas of earlier calls) are not traversed again.
+     */
+    private static final class TseitinVisitor implements PostOrderVisitor<Literal> {
+
+        private final LinkedHashSet<Formula> clauses;
+
+        private TseitinVisitor(final LinkedHashSet<Formula> clauses) {
+            this.clauses = clauses;
+        }
+
+        @Override
+        public Literal cached(final Formula formula) {
+            if (formula.type() == FType.LITERAL) {
+                return (Literal) formula;
+            }
+            final Formula tseitin = formula.transformationCacheEntry(TSEITIN);
+            if (tseitin == null) {
+                return null;
+            }
+            this.clauses.addAll(tseitin.type() == FType.AND ? toList(tseitin) : Collections.singletonList(tseitin));
+            return (Literal) formula.transformationCacheEntry(TSEITIN_VARIABLE);
+        }
+
+        @Override
+        public Literal visit(final Formula formula, final List<Literal> operandVariables) {
+            if (formula.type() != FType.AND && formula.type() != FType.OR) {
+                throw new IllegalArgumentException("Could not process the formula type " + formula.type());
+            }
+            final FormulaFactory f = formula.factory();
+            final Formula cachedVariable = formula.transformationCacheEntry(TSEITIN_VARIABLE);
+            final Literal tsLiteral = cachedVariable != null ? (Literal) cachedVariable : f.newCNFVariable();
+            final List<Formula> lastClause = new ArrayList<>(operandVariables.size() + 1);
+            if (formula instanceof And) {
+                lastClause.add(tsLiteral);
+                for (final Literal operand : operandVariables) {
+                    this.clauses.add(f.or(tsLiteral.negate(), operand));
+                    lastClause.add(operand.negate());
+                }
+            } else {
+                lastClause.add(tsLiteral.negate());
+                for (final Literal operand : operandVariables) {
+                    this.clauses.add(f.or(tsLiteral, operand.negate()));
+                    lastClause.add(operand);
+                }
+            }
+            this.clauses.add(f.or(lastClause));
+            formula.setTransformationCacheEntry(TSEITIN_VARIABLE, tsLiteral);
+            return tsLiteral;
+        }
+
+        private static List<Formula> toList(final Formula formula) {
+            final List<Formula> operands = new ArrayList<>(formula.numberOfOperands());
+            for (final Formula op : formula) {
+                operands.add(op);
             }
-            operands.add(op.transformationCacheEntry(TSEITIN_VARIABLE));
-            negOperands.add(op.transformationCacheEntry(TSEITIN_VARIABLE).negate());
+            return operands;
         }
     }
 
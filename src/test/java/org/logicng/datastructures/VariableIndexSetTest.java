@@ -0,0 +1,148 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.datastructures;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * Unit tests for {@link VariableIndexSet}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class VariableIndexSetTest {
+
+    @Test
+    public void testConstruction() {
+        assertThat(VariableIndexSet.empty().isEmpty()).isTrue();
+        assertThat(VariableIndexSet.of()).isSameAs(VariableIndexSet.empty());
+        final VariableIndexSet dense = VariableIndexSet.of(5, 3, 70, 3, 64);
+        assertThat(dense.size()).isEqualTo(4);
+        assertThat(dense.toArray()).containsExactly(3, 5, 64, 70);
+        assertThat(dense.contains(70)).isTrue();
+        assertThat(dense.contains(4)).isFalse();
+        assertThat(dense.contains(-1)).isFalse();
+        final VariableIndexSet sparse = VariableIndexSet.of(1000, 1, 100000);
+        assertThat(sparse.toArray()).containsExactly(1, 1000, 100000);
+        assertThat(sparse.stream().sum()).isEqualTo(101001);
+        assertThat(sparse.contains(1000)).isTrue();
+        assertThat(sparse.contains(999)).isFalse();
+        assertThat(VariableIndexSet.of(100000, 1000, 1)).isEqualTo(sparse).hasSameHashCodeAs(sparse);
+        assertThat(sparse).isNotEqualTo(dense);
+        assertThat(dense.toString()).isEqualTo("VariableIndexSet{indices=[3, 5, 64, 70]}");
+        assertThatThrownBy(() -> VariableIndexSet.of(1, -2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testSetOperations() {
+        final VariableIndexSet a = VariableIndexSet.of(1, 2, 3, 64, 65);
+        final VariableIndexSet b = VariableIndexSet.of(3, 4, 65, 130);
+        final VariableIndexSet c = VariableIndexSet.of(2, 5000);
+        assertThat(a.union(b).toArray()).containsExactly(1, 2, 3, 4, 64, 65, 130);
+        assertThat(a.union(c).toArray()).containsExactly(1, 2, 3, 64, 65, 5000);
+        assertThat(VariableIndexSet.union(a, b, c, VariableIndexSet.empty()).toArray()).containsExactly(1, 2, 3, 4, 64, 65, 130, 5000);
+        assertThat(a.union(VariableIndexSet.empty())).isSameAs(a);
+        assertThat(a.intersection(b).toArray()).containsExactly(3, 65);
+        assertThat(a.intersection(c).toArray()).containsExactly(2);
+        assertThat(b.intersection(c).isEmpty()).isTrue();
+        assertThat(a.intersects(b)).isTrue();
+        assertThat(a.intersects(c)).isTrue();
+        assertThat(b.intersects(c)).isFalse();
+        assertThat(a.intersects(VariableIndexSet.empty())).isFalse();
+        assertThat(a.union(b).containsAll(b)).isTrue();
+        assertThat(a.containsAll(b)).isFalse();
+        assertThat(a.containsAll(VariableIndexSet.of(2, 65))).isTrue();
+        assertThat(c.union(a).containsAll(c)).isTrue();
+        assertThat(a.containsAll(c)).isFalse();
+        assertThat(VariableIndexSet.empty().containsAll(VariableIndexSet.empty())).isTrue();
+    }
+
+    @Test
+    public void testRandomSetOperations() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            final int range = random.nextBoolean() ? 200 : 20000;
+            final int[] first = random.ints(random.nextInt(40), 0, range).toArray();
+            final int[] second = random.ints(random.nextInt(40), 0, range).toArray();
+            final VariableIndexSet set1 = VariableIndexSet.of(first);
+            final VariableIndexSet set2 = VariableIndexSet.of(second);
+            final SortedSet<Integer> tree1 = toTreeSet(first);
+            final SortedSet<Integer> tree2 = toTreeSet(second);
+            final SortedSet<Integer> union = new TreeSet<>(tree1);
+            union.addAll(tree2);
+            final SortedSet<Integer> intersection = new TreeSet<>(tree1);
+            intersection.retainAll(tree2);
+            assertThat(set1.size()).isEqualTo(tree1.size());
+            assertThat(set1.union(set2).stream().boxed()).containsExactlyElementsOf(union);
+            assertThat(set1.union(set2)).isEqualTo(VariableIndexSet.of(union.stream().mapToInt(x -> x).toArray()));
+            assertThat(set1.intersection(set2).stream().boxed()).containsExactlyElementsOf(intersection);
+            assertThat(set1.intersects(set2)).isEqualTo(!intersection.isEmpty());
+            assertThat(set1.containsAll(set2)).isEqualTo(tree1.containsAll(tree2));
+            assertThat(set1.union(set2).containsAll(set2)).isTrue();
+        }
+    }
+
+    @Test
+    public void testFormulaVariableIndexSets() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Variable a = f.variable("a");
+        final Variable b = f.variable("b");
+        assertThat(b.index()).isGreaterThan(a.index());
+        assertThat(f.literal("a", false).variable().index()).isEqualTo(a.index());
+        final Formula formula = f.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (2*a + 3*~b + i >= 2) & $true");
+        assertThat(formula.variableIndexSet()).isEqualTo(VariableIndexSet.of(formula.variables()));
+        assertThat(formula.variableIndexSet().contains(f.variable("i"))).isTrue();
+        assertThat(formula.variableIndexSet().contains(f.variable("x"))).isFalse();
+        assertThat(f.verum().variableIndexSet().isEmpty()).isTrue();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(100).weightPbc(1).seed(42).build());
+        for (int i = 0; i < 200; i++) {
+            final Formula random = randomizer.formula(4);
+            assertThat(random.variableIndexSet()).isEqualTo(VariableIndexSet.of(random.variables()));
+        }
+    }
+
+    private static SortedSet<Integer> toTreeSet(final int[] values) {
+        final SortedSet<Integer> result = new TreeSet<>();
+        Arrays.stream(values).forEach(result::add);
+        return result;
+    }
+}
@@ -59,7 +59,7 @@ import java.util.List;
 
 /**
  * Unit tests for {@link DRUPTrim}.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.3
  */
 public class DRUPTest implements LogicNGTest {
@@ -69,11 +69,13 @@ public class DRUPTest implements LogicNGTest {
     private final SATSolver[] solvers;
 
     public DRUPTest() {
-        this.solvers = new SATSolver[3];
+        this.solvers = new SATSolver[4];
         this.solvers[0] = MiniSat.miniSat(this.f, MiniSatConfig.builder().proofGeneration(true).incremental(true).build());
         this.solvers[1] = MiniSat.miniSat(this.f, MiniSatConfig.builder().proofGeneration(true).incremental(false).build());
         this.solvers[2] = MiniSat.glucose(this.f, MiniSatConfig.builder().proofGeneration(true).incremental(false).build(),
                 GlucoseConfig.builder().build());
+        this.solvers[3] = MiniSat.glucose(this.f, MiniSatConfig.builder().proofGeneration(true).incremental(false).build(),
+                GlucoseConfig.builder().inprocessing(true).inprocessingInterval(100).build());
     }
 
     @Test
@@ -0,0 +1,138 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link BatchFormulaImporter} and {@link FormulaFactory#importFormulas(java.util.Collection, boolean)}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class BatchFormulaImporterTest {
+
+    @Test
+    public void testSimpleImport() throws ParserException {
+        final FormulaFactory source = new FormulaFactory();
+        final FormulaFactory target = new FormulaFactory();
+        final Formula f1 = source.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h)");
+        final Formula f2 = source.parse("(a | ~b) & (2*a + 3*~b + c >= 2) & (a + b + c <= 1) & $true");
+        final Formula f3 = target.parse("x & y");
+        final FormulaImportResult result = target.importFormulas(Arrays.asList(f1, f2, f3, source.falsum()));
+        assertThat(result.formulas()).containsExactly(target.importFormula(f1), target.importFormula(f2), f3, target.falsum());
+        assertThat(result.formulas()).allMatch(formula -> formula.factory() == target);
+        assertThat(result.formulas().get(2)).isSameAs(f3);
+        final Formula shared = source.parse("a | ~b");
+        assertThat(result.get(shared)).isSameAs(target.parse("a | ~b"));
+        assertThat(result.get(source.literal("b", false))).isSameAs(target.literal("b", false));
+        assertThat(result.get(source.variable("unknown"))).isNull();
+        final Map<Integer, Integer> ids = result.idMapping();
+        assertThat(ids).hasSize(result.numberOfNodes() - 1);
+        assertThat(ids.get(f1.id())).isEqualTo(result.formulas().get(0).id());
+        assertThat(ids.get(shared.id())).isEqualTo(target.parse("a | ~b").id());
+        assertThat(target.importFormulas(Collections.emptyList()).formulas()).isEmpty();
+    }
+
+    @Test
+    public void testSharedSubFormulasAreImportedOnce() {
+        final FormulaFactory source = new FormulaFactory();
+        final FormulaFactory target = new FormulaFactory();
+        Formula chain = source.variable("v0");
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 1; i < 5000; i++) {
+            chain = source.or(source.and(chain, source.variable("v" + i)), source.literal("w" + i, false));
+            formulas.add(chain);
+        }
+        final FormulaImportResult result = target.importFormulas(formulas);
+        assertThat(result.numberOfNodes()).isEqualTo(4 * 4999 + 1);
+        assertThat(result.get(chain)).isSameAs(result.formulas().get(4998));
+        assertThat(target.statistics().conjunctions2()).isEqualTo(4999);
+    }
+
+    @Test
+    public void testGeneratedVariables() throws ParserException {
+        final FormulaFactory source = new FormulaFactory();
+        final FormulaFactory target = new FormulaFactory();
+        final Formula cnf = source.parse("(a & b) | (c & d) | (e & f)").cnf();
+        final Formula pbc = source.pbc(CType.LE, 2, Arrays.asList(source.variable("x"), source.variable("@RESERVED_PB_3")), Arrays.asList(1, 2));
+        final FormulaImportResult result = target.importFormulas(Arrays.asList(cnf, pbc, source.variable("@RESERVED_CC_7")));
+        assertThat(result.formulas().get(0)).isEqualTo(cnf);
+        assertThat(result.formulas().get(1)).isEqualTo(pbc);
+        assertThat(target.newPBVariable().name()).isEqualTo("@RESERVED_PB_4");
+        assertThat(target.newCCVariable().name()).isEqualTo("@RESERVED_CC_8");
+    }
+
+    @Test
+    public void testParallelImport() {
+        final FormulaFactory source = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(source, FormulaRandomizerConfig.builder().numVars(20).weightPbc(1).seed(42).build());
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            formulas.add(randomizer.formula(5));
+        }
+        formulas.add(source.and(formulas));
+        final FormulaImportResult sequential = new FormulaFactory().importFormulas(formulas);
+        final FormulaFactory target = new ConcurrentFormulaFactory();
+        final FormulaImportResult parallel = target.importFormulas(formulas, true);
+        assertThat(parallel.formulas()).isEqualTo(sequential.formulas());
+        assertThat(parallel.numberOfNodes()).isEqualTo(sequential.numberOfNodes());
+        for (final Formula formula : formulas) {
+            assertThat(parallel.get(formula)).isSameAs(target.importFormula(formula));
+        }
+        assertThatThrownBy(() -> new FormulaFactory().importFormulas(formulas, true)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testSameMappingInBothModes() throws ParserException {
+        final FormulaFactory source1 = new FormulaFactory();
+        final FormulaFactory source2 = new FormulaFactory();
+        final List<Formula> formulas = Arrays.asList(source1.parse("(a & b) | ~c"), source2.parse("(a & b) | ~c"), source2.parse("a & b => d"));
+        final FormulaImportResult sequential = new FormulaFactory().importFormulas(formulas);
+        final FormulaImportResult parallel = new ConcurrentFormulaFactory().importFormulas(formulas, true);
+        assertThat(parallel.numberOfNodes()).isEqualTo(sequential.numberOfNodes()).isEqualTo(12);
+        for (final Formula formula : formulas) {
+            for (final Formula node : FormulaTraversal.postOrderNodes(formula)) {
+                assertThat(sequential.get(node)).isNotNull();
+                assertThat(parallel.get(node)).isEqualTo(sequential.get(node));
+            }
+        }
+    }
+}
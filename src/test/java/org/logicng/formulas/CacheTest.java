@@ -29,18 +29,26 @@
 package org.logicng.formulas;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.cache.CacheStatistics;
 import org.logicng.formulas.cache.FunctionCacheEntry;
 import org.logicng.formulas.cache.PredicateCacheEntry;
 import org.logicng.formulas.cache.TransformationCacheEntry;
+import org.logicng.functions.FormulaDepthFunction;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.predicates.DNFPredicate;
+import org.logicng.transformations.cnf.CNFFactorization;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 /**
  * Unit tests for the package formulas.cache.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.1
  */
 public class CacheTest {
@@ -81,4 +89,108 @@ public class CacheTest {
         assertThat(valuesFunc.contains(FunctionCacheEntry.valueOf("LITPROFILE"))).isTrue();
         assertThat(valuesFunc.contains(FunctionCacheEntry.valueOf("SUBFORMULAS"))).isTrue();
     }
+
+    @Test
+    public void testUnboundedCachesHaveNoStatistics() {
+        final FormulaFactory f = new FormulaFactory();
+        assertThat(f.cacheStatistics(TransformationCacheEntry.NNF)).isNull();
+        assertThat(f.cacheStatistics(PredicateCacheEntry.IS_CNF)).isNull();
+    }
+
+    @Test
+    public void testIllegalCapacities() {
+        assertThatThrownBy(() -> FormulaFactoryConfig.builder().cacheCapacity(TransformationCacheEntry.NNF, -1))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The cache capacity must not be negative.");
+        assertThatThrownBy(() -> FormulaFactoryConfig.builder().cacheCapacity(TransformationCacheEntry.TSEITIN, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The cache for TSEITIN cannot be bounded.");
+        assertThatThrownBy(() -> FormulaFactoryConfig.builder().cacheCapacity(TransformationCacheEntry.PLAISTED_GREENBAUM_VARIABLE, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The cache for PLAISTED_GREENBAUM_VARIABLE cannot be bounded.");
+        assertThatThrownBy(() -> FormulaFactoryConfig.builder().cacheCapacity(PredicateCacheEntry.IS_CNF, 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("The cache for IS_CNF cannot be bounded.");
+    }
+
+    @Test
+    public void testBoundedTransformationCache() throws ParserException {
+        final FormulaFactory f = new FormulaFactory(FormulaFactoryConfig.builder().cacheCapacity(TransformationCacheEntry.FACTORIZED_CNF, 2).build());
+        final Formula f1 = f.parse("a => b");
+        final Formula f2 = f.parse("c <=> d");
+        final Formula f3 = f.parse("e <=> f");
+        f1.setTransformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF, f.verum());
+        f2.setTransformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF, f.falsum());
+        assertThat(f1.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF)).isEqualTo(f.verum());
+        f3.setTransformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF, f.variable("x"));
+        assertThat(f1.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF)).isEqualTo(f.verum());
+        assertThat(f2.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF)).isNull();
+        assertThat(f3.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF)).isEqualTo(f.variable("x"));
+        assertThat(f.cacheStatistics(TransformationCacheEntry.FACTORIZED_CNF))
+                .isEqualTo(new CacheStatistics(TransformationCacheEntry.FACTORIZED_CNF, 2, 2, 3, 1, 1));
+        f3.setTransformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF, null);
+        assertThat(f.cacheStatistics(TransformationCacheEntry.FACTORIZED_CNF).size()).isEqualTo(1);
+        f1.clearCaches();
+        assertThat(f1.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF)).isNull();
+        assertThat(f.cacheStatistics(TransformationCacheEntry.FACTORIZED_CNF).size()).isEqualTo(0);
+        f2.setTransformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF, f.falsum());
+        f.clear();
+        assertThat(f.cacheStatistics(TransformationCacheEntry.FACTORIZED_CNF).size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testConcurrentBoundedTransformationCache() throws ParserException, InterruptedException {
+        final FormulaFactory f = new ConcurrentFormulaFactory(FormulaFactoryConfig.builder().cacheCapacity(TransformationCacheEntry.FACTORIZED_CNF, 10).build());
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            formulas.add(f.parse(String.format("(a%d & b%d) | (c%d & d%d)", i, i, i, i)));
+        }
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            threads.add(new Thread(() -> {
+                for (int round = 0; round < 20; round++) {
+                    for (final Formula formula : formulas) {
+                        formula.transform(new CNFFactorization());
+                    }
+                }
+            }));
+        }
+        for (final Thread thread : threads) {
+            thread.start();
+        }
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        final long cached = formulas.stream().filter(it -> it.transformationCacheEntry(TransformationCacheEntry.FACTORIZED_CNF) != null).count();
+        final CacheStatistics statistics = f.cacheStatistics(TransformationCacheEntry.FACTORIZED_CNF);
+        assertThat(cached).isGreaterThan(0).isLessThanOrEqualTo(statistics.size());
+        assertThat(statistics.size()).isLessThanOrEqualTo(10);
+        assertThat(statistics.evictions()).isGreaterThan(0);
+    }
+
+    @Test
+    public void testBoundedPredicateAndFunctionCache() throws ParserException {
+        final FormulaFactory f = new FormulaFactory(FormulaFactoryConfig.builder()
+                .cacheCapacity(PredicateCacheEntry.IS_DNF, 1)
+                .cacheCapacity(FunctionCacheEntry.DEPTH, 0)
+                .build());
+        final Formula f1 = f.parse("(a & b) | c");
+        final Formula f2 = f.parse("(a | b) & c");
+        assertThat(f1.holds(DNFPredicate.get())).isTrue();
+        assertThat(f2.holds(DNFPredicate.get())).isFalse();
+        assertThat(f1.predicateCacheEntry(PredicateCacheEntry.IS_DNF)).isEqualTo(Tristate.UNDEF);
+        assertThat(f2.predicateCacheEntry(PredicateCacheEntry.IS_DNF)).isEqualTo(Tristate.FALSE);
+        assertThat(f.cacheStatistics(PredicateCacheEntry.IS_DNF).size()).isEqualTo(1);
+        assertThat(f1.apply(new FormulaDepthFunction())).isEqualTo(2);
+        assertThat(f1.functionCacheEntry(FunctionCacheEntry.DEPTH)).isNull();
+        assertThat(f.cacheStatistics(FunctionCacheEntry.DEPTH).size()).isEqualTo(0);
+        assertThat(f.cacheStatistics(FunctionCacheEntry.DEPTH).capacity()).isEqualTo(0);
+    }
+
+    @Test
+    public void testCacheStatisticsToString() {
+        final CacheStatistics statistics = new CacheStatistics(FunctionCacheEntry.DEPTH, 10, 5, 3, 2, 1);
+        assertThat(statistics.toString()).isEqualTo("CacheStatistics{entry=DEPTH, capacity=10, size=5, hits=3, misses=2, evictions=1}");
+        assertThat(statistics.hashCode()).isEqualTo(new CacheStatistics(FunctionCacheEntry.DEPTH, 10, 5, 3, 2, 1).hashCode());
+    }
 }
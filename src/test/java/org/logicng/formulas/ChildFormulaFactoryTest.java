@@ -0,0 +1,165 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.cache.TransformationCacheEntry;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.predicates.NNFPredicate;
+import org.logicng.predicates.satisfiability.SATPredicate;
+import org.logicng.transformations.cnf.CNFConfig;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for frozen formula factories and {@link ChildFormulaFactory}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class ChildFormulaFactoryTest {
+
+    @Test
+    public void testFreeze() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | ~b) & (c => d)");
+        assertThat(f.isFrozen()).isFalse();
+        assertThatThrownBy(f::childFactory).isInstanceOf(IllegalStateException.class);
+        f.freeze();
+        f.freeze();
+        assertThat(f.isFrozen()).isTrue();
+        assertThatThrownBy(f::clear).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> f.putConfiguration(CNFConfig.builder().build())).isInstanceOf(IllegalStateException.class);
+        final ExtendedFormulaFactory extended = new ExtendedFormulaFactory();
+        final FormulaFactoryState state = extended.save();
+        extended.freeze();
+        assertThatThrownBy(() -> extended.load(state)).isInstanceOf(IllegalStateException.class);
+        assertThat(f.parse("(a | ~b) & (c => d)")).isSameAs(formula);
+        assertThat(f.statistics().conjunctions2()).isEqualTo(1);
+    }
+
+    @Test
+    public void testChildFactory() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula clause = f.parse("a | ~b");
+        final Formula formula = f.parse("(a | ~b) & (c => d)");
+        f.freeze();
+        final ChildFormulaFactory child = f.childFactory();
+        assertThat(f.childFactory()).isSameAs(child);
+        assertThat(child.parent()).isSameAs(f);
+        assertThat((Formula) child.variable("a")).isSameAs(f.variable("a"));
+        assertThat(child.or(f.variable("a"), child.literal("b", false))).isSameAs(clause);
+        assertThat(child.verum()).isSameAs(f.verum());
+        final Formula extended = child.and(formula, child.variable("x"));
+        assertThat(extended.factory()).isSameAs(child);
+        assertThat(extended.id()).isGreaterThan(formula.id());
+        assertThat(child.variable("x").index()).isGreaterThan(f.variable("d").index());
+        assertThat(extended.numberOfOperands()).isEqualTo(3);
+        assertThat(extended.containsNode(clause)).isTrue();
+        assertThat(f.and(formula, f.variable("x"))).isSameAs(extended);
+        assertThat(f.statistics().conjunctions2()).isEqualTo(1);
+        assertThat(child.statistics().conjunctions3()).isEqualTo(1);
+        assertThat(child.newCNFVariable().name()).isEqualTo("@RESERVED_CNF_0");
+        child.clear();
+        assertThat(child.statistics().conjunctions3()).isEqualTo(0);
+        assertThat(child.statistics().conjunctions2()).isEqualTo(1);
+        f.releaseChildFactory();
+        assertThat(f.childFactory()).isNotSameAs(child);
+    }
+
+    @Test
+    public void testCachesOfFrozenFormulasAreNotUpdated() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("~(a & b) | (c <=> d)");
+        final Formula nnf = formula.nnf();
+        final Formula other = f.parse("(a | b) => (c & ~d)");
+        f.freeze();
+        assertThat(formula.nnf()).isSameAs(nnf);
+        final Formula otherNnf = other.nnf();
+        assertThat(otherNnf.factory()).isSameAs(f.childFactory());
+        assertThat(other.transformationCacheEntry(TransformationCacheEntry.NNF)).isNull();
+        assertThat(f.variable("e").negate().factory()).isSameAs(f.childFactory());
+        assertThat(other.holds(new SATPredicate(f))).isTrue();
+    }
+
+    @Test
+    public void testParallelReads() throws ParserException, ExecutionException, InterruptedException {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(10).weightPbc(1).seed(42).build());
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            formulas.add(randomizer.formula(4));
+        }
+        final FormulaFactory reference = new FormulaFactory();
+        final List<Formula> referenceFormulas = new ArrayList<>();
+        for (final Formula formula : formulas) {
+            referenceFormulas.add(reference.parse(formula.toString()));
+        }
+        f.freeze();
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            futures.add(executor.submit(() -> {
+                final Random random = new Random(seed);
+                for (int i = 0; i < formulas.size(); i++) {
+                    final Assignment assignment = new Assignment();
+                    for (final Variable var : referenceFormulas.get(i).variables()) {
+                        if (random.nextBoolean()) {
+                            assignment.addLiteral(reference.literal(var.name(), random.nextBoolean()));
+                        }
+                    }
+                    final Formula formula = formulas.get(i);
+                    final Formula restricted = formula.restrict(assignment);
+                    assertThat(restricted).isEqualTo(referenceFormulas.get(i).restrict(assignment));
+                    assertThat(restricted.factory() == f || restricted.factory() == f.childFactory()).isTrue();
+                    assertThat(formula.variables()).isEqualTo(referenceFormulas.get(i).variables());
+                    final Formula nnf = formula.nnf();
+                    assertThat(nnf.holds(NNFPredicate.get())).isTrue();
+                    assertThat(nnf.factory() == f || nnf.factory() == f.childFactory()).isTrue();
+                }
+            }));
+        }
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+    }
+}
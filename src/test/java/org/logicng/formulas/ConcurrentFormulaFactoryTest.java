@@ -0,0 +1,157 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.parsers.PropositionalParser;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for the class {@link ConcurrentFormulaFactory}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class ConcurrentFormulaFactoryTest {
+
+    private static final int THREADS = 8;
+
+    @Test
+    public void testSingleThreaded() throws ParserException {
+        final FormulaFactory f = new ConcurrentFormulaFactory();
+        final FormulaFactory g = new FormulaFactory();
+        final String string = "(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (a + b + c <= 2) & (2*a + 3*~b >= 2)";
+        final Formula formula = f.parse(string);
+        assertThat(f.parse(string)).isSameAs(formula);
+        assertThat(formula).isEqualTo(g.parse(string));
+        assertThat(f.statistics().formulas()).isEqualTo(g.statistics().formulas());
+    }
+
+    @Test
+    public void testCanonicalFormulasOnConcurrentConstruction() throws ExecutionException, InterruptedException {
+        final FormulaFactory f = new ConcurrentFormulaFactory();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<List<Formula>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final Callable<List<Formula>> task = () -> generateFormulas(f);
+                futures.add(executor.submit(task));
+            }
+            final List<Formula> expected = futures.get(0).get();
+            for (final Future<List<Formula>> future : futures) {
+                final List<Formula> result = future.get();
+                assertThat(result).hasSameSizeAs(expected);
+                for (int i = 0; i < result.size(); i++) {
+                    assertThat(result.get(i)).isSameAs(expected.get(i));
+                }
+            }
+            assertThat(f.statistics().positiveLiterals()).isEqualTo(200);
+            assertThat(f.statistics().negativeLiterals()).isEqualTo(200);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConcurrentParsing() throws ExecutionException, InterruptedException, ParserException {
+        final FormulaFactory f = new ConcurrentFormulaFactory();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Formula>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> new PropositionalParser(f).parse("(a | b | ~c) & (d => e & f) & (g <=> h | ~i)")));
+            }
+            final Formula expected = new PropositionalParser(f).parse("(a | b | ~c) & (d => e & f) & (g <=> h | ~i)");
+            for (final Future<Formula> future : futures) {
+                assertThat(future.get()).isSameAs(expected);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testUniqueAuxiliaryVariables() throws ExecutionException, InterruptedException {
+        final FormulaFactory f = new ConcurrentFormulaFactory();
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<List<Variable>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    final List<Variable> vars = new ArrayList<>();
+                    for (int i = 0; i < 100; i++) {
+                        vars.add(f.newCNFVariable());
+                        vars.add(f.newCCVariable());
+                        vars.add(f.newPBVariable());
+                    }
+                    return vars;
+                }));
+            }
+            final Set<Variable> all = new HashSet<>();
+            for (final Future<List<Variable>> future : futures) {
+                all.addAll(future.get());
+            }
+            assertThat(all).hasSize(THREADS * 300);
+            assertThat(f.statistics().cnfCounter()).isEqualTo(THREADS * 100);
+            assertThat(f.statistics().ccCounter()).isEqualTo(THREADS * 100);
+            assertThat(f.statistics().pbCounter()).isEqualTo(THREADS * 100);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<Formula> generateFormulas(final FormulaFactory f) {
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final Variable a = f.variable("v" + i);
+            final Literal b = f.literal("v" + ((i + 1) % 200), false);
+            final Formula or = f.or(a, b);
+            final Formula and = f.and(or, f.variable("v" + ((i + 7) % 200)), f.literal("v" + ((i + 3) % 200), false));
+            formulas.add(or);
+            formulas.add(and);
+            formulas.add(f.not(and));
+            formulas.add(f.implication(a, and));
+            formulas.add(f.equivalence(or, b));
+            formulas.add(f.amo(a, f.variable("v" + ((i + 5) % 200))));
+            formulas.add(f.pbc(CType.GE, 2, new Literal[]{a, b}, new int[]{2, 3}));
+        }
+        return formulas;
+    }
+}
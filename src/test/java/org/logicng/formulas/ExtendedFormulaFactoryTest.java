@@ -253,7 +253,7 @@ public class ExtendedFormulaFactoryTest {
         eff.load(state);
         for (final Formula formula : formulas) {
             softly.assertThat(formula.transformationCacheEntry(transformationCacheEntry)).isNull();
-            softly.assertThat(formula.transformationCache).isEmpty();
+            softly.assertThat(formula.transformationCache).isNull();
         }
         softly.assertAll();
     }
@@ -41,12 +41,15 @@ import org.logicng.solvers.sat.GlucoseConfig;
 import org.logicng.solvers.sat.MiniSatConfig;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Test some basic formula factory functionality.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class FormulaFactoryTest {
@@ -321,4 +324,69 @@ public class FormulaFactoryTest {
                         + ", cnfCounter=0"
                         + '}');
     }
+
+    @Test
+    public void testFormulaIds() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (a + b + c <= 2)");
+        final Set<Integer> ids = new HashSet<>();
+        for (final Formula subformula : formula.apply(f.subformulaFunction())) {
+            assertThat(ids.add(subformula.id())).isTrue();
+        }
+        assertThat(f.verum().id()).isNotEqualTo(f.falsum().id());
+        f.clear();
+        assertThat(ids).doesNotContain(f.variable("a").id());
+    }
+
+    @Test
+    public void testStructuralHash() throws ParserException {
+        final FormulaFactory f1 = new FormulaFactory();
+        final FormulaFactory f2 = new FormulaFactory();
+        final String string = "(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (2*a + 3*~b >= 2)";
+        assertThat(f1.parse(string).structuralHash()).isEqualTo(f2.parse(string).structuralHash());
+        assertThat(f1.parse("a | b | c").structuralHash()).isEqualTo(f2.parse("c | a | b").structuralHash());
+        assertThat(f1.parse("a <=> b").structuralHash()).isEqualTo(f2.parse("b <=> a").structuralHash());
+        assertThat(f1.parse("a => b").structuralHash()).isNotEqualTo(f1.parse("b => a").structuralHash());
+        assertThat(f1.parse("a & b").structuralHash()).isNotEqualTo(f1.parse("a | b").structuralHash());
+        assertThat(f1.variable("a").structuralHash()).isNotEqualTo(f1.literal("a", false).structuralHash());
+        assertThat(f1.verum().structuralHash()).isNotEqualTo(f1.falsum().structuralHash());
+    }
+
+    @Test
+    public void testNAryOperands() {
+        final FormulaFactory f = new FormulaFactory();
+        final List<Formula> vars = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            vars.add(f.variable("v" + i));
+        }
+        final Formula[] reversed = vars.toArray(new Formula[0]);
+        Collections.reverse(Arrays.asList(reversed));
+        final FormulaFactory.NAryOperands set = new FormulaFactory.NAryOperands(new HashSet<>(vars));
+        final FormulaFactory.NAryOperands array = new FormulaFactory.NAryOperands(vars.toArray(new Formula[0]));
+        final FormulaFactory.NAryOperands reversedArray = new FormulaFactory.NAryOperands(reversed);
+        assertThat(set).isEqualTo(array);
+        assertThat(array).isEqualTo(set);
+        assertThat(array).isEqualTo(reversedArray);
+        assertThat(set.hashCode()).isEqualTo(reversedArray.hashCode());
+        assertThat(set.copy()).isEqualTo(set);
+        assertThat(array).isNotEqualTo(new FormulaFactory.NAryOperands(vars.subList(1, 20).toArray(new Formula[0])));
+        assertThat(new FormulaFactory.NAryOperands(new Formula[]{vars.get(0), vars.get(1)}))
+                .isEqualTo(new FormulaFactory.NAryOperands(new Formula[]{vars.get(1), vars.get(0)}));
+    }
+
+    @Test
+    public void testLargeNAryOperators() {
+        final FormulaFactory f = new FormulaFactory();
+        final List<Formula> operands = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            operands.add(f.or(f.variable("a" + i), f.literal("b" + i, false)));
+        }
+        final Formula and = f.and(operands);
+        final List<Formula> reversed = new ArrayList<>(operands);
+        Collections.reverse(reversed);
+        assertThat(f.and(reversed)).isSameAs(and);
+        assertThat(f.and(and, operands.get(0))).isSameAs(and);
+        assertThat(f.cnf(reversed)).isSameAs(and);
+        assertThat(f.statistics().conjunctionsN()).isEqualTo(1);
+    }
 }
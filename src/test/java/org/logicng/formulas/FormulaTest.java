@@ -101,6 +101,31 @@ public class FormulaTest {
         assertThat(formula.functionCacheEntry(MyOwnCacheKey.MYKEY2)).isEqualTo("key2");
     }
 
+    @Test
+    public void testLazyCacheSlots() {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.not(f.and(f.variable("a"), f.variable("b")));
+        assertThat(formula.transformationCache).isNull();
+        assertThat(formula.predicateCache).isNull();
+        assertThat(formula.functionCache).isNull();
+        formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY1, "key1");
+        formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY2, "key2");
+        formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY1, "key1'");
+        assertThat(formula.functionCache).hasSize(4);
+        assertThat(formula.functionCacheEntry(MyOwnCacheKey.MYKEY1)).isEqualTo("key1'");
+        assertThat(formula.functionCacheEntry(MyOwnCacheKey.MYKEY2)).isEqualTo("key2");
+        formula.setFunctionCacheEntry(MyOwnCacheKey.MYKEY1, null);
+        assertThat(formula.functionCache).hasSize(2);
+        assertThat(formula.functionCacheEntry(MyOwnCacheKey.MYKEY1)).isNull();
+        assertThat(formula.functionCacheEntry(MyOwnCacheKey.MYKEY2)).isEqualTo("key2");
+        formula.setTransformationCacheEntry(FACTORIZED_CNF, f.verum());
+        formula.setPredicateCacheEntry(IS_CNF, true);
+        formula.clearCaches();
+        assertThat(formula.transformationCache).isNull();
+        assertThat(formula.functionCache).isNull();
+        assertThat(formula.predicateCacheEntry(IS_CNF)).isEqualTo(Tristate.TRUE);
+    }
+
     @Test
     public void testFType() {
         assertThat(FType.valueOf("AND")).isEqualTo(FType.AND);
@@ -0,0 +1,174 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+import org.logicng.formulas.printer.SortedStringRepresentation;
+import org.logicng.formulas.printer.UTF8StringRepresentation;
+import org.logicng.functions.FormulaDepthFunction;
+import org.logicng.functions.SubNodeFunction;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.transformations.cnf.CNFFactorization;
+import org.logicng.transformations.cnf.TseitinTransformation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for {@link FormulaTraversal} and the iterative formula transformations and functions.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class FormulaTraversalTest {
+
+    private static final int DEPTH = 100_000;
+
+    @Test
+    public void testPostOrder() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | b) & (c => (a | b)) & ~(d <=> a)");
+        assertThat(FormulaTraversal.postOrderNodes(formula)).containsExactly(
+                f.variable("a"), f.variable("b"), f.parse("a | b"), f.variable("c"), f.parse("c => (a | b)"),
+                f.variable("d"), f.parse("d <=> a"), f.parse("~(d <=> a)"), formula);
+        final List<Formula> visited = new ArrayList<>();
+        final Integer result = FormulaTraversal.postOrder(formula, new PostOrderVisitor<Integer>() {
+            @Override
+            public Integer cached(final Formula node) {
+                return node.type() == FType.IMPL ? 100 : null;
+            }
+
+            @Override
+            public Integer visit(final Formula node, final List<Integer> children) {
+                visited.add(node);
+                return children.stream().mapToInt(x -> x).sum() + 1;
+            }
+        });
+        assertThat(result).isEqualTo(3 + 100 + 4 + 1);
+        assertThat(visited).doesNotContain(f.variable("c"), f.parse("c => (a | b)"));
+        final PostOrderVisitor<Formula> aborting = (node, children) -> node.type() == FType.NOT ? null : node;
+        assertThat(FormulaTraversal.postOrder(formula, aborting)).isNull();
+        assertThat(FormulaTraversal.postOrderNodes(f.verum())).containsExactly(f.verum());
+    }
+
+    @Test
+    public void testDeepNNF() {
+        final FormulaFactory f = new FormulaFactory();
+        Formula formula = f.variable("v0");
+        for (int i = 1; i < DEPTH; i++) {
+            final Variable v = f.variable("v" + i);
+            switch (i % 3) {
+                case 0:
+                    formula = f.not(f.and(formula, v));
+                    break;
+                case 1:
+                    formula = f.implication(formula, v);
+                    break;
+                default:
+                    formula = f.or(f.equivalence(formula, v), f.literal("w" + i, false));
+                    break;
+            }
+        }
+        final Formula nnf = formula.nnf();
+        assertThat(FormulaTraversal.postOrderNodes(nnf)).allMatch(node -> node.type() != FType.NOT && node.type() != FType.IMPL && node.type() != FType.EQUIV);
+        assertThat(formula.nnf()).isSameAs(nnf);
+        assertThat(formula.apply(new FormulaDepthFunction())).isGreaterThan(DEPTH);
+    }
+
+    @Test
+    public void testDeepRestrictAndSubstitute() {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = orAndChain(f, DEPTH);
+        final Assignment assignment = new Assignment(f.literal("v0", false), f.literal("w1", false));
+        final Formula restricted = formula.restrict(assignment);
+        assertThat(restricted.apply(new FormulaDepthFunction())).isEqualTo(2 * DEPTH - 6);
+        assertThat(formula.restrict(new Assignment(f.variable("w" + (DEPTH - 1))))).isSameAs(f.verum());
+        final Substitution substitution = new Substitution();
+        substitution.addMapping(f.variable("v0"), f.literal("x", false));
+        final Formula substituted = formula.substitute(substitution);
+        assertThat(substituted.apply(new SubNodeFunction()).contains(f.literal("x", false))).isTrue();
+        assertThat(substituted.apply(new FormulaDepthFunction())).isEqualTo(2 * DEPTH - 2);
+    }
+
+    @Test
+    public void testDeepFunctionsAndPrinting() {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = orAndChain(f, DEPTH);
+        assertThat(formula.apply(new FormulaDepthFunction())).isEqualTo(2 * DEPTH - 2);
+        assertThat(formula.apply(new SubNodeFunction())).hasSize(4 * (DEPTH - 1) + 1);
+        final String string = formula.toString();
+        assertThat(string).startsWith("((((").endsWith(") & v" + (DEPTH - 1) + " | w" + (DEPTH - 1));
+        assertThat(string.chars().filter(c -> c == '(').count()).isEqualTo(DEPTH - 2);
+        assertThat(f.string(formula, new UTF8StringRepresentation())).contains("((v₀ ∧ v₁ ∨ w₁) ∧ v₂ ∨ w₂) ∧ v₃");
+    }
+
+    @Test
+    public void testDeepCNFTransformations() {
+        final FormulaFactory f = new FormulaFactory();
+        final int depth = DEPTH / 5;
+        final Formula formula = orAndChain(f, depth);
+        final Formula tseitin = formula.transform(new TseitinTransformation(0));
+        assertThat(tseitin.holds(CNFPredicate.get())).isTrue();
+        assertThat(tseitin.numberOfOperands()).isEqualTo(6 * (depth - 1) - 2);
+        assertThat(formula.transform(new TseitinTransformation(0))).isSameAs(tseitin);
+        final int negationDepth = DEPTH / 20;
+        Formula negations = f.variable("v0");
+        for (int i = 1; i < negationDepth; i++) {
+            negations = f.not(f.implication(negations, f.variable("v" + i)));
+        }
+        final Formula factorized = negations.transform(new CNFFactorization());
+        assertThat(factorized.holds(CNFPredicate.get())).isTrue();
+        assertThat(factorized.numberOfOperands()).isEqualTo(negationDepth);
+    }
+
+    @Test
+    public void testResultsOnSmallFormulas() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("~(a & (b => c) & ~(d <=> ~e)) | (a <=> b)");
+        assertThat(formula.nnf()).isEqualTo(f.parse("~a | b & ~c | (~d | ~e) & (e | d) | (~a | b) & (~b | a)"));
+        assertThat(formula.restrict(new Assignment(Arrays.asList(f.variable("a"), f.literal("e", false)))))
+                .isEqualTo(f.parse("~((b => c) & ~d) | b"));
+        assertThat(formula.toString()).isEqualTo("~(a & (b => c) & ~(d <=> ~e)) | (a <=> b)");
+        assertThat(f.string(formula, new SortedStringRepresentation(Arrays.asList(f.variable("e"), f.variable("d")))))
+                .isEqualTo("~(~(~e <=> d) & a & (b => c)) | (a <=> b)");
+    }
+
+    private static Formula orAndChain(final FormulaFactory f, final int depth) {
+        Formula formula = f.variable("v0");
+        for (int i = 1; i < depth; i++) {
+            formula = f.or(f.and(formula, f.variable("v" + i)), f.variable("w" + i));
+        }
+        return formula;
+    }
+}
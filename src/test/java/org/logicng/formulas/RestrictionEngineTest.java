@@ -0,0 +1,127 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Substitution;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link RestrictionEngine}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class RestrictionEngineTest {
+
+    @Test
+    public void testRestrictAndSubstitute() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula f1 = f.parse("(a | ~b) & (c => d) & (e <=> ~f)");
+        final Formula f2 = f.parse("(a | ~b) | (2*a + 3*~b + c >= 2)");
+        final Assignment assignment = new Assignment(f.variable("a"), f.literal("c", false));
+        final RestrictionEngine engine = new RestrictionEngine();
+        assertThat(engine.restrict(Arrays.asList(f1, f2, f.verum()), assignment))
+                .containsExactly(f1.restrict(assignment), f2.restrict(assignment), f.verum());
+        assertThat(engine.restrict(f1, assignment)).isEqualTo(f.parse("e <=> ~f"));
+        final Substitution substitution = new Substitution();
+        substitution.addMapping(f.variable("a"), f.variable("x"));
+        substitution.addMapping(f.variable("e"), f.verum());
+        assertThat(engine.substitute(Arrays.asList(f1, f2), substitution)).containsExactly(f1.substitute(substitution), f2.substitute(substitution));
+        assertThat(engine.substitute(f1, substitution)).isEqualTo(f.parse("(x | ~b) & (c => d) & ~f"));
+        assertThat(engine.cacheSize()).isZero();
+        assertThat(engine.cacheHits()).isZero();
+        assertThat(engine.cacheMisses()).isEqualTo(4);
+        assertThatThrownBy(() -> new RestrictionEngine(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(20).weightPbc(1).seed(42).build());
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            formulas.add(randomizer.formula(4));
+        }
+        final RestrictionEngine engine = new RestrictionEngine(2);
+        final Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            final Assignment assignment = new Assignment();
+            for (int j = 0; j < 20; j++) {
+                if (random.nextInt(3) != 0) {
+                    assignment.addLiteral(f.literal(String.format("v%02d", j), random.nextBoolean()));
+                }
+            }
+            final List<Formula> expected = new ArrayList<>();
+            for (final Formula formula : formulas) {
+                expected.add(formula.restrict(assignment));
+            }
+            assertThat(engine.restrict(formulas, assignment)).isEqualTo(expected);
+            assertThat(engine.restrict(formulas, assignment)).isEqualTo(expected);
+        }
+        assertThat(engine.cacheSize()).isEqualTo(2);
+        assertThat(engine.cacheHits()).isEqualTo(20);
+        assertThat(engine.cacheMisses()).isEqualTo(20);
+    }
+
+    @Test
+    public void testCrossCallCache() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula shared = f.parse("(a | b) & (c | d)");
+        final Formula f1 = f.and(shared, f.variable("x"));
+        final Formula f2 = f.or(shared, f.variable("y"));
+        final RestrictionEngine engine = new RestrictionEngine(10);
+        final Assignment assignment = new Assignment(f.variable("a"));
+        final Formula restricted = engine.restrict(f1, assignment);
+        assignment.addLiteral(f.literal("x", false));
+        assertThat(engine.restrict(f2, new Assignment(f.variable("a")))).isEqualTo(f.parse("c | d | y"));
+        assertThat(engine.cacheHits()).isEqualTo(1);
+        assertThat(engine.restrict(f1, assignment)).isEqualTo(f.falsum());
+        assertThat(engine.cacheMisses()).isEqualTo(2);
+        assertThat(restricted).isEqualTo(f.parse("(c | d) & x"));
+        final Substitution substitution = new Substitution();
+        substitution.addMapping(f.variable("a"), f.variable("z"));
+        assertThat(engine.substitute(f2, substitution)).isEqualTo(f.parse("(z | b) & (c | d) | y"));
+        substitution.addMapping(f.variable("y"), f.falsum());
+        assertThat(engine.substitute(f2, substitution)).isEqualTo(f.parse("(z | b) & (c | d)"));
+        assertThat(engine.cacheSize()).isEqualTo(4);
+        engine.clearCache();
+        assertThat(engine.cacheSize()).isZero();
+    }
+}
@@ -0,0 +1,123 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link RestrictionSession}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class RestrictionSessionTest {
+
+    @Test
+    public void testPushAndPop() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula f1 = f.parse("(a | ~b) & (c => d) & (e <=> ~f)");
+        final Formula f2 = f.parse("(a | ~b) | (2*a + 3*~b + c >= 2)");
+        final RestrictionSession session = new RestrictionSession(Arrays.asList(f1, f2, f.verum()));
+        assertThat(session.formulas()).containsExactly(f1, f2, f.verum());
+        session.push(f.literal("b", true));
+        assertThat(session.formulas()).containsExactly(f.parse("a & (c => d) & (e <=> ~f)"), f.parse("a | 2*a + c >= 2"), f.verum());
+        session.push(f.literal("x", false));
+        assertThat(session.formula(1)).isEqualTo(f.parse("a | 2*a + c >= 2"));
+        session.push(f.literal("a", false));
+        assertThat(session.formulas()).containsExactly(f.falsum(), f.falsum(), f.verum());
+        assertThat(session.level()).isEqualTo(3);
+        assertThat(session.literals()).containsExactly(f.variable("b"), f.literal("x", false), f.literal("a", false));
+        assertThat(session.assignment()).isEqualTo(new Assignment(f.variable("b"), f.literal("x", false), f.literal("a", false)));
+        assertThatThrownBy(() -> session.push(f.variable("a"))).isInstanceOf(IllegalArgumentException.class);
+        session.pop();
+        session.pop();
+        assertThat(session.formulas()).containsExactly(f.parse("a & (c => d) & (e <=> ~f)"), f.parse("a | 2*a + c >= 2"), f.verum());
+        session.push(f.variable("c"));
+        assertThat(session.formulas()).containsExactly(f.parse("a & d & (e <=> ~f)"), f2.restrict(session.assignment()), f.verum());
+        session.pop();
+        session.pop();
+        assertThat(session.formulas()).containsExactly(f1, f2, f.verum());
+        assertThat(session.level()).isZero();
+        assertThatThrownBy(session::pop).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void testRandomSessions() {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(20).weightPbc(1).seed(42).build());
+        final List<Formula> formulas = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            formulas.add(randomizer.formula(4));
+        }
+        final RestrictionSession session = new RestrictionSession(formulas);
+        final Random random = new Random(42);
+        final List<Variable> variables = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            variables.add(f.variable(String.format("v%02d", i)));
+        }
+        for (int i = 0; i < 25; i++) {
+            final List<Variable> unassigned = new ArrayList<>(variables);
+            for (final Literal lit : session.literals()) {
+                unassigned.remove(lit.variable());
+            }
+            Collections.shuffle(unassigned, random);
+            final int depth = random.nextInt(variables.size());
+            for (int j = 0; session.level() < depth; j++) {
+                session.push(f.literal(unassigned.get(j).name(), random.nextBoolean()));
+                assertRestrictions(session, formulas);
+            }
+            final int target = random.nextInt(session.level() + 1);
+            while (session.level() > target) {
+                session.pop();
+            }
+            assertRestrictions(session, formulas);
+        }
+    }
+
+    private static void assertRestrictions(final RestrictionSession session, final List<Formula> formulas) {
+        final Assignment assignment = session.assignment();
+        final List<Formula> expected = new ArrayList<>();
+        for (final Formula formula : formulas) {
+            expected.add(formula.restrict(assignment));
+        }
+        assertThat(session.formulas()).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,98 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.io.parsers.ParserException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for the class {@link WeakFormulaFactory}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class WeakFormulaFactoryTest {
+
+    @Test
+    public void testCanonicalFormulas() throws ParserException {
+        final FormulaFactory f = new WeakFormulaFactory();
+        final String string = "(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (a + b + c <= 2) & (2*a + 3*~b >= 2)";
+        final Formula formula = f.parse(string);
+        assertThat(f.parse(string)).isSameAs(formula);
+        assertThat(f.and(f.variable("x"), f.variable("y"))).isSameAs(f.and(f.variable("y"), f.variable("x")));
+        assertThat(formula.cnf()).isEqualTo(new FormulaFactory().parse(string).cnf());
+    }
+
+    @Test
+    public void testUnreferencedFormulasAreCollected() throws InterruptedException {
+        final FormulaFactory f = new WeakFormulaFactory();
+        final Variable a = f.variable("a");
+        final Formula keep = f.or(a, f.variable("b"));
+        List<Formula> temporaries = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            temporaries.add(f.and(a, f.literal("v" + i, false)));
+        }
+        assertThat(f.statistics().conjunctions2()).isEqualTo(1000);
+        assertThat(f.statistics().negativeLiterals()).isGreaterThanOrEqualTo(1000);
+        temporaries = null;
+        for (int i = 0; i < 50 && f.statistics().conjunctions2() > 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertThat(temporaries).isNull();
+        assertThat(f.statistics().conjunctions2()).isEqualTo(0);
+        assertThat(f.statistics().disjunctions2()).isEqualTo(1);
+        assertThat(f.or(f.variable("b"), a)).isSameAs(keep);
+        assertThat((Formula) f.variable("a")).isSameAs(a);
+    }
+
+    @Test
+    public void testWeakValueMap() {
+        final WeakValueMap<String, Formula> map = new WeakValueMap<>();
+        final FormulaFactory f = new FormulaFactory();
+        final Variable a = f.variable("a");
+        assertThat(map.put("a", a)).isNull();
+        assertThat(map.putIfAbsent("a", f.variable("b"))).isSameAs(a);
+        assertThat(map.get("a")).isSameAs(a);
+        assertThat(map.containsKey("a")).isTrue();
+        assertThat(map.get("b")).isNull();
+        assertThat(map).hasSize(1);
+        assertThat(map.entrySet()).extracting(Map.Entry::getValue).containsExactly(a);
+        assertThat(map.remove("a")).isSameAs(a);
+        assertThat(map).isEmpty();
+        map.put("a", a);
+        map.clear();
+        assertThat(map).isEmpty();
+    }
+}
@@ -0,0 +1,216 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.compact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.FType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.predicates.CNFPredicate;
+import org.logicng.predicates.NNFPredicate;
+import org.logicng.predicates.satisfiability.TautologyPredicate;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link CompactFormulaStore}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CompactFormulaStoreTest {
+
+    private final FormulaFactory f = new FormulaFactory();
+
+    @Test
+    public void testConstruction() {
+        final CompactFormulaStore store = new CompactFormulaStore(4);
+        final int a = store.variable("a");
+        final int na = store.literal("a", false);
+        final int b = store.variable("b");
+        assertThat(store.numberOfVariables()).isEqualTo(2);
+        assertThat(store.type(a)).isEqualTo(FType.LITERAL);
+        assertThat(store.name(na)).isEqualTo("a");
+        assertThat(store.phase(na)).isFalse();
+        assertThat(store.not(a)).isEqualTo(na);
+        assertThat(store.not(store.not(store.and(a, b)))).isEqualTo(store.and(a, b));
+        assertThat(store.and(a, b)).isEqualTo(store.and(a, store.verum(), b, a));
+        assertThat(store.and(a, b)).isNotEqualTo(store.and(b, a));
+        assertThat(store.and(a, store.and(b, store.variable("c")))).isEqualTo(store.and(a, b, store.variable("c")));
+        assertThat(store.and(a, b, na)).isEqualTo(store.falsum());
+        assertThat(store.or(store.and(a, b), store.not(store.and(a, b)))).isEqualTo(store.verum());
+        assertThat(store.or()).isEqualTo(store.falsum());
+        assertThat(store.and(b)).isEqualTo(b);
+        assertThat(store.implication(store.falsum(), a)).isEqualTo(store.verum());
+        assertThat(store.implication(a, store.falsum())).isEqualTo(na);
+        assertThat(store.equivalence(a, na)).isEqualTo(store.falsum());
+        assertThat(store.equivalence(store.verum(), b)).isEqualTo(b);
+        final int pbc = store.pbc(CType.LE, 2, new int[]{a, b}, new int[]{1, 3});
+        assertThat(store.numberOfOperands(pbc)).isEqualTo(2);
+        assertThat(store.operand(pbc, 1)).isEqualTo(b);
+        assertThat(store.coefficient(pbc, 1)).isEqualTo(3);
+        assertThat(store.comparator(pbc)).isEqualTo(CType.LE);
+        assertThat(store.rhs(pbc)).isEqualTo(2);
+        assertThat(store.pbc(CType.GE, 0, new int[0], new int[0])).isEqualTo(store.verum());
+        final int[] ands = new int[100];
+        for (int i = 0; i < 100; i++) {
+            ands[i] = store.and(store.variable("x" + i), store.literal("y" + i, false));
+        }
+        final int nodes = store.numberOfNodes();
+        for (int i = 0; i < 100; i++) {
+            assertThat(store.and(store.variable("x" + i), store.literal("y" + i, false))).isEqualTo(ands[i]);
+        }
+        assertThat(store.numberOfNodes()).isEqualTo(nodes);
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        final CompactFormulaStore store = new CompactFormulaStore();
+        final int a = store.variable("a");
+        assertThatThrownBy(() -> store.not(42)).isInstanceOf(IllegalArgumentException.class).hasMessage("Unknown node: 42");
+        assertThatThrownBy(() -> store.pbc(CType.LE, 1, new int[]{a}, new int[0])).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.pbc(CType.LE, 1, new int[]{store.and(a, store.variable("b"))}, new int[]{1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> store.operand(a, 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> store.cnf(store.pbc(CType.LE, 1, new int[]{a, store.variable("b")}, new int[]{1, 1})))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    public void testConversion() throws ParserException {
+        final CompactFormulaStore store = new CompactFormulaStore();
+        final Formula formula = this.f.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (2*a + 3*~b >= 2) & (a + b + c <= 1)");
+        final int node = store.add(formula);
+        assertThat(store.toFormula(node, this.f)).isEqualTo(formula);
+        assertThat(store.toFormula(node, new FormulaFactory())).isEqualTo(formula);
+        assertThat(store.add(this.f.parse("(c => d) & (e <=> ~f)"))).isEqualTo(store.add(this.f.parse("(c => d) & (e <=> ~f)")));
+        final int[] nodes = store.add(Arrays.asList(formula, this.f.verum(), this.f.parse("~(g & h)")));
+        assertThat(nodes[0]).isEqualTo(node);
+        assertThat(nodes[1]).isEqualTo(store.verum());
+        assertThat(store.operand(node, 3)).isEqualTo(nodes[2]);
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaRandomizer randomizer = new FormulaRandomizer(this.f, FormulaRandomizerConfig.builder().numVars(8).weightPbc(1).seed(42).build());
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final CompactFormulaStore store = new CompactFormulaStore();
+            final Formula formula = randomizer.formula(4);
+            final int node = store.add(formula);
+            assertThat(store.toFormula(node, this.f)).isEqualTo(formula);
+            assertThat(Arrays.stream(store.variables(node)).mapToObj(store::variableName).toArray())
+                    .containsExactlyInAnyOrder(formula.variables().stream().map(Variable::name).toArray());
+            final Formula nnf = store.toFormula(store.nnf(node), this.f);
+            for (int j = 0; j < 10; j++) {
+                final Assignment assignment = randomAssignment(formula, random);
+                assertThat(store.evaluate(node, assignment)).isEqualTo(formula.evaluate(assignment));
+                assertThat(nnf.evaluate(assignment)).isEqualTo(formula.evaluate(assignment));
+                final Formula restricted = store.toFormula(store.restrict(node, assignment), this.f);
+                assertThat(this.f.equivalence(restricted, formula.restrict(assignment)).holds(new TautologyPredicate(this.f))).isTrue();
+            }
+        }
+    }
+
+    @Test
+    public void testNormalForms() {
+        final FormulaRandomizer randomizer = new FormulaRandomizer(this.f, FormulaRandomizerConfig.builder().numVars(6).seed(43).build());
+        final CompactFormulaStore store = new CompactFormulaStore();
+        for (int i = 0; i < 100; i++) {
+            final Formula formula = randomizer.formula(3);
+            final int node = store.add(formula);
+            final Formula nnf = store.toFormula(store.nnf(node), this.f);
+            final Formula cnf = store.toFormula(store.cnf(node), this.f);
+            assertThat(nnf.holds(NNFPredicate.get())).isTrue();
+            assertThat(cnf.holds(CNFPredicate.get())).isTrue();
+            assertThat(this.f.equivalence(nnf, formula).holds(new TautologyPredicate(this.f))).isTrue();
+            assertThat(this.f.equivalence(cnf, formula).holds(new TautologyPredicate(this.f))).isTrue();
+        }
+    }
+
+    @Test
+    public void testDeepFormulas() {
+        Formula chain = this.f.variable("v0");
+        for (int i = 1; i < 50_000; i++) {
+            chain = this.f.or(this.f.and(chain, this.f.variable("v" + i)), this.f.literal("w" + i, false));
+        }
+        final CompactFormulaStore store = new CompactFormulaStore();
+        final int node = store.add(chain);
+        assertThat(store.toFormula(node, this.f)).isSameAs(chain);
+        assertThat(store.variables(node)).hasSize(99_999);
+        assertThat(store.nnf(node)).isEqualTo(node);
+        final int negated = store.nnf(store.not(node));
+        assertThat(store.type(negated)).isEqualTo(FType.AND);
+        final Assignment assignment = new Assignment(this.f.variable("w49999"), this.f.literal("v49999", false));
+        assertThat(store.evaluate(node, new Assignment())).isTrue();
+        assertThat(store.evaluate(node, assignment)).isFalse();
+        assertThat(store.evaluate(negated, assignment)).isTrue();
+        assertThat(store.restrict(node, assignment)).isEqualTo(store.falsum());
+        assertThat(store.restrict(node, new Assignment(this.f.literal("w49999", false)))).isEqualTo(store.verum());
+
+        Formula implications = this.f.variable("x0");
+        for (int i = 1; i < 2_000; i++) {
+            implications = this.f.implication(this.f.variable("x" + i), implications);
+        }
+        final int cnf = store.cnf(store.add(implications));
+        assertThat(store.type(cnf)).isEqualTo(FType.OR);
+        assertThat(store.numberOfOperands(cnf)).isEqualTo(2_000);
+    }
+
+    @Test
+    public void testGrownLength() {
+        assertThat(CompactFormulaStore.grownLength(16, 17, "nodes")).isEqualTo(32);
+        assertThat(CompactFormulaStore.grownLength(16, 100, "nodes")).isEqualTo(100);
+        assertThat(CompactFormulaStore.grownLength(1 << 30, (1 << 30) + 1, "nodes")).isEqualTo(CompactFormulaStore.MAX_ARRAY_SIZE);
+        assertThat(CompactFormulaStore.grownLength(CompactFormulaStore.MAX_ARRAY_SIZE - 1, CompactFormulaStore.MAX_ARRAY_SIZE, "operands"))
+                .isEqualTo(CompactFormulaStore.MAX_ARRAY_SIZE);
+        assertThatThrownBy(() -> CompactFormulaStore.grownLength(CompactFormulaStore.MAX_ARRAY_SIZE, CompactFormulaStore.MAX_ARRAY_SIZE + 1L, "operands"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("A compact formula store cannot hold more than 2147483639 operands, but 2147483640 are required.");
+    }
+
+    private static Assignment randomAssignment(final Formula formula, final Random random) {
+        final Assignment assignment = new Assignment();
+        for (final Variable var : formula.variables()) {
+            if (random.nextBoolean()) {
+                assignment.addLiteral(random.nextBoolean() ? var : var.negate());
+            }
+        }
+        return assignment;
+    }
+}
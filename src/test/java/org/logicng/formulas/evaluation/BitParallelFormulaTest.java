@@ -0,0 +1,129 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link BitParallelFormula}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class BitParallelFormulaTest {
+
+    @Test
+    public void testSimpleFormulas() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | ~b) & (c => d) & (e <=> ~f)");
+        final BitParallelFormula compiled = BitParallelFormula.compile(formula);
+        assertThat(compiled.formula()).isSameAs(formula);
+        assertThat(compiled.requiredLength()).isEqualTo(f.variable("f").index() + 1);
+        final long[][] columns = new long[compiled.requiredLength()][];
+        columns[f.variable("a").index()] = new long[]{0b0011L};
+        columns[f.variable("c").index()] = new long[]{0b0101L};
+        columns[f.variable("e").index()] = new long[]{0b1111L};
+        assertThat(compiled.evaluate(columns, 4)).containsExactly(0b1010L);
+        assertThat(compiled.copy().evaluate(columns, 2)).containsExactly(0b10L);
+        assertThat(compiled.evaluate(columns, 0)).isEmpty();
+        assertThat(BitParallelFormula.compile(f.verum()).evaluate(new long[0][], 70)).containsExactly(-1L, 0b111111L);
+        assertThat(BitParallelFormula.compile(f.literal("a", false)).evaluate(columns, 4)).containsExactly(0b1100L);
+        final Formula pbc = f.pbc(CType.GE, 1, new Literal[]{f.variable("a"), f.variable("c"), f.variable("e")}, new int[]{3, -2, -1});
+        assertThat(BitParallelFormula.compile(pbc).evaluate(columns, 4)).containsExactly(0b0010L);
+        assertThatThrownBy(() -> compiled.evaluate(new long[2][], 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> compiled.evaluate(columns, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder()
+                .numVars(15).weightPbc(2).weightPbcCoeffNegative(0.3).maximumCoefficientPbc(20).weightCc(1).seed(42).build());
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final Formula formula = randomizer.formula(4);
+            final BitParallelFormula compiled = BitParallelFormula.compile(formula);
+            final CompiledFormula reference = CompiledFormula.compile(formula);
+            final List<boolean[]> assignments = new ArrayList<>();
+            for (int j = 0; j < 150; j++) {
+                final boolean[] assignment = new boolean[compiled.requiredLength()];
+                for (int k = 0; k < assignment.length; k++) {
+                    assignment[k] = random.nextBoolean();
+                }
+                assignments.add(assignment);
+            }
+            final BitSet result = BitSet.valueOf(compiled.evaluate(BitParallelFormula.columns(assignments, compiled.requiredLength()), assignments.size()));
+            for (int j = 0; j < assignments.size(); j++) {
+                assertThat(result.get(j)).isEqualTo(reference.evaluate(assignments.get(j)));
+            }
+            assertThat(result.length()).isLessThanOrEqualTo(assignments.size());
+        }
+    }
+
+    @Test
+    public void testLargePseudoBooleanConstraint() {
+        final FormulaFactory f = new FormulaFactory();
+        final Literal[] literals = new Literal[40];
+        final int[] coefficients = new int[40];
+        for (int i = 0; i < literals.length; i++) {
+            literals[i] = f.literal("x" + i, i % 3 != 0);
+            coefficients[i] = i % 2 == 0 ? Integer.MAX_VALUE / 16 : -(i + 1);
+        }
+        final Formula pbc = f.pbc(CType.LE, Integer.MAX_VALUE / 8, literals, coefficients);
+        final BitParallelFormula compiled = BitParallelFormula.compile(pbc);
+        final CompiledFormula reference = CompiledFormula.compile(pbc);
+        final Random random = new Random(42);
+        final List<boolean[]> assignments = new ArrayList<>();
+        for (int j = 0; j < 200; j++) {
+            final boolean[] assignment = new boolean[compiled.requiredLength()];
+            for (int k = 0; k < assignment.length; k++) {
+                assignment[k] = random.nextInt(8) == 0;
+            }
+            assignments.add(assignment);
+        }
+        final BitSet result = BitSet.valueOf(compiled.evaluate(BitParallelFormula.columns(assignments, compiled.requiredLength()), assignments.size()));
+        for (int j = 0; j < assignments.size(); j++) {
+            assertThat(result.get(j)).isEqualTo(reference.evaluate(assignments.get(j)));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+/**
+ * Unit tests for {@link CompiledFormula}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CompiledFormulaTest {
+
+    @Test
+    public void testSimpleFormulas() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (2*a + 3*~b + i >= 2)");
+        final CompiledFormula compiled = CompiledFormula.compile(formula);
+        assertThat(compiled.formula()).isSameAs(formula);
+        assertThat(compiled.numberOfNodes()).isEqualTo(7);
+        assertThat(compiled.requiredLength()).isEqualTo(f.variable("i").index() + 1);
+        final boolean[] values = new boolean[compiled.requiredLength()];
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("e").index()] = true;
+        assertThat(compiled.evaluate(values)).isTrue();
+        values[f.variable("c").index()] = true;
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("d").index()] = true;
+        values[f.variable("b").index()] = true;
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("a").index()] = true;
+        values[f.variable("i").index()] = true;
+        assertThat(compiled.evaluate(values)).isTrue();
+        assertThat(compiled.copy().evaluate(values)).isTrue();
+        assertThat(CompiledFormula.compile(f.verum()).evaluate(new boolean[0])).isTrue();
+        assertThat(CompiledFormula.compile(f.falsum()).evaluate(new boolean[0])).isFalse();
+        assertThat(CompiledFormula.compile(f.literal("a", false)).evaluate(values)).isFalse();
+        assertThatThrownBy(() -> compiled.evaluate(new boolean[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(15).weightPbc(1).weightCc(1).seed(42).build());
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final Formula formula = randomizer.formula(5);
+            final CompiledFormula compiled = CompiledFormula.compile(formula);
+            final SortedSet<Variable> variables = formula.variables();
+            for (int j = 0; j < 20; j++) {
+                final List<Literal> literals = new ArrayList<>();
+                for (final Variable var : variables) {
+                    literals.add(random.nextBoolean() ? var : var.negate());
+                }
+                final Assignment assignment = new Assignment(literals);
+                final boolean[] dense = CompiledFormula.denseAssignment(assignment, compiled.requiredLength());
+                assertThat(compiled.evaluate(dense)).isEqualTo(formula.evaluate(assignment));
+            }
+        }
+    }
+
+    @Test
+    public void testSharedAndDeepFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        Formula shared = f.variable("x0");
+        for (int i = 1; i < 40; i++) {
+            final Variable var = f.variable("x" + i);
+            shared = f.or(f.and(shared, var), f.and(shared.negate(), var.negate()));
+        }
+        final CompiledFormula compiled = CompiledFormula.compile(shared);
+        assertThat(compiled.numberOfNodes()).isLessThan(200);
+        final boolean[] values = new boolean[compiled.requiredLength()];
+        assertThat(compiled.evaluate(values)).isTrue();
+        Formula chain = f.variable("v0");
+        for (int i = 1; i < 50_000; i++) {
+            chain = f.or(f.and(chain, f.variable("v" + i)), f.literal("w" + i, false));
+        }
+        final CompiledFormula deep = CompiledFormula.compile(chain);
+        assertThat(deep.evaluate(new boolean[deep.requiredLength()])).isTrue();
+        assertThatThrownBy(() -> CompiledFormula.denseAssignment(new Assignment(f.variable("x39")), 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
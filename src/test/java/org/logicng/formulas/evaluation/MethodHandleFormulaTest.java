@@ -0,0 +1,130 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.formulas.evaluation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SortedSet;
+
+/**
+ * Unit tests for {@link MethodHandleFormula}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class MethodHandleFormulaTest {
+
+    @Test
+    public void testSimpleFormulas() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final Formula formula = f.parse("(a | ~b) & (c => d) & (e <=> ~f) & ~(g & h) & (2*a + 3*~b + i >= 2)");
+        final MethodHandleFormula compiled = MethodHandleFormula.compile(formula);
+        assertThat(compiled.formula()).isSameAs(formula);
+        assertThat(compiled.requiredLength()).isEqualTo(f.variable("i").index() + 1);
+        final boolean[] values = new boolean[compiled.requiredLength()];
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("e").index()] = true;
+        assertThat(compiled.evaluate(values)).isTrue();
+        values[f.variable("c").index()] = true;
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("d").index()] = true;
+        values[f.variable("b").index()] = true;
+        assertThat(compiled.evaluate(values)).isFalse();
+        values[f.variable("a").index()] = true;
+        values[f.variable("i").index()] = true;
+        assertThat(compiled.evaluate(values)).isTrue();
+        assertThat(compiled.copy().evaluate(values)).isTrue();
+        assertThat(MethodHandleFormula.compile(f.verum()).evaluate(new boolean[0])).isTrue();
+        assertThat(MethodHandleFormula.compile(f.falsum()).evaluate(new boolean[0])).isFalse();
+        assertThat(MethodHandleFormula.compile(f.literal("a", false)).evaluate(values)).isFalse();
+        final Formula cc = f.cc(CType.EQ, 2, Arrays.asList(f.variable("a"), f.variable("b"), f.variable("c")));
+        assertThat(MethodHandleFormula.compile(cc).evaluate(values)).isFalse();
+        assertThat(MethodHandleFormula.compile(f.not(cc)).evaluate(values)).isTrue();
+        assertThatThrownBy(() -> compiled.evaluate(new boolean[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(15).weightPbc(1).weightCc(1).seed(42).build());
+        final Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            final Formula formula = randomizer.formula(5);
+            final MethodHandleFormula compiled = MethodHandleFormula.compile(formula);
+            final SortedSet<Variable> variables = formula.variables();
+            for (int j = 0; j < 20; j++) {
+                final List<Literal> literals = new ArrayList<>();
+                for (final Variable var : variables) {
+                    literals.add(random.nextBoolean() ? var : var.negate());
+                }
+                final Assignment assignment = new Assignment(literals);
+                final boolean[] dense = CompiledFormula.denseAssignment(assignment, compiled.requiredLength());
+                assertThat(compiled.evaluate(dense)).isEqualTo(formula.evaluate(assignment));
+            }
+        }
+    }
+
+    @Test
+    public void testSharedFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        Formula shared = f.variable("x0");
+        for (int i = 1; i < 40; i++) {
+            final Variable var = f.variable("x" + i);
+            shared = f.or(f.and(shared, var), f.and(shared.negate(), var.negate()));
+        }
+        final MethodHandleFormula compiled = MethodHandleFormula.compile(shared);
+        final boolean[] values = new boolean[compiled.requiredLength()];
+        assertThat(compiled.evaluate(values)).isTrue();
+        values[f.variable("x0").index()] = true;
+        assertThat(compiled.evaluate(values)).isFalse();
+        final List<Formula> operands = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            operands.add(f.literal("y" + i, i % 2 == 0));
+        }
+        final MethodHandleFormula clause = MethodHandleFormula.compile(f.or(operands));
+        assertThat(clause.evaluate(new boolean[clause.requiredLength()])).isTrue();
+        final MethodHandleFormula term = MethodHandleFormula.compile(f.and(operands));
+        assertThat(term.evaluate(new boolean[term.requiredLength()])).isFalse();
+    }
+}
@@ -0,0 +1,201 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.explanations.UNSATCore;
+import org.logicng.formulas.CType;
+import org.logicng.formulas.CardinalityConstraint;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.propositions.Proposition;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.testutils.PigeonHoleGenerator;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link PortfolioSATSolver}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class PortfolioSATSolverTest {
+
+    @Test
+    public void testDimacsFiles() throws IOException {
+        final Map<String, Boolean> expectedResults = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new FileReader("src/test/resources/sat/results.txt"));
+        while (reader.ready()) {
+            final String[] tokens = reader.readLine().split(";");
+            expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+        }
+        final File[] files = new File("src/test/resources/sat").listFiles((dir, name) -> name.endsWith(".cnf"));
+        assert files != null;
+        int shared = 0;
+        for (final File file : files) {
+            final FormulaFactory f = new FormulaFactory();
+            final PortfolioSATSolver solver = PortfolioSATSolver.portfolio(f, 4);
+            final List<Formula> clauses = DimacsReader.readCNF(file, f);
+            solver.add(clauses);
+            final boolean sat = solver.sat() == Tristate.TRUE;
+            assertThat(sat).isEqualTo(expectedResults.get(file.getName()));
+            assertThat(solver.winner()).isNotNull();
+            if (sat) {
+                final Assignment model = solver.model();
+                for (final Formula clause : clauses) {
+                    assertThat(clause.evaluate(model)).isTrue();
+                }
+            }
+            shared += solver.numSharedClauses();
+            solver.shutdown();
+        }
+        assertThat(shared).isPositive();
+    }
+
+    @Test
+    public void testRandomFormulasWithAssumptions() {
+        final FormulaFactory f = new FormulaFactory();
+        final Random random = new Random(42);
+        final PortfolioSATSolver portfolio = PortfolioSATSolver.builder(f).defaultSolvers(3).maxSharedLBD(4).build();
+        for (int i = 0; i < 50; i++) {
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(10).seed(i).build());
+            final Formula formula = f.and(randomizer.formula(4), randomizer.formula(4));
+            final SATSolver plain = MiniSat.miniSat(f);
+            portfolio.reset();
+            portfolio.add(formula);
+            plain.add(formula);
+            assertThat(portfolio.sat()).isEqualTo(plain.sat());
+            if (plain.sat() == Tristate.TRUE) {
+                assertThat(formula.evaluate(portfolio.model())).isTrue();
+            }
+            for (int j = 0; j < 5; j++) {
+                final List<Literal> assumptions = new ArrayList<>();
+                for (final Variable var : formula.variables()) {
+                    if (random.nextInt(3) == 0) {
+                        assumptions.add(random.nextBoolean() ? var : var.negate());
+                    }
+                }
+                final Tristate result = portfolio.sat(assumptions);
+                assertThat(result).isEqualTo(plain.sat(assumptions));
+                if (result == Tristate.TRUE) {
+                    assertThat(f.and(formula, f.and(assumptions)).evaluate(portfolio.model())).isTrue();
+                }
+            }
+            assertThat(new HashSet<>(portfolio.enumerateAllModels(formula.variables())))
+                    .isEqualTo(new HashSet<>(plain.enumerateAllModels(formula.variables())));
+        }
+        portfolio.shutdown();
+    }
+
+    @Test
+    public void testSaveAndLoadState() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final PortfolioSATSolver solver = PortfolioSATSolver.builder(f)
+                .miniSat(MiniSatConfig.builder().build())
+                .miniSat(MiniSatConfig.builder().initialPhase(true).build())
+                .miniCard(MiniSatConfig.builder().build())
+                .build();
+        solver.add(f.parse("(a | b) & (~a | c)"));
+        final SolverState state = solver.saveState();
+        solver.add(f.parse("~b & ~c"));
+        assertThat(solver.sat()).isEqualTo(Tristate.FALSE);
+        solver.loadState(state);
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThatThrownBy(() -> solver.loadState(new SolverState(42, new int[0]))).isInstanceOf(IllegalArgumentException.class);
+        solver.shutdown();
+    }
+
+    @Test
+    public void testUnsatCoreWithSharedLearnts() {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSatConfig config = MiniSatConfig.builder().proofGeneration(true).build();
+        final PortfolioSATSolver solver = PortfolioSATSolver.builder(f).miniSat(config).miniSat(config).miniSat(config).shareLearnts(true).build();
+        solver.add(new PigeonHoleGenerator(f).generate(7));
+        assertThat(solver.sat()).isEqualTo(Tristate.FALSE);
+        final UNSATCore<Proposition> core = solver.unsatCore();
+        assertThat(core.propositions()).isNotEmpty();
+        final SATSolver checker = MiniSat.miniSat(f);
+        for (final Proposition proposition : core.propositions()) {
+            checker.add(proposition);
+        }
+        assertThat(checker.sat()).isEqualTo(Tristate.FALSE);
+        solver.shutdown();
+    }
+
+    @Test
+    public void testTimeoutSATHandler() {
+        final FormulaFactory f = new FormulaFactory();
+        final PortfolioSATSolver solver = PortfolioSATSolver.portfolio(f, 3);
+        solver.add(new PigeonHoleGenerator(f).generate(10));
+        final TimeoutSATHandler handler = new TimeoutSATHandler(1000L);
+        assertThat(solver.sat(handler)).isEqualTo(Tristate.UNDEF);
+        assertThat(handler.aborted()).isTrue();
+        assertThat(solver.winner()).isNull();
+        assertThatThrownBy(solver::model).isInstanceOf(IllegalStateException.class);
+        solver.shutdown();
+    }
+
+    @Test
+    public void testIllegalConfigurations() {
+        final FormulaFactory f = new FormulaFactory();
+        assertThatThrownBy(() -> PortfolioSATSolver.builder(f).build()).isInstanceOf(IllegalArgumentException.class);
+        final PortfolioSATSolver solver = PortfolioSATSolver.portfolio(f, 2);
+        assertThatThrownBy(() -> solver.addIncrementalCC((CardinalityConstraint) f.cc(CType.LE, 1, f.variable("a"), f.variable("b"))))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(solver::saveState).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(solver.solvers().get(0).saveState().id()).isEqualTo(0);
+        solver.shutdown();
+        final PortfolioSATSolver nonIncremental = PortfolioSATSolver.builder(f)
+                .miniSat(MiniSatConfig.builder().build())
+                .miniSat(MiniSatConfig.builder().incremental(false).build())
+                .build();
+        assertThatThrownBy(nonIncremental::saveState).isInstanceOf(IllegalStateException.class);
+        nonIncremental.shutdown();
+    }
+}
@@ -32,11 +32,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import org.junit.jupiter.api.Test;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.collections.LNGVector;
 import org.logicng.datastructures.Tristate;
 
 /**
  * Unit tests for the toString() methods of the solver data structures.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class SolversDatastructuresTest {
@@ -82,6 +83,36 @@ public class SolversDatastructuresTest {
         assertThat(clause.equals("Test")).isFalse();
     }
 
+    @Test
+    public void testMSClauseArena() {
+        final MSClauseArena arena = new MSClauseArena();
+        final LNGVector<MSClause> clauses = new LNGVector<>();
+        final LNGVector<MSClause> learnts = new LNGVector<>();
+        for (int i = 0; i < 10000; i++) {
+            final MSClause clause = new MSClause(new LNGIntVector(2 * i, 2 * i + 3, 2 * i + 4), i % 2 == 0, false, arena);
+            (clause.learnt() ? learnts : clauses).push(clause);
+        }
+        assertThat(arena.size()).isEqualTo(30000);
+        final MSClause removed = learnts.get(0);
+        arena.free(removed);
+        learnts.remove(removed);
+        assertThat(arena.wasted()).isEqualTo(3);
+        clauses.get(0).set(1, 42);
+        clauses.get(1).pop();
+        arena.compact(clauses, learnts);
+        assertThat(arena.size()).isEqualTo(29996);
+        assertThat(arena.wasted()).isEqualTo(0);
+        assertThat(removed.toString()).endsWith("lits=[0, -1, 2]}");
+        assertThat(clauses.get(0).toString()).endsWith("lits=[1, 21, 3]}");
+        assertThat(clauses.get(1).toString()).endsWith("lits=[3, -4]}");
+        for (int i = 2; i < clauses.size(); i++) {
+            final int first = 2 * (2 * i + 1);
+            assertThat(clauses.get(i).size()).isEqualTo(3);
+            assertThat(clauses.get(i).get(0)).isEqualTo(first);
+            assertThat(clauses.get(i).get(2)).isEqualTo(first + 4);
+        }
+    }
+
     @Test
     public void testMSHardClause() {
         final LNGIntVector vec = new LNGIntVector();
@@ -0,0 +1,163 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.functions;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.handlers.TimeoutSATHandler;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.sat.GlucoseConfig;
+import org.logicng.solvers.sat.MiniSatConfig;
+import org.logicng.testutils.PigeonHoleGenerator;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for {@link CubeAndConquerFunction}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class CubeAndConquerFunctionTest {
+
+    @Test
+    public void testDimacsFiles() throws IOException {
+        final Map<String, Boolean> expectedResults = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new FileReader("src/test/resources/sat/results.txt"));
+        while (reader.ready()) {
+            final String[] tokens = reader.readLine().split(";");
+            expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+        }
+        final File[] files = new File("src/test/resources/sat").listFiles((dir, name) -> name.endsWith(".cnf"));
+        assert files != null;
+        final CubeAndConquerFunction function = CubeAndConquerFunction.builder().threads(4).build();
+        for (final File file : files) {
+            final FormulaFactory f = new FormulaFactory();
+            final MiniSat solver = MiniSat.miniSat(f);
+            final List<Formula> clauses = DimacsReader.readCNF(file, f);
+            solver.add(clauses);
+            final boolean sat = solver.execute(function) == Tristate.TRUE;
+            assertThat(sat).isEqualTo(expectedResults.get(file.getName()));
+            assertThat(solver.getResult()).isEqualTo(Tristate.fromBool(sat));
+            if (sat) {
+                final Assignment model = solver.model();
+                for (final Formula clause : clauses) {
+                    assertThat(clause.evaluate(model)).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSolverStyles() {
+        final FormulaFactory f = new FormulaFactory();
+        for (int i = 0; i < 50; i++) {
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(10).seed(i).build());
+            final Formula formula = f.and(randomizer.formula(4), randomizer.formula(4), randomizer.amo());
+            final MiniSat plain = MiniSat.miniSat(f);
+            plain.add(formula);
+            final Tristate expected = plain.sat();
+            for (final MiniSat solver : Arrays.asList(MiniSat.miniSat(f), MiniSat.glucose(f),
+                    MiniSat.miniCard(f, MiniSatConfig.builder().incremental(false).build()),
+                    MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build()))) {
+                solver.add(formula);
+                final CubeAndConquerFunction function = CubeAndConquerFunction.builder().threads(2).depth(3).build();
+                assertThat(solver.execute(function)).isEqualTo(expected);
+                if (expected == Tristate.TRUE) {
+                    assertThat(formula.evaluate(solver.model())).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testGenerateCubes() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        solver.add(f.parse("(a | b) & (~a | c) & (~b | c) & (c | d | e) & (~d | ~e)"));
+        final List<LNGIntVector> cubes = solver.underlyingSolver().generateCubes(2, 10);
+        assertThat(cubes).isNotEmpty().hasSizeLessThanOrEqualTo(4);
+        for (final LNGIntVector cube : cubes) {
+            assertThat(cube.size()).isGreaterThanOrEqualTo(2);
+        }
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        solver.add(new PigeonHoleGenerator(f).generate(3));
+        assertThat(solver.underlyingSolver().generateCubes(10, 10)).isEmpty();
+    }
+
+    @Test
+    public void testUnsatisfiableWithPruning() {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        solver.add(new PigeonHoleGenerator(f).generate(7));
+        assertThat(solver.execute(CubeAndConquerFunction.builder().threads(3).depth(6).build())).isEqualTo(Tristate.FALSE);
+        assertThat(solver.getResult()).isEqualTo(Tristate.FALSE);
+        final MiniSat glucose = MiniSat.glucose(f, MiniSatConfig.builder().proofGeneration(true).incremental(false).build(),
+                GlucoseConfig.builder().build());
+        glucose.add(new PigeonHoleGenerator(f).generate(5));
+        assertThat(glucose.execute(CubeAndConquerFunction.builder().threads(2).build())).isEqualTo(Tristate.FALSE);
+        assertThat(glucose.getResult()).isEqualTo(Tristate.FALSE);
+        assertThat(glucose.underlyingSolver().pgProof().empty()).isFalse();
+    }
+
+    @Test
+    public void testTimeoutHandler() {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        solver.add(new PigeonHoleGenerator(f).generate(10));
+        final TimeoutSATHandler handler = new TimeoutSATHandler(1000L);
+        assertThat(solver.execute(CubeAndConquerFunction.builder().handler(handler).threads(2).depth(2).build())).isEqualTo(Tristate.UNDEF);
+        assertThat(handler.aborted()).isTrue();
+        assertThat(solver.getResult()).isEqualTo(Tristate.UNDEF);
+    }
+
+    @Test
+    public void testIllegalArguments() {
+        assertThatThrownBy(() -> CubeAndConquerFunction.builder().threads(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CubeAndConquerFunction.builder().depth(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CubeAndConquerFunction.builder().numCandidates(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CubeAndConquerFunction.builder().conflictBudget(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
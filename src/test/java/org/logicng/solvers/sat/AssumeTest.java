@@ -33,6 +33,9 @@ import static org.logicng.datastructures.Tristate.FALSE;
 import static org.logicng.datastructures.Tristate.TRUE;
 
 import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
 import org.logicng.formulas.Literal;
 import org.logicng.io.parsers.ParserException;
@@ -40,12 +43,14 @@ import org.logicng.io.parsers.PropositionalParser;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
 /**
  * Unit tests for the assume functionality of the MiniSat style SAT solvers.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class AssumeTest {
@@ -106,4 +111,79 @@ public class AssumeTest {
             s.reset();
         }
     }
+
+    @Test
+    public void testAssumptionLevelsAreKept() throws ParserException {
+        final MiniSat solver = MiniSat.miniSat(this.f, MiniSatConfig.builder().build());
+        solver.add(this.parser.parse("(a | b) & (~a | c) & (~c | d | e) & (~d | ~e)"));
+        final Literal a = this.f.variable("a");
+        final Literal d = this.f.variable("d");
+        final Literal e = this.f.variable("e");
+        assertThat(solver.sat(Arrays.asList(a, d))).isEqualTo(TRUE);
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(2);
+        assertThat(solver.sat(Arrays.asList(a, d, e))).isEqualTo(FALSE);
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(2);
+        assertThat(solver.sat(Arrays.asList(a, e))).isEqualTo(TRUE);
+        assertThat(solver.model().literals()).contains(a, e, d.negate());
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(2);
+        assertThat(solver.sat(d.negate())).isEqualTo(TRUE);
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(1);
+        solver.add(a.negate());
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(0);
+        assertThat(solver.sat(Arrays.asList(a, d))).isEqualTo(FALSE);
+        assertThat(solver.sat()).isEqualTo(TRUE);
+        assertThat(solver.underlyingSolver().decisionLevel()).isEqualTo(0);
+    }
+
+    @Test
+    public void testAssumptionLevelReuseOnRelatedAssumptions() {
+        final Random random = new Random(42);
+        for (int round = 0; round < 20; round++) {
+            final List<Formula> clauses = randomClauses(random, 30, 110);
+            final List<SATSolver> solvers = Arrays.asList(this.solvers[0], this.solvers[1], this.solvers[4], this.solvers[5]);
+            for (final SATSolver s : solvers) {
+                s.add(clauses);
+            }
+            final List<Literal> assumptions = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                if (!assumptions.isEmpty() && random.nextInt(3) == 0) {
+                    assumptions.subList(random.nextInt(assumptions.size()), assumptions.size()).clear();
+                }
+                assumptions.add(this.f.literal("v" + random.nextInt(30), random.nextBoolean()));
+                final Formula additional = i % 10 == 9 ? randomClauses(random, 30, 1).get(0) : null;
+                final SATSolver reference = MiniSat.miniSat(this.f);
+                reference.add(clauses);
+                final Tristate expected = reference.sat(assumptions);
+                for (final SATSolver s : solvers) {
+                    assertThat(s.sat(assumptions)).isEqualTo(expected);
+                    if (expected == TRUE) {
+                        final Assignment model = s.model();
+                        assertThat(model.literals()).containsAll(assumptions);
+                        assertThat(clauses).allMatch(clause -> clause.evaluate(model));
+                    }
+                    if (additional != null) {
+                        s.add(additional);
+                    }
+                }
+                if (additional != null) {
+                    clauses.add(additional);
+                }
+            }
+            for (final SATSolver s : solvers) {
+                s.reset();
+            }
+        }
+    }
+
+    private List<Formula> randomClauses(final Random random, final int numVars, final int numClauses) {
+        final List<Formula> clauses = new ArrayList<>();
+        for (int i = 0; i < numClauses; i++) {
+            final List<Literal> literals = new ArrayList<>();
+            for (int j = 0; j < 3; j++) {
+                literals.add(this.f.literal("v" + random.nextInt(numVars), random.nextBoolean()));
+            }
+            clauses.add(this.f.or(literals));
+        }
+        return clauses;
+    }
 }
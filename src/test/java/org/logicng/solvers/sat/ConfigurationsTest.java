@@ -39,7 +39,7 @@ import java.util.Arrays;
 
 /**
  * Unit tests for the solver configurations.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class ConfigurationsTest extends TestWithExampleFormulas {
@@ -58,6 +58,8 @@ public class ConfigurationsTest extends TestWithExampleFormulas {
                 .lsInc(1.5)
                 .incremental(false)
                 .initialPhase(true)
+                .simplification(true)
+                .simpGrow(2)
                 .build();
         final String expected = String.format("MiniSatConfig{%n" +
                 "varDecay=1.2%n" +
@@ -77,6 +79,10 @@ public class ConfigurationsTest extends TestWithExampleFormulas {
                 "bbInitialUBCheckForRotatableLiterals=true%n" +
                 "bbCheckForComplementModelLiterals=true%n" +
                 "bbCheckForRotatableLiterals=true%n" +
+                "simplification=true%n" +
+                "simpGrow=2%n" +
+                "simpClauseLimit=20%n" +
+                "simpSubsumptionLimit=1000%n" +
                 "}");
         assertThat(config.toString()).isEqualTo(expected);
     }
@@ -97,6 +103,11 @@ public class ConfigurationsTest extends TestWithExampleFormulas {
                 .reduceOnSize(true)
                 .reduceOnSizeSize(10)
                 .maxVarDecay(0.99)
+                .inprocessing(true)
+                .inprocessingInterval(1000)
+                .vivificationLimit(500)
+                .subsumptionLimit(5000)
+                .probingLimit(50)
                 .build();
         final String expected = String.format("GlucoseConfig{%n" +
                 "lbLBDMinimizingClause=3%n" +
@@ -112,6 +123,11 @@ public class ConfigurationsTest extends TestWithExampleFormulas {
                 "reduceOnSize=true%n" +
                 "reduceOnSizeSize=10%n" +
                 "maxVarDecay=0.99%n" +
+                "inprocessing=true%n" +
+                "inprocessingInterval=1000%n" +
+                "vivificationLimit=500%n" +
+                "subsumptionLimit=5000%n" +
+                "probingLimit=50%n" +
                 "}");
         assertThat(config.toString()).isEqualTo(expected);
     }
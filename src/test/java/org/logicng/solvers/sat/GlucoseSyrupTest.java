@@ -34,10 +34,30 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 
 /**
  * Unit tests for the class {@link GlucoseSyrup}
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.1
  */
 public class GlucoseSyrupTest {
@@ -88,6 +108,68 @@ public class GlucoseSyrupTest {
         assertThat(this.gs.toString()).isEqualTo(expected);
     }
 
+    @Test
+    public void testInprocessingOnDimacsFiles() throws IOException {
+        final Map<String, Boolean> expectedResults = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new FileReader("src/test/resources/sat/results.txt"));
+        while (reader.ready()) {
+            final String[] tokens = reader.readLine().split(";");
+            expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+        }
+        final File[] files = new File("src/test/resources/sat").listFiles((dir, name) -> name.endsWith(".cnf"));
+        assert files != null;
+        int vivified = 0;
+        int subsumed = 0;
+        for (final File file : files) {
+            final FormulaFactory f = new FormulaFactory();
+            final MiniSat solver = MiniSat.glucose(f, MiniSatConfig.builder().build(),
+                    GlucoseConfig.builder().inprocessing(true).inprocessingInterval(100).build());
+            final List<Formula> clauses = DimacsReader.readCNF(file, f);
+            solver.add(clauses);
+            final boolean sat = solver.sat() == Tristate.TRUE;
+            assertThat(sat).isEqualTo(expectedResults.get(file.getName()));
+            if (sat) {
+                for (final Formula clause : clauses) {
+                    assertThat(clause.evaluate(solver.model())).isTrue();
+                }
+            }
+            final GlucoseSyrup underlying = (GlucoseSyrup) solver.underlyingSolver();
+            vivified += underlying.numVivifiedClauses();
+            subsumed += underlying.numSubsumedLearnts() + underlying.numStrengthenedClauses();
+        }
+        assertThat(vivified).isPositive();
+        assertThat(subsumed).isPositive();
+    }
+
+    @Test
+    public void testInprocessingWithAssumptions() {
+        final FormulaFactory f = new FormulaFactory();
+        final Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(30).seed(i).build());
+            final Formula formula = f.and(randomizer.formula(6), randomizer.formula(6), randomizer.formula(6));
+            final SATSolver glucose = MiniSat.glucose(f, MiniSatConfig.builder().build(),
+                    GlucoseConfig.builder().inprocessing(true).inprocessingInterval(1).build());
+            final SATSolver miniSat = MiniSat.miniSat(f);
+            glucose.add(formula);
+            miniSat.add(formula);
+            final List<Variable> variables = new ArrayList<>(formula.variables());
+            for (int j = 0; j < 50; j++) {
+                final List<Literal> assumptions = new ArrayList<>();
+                for (final Variable var : variables) {
+                    if (random.nextInt(5) == 0) {
+                        assumptions.add(random.nextBoolean() ? var : var.negate());
+                    }
+                }
+                final Tristate result = glucose.sat(assumptions);
+                assertThat(result).isEqualTo(miniSat.sat(assumptions));
+                if (result == Tristate.TRUE) {
+                    assertThat(f.and(formula, f.and(assumptions)).evaluate(glucose.model())).isTrue();
+                }
+            }
+        }
+    }
+
     private LNGIntVector clause(final int... lits) {
         final LNGIntVector c = new LNGIntVector(lits.length);
         for (final int l : lits) {
@@ -0,0 +1,216 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+
+package org.logicng.solvers.sat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.datastructures.Assignment;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
+import org.logicng.util.FormulaRandomizer;
+import org.logicng.util.FormulaRandomizerConfig;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link MiniSat2SimpSolver}.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class MiniSat2SimpSolverTest {
+
+    @Test
+    public void testDimacsFiles() throws IOException {
+        final Map<String, Boolean> expectedResults = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new FileReader("src/test/resources/sat/results.txt"));
+        while (reader.ready()) {
+            final String[] tokens = reader.readLine().split(";");
+            expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+        }
+        final File[] files = new File("src/test/resources/sat").listFiles((dir, name) -> name.endsWith(".cnf"));
+        assert files != null;
+        int eliminated = 0;
+        for (final File file : files) {
+            final FormulaFactory f = new FormulaFactory();
+            final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+            final List<Formula> clauses = DimacsReader.readCNF(file, f);
+            solver.add(clauses);
+            final boolean sat = solver.sat() == Tristate.TRUE;
+            assertThat(sat).isEqualTo(expectedResults.get(file.getName()));
+            if (sat) {
+                final Assignment model = solver.model();
+                for (final Formula clause : clauses) {
+                    assertThat(clause.evaluate(model)).isTrue();
+                }
+            }
+            eliminated += ((MiniSat2SimpSolver) solver.underlyingSolver()).numEliminatedVars();
+        }
+        assertThat(eliminated).isPositive();
+    }
+
+    @Test
+    public void testRandomFormulas() {
+        final FormulaFactory f = new FormulaFactory();
+        final Random random = new Random(42);
+        for (int i = 0; i < 100; i++) {
+            final FormulaRandomizer randomizer = new FormulaRandomizer(f, FormulaRandomizerConfig.builder().numVars(8).seed(i).build());
+            final Formula formula = f.and(randomizer.formula(4), randomizer.formula(4));
+            final SATSolver simp = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+            final SATSolver plain = MiniSat.miniSat(f);
+            simp.add(formula);
+            plain.add(formula);
+            assertThat(simp.sat()).isEqualTo(plain.sat());
+            if (plain.sat() == Tristate.FALSE) {
+                continue;
+            }
+            assertThat(formula.evaluate(simp.model())).isTrue();
+            final List<Literal> assumptions = new ArrayList<>();
+            for (final Variable var : formula.variables()) {
+                if (random.nextInt(4) == 0) {
+                    assumptions.add(random.nextBoolean() ? var : var.negate());
+                }
+            }
+            assertThat(simp.sat(assumptions)).isEqualTo(plain.sat(assumptions));
+            if (simp.sat(assumptions) == Tristate.TRUE) {
+                assertThat(f.and(formula, f.and(assumptions)).evaluate(simp.model())).isTrue();
+            }
+            assertThat(simp.backbone(formula.variables())).isEqualTo(plain.backbone(formula.variables()));
+            assertThat(new HashSet<>(simp.enumerateAllModels(formula.variables())))
+                    .isEqualTo(new HashSet<>(plain.enumerateAllModels(formula.variables())));
+        }
+    }
+
+    @Test
+    public void testEliminationAndRestoration() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+        final MiniSat2SimpSolver underlying = (MiniSat2SimpSolver) solver.underlyingSolver();
+        solver.add(f.parse("(a | b) & (~b | c) & (~c | d) & (c | ~d | e) & (x | y)"));
+        solver.add(f.parse("(x | ~a) & (~x | ~e)"));
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(underlying.numEliminatedVars()).isPositive();
+        final int b = underlying.idxForName("b");
+        assertThat(underlying.isEliminated(b)).isTrue();
+        assertThat(f.parse("(a | b) & (~b | c) & (~c | d) & (c | ~d | e) & (x | y) & (x | ~a) & (~x | ~e)")
+                .evaluate(solver.model())).isTrue();
+        solver.add(f.parse("~b"));
+        assertThat(underlying.isEliminated(b)).isFalse();
+        assertThat(underlying.isFrozen(b)).isTrue();
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(solver.model().literals()).contains(f.literal("a", true), f.literal("x", true), f.literal("e", false));
+        solver.add(f.parse("~x"));
+        assertThat(solver.sat()).isEqualTo(Tristate.FALSE);
+    }
+
+    @Test
+    public void testFrozenVariables() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+        final MiniSat2SimpSolver underlying = (MiniSat2SimpSolver) solver.underlyingSolver();
+        solver.add(f.parse("(a | b) & (~b | c) & (~c | d)"));
+        final int b = underlying.idxForName("b");
+        final int c = underlying.idxForName("c");
+        underlying.setFrozen(b, true);
+        assertThat(solver.sat(f.literal("c", false))).isEqualTo(Tristate.TRUE);
+        assertThat(underlying.isEliminated(b)).isFalse();
+        assertThat(underlying.isEliminated(c)).isFalse();
+        assertThat(underlying.isFrozen(c)).isTrue();
+        assertThat(solver.model().literals()).contains(f.literal("a", true), f.literal("b", false));
+    }
+
+    @Test
+    public void testSubsumption() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+        final MiniSat2SimpSolver underlying = (MiniSat2SimpSolver) solver.underlyingSolver();
+        solver.add(f.parse("(a | b | c) & (a | b) & (~a | b | d) & (a | c | d) & (~b | c | d)"));
+        for (int i = 0; i < underlying.nVars(); i++) {
+            underlying.setFrozen(i, true);
+        }
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(underlying.numEliminatedVars()).isZero();
+        assertThat(underlying.numSubsumedClauses()).isEqualTo(2);
+        assertThat(underlying.numStrengthenedClauses()).isEqualTo(2);
+        assertThat(underlying.clauses().size()).isEqualTo(3);
+    }
+
+    @Test
+    public void testSaveAndLoadState() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+        final MiniSat2SimpSolver underlying = (MiniSat2SimpSolver) solver.underlyingSolver();
+        final Formula formula = f.parse("(a | b) & (~b | c) & (~c | d) & (d => e | a)");
+        solver.add(formula);
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(underlying.numEliminatedVars()).isPositive();
+        final SolverState state = solver.saveState();
+        assertThat(underlying.numEliminatedVars()).isZero();
+        solver.add(f.parse("~a & ~e"));
+        assertThat(solver.sat()).isEqualTo(Tristate.FALSE);
+        solver.loadState(state);
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(formula.evaluate(solver.model())).isTrue();
+        assertThat(underlying.numEliminatedVars()).isZero();
+        assertThat(new HashSet<>(solver.enumerateAllModels(formula.variables()))).isEqualTo(new HashSet<>(enumerate(f, formula)));
+    }
+
+    @Test
+    public void testProofGeneration() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).proofGeneration(true).build());
+        solver.add(f.parse("(a | b) & (~b | c) & (~c | d)"));
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(((MiniSat2SimpSolver) solver.underlyingSolver()).numEliminatedVars()).isZero();
+        assertThat(solver.underlyingSolver().clauses().size()).isEqualTo(3);
+    }
+
+    private static List<Assignment> enumerate(final FormulaFactory f, final Formula formula) {
+        final SATSolver solver = MiniSat.miniSat(f);
+        solver.add(formula);
+        return solver.enumerateAllModels(new ArrayList<>(formula.variables()));
+    }
+}
@@ -35,16 +35,19 @@ import static org.logicng.datastructures.Tristate.TRUE;
 
 import org.junit.jupiter.api.Test;
 import org.logicng.collections.LNGIntVector;
+import org.logicng.formulas.Formula;
 import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Variable;
 import org.logicng.io.parsers.ParserException;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
+import org.logicng.solvers.SolverState;
 
 import java.util.Arrays;
 
 /**
  * Some MiniSat specific unit tests.
- * @version 2.0.0
+ * @version 2.1.0
  * @since 1.0
  */
 public class MiniSatTest {
@@ -98,6 +101,80 @@ public class MiniSatTest {
         assertThat(solver.sat()).isEqualTo(TRUE);
     }
 
+    @Test
+    public void testVariableMapping() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f, MiniSatConfig.builder().incremental(true).build());
+        final MiniSatStyleSolver underlying = solver.underlyingSolver();
+        final Variable a = f.variable("a");
+        final Variable b = f.variable("b");
+        final Variable c = f.variable("c");
+        solver.add(f.parse("a | ~b"));
+        assertThat(underlying.idxForVariable(a)).isEqualTo(underlying.idxForName("a"));
+        assertThat(underlying.idxForVariable(b)).isEqualTo(underlying.idxForName("b"));
+        assertThat(underlying.idxForVariable(c)).isEqualTo(-1);
+        assertThat((Formula) underlying.variableForIdx(underlying.idxForName("a"))).isSameAs(a);
+        final SolverState state = solver.saveState();
+        solver.add(c);
+        final int cIndex = underlying.idxForVariable(c);
+        assertThat((Formula) underlying.variableForIdx(cIndex)).isSameAs(c);
+        solver.loadState(state);
+        assertThat(underlying.idxForVariable(c)).isEqualTo(-1);
+        assertThat((Formula) underlying.variableForIdx(cIndex)).isNull();
+        final int dIndex = underlying.newVar(true, true);
+        underlying.addName("d", dIndex);
+        assertThat((Formula) underlying.variableForIdx(dIndex)).isNull();
+        assertThat(underlying.idxForVariable(f.variable("d"))).isEqualTo(dIndex);
+        assertThat((Formula) underlying.variableForIdx(dIndex)).isSameAs(f.variable("d"));
+        solver.add(f.parse("~a & d"));
+        assertThat(solver.sat()).isEqualTo(TRUE);
+        assertThat(solver.model().literals()).containsExactlyInAnyOrder(a.negate(), b.negate(), f.variable("d"));
+        assertThat(solver.knownVariables()).containsExactly(a, b, f.variable("d"));
+        final FormulaFactory g = new FormulaFactory();
+        g.variable("x");
+        final Variable foreignB = g.variable("b");
+        assertThat(underlying.idxForVariable(foreignB)).isEqualTo(underlying.idxForName("b"));
+        assertThat((Formula) underlying.variableForIdx(underlying.idxForName("b"))).isSameAs(b);
+        assertThat(underlying.idxForVariable(b)).isEqualTo(underlying.idxForName("b"));
+        assertThat(solver.sat()).isEqualTo(TRUE);
+        assertThat(solver.model().literals()).containsExactlyInAnyOrder(a.negate(), b.negate(), f.variable("d"));
+    }
+
+    @Test
+    public void testBinaryClausesAndStatistics() {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat[] solvers = {
+                MiniSat.miniSat(f, MiniSatConfig.builder().incremental(true).build()),
+                MiniSat.miniCard(f, MiniSatConfig.builder().incremental(true).build())
+        };
+        for (final MiniSat solver : solvers) {
+            final MiniSatStyleSolver underlying = solver.underlyingSolver();
+            assertThat(underlying.propagations()).isZero();
+            assertThat(underlying.conflicts()).isZero();
+            assertThat(underlying.propagationsPerSecond()).isZero();
+            for (int i = 1; i < 10; i++) {
+                solver.addClause(-i, i + 1);
+            }
+            solver.addClause(1, 5, 7);
+            final SolverState state = solver.saveState();
+            solver.addClause(-10, -5);
+            assertThat(solver.sat()).isEqualTo(TRUE);
+            assertThat(solver.model().positiveVariables()).extracting(Variable::name).containsExactlyInAnyOrder("v7", "v8", "v9", "v10");
+            assertThat(solver.sat(f.variable("v1"))).isEqualTo(FALSE);
+            assertThat(solver.sat(f.literal("v8", false))).isEqualTo(FALSE);
+            assertThat(solver.sat(Arrays.asList(f.literal("v3", false), f.literal("v6", true)))).isEqualTo(TRUE);
+            solver.loadState(state);
+            assertThat(solver.sat(f.variable("v1"))).isEqualTo(TRUE);
+            assertThat(solver.model().positiveVariables()).hasSize(10);
+            assertThat(underlying.propagations()).isPositive();
+            assertThat(underlying.conflicts()).isPositive();
+            assertThat(underlying.solvingTime()).isPositive();
+            solver.reset();
+            assertThat(underlying.propagations()).isZero();
+            assertThat(underlying.conflicts()).isZero();
+        }
+    }
+
     private LNGIntVector clause(final int... lits) {
         final LNGIntVector c = new LNGIntVector(lits.length);
         for (final int l : lits) {
@@ -53,6 +53,7 @@ import org.logicng.handlers.TimeoutSATHandler;
 import org.logicng.io.parsers.ParserException;
 import org.logicng.io.parsers.PropositionalParser;
 import org.logicng.io.parsers.PseudoBooleanParser;
+import org.logicng.io.readers.DimacsReader;
 import org.logicng.propositions.StandardProposition;
 import org.logicng.solvers.MiniSat;
 import org.logicng.solvers.SATSolver;
@@ -81,7 +82,7 @@ import java.util.TreeSet;
 
 /**
  * Unit tests for the SAT solvers.
- * @version 1.6
+ * @version 2.1.0
  * @since 1.0
  */
 public class SATTest extends TestWithExampleFormulas implements LogicNGTest {
@@ -573,6 +574,76 @@ public class SATTest extends TestWithExampleFormulas implements LogicNGTest {
         }
     }
 
+    @Test
+    public void testDimacsFilesWithIntClauses() throws IOException {
+        final Map<String, Boolean> expectedResults = new HashMap<>();
+        final BufferedReader reader = new BufferedReader(new FileReader("src/test/resources/sat/results.txt"));
+        while (reader.ready()) {
+            final String[] tokens = reader.readLine().split(";");
+            expectedResults.put(tokens[0], Boolean.valueOf(tokens[1]));
+        }
+        final File testFolder = new File("src/test/resources/sat");
+        final File[] files = testFolder.listFiles();
+        assert files != null;
+        for (final SATSolver solver : Arrays.asList(this.solvers[0], this.solvers[2], this.solvers[3])) {
+            for (final File file : files) {
+                final String fileName = file.getName();
+                if (fileName.endsWith(".cnf")) {
+                    solver.reset();
+                    DimacsReader.readCNF(file, solver);
+                    final boolean res = solver.sat() == Tristate.TRUE;
+                    assertThat(res).isEqualTo(expectedResults.get(fileName));
+                    if (res) {
+                        final Assignment model = solver.model();
+                        for (final Formula clause : DimacsReader.readCNF(file, this.f)) {
+                            assertThat(clause.evaluate(model)).isTrue();
+                        }
+                    }
+                }
+            }
+            solver.reset();
+        }
+    }
+
+    @Test
+    public void testIntClauses() throws ParserException {
+        for (final SATSolver s : this.solvers) {
+            s.add(this.parser.parse("v1 => v3"));
+            s.addClause(1, -2);
+            s.addClause(2);
+            assertSolverSat(s);
+            assertThat(s.model().literals()).containsExactlyInAnyOrder(this.f.variable("v1"), this.f.variable("v2"), this.f.variable("v3"));
+            assertThat(s.knownVariables()).containsExactly(this.f.variable("v1"), this.f.variable("v2"), this.f.variable("v3"));
+            s.addClause(-3, -1);
+            assertSolverUnsat(s);
+            s.reset();
+            s.addClause(-1);
+            assertSolverSat(s);
+            assertThat(s.model().literals()).containsExactly(this.f.literal("v1", false));
+            s.addClause();
+            assertSolverUnsat(s);
+            assertThatThrownBy(() -> s.addClause(1, 0)).isInstanceOf(IllegalArgumentException.class);
+            s.reset();
+        }
+    }
+
+    @Test
+    public void testIntClausesWithStates() {
+        final SATSolver s = this.solvers[0];
+        s.addClause(1, 2);
+        final SolverState state = s.saveState();
+        s.addClause(-1, 5);
+        s.addClause(-2, 5);
+        s.addClause(-5);
+        assertSolverUnsat(s);
+        s.loadState(state);
+        s.addClause(-5);
+        s.addClause(-1);
+        assertSolverSat(s);
+        assertThat(s.model().literals()).containsExactlyInAnyOrder(this.f.literal("v1", false), this.f.variable("v2"), this.f.literal("v5", false));
+        s.reset();
+    }
+
     @Test
     public void testPigeonHoleWithReset() {
         for (final SATSolver s : this.solvers) {
@@ -0,0 +1,250 @@
+///////////////////////////////////////////////////////////////////////////
+//                   __                _      _   ________               //
+//                  / /   ____  ____ _(_)____/ | / / ____/               //
+//                 / /   / __ \/ __ `/ / ___/  |/ / / __                 //
+//                / /___/ /_/ / /_/ / / /__/ /|  / /_/ /                 //
+//               /_____/\____/\__, /_/\___/_/ |_/\____/                  //
+//                           /____/                                      //
+//                                                                       //
+//               The Next Generation Logic Library                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+//                                                                       //
+//  Copyright 2015-20xx Christoph Zengler                                //
+//                                                                       //
+//  Licensed under the Apache License, Version 2.0 (the "License");      //
+//  you may not use this file except in compliance with the License.     //
+//  You may obtain a copy of the License at                              //
+//                                                                       //
+//  http://www.apache.org/licenses/LICENSE-2.0                           //
+//                                                                       //
+//  Unless required by applicable law or agreed to in writing, software  //
+//  distributed under the License is distributed on an "AS IS" BASIS,    //
+//  WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or      //
+//  implied.  See the License for the specific language governing        //
+//  permissions and limitations under the License.                       //
+//                                                                       //
+///////////////////////////////////////////////////////////////////////////
+package org.logicng.solvers.sat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.logicng.collections.LNGIntVector;
+import org.logicng.datastructures.Tristate;
+import org.logicng.formulas.Formula;
+import org.logicng.formulas.FormulaFactory;
+import org.logicng.formulas.Literal;
+import org.logicng.formulas.Variable;
+import org.logicng.io.parsers.ParserException;
+import org.logicng.io.readers.DimacsReader;
+import org.logicng.knowledgecompilation.dnnf.DnnfMiniSatStyleSolver;
+import org.logicng.solvers.MiniSat;
+import org.logicng.solvers.SolverState;
+import org.logicng.solvers.datastructures.MSClause;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Unit tests for copying MiniSat-style solvers.
+ * @version 2.1.0
+ * @since 2.1.0
+ */
+public class SolverCopyTest {
+
+    @Test
+    public void testCopyIsIndependent() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        for (final MiniSat solver : Arrays.asList(MiniSat.miniSat(f), MiniSat.miniCard(f))) {
+            solver.add(f.parse("(a | b | c) & (~a | d) & (~b | d) & (a <=> ~e)"));
+            assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+            final MiniSat copy = solver.copy();
+            assertThat(copy.getResult()).isEqualTo(Tristate.TRUE);
+            assertThat(copy.knownVariables()).isEqualTo(solver.knownVariables());
+            copy.add(f.parse("~d"));
+            assertThat(copy.sat()).isEqualTo(Tristate.TRUE);
+            assertThat(copy.model().literals()).contains(f.literal("c", true), f.literal("a", false), f.literal("e", true));
+            copy.add(f.parse("~c"));
+            assertThat(copy.sat()).isEqualTo(Tristate.FALSE);
+            assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+            assertThat(solver.sat(f.literal("d", false))).isEqualTo(Tristate.TRUE);
+            solver.add(f.parse("a => f"));
+            assertThat(copy.knownVariables()).doesNotContain(f.variable("f"));
+        }
+    }
+
+    @Test
+    public void testCopyOfWarmedUpSolver() throws IOException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        final List<Formula> clauses = DimacsReader.readCNF(new File("src/test/resources/sat/9symml_gr_rcs_w6.shuffled.cnf"), f);
+        solver.add(clauses);
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        final MiniSatStyleSolver underlying = solver.underlyingSolver();
+        final MiniSat copy = solver.copy();
+        final MiniSatStyleSolver underlyingCopy = copy.underlyingSolver();
+        assertThat(underlyingCopy.clauses().size()).isEqualTo(underlying.clauses().size());
+        assertThat(underlyingCopy.learnts.size()).isEqualTo(underlying.learnts.size());
+        assertThat(underlyingCopy.conflicts()).isEqualTo(underlying.conflicts());
+        for (int i = 0; i < underlying.nVars(); i++) {
+            assertThat(underlyingCopy.variables().get(i).activity()).isEqualTo(underlying.variables().get(i).activity());
+            assertThat(underlyingCopy.nameForIdx(i)).isEqualTo(underlying.nameForIdx(i));
+        }
+        final List<List<Integer>> literalsBefore = literals(underlyingCopy);
+        final Random random = new Random(42);
+        for (int i = 0; i < 20; i++) {
+            assertThat(solver.sat(randomAssumptions(f, clauses, random))).isNotEqualTo(Tristate.UNDEF);
+        }
+        assertThat(literals(underlyingCopy)).isEqualTo(literalsBefore);
+        assertThat(copy.sat()).isEqualTo(Tristate.TRUE);
+        for (final Formula clause : clauses) {
+            assertThat(clause.evaluate(copy.model())).isTrue();
+        }
+    }
+
+    @Test
+    public void testParallelWhatIfQueries() throws Exception {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        final List<Formula> clauses = DimacsReader.readCNF(new File("src/test/resources/sat/apex7_gr_rcs_w5.shuffled.cnf"), f);
+        solver.add(clauses);
+        assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        final Random random = new Random(42);
+        final List<List<Literal>> queries = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            queries.add(randomAssumptions(f, clauses, random));
+        }
+        final List<Tristate> expected = new ArrayList<>();
+        for (final List<Literal> query : queries) {
+            expected.add(solver.sat(query));
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Tristate>> futures = new ArrayList<>();
+            for (final List<Literal> query : queries) {
+                final MiniSat copy = solver.copy();
+                futures.add(executor.submit(() -> copy.underlyingSolver().solve(null, assumptionVector(copy.underlyingSolver(), query))));
+            }
+            for (int i = 0; i < queries.size(); i++) {
+                assertThat(futures.get(i).get()).isEqualTo(expected.get(i));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testStatesAndCaches() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final MiniSat solver = MiniSat.miniSat(f);
+        solver.add(f.parse("(a | b) & (c => d | e)"));
+        final SolverState state = solver.saveState();
+        solver.add(f.parse("~a & ~b"));
+        final MiniSat copy = solver.copy();
+        assertThat(copy.sat()).isEqualTo(Tristate.FALSE);
+        copy.loadState(state);
+        assertThat(copy.sat()).isEqualTo(Tristate.TRUE);
+        assertThat(solver.sat()).isEqualTo(Tristate.FALSE);
+        final MiniSat other = MiniSat.miniSat(f);
+        other.add(f.parse("(a & b) | (c & d)"));
+        final MiniSat otherCopy = other.copy();
+        final int nVars = otherCopy.underlyingSolver().nVars();
+        otherCopy.add(f.parse("~a | (c & d)"));
+        assertThat(otherCopy.underlyingSolver().nVars()).isEqualTo(nVars);
+        assertThat(otherCopy.sat(f.literal("b", false))).isEqualTo(Tristate.TRUE);
+        assertThat(otherCopy.model().literals()).contains(f.literal("c", true), f.literal("d", true));
+    }
+
+    @Test
+    public void testCopyOfDnnfSolver() throws ParserException {
+        final FormulaFactory f = new FormulaFactory();
+        final DnnfMiniSatStyleSolver solver = new DnnfMiniSatStyleSolver(f, 4);
+        solver.add(f.parse("(a | b) & (~a | c) & (~c | d)"));
+        assertThat(solver.start()).isTrue();
+        final DnnfMiniSatStyleSolver copy = solver.copy();
+        final int a = copy.variableIndex(f.variable("a"));
+        final int d = copy.variableIndex(f.variable("d"));
+        assertThat(copy.decide(a, true)).isTrue();
+        assertThat(copy.valueOf(2 * d)).isEqualTo(Tristate.TRUE);
+        assertThat(solver.valueOf(2 * d)).isEqualTo(Tristate.UNDEF);
+        assertThat(solver.decide(a, false)).isTrue();
+        assertThatThrownBy(solver::copy).isInstanceOf(IllegalStateException.class);
+        solver.undoDecide(a);
+        assertThat(solver.copy().valueOf(2 * d)).isEqualTo(Tristate.UNDEF);
+        assertThat(copy.valueOf(2 * d)).isEqualTo(Tristate.TRUE);
+    }
+
+    @Test
+    public void testCopyOfGlucoseAndSimplifyingSolver() throws IOException {
+        final FormulaFactory f = new FormulaFactory();
+        final List<Formula> clauses = DimacsReader.readCNF(new File("src/test/resources/sat/term1_gr_rcs_w4.shuffled.cnf"), f);
+        final MiniSat glucose = MiniSat.glucose(f, MiniSatConfig.builder().build(), GlucoseConfig.builder().inprocessing(true).build());
+        final MiniSat simp = MiniSat.miniSat(f, MiniSatConfig.builder().simplification(true).build());
+        for (final MiniSat solver : Arrays.asList(glucose, simp)) {
+            solver.add(clauses);
+            assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+            final MiniSat copy = solver.copy();
+            assertThat(copy.underlyingSolver().getClass()).isEqualTo(solver.underlyingSolver().getClass());
+            assertThat(copy.underlyingSolver().learnts.size()).isEqualTo(solver.underlyingSolver().learnts.size());
+            final Random random = new Random(42);
+            for (int i = 0; i < 20; i++) {
+                final List<Literal> assumptions = randomAssumptions(f, clauses, random);
+                final Tristate result = solver.sat(assumptions);
+                assertThat(copy.sat(assumptions)).isEqualTo(result);
+                if (result == Tristate.TRUE) {
+                    for (final Formula clause : clauses) {
+                        assertThat(clause.evaluate(copy.model())).isTrue();
+                    }
+                }
+            }
+            final Variable var = clauses.get(0).variables().first();
+            copy.add(var);
+            copy.add(var.negate());
+            assertThat(copy.sat()).isEqualTo(Tristate.FALSE);
+            assertThat(solver.sat()).isEqualTo(Tristate.TRUE);
+        }
+        final MiniSat2SimpSolver simpSolver = (MiniSat2SimpSolver) simp.underlyingSolver();
+        final MiniSat2SimpSolver simpCopy = (MiniSat2SimpSolver) simp.copy().underlyingSolver();
+        assertThat(simpSolver.numEliminatedVars()).isGreaterThan(0);
+        assertThat(simpCopy.numEliminatedVars()).isEqualTo(simpSolver.numEliminatedVars());
+    }
+
+    private static List<List<Integer>> literals(final MiniSatStyleSolver solver) {
+        final List<List<Integer>> result = new ArrayList<>();
+        for (int i = 0; i < solver.clauses().size(); i++) {
+            final MSClause c = solver.clauses().get(i);
+            final List<Integer> lits = new ArrayList<>();
+            for (int j = 0; j < c.size(); j++) {
+                lits.add(c.get(j));
+            }
+            result.add(lits);
+        }
+        return result;
+    }
+
+    private static List<Literal> randomAssumptions(final FormulaFactory f, final List<Formula> clauses, final Random random) {
+        final List<Literal> assumptions = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            final Variable var = clauses.get(random.nextInt(clauses.size())).variables().first();
+            assumptions.add(random.nextBoolean() ? var : var.negate());
+        }
+        return assumptions;
+    }
+
+    private static LNGIntVector assumptionVector(final MiniSatStyleSolver solver, final List<Literal> assumptions) {
+        final LNGIntVector vector = new LNGIntVector(assumptions.size());
+        for (final Literal lit : assumptions) {
+            vector.push(MiniSatStyleSolver.mkLit(solver.idxForVariable(lit.variable()), !lit.phase()));
+        }
+        return vector;
+    }
+}